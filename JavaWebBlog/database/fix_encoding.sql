@@ -31,3 +31,7 @@ WHERE id = 5;
 -- También aseguramos que los usuarios tengan nombres correctos (tildes)
 UPDATE usuarios SET nombre = 'Alejandra Munevar' WHERE username = 'alejandra';
 UPDATE usuarios SET nombre = 'Sergio Moreno' WHERE username = 'sergio';
+
+-- Recalcular el extracto de los artículos corregidos: se vacía aquí y se rellena
+-- ejecutando a continuación database/migrations/002_articulos_extracto.sql
+UPDATE articulos SET extracto = '' WHERE id BETWEEN 1 AND 5;
@@ -0,0 +1,45 @@
+-- ============================================================
+-- Migración 001: índice compuesto para la paginación por cursor
+-- ============================================================
+--
+-- El listado de artículos (portada y panel de administración) se pagina por
+-- cursor: cada página continúa después del par (fecha_publicacion, id) del último
+-- artículo de la anterior, con
+--
+--   WHERE fecha_publicacion < ? OR (fecha_publicacion = ? AND id < ?)
+--   ORDER BY fecha_publicacion DESC, id DESC LIMIT ?
+--
+-- Con un índice sobre (fecha_publicacion, id) MySQL busca esa posición y lee solo
+-- las filas de la página, sin ordenar la tabla ni recorrer las páginas anteriores.
+-- Sustituye a idx_fecha_publicacion (fecha_publicacion), que queda cubierto por el
+-- nuevo índice.
+--
+-- Se puede ejecutar más de una vez y sobre bases creadas con schema.sql o con
+-- setup_database.sql (que no tenía índice sobre la fecha).
+-- ============================================================
+
+USE blog_db;
+
+SET @tiene_compuesto = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'articulos'
+    AND index_name = 'idx_fecha_publicacion_id');
+SET @sql = IF(@tiene_compuesto = 0,
+    'ALTER TABLE articulos ADD INDEX idx_fecha_publicacion_id (fecha_publicacion, id)',
+    'SELECT ''idx_fecha_publicacion_id ya existe'' AS mensaje');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @tiene_anterior = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'articulos'
+    AND index_name = 'idx_fecha_publicacion');
+SET @sql = IF(@tiene_anterior > 0,
+    'ALTER TABLE articulos DROP INDEX idx_fecha_publicacion',
+    'SELECT ''idx_fecha_publicacion ya eliminado'' AS mensaje');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Verificación: el plan debe usar idx_fecha_publicacion_id sin "Using filesort"
+EXPLAIN SELECT a.id FROM articulos a
+ORDER BY a.fecha_publicacion DESC, a.id DESC LIMIT 11;
@@ -0,0 +1,53 @@
+-- ============================================================
+-- Migración 002: extracto precalculado para los listados
+-- ============================================================
+--
+-- La portada y el panel de administración muestran de cada artículo solo un
+-- resumen, pero leían la columna contenido (TEXT) completa y la recortaban con
+-- CSS. Desde esta versión la aplicación guarda al crear o editar un artículo un
+-- extracto de hasta 300 caracteres (ArticuloResumen.extraer) en la columna
+-- extracto, y los listados leen esa columna en lugar de contenido.
+--
+-- Este script añade la columna y la rellena para los artículos existentes con la
+-- misma regla: espacios y saltos de línea unidos en un solo espacio, corte en el
+-- último espacio antes del carácter 300 y "…" al final. Al editar un artículo la
+-- aplicación vuelve a calcular su extracto.
+--
+-- Requiere MySQL 8.0 o superior (REGEXP_REPLACE). Se puede ejecutar más de una vez.
+-- ============================================================
+
+USE blog_db;
+
+SET @tiene_extracto = (SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'articulos'
+    AND column_name = 'extracto');
+SET @sql = IF(@tiene_extracto = 0,
+    'ALTER TABLE articulos ADD COLUMN extracto VARCHAR(320) NOT NULL DEFAULT '''' AFTER contenido',
+    'SELECT ''La columna extracto ya existe'' AS mensaje');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Rellenar los artículos que aún no tienen extracto. El texto normalizado se
+-- calcula antes en una tabla temporal porque la fórmula lo usa varias veces
+CREATE TEMPORARY TABLE tmp_extracto AS
+SELECT id, TRIM(REGEXP_REPLACE(contenido, '[[:space:]]+', ' ')) AS texto
+FROM articulos
+WHERE extracto = '';
+
+UPDATE articulos a
+JOIN tmp_extracto t ON t.id = a.id
+SET a.extracto = CASE
+    WHEN CHAR_LENGTH(t.texto) <= 300 THEN t.texto
+    -- Último espacio en las posiciones 150..300: se corta ahí
+    WHEN LOCATE(' ', REVERSE(LEFT(t.texto, 301))) BETWEEN 1 AND 151
+        THEN CONCAT(TRIM(LEFT(t.texto, 301 - LOCATE(' ', REVERSE(LEFT(t.texto, 301))))), '…')
+    -- Una palabra muy larga: se corta en el carácter 300
+    ELSE CONCAT(LEFT(t.texto, 300), '…')
+END;
+
+DROP TEMPORARY TABLE tmp_extracto;
+
+-- Verificación: ningún artículo con contenido debe quedar sin extracto
+SELECT COUNT(*) AS articulos_sin_extracto FROM articulos
+WHERE extracto = '' AND TRIM(contenido) <> '';
@@ -34,12 +34,13 @@ CREATE TABLE IF NOT EXISTS articulos (
     id INT AUTO_INCREMENT PRIMARY KEY,
     titulo VARCHAR(200) NOT NULL,
     contenido TEXT NOT NULL,
+    extracto VARCHAR(320) NOT NULL DEFAULT '' COMMENT 'Resumen para los listados, calculado al guardar',
     fecha_publicacion DATETIME NOT NULL,
     autor_id INT NOT NULL,
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     fecha_modificacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (autor_id) REFERENCES usuarios(id) ON DELETE CASCADE,
-    INDEX idx_fecha_publicacion (fecha_publicacion),
+    INDEX idx_fecha_publicacion_id (fecha_publicacion, id),
     INDEX idx_autor (autor_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -143,6 +144,11 @@ CARACTERÍSTICAS:
 ¡Disfruta del sistema!',
 NOW() - INTERVAL 10 DAY, 1);
 
+-- Extracto de los artículos de ejemplo: la aplicación lo calcula al guardar, pero
+-- estos se insertan directamente. Ejecutar a continuación
+-- database/migrations/002_articulos_extracto.sql, que lo rellena con la misma regla
+-- (la columna ya existe, así que solo calcula los extractos vacíos)
+
 -- ============================================================
 -- Verificación de la instalación
 -- ============================================================
@@ -38,9 +38,11 @@ CREATE TABLE IF NOT EXISTS articulos (
     id INT AUTO_INCREMENT PRIMARY KEY,
     titulo VARCHAR(200) NOT NULL,
     contenido TEXT NOT NULL,
+    extracto VARCHAR(320) NOT NULL DEFAULT '',
     fecha_publicacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     autor_id INT NOT NULL,
-    FOREIGN KEY (autor_id) REFERENCES usuarios(id) ON DELETE CASCADE
+    FOREIGN KEY (autor_id) REFERENCES usuarios(id) ON DELETE CASCADE,
+    INDEX idx_fecha_publicacion_id (fecha_publicacion, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- =====================================================================
@@ -60,11 +62,11 @@ VALUES ('autor', 'autor123', 'Autor de Prueba', 'autor@blog.com', 'autor')
 ON DUPLICATE KEY UPDATE username=username;
 
 -- Insertar algunos artículos de prueba
-INSERT INTO articulos (titulo, contenido, autor_id) 
+INSERT INTO articulos (titulo, contenido, extracto, autor_id) 
 VALUES 
-('Bienvenido al Blog', 'Este es el primer artículo del blog. ¡Bienvenido!', 1),
-('Características del Sistema', 'Este blog tiene muchas características interesantes...', 1),
-('Tutorial de Uso', 'Aprende a usar todas las funcionalidades del blog...', 2)
+('Bienvenido al Blog', 'Este es el primer artículo del blog. ¡Bienvenido!', 'Este es el primer artículo del blog. ¡Bienvenido!', 1),
+('Características del Sistema', 'Este blog tiene muchas características interesantes...', 'Este blog tiene muchas características interesantes...', 1),
+('Tutorial de Uso', 'Aprende a usar todas las funcionalidades del blog...', 'Aprende a usar todas las funcionalidades del blog...', 2)
 ON DUPLICATE KEY UPDATE titulo=titulo;
 
 -- =====================================================================
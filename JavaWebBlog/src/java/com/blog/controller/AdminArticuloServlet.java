@@ -1,8 +1,12 @@
 package com.blog.controller;
 
+import com.blog.dao.CursorArticulo;
+import com.blog.dao.DAOFactory;
 import com.blog.dao.IArticuloDAO;
-import com.blog.dao.MySQLArticuloDAO;
 import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import com.blog.util.Log;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,13 +22,18 @@ import java.time.LocalDateTime;
  * Solo responsabilidad: gestionar operaciones de administración de artículos
  */
 public class AdminArticuloServlet extends HttpServlet {
+
     // Controller for Admin Article Management
 
+    private static final Log LOG = Log.get(AdminArticuloServlet.class);
+    // Rows per page in the admin article table
+    private static final int TAMANO_PAGINA = 25;
+
     private IArticuloDAO articuloDAO;
 
     @Override
     public void init() throws ServletException {
-        this.articuloDAO = new MySQLArticuloDAO();
+        this.articuloDAO = DAOFactory.getArticuloDAO();
     }
 
     @Override
@@ -53,7 +62,7 @@ public class AdminArticuloServlet extends HttpServlet {
                     listarArticulos(request, response);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error procesando la petición GET de administración de artículos", e);
             request.setAttribute("error", "Error al procesar la solicitud. Por favor, intente nuevamente.");
             request.getRequestDispatcher("/error.jsp").forward(request, response);
         }
@@ -80,7 +89,7 @@ public class AdminArticuloServlet extends HttpServlet {
                     response.sendError(HttpServletResponse.SC_BAD_REQUEST);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error procesando la petición POST de administración de artículos", e);
             request.setAttribute("error", "Error al procesar la solicitud. Por favor, intente nuevamente.");
             request.getRequestDispatcher("/error.jsp").forward(request, response);
         }
@@ -98,12 +107,16 @@ public class AdminArticuloServlet extends HttpServlet {
     }
 
     /**
-     * Lista todos los artículos en el panel de administración
+     * Lista una página de artículos en el panel de administración
      */
     private void listarArticulos(HttpServletRequest request, HttpServletResponse response)
             throws SQLException, ServletException, IOException {
 
-        request.setAttribute("articulos", articuloDAO.listarTodos());
+        Pagina<ArticuloResumen> pagina = articuloDAO.listarPagina(
+                CursorArticulo.desdeParametros(request.getParameter("antes"), request.getParameter("despues")),
+                TAMANO_PAGINA);
+        request.setAttribute("pagina", pagina);
+        request.setAttribute("articulos", pagina.getElementos());
         request.getRequestDispatcher("/admin/listar.jsp").forward(request, response);
     }
 
@@ -0,0 +1,108 @@
+package com.blog.controller;
+
+import com.blog.dao.DAOFactory;
+import com.blog.exportacion.ExportadorDatos;
+import com.blog.exportacion.FormatoExportacion;
+import com.blog.util.Log;
+import com.blog.util.SesionUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AdminExportarServlet - Streaming export of whole tables for administrators
+ *
+ * <p>{@code GET /admin/exportar?tabla=articulos|usuarios&formato=ndjson|csv[&gzip=true]}
+ * downloads the table as NDJSON (default) or CSV, optionally gzip-compressed. Rows are
+ * written to the response as they are read from a streaming result set, so memory
+ * use does not depend on the table size. No Content-Length is sent: the container
+ * uses chunked transfer encoding. User exports never include password hashes.</p>
+ */
+public class AdminExportarServlet extends HttpServlet {
+
+    private static final Log LOG = Log.get(AdminExportarServlet.class);
+
+    /** Bytes buffered before a chunk is handed to the container */
+    private static final int BUFFER_SIZE = 8192;
+
+    private ExportadorDatos exportador;
+
+    @Override
+    public void init() throws ServletException {
+        this.exportador = new ExportadorDatos(DAOFactory.getArticuloDAO(), DAOFactory.getUsuarioDAO());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!SesionUtil.esAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        String tabla = request.getParameter("tabla");
+        if (!"articulos".equals(tabla) && !"usuarios".equals(tabla)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Tabla no válida: usa articulos o usuarios");
+            return;
+        }
+        FormatoExportacion formato = FormatoExportacion.deducir(request.getParameter("formato"));
+        if (formato == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Formato no válido: usa ndjson o csv");
+            return;
+        }
+        boolean gzip = "true".equals(request.getParameter("gzip")) || "1".equals(request.getParameter("gzip"));
+
+        String nombre = tabla + "-" + LocalDate.now() + "." + formato.getExtension() + (gzip ? ".gz" : "");
+        response.setHeader("Cache-Control", "no-store");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + nombre + "\"");
+        if (gzip) {
+            response.setContentType("application/gzip");
+        } else {
+            response.setContentType(formato.getContentType());
+            response.setCharacterEncoding("UTF-8");
+        }
+        // Keep the container buffer small: each full buffer is flushed as one chunk
+        response.setBufferSize(BUFFER_SIZE);
+
+        long inicio = System.nanoTime();
+        OutputStream out = response.getOutputStream();
+        GZIPOutputStream comprimido = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip ? comprimido : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        int filas;
+        try {
+            filas = "articulos".equals(tabla)
+                    ? exportador.exportarArticulos(formato, writer)
+                    : exportador.exportarUsuarios(formato, writer);
+        } catch (SQLException e) {
+            LOG.error("Error exportando " + tabla, e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        "No se pudo exportar: la base de datos no está disponible");
+                return;
+            }
+            // Headers already sent: failing the request aborts the chunked response, so
+            // the client sees a truncated download instead of a file that looks complete
+            throw new ServletException("Exportación de " + tabla + " interrumpida", e);
+        } catch (IOException e) {
+            LOG.warn("Exportación de " + tabla + " interrumpida por el cliente: " + e.getMessage());
+            throw e;
+        }
+        // Closing the writer finishes the gzip trailer; the container ends the chunked body
+        writer.close();
+        LOG.info("Exportados " + filas + " " + tabla + " (" + formato + (gzip ? ", gzip" : "") + ") en "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+}
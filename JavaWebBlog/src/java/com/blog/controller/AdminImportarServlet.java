@@ -0,0 +1,209 @@
+package com.blog.controller;
+
+import com.blog.dao.ConexionBD;
+import com.blog.dao.DAOFactory;
+import com.blog.dao.IArticuloDAO;
+import com.blog.dao.IUsuarioDAO;
+import com.blog.dao.Workload;
+import com.blog.importacion.FormatoImportacion;
+import com.blog.importacion.ImportadorArticulos;
+import com.blog.importacion.ProgresoImportacion;
+import com.blog.model.Usuario;
+import com.blog.util.JsonUtil;
+import com.blog.util.Log;
+import com.blog.util.SesionUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AdminImportarServlet - Bulk article import for administrators
+ *
+ * <p>{@code POST /admin/importar} (multipart, field {@code archivo}) accepts an NDJSON,
+ * CSV or WordPress export. The upload is spooled to a temporary file and imported in
+ * the background by {@link ImportadorArticulos}, one import at a time.
+ * {@code GET /admin/importar} shows the form and the progress of the last import;
+ * {@code GET /admin/importar?format=json} returns that progress as JSON.</p>
+ */
+public class AdminImportarServlet extends HttpServlet {
+
+    private static final Log LOG = Log.get(AdminImportarServlet.class);
+
+    private IArticuloDAO articuloDAO;
+    private IUsuarioDAO usuarioDAO;
+    private ExecutorService ejecutor;
+    private final AtomicReference<ProgresoImportacion> ultima = new AtomicReference<>();
+
+    @Override
+    public void init() throws ServletException {
+        this.articuloDAO = DAOFactory.getArticuloDAO();
+        this.usuarioDAO = DAOFactory.getUsuarioDAO();
+        this.ejecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blog-importacion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        // Interrupts a running import: it stops before the next record
+        ejecutor.shutdownNow();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!SesionUtil.esAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        ProgresoImportacion progreso = ultima.get();
+        if ("json".equals(request.getParameter("format"))) {
+            response.setHeader("Cache-Control", "no-store");
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            writeJson(progreso, response.getWriter());
+            return;
+        }
+        mostrarFormulario(request, response, progreso, null);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!SesionUtil.esAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        Part archivo;
+        try {
+            archivo = request.getPart("archivo");
+        } catch (IllegalStateException e) {
+            // Upload above the multipart-config limits in web.xml
+            mostrarFormulario(request, response, ultima.get(), "El archivo supera el tamaño máximo permitido");
+            return;
+        }
+        if (archivo == null || archivo.getSize() == 0) {
+            mostrarFormulario(request, response, ultima.get(), "Selecciona un archivo para importar");
+            return;
+        }
+
+        String nombre = archivo.getSubmittedFileName();
+        FormatoImportacion formato = FormatoImportacion.deducir(request.getParameter("formato"), nombre);
+        if (formato == null) {
+            mostrarFormulario(request, response, ultima.get(),
+                    "No se reconoce el formato del archivo: elige NDJSON, CSV o WordPress (WXR)");
+            return;
+        }
+
+        ProgresoImportacion anterior = ultima.get();
+        if (anterior != null && anterior.isEnCurso()) {
+            mostrarFormulario(request, response, anterior, "Ya hay una importación en curso");
+            return;
+        }
+
+        // The upload is only readable during this request: copy it before going async
+        Path temporal = Files.createTempFile("blog-importacion-", ".tmp");
+        try (InputStream in = archivo.getInputStream()) {
+            Files.copy(in, temporal, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        } finally {
+            archivo.delete();
+        }
+
+        ProgresoImportacion progreso = new ProgresoImportacion(nombre, formato, Files.size(temporal));
+        if (!ultima.compareAndSet(anterior, progreso)) {
+            Files.deleteIfExists(temporal);
+            mostrarFormulario(request, response, ultima.get(), "Ya hay una importación en curso");
+            return;
+        }
+
+        // Articles without a known author are assigned to the importing admin
+        int autorPorDefecto = ((Usuario) request.getSession().getAttribute("usuario")).getId();
+        ImportadorArticulos importador = new ImportadorArticulos(articuloDAO, usuarioDAO,
+                ConexionBD.getInstancia().getTamanoLote(), autorPorDefecto);
+        LOG.info("Importando " + nombre + " (" + formato + ", " + Files.size(temporal) + " bytes)");
+        try {
+            ejecutor.execute(() -> importar(importador, formato, temporal, progreso));
+        } catch (RejectedExecutionException e) {
+            Files.deleteIfExists(temporal);
+            throw new ServletException("La aplicación se está deteniendo", e);
+        }
+
+        response.sendRedirect(request.getContextPath() + "/admin/importar");
+    }
+
+    /**
+     * Runs an import on the background thread and removes the temporary file
+     */
+    private static void importar(ImportadorArticulos importador, FormatoImportacion formato, Path temporal,
+            ProgresoImportacion progreso) {
+        Workload previous = Workload.enter(Workload.ADMIN_WRITE);
+        try {
+            importador.importar(formato, temporal, progreso);
+        } finally {
+            Workload.restore(previous);
+            try {
+                Files.deleteIfExists(temporal);
+            } catch (IOException e) {
+                LOG.warn("No se pudo borrar " + temporal + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void mostrarFormulario(HttpServletRequest request, HttpServletResponse response,
+            ProgresoImportacion progreso, String error) throws ServletException, IOException {
+        request.setAttribute("progreso", progreso);
+        if (error != null) {
+            request.setAttribute("error", error);
+        }
+        request.getRequestDispatcher("/admin/importar.jsp").forward(request, response);
+    }
+
+    /**
+     * Writes the import progress as JSON ({@code {}} if nothing was imported yet)
+     */
+    static void writeJson(ProgresoImportacion progreso, PrintWriter out) {
+        if (progreso == null) {
+            out.print("{}");
+            return;
+        }
+        out.print("{\"archivo\":" + JsonUtil.cadena(progreso.getArchivo()));
+        out.print(",\"formato\":\"" + progreso.getFormato() + "\"");
+        out.print(",\"estado\":\"" + progreso.getEstado() + "\"");
+        out.print(",\"porcentaje\":" + progreso.getPorcentaje());
+        out.print(",\"leidos\":" + progreso.getLeidos());
+        out.print(",\"importados\":" + progreso.getImportados());
+        out.print(",\"omitidos\":" + progreso.getOmitidos());
+        out.print(",\"sinAutor\":" + progreso.getSinAutor());
+        out.print(",\"segundos\":" + progreso.getSegundos());
+        out.print(",\"articulosPorSegundo\":" + progreso.getArticulosPorSegundo());
+        out.print(",\"mensaje\":" + JsonUtil.cadena(progreso.getMensaje()));
+        out.print(",\"errores\":[");
+        boolean primero = true;
+        for (String error : progreso.getErrores()) {
+            out.print((primero ? "" : ",") + JsonUtil.cadena(error));
+            primero = false;
+        }
+        out.print("]}");
+    }
+}
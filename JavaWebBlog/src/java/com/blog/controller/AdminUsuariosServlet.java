@@ -1,8 +1,9 @@
 package com.blog.controller;
 
+import com.blog.dao.DAOFactory;
 import com.blog.dao.IUsuarioDAO;
-import com.blog.dao.MySQLUsuarioDAO;
 import com.blog.model.Usuario;
+import com.blog.util.SesionUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,7 +19,7 @@ public class AdminUsuariosServlet extends HttpServlet {
 
     @Override
     public void init() throws ServletException {
-        usuarioDAO = new MySQLUsuarioDAO();
+        usuarioDAO = DAOFactory.getUsuarioDAO();
     }
 
     @Override
@@ -26,7 +27,7 @@ public class AdminUsuariosServlet extends HttpServlet {
             throws ServletException, IOException {
 
         // Ensure only admins access this
-        if (!esAdmin(request)) {
+        if (!SesionUtil.esAdmin(request)) {
             response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
             return;
         }
@@ -104,22 +105,25 @@ public class AdminUsuariosServlet extends HttpServlet {
         }
 
         // Delete the user
-        usuarioDAO.eliminar(id);
+        try {
+            usuarioDAO.eliminar(id);
+        } finally {
+            // Their articles were deleted by ON DELETE CASCADE; a failed call may still
+            // have committed, so the article caches are dropped either way
+            DAOFactory.usuariosEliminados();
+        }
         response.sendRedirect(request.getContextPath() + "/admin/usuarios");
     }
 
     private void eliminarTodosExceptoAdmins(HttpServletRequest request, HttpServletResponse response)
             throws SQLException, IOException {
         // Delete all non-admin users
-        int deletedCount = usuarioDAO.eliminarTodosExceptoAdmins();
+        int deletedCount;
+        try {
+            deletedCount = usuarioDAO.eliminarTodosExceptoAdmins();
+        } finally {
+            DAOFactory.usuariosEliminados();
+        }
         response.sendRedirect(request.getContextPath() + "/admin/usuarios?deleted=" + deletedCount);
     }
-
-    private boolean esAdmin(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null)
-            return false;
-        Usuario u = (Usuario) session.getAttribute("usuario");
-        return u != null && "admin".equals(u.getRol());
-    }
 }
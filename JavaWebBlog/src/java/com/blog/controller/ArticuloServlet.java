@@ -1,8 +1,12 @@
 package com.blog.controller;
 
+import com.blog.dao.CursorArticulo;
+import com.blog.dao.DAOFactory;
 import com.blog.dao.IArticuloDAO;
-import com.blog.dao.MySQLArticuloDAO;
 import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import com.blog.util.Log;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,17 +35,22 @@ import java.sql.SQLException;
  */
 public class ArticuloServlet extends HttpServlet {
 
+    private static final Log LOG = Log.get(ArticuloServlet.class);
+    // Articles per page on the public front page
+    private static final int TAMANO_PAGINA = 10;
+
     private IArticuloDAO articuloDAO;
 
     @Override
     public void init() throws ServletException {
         /*
          * Aquí ocurre la magia de la Inyección de Dependencias (manual por ahora).
-         * Inicializamos 'articuloDAO' con la implementación concreta de MySQL.
-         * Si mañana nos mudamos a PostgreSQL, solo cambiamos esta línea aquí.
-         * ¡El resto del Servlet ni se enterará del cambio! (Open/Closed Principle)
+         * DAOFactory nos da el DAO compartido: la portada en memoria y la caché de
+         * artículos decorando a MySQL, según db.properties. Como solo conocemos
+         * IArticuloDAO, ¡el Servlet ni se entera de qué decoradores hay debajo!
+         * (Open/Closed Principle)
          */
-        this.articuloDAO = new MySQLArticuloDAO();
+        this.articuloDAO = DAOFactory.getArticuloDAO();
     }
 
     @Override
@@ -57,19 +66,25 @@ public class ArticuloServlet extends HttpServlet {
                 listarArticulos(request, response);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error cargando artículos", e);
             request.setAttribute("error", "Error al cargar el contenido. Por favor, intente nuevamente.");
             request.getRequestDispatcher("/error.jsp").forward(request, response);
         }
     }
 
     /**
-     * Lista todos los artículos
+     * Lista una página de artículos.
+     * Los enlaces de navegación traen el cursor en "despues" (más antiguos) o "antes"
+     * (más recientes); sin ninguno se muestra la primera página.
      */
     private void listarArticulos(HttpServletRequest request, HttpServletResponse response)
             throws SQLException, ServletException, IOException {
 
-        request.setAttribute("articulos", articuloDAO.listarTodos());
+        Pagina<ArticuloResumen> pagina = articuloDAO.listarPagina(
+                CursorArticulo.desdeParametros(request.getParameter("antes"), request.getParameter("despues")),
+                TAMANO_PAGINA);
+        request.setAttribute("pagina", pagina);
+        request.setAttribute("articulos", pagina.getElementos());
         request.getRequestDispatcher("/index.jsp").forward(request, response);
     }
 
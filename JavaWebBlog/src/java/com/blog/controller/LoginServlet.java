@@ -1,8 +1,9 @@
 package com.blog.controller;
 
+import com.blog.dao.DAOFactory;
 import com.blog.dao.IUsuarioDAO;
-import com.blog.dao.MySQLUsuarioDAO;
 import com.blog.model.Usuario;
+import com.blog.util.Log;
 import com.blog.util.PasswordUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -17,12 +18,14 @@ import java.sql.SQLException;
  * Solo responsabilidad: gestionar el proceso de login
  */
 public class LoginServlet extends HttpServlet {
+
+    private static final Log LOG = Log.get(LoginServlet.class);
     
     private IUsuarioDAO usuarioDAO;
     
     @Override
     public void init() throws ServletException {
-        this.usuarioDAO = new MySQLUsuarioDAO();
+        this.usuarioDAO = DAOFactory.getUsuarioDAO();
     }
     
     @Override
@@ -65,7 +68,7 @@ public class LoginServlet extends HttpServlet {
                 request.getRequestDispatcher("/login.jsp").forward(request, response);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error al iniciar sesión", e);
             request.setAttribute("error", "Error de conexión. Por favor, intente nuevamente.");
             request.getRequestDispatcher("/login.jsp").forward(request, response);
         }
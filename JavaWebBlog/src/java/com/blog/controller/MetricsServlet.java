@@ -0,0 +1,406 @@
+package com.blog.controller;
+
+import com.blog.dao.BorrowPriority;
+import com.blog.dao.Bulkhead;
+import com.blog.dao.CacheStats;
+import com.blog.dao.CircuitBreaker;
+import com.blog.dao.ConexionBD;
+import com.blog.dao.DAOFactory;
+import com.blog.dao.LatencyHistogram;
+import com.blog.dao.PoolMetrics;
+import com.blog.dao.SizingDecision;
+import com.blog.util.JsonUtil;
+import com.blog.util.SesionUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * MetricsServlet - Exposes connection pool metrics for administrators
+ *
+ * <p>{@code GET /admin/metrics} returns the Prometheus text format;
+ * {@code GET /admin/metrics?format=json} returns JSON including the in-memory
+ * one-hour time series and the adaptive sizing decision log. Both include the
+ * database circuit breaker state, the per-workload connection quotas, the
+ * borrow wait broken down by priority and the DAO cache statistics.</p>
+ */
+public class MetricsServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // Ensure only admins access this
+        if (!SesionUtil.esAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        ConexionBD conexionBD = ConexionBD.getInstancia();
+        List<PoolMetrics> pools = conexionBD.getAllMetrics();
+        CircuitBreaker breaker = conexionBD.getCircuitBreaker();
+        List<Bulkhead> bulkheads = conexionBD.getBulkheads();
+        List<CacheStats> caches = DAOFactory.getEstadisticasCaches();
+
+        response.setHeader("Cache-Control", "no-store");
+        if ("json".equals(request.getParameter("format"))) {
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            writeJson(pools, breaker, bulkheads, caches, response.getWriter());
+        } else {
+            response.setContentType("text/plain; version=0.0.4");
+            response.setCharacterEncoding("UTF-8");
+            writePrometheus(pools, breaker, bulkheads, caches, response.getWriter());
+        }
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text exposition format
+     */
+    static void writePrometheus(List<PoolMetrics> pools, CircuitBreaker breaker, List<Bulkhead> bulkheads,
+            List<CacheStats> caches, PrintWriter out) {
+        header(out, "blog_pool_connections", "gauge", "Connections in the pool by state");
+        for (PoolMetrics m : pools) {
+            sample(out, "blog_pool_connections", label(m) + ",state=\"active\"", m.getActiveConnections());
+            sample(out, "blog_pool_connections", label(m) + ",state=\"idle\"", m.getIdleConnections());
+        }
+        gauge(out, pools, "blog_pool_connections_max", "Configured pool.maxConnections", PoolMetrics::getMaxConnections);
+        gauge(out, pools, "blog_pool_connections_min", "Configured pool.minConnections", PoolMetrics::getMinConnections);
+        gauge(out, pools, "blog_pool_connections_limit", "Effective connection limit (adaptive sizing target)",
+                PoolMetrics::getSizeLimit);
+        gauge(out, pools, "blog_pool_waiting_threads", "Threads waiting for a connection", PoolMetrics::getWaitingThreads);
+        gauge(out, pools, "blog_pool_utilization", "Fraction of pool.maxConnections in use", PoolMetrics::getUtilization);
+
+        histogram(out, pools, "blog_pool_borrow_wait_seconds", "Time spent waiting to borrow a connection", true);
+        histogram(out, pools, "blog_pool_hold_seconds", "Time a borrowed connection was held before being returned", false);
+        header(out, "blog_pool_borrow_wait_by_priority_seconds", "histogram",
+                "Time spent waiting to borrow a connection, by borrow priority");
+        for (PoolMetrics m : pools) {
+            for (BorrowPriority priority : BorrowPriority.values()) {
+                histogramSamples(out, "blog_pool_borrow_wait_by_priority_seconds",
+                        label(m) + ",priority=\"" + priority.name().toLowerCase(Locale.ROOT) + "\"",
+                        m.getBorrowWait(priority));
+            }
+        }
+
+        counter(out, pools, "blog_pool_borrow_timeouts_total", "Borrows that timed out after pool.borrowTimeoutMs",
+                PoolMetrics::getBorrowTimeouts);
+        header(out, "blog_pool_borrow_timeouts_by_priority_total", "counter", "Borrow timeouts by borrow priority");
+        for (PoolMetrics m : pools) {
+            for (BorrowPriority priority : BorrowPriority.values()) {
+                sample(out, "blog_pool_borrow_timeouts_by_priority_total",
+                        label(m) + ",priority=\"" + priority.name().toLowerCase(Locale.ROOT) + "\"",
+                        m.getBorrowTimeouts(priority));
+            }
+        }
+        counter(out, pools, "blog_pool_connections_created_total", "Physical connections opened",
+                PoolMetrics::getConnectionsCreated);
+        counter(out, pools, "blog_pool_connection_creation_failures_total", "Failed attempts to open a connection",
+                PoolMetrics::getConnectionCreationFailures);
+        counter(out, pools, "blog_pool_connections_evicted_total", "Connections closed by the pool",
+                PoolMetrics::getConnectionsEvicted);
+        counter(out, pools, "blog_pool_leaks_detected_total", "Borrows held longer than pool.leakDetectionThresholdMs",
+                PoolMetrics::getLeaksDetected);
+        counter(out, pools, "blog_pool_statement_cache_hits_total", "Prepared statements reused from the cache",
+                PoolMetrics::getStatementCacheHits);
+        counter(out, pools, "blog_pool_statement_cache_misses_total", "Prepared statements prepared anew",
+                PoolMetrics::getStatementCacheMisses);
+
+        header(out, "blog_db_circuit_state", "gauge", "Database circuit breaker state (1 for the current state)");
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            sample(out, "blog_db_circuit_state", "state=\"" + state.name().toLowerCase(Locale.ROOT) + "\"",
+                    breaker.getState() == state ? 1 : 0);
+        }
+        header(out, "blog_db_circuit_failure_rate", "gauge", "Failure rate in the circuit breaker window");
+        out.print("blog_db_circuit_failure_rate " + number(breaker.getFailureRate()) + "\n");
+        header(out, "blog_db_circuit_opened_total", "counter", "Times the circuit breaker opened");
+        out.print("blog_db_circuit_opened_total " + breaker.getTimesOpened() + "\n");
+        header(out, "blog_db_circuit_rejected_total", "counter", "Connection requests rejected while the circuit was open");
+        out.print("blog_db_circuit_rejected_total " + breaker.getRejectedCalls() + "\n");
+
+        if (!bulkheads.isEmpty()) {
+            header(out, "blog_bulkhead_connections", "gauge", "Primary pool connections held by each workload");
+            for (Bulkhead b : bulkheads) {
+                sample(out, "blog_bulkhead_connections", label(b), b.getInUse());
+            }
+            header(out, "blog_bulkhead_connections_limit", "gauge", "Connections each workload may hold at once");
+            for (Bulkhead b : bulkheads) {
+                sample(out, "blog_bulkhead_connections_limit", label(b), b.getLimit());
+            }
+            header(out, "blog_bulkhead_waiting_threads", "gauge", "Threads waiting for a slot in their workload quota");
+            for (Bulkhead b : bulkheads) {
+                sample(out, "blog_bulkhead_waiting_threads", label(b), b.getWaiting());
+            }
+            header(out, "blog_bulkhead_acquired_total", "counter", "Borrows admitted by each workload quota");
+            for (Bulkhead b : bulkheads) {
+                sample(out, "blog_bulkhead_acquired_total", label(b), b.getAcquired());
+            }
+            header(out, "blog_bulkhead_rejected_total", "counter",
+                    "Borrows rejected after waiting pool.borrowTimeoutMs on a full quota");
+            for (Bulkhead b : bulkheads) {
+                sample(out, "blog_bulkhead_rejected_total", label(b), b.getRejected());
+            }
+        }
+
+        if (!caches.isEmpty()) {
+            header(out, "blog_cache_requests_total", "counter", "DAO cache lookups by result");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_requests_total", label(c) + ",result=\"hit\"", c.getHits());
+                sample(out, "blog_cache_requests_total", label(c) + ",result=\"miss\"", c.getMisses());
+            }
+            header(out, "blog_cache_evictions_total", "counter", "Entries evicted to make room");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_evictions_total", label(c), c.getEvicted());
+            }
+            header(out, "blog_cache_rejections_total", "counter",
+                    "Loaded values not admitted (less frequent than the eviction candidate, or too large)");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_rejections_total", label(c), c.getRejected());
+            }
+            header(out, "blog_cache_invalidations_total", "counter", "Entries removed by writes");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_invalidations_total", label(c), c.getInvalidated());
+            }
+            header(out, "blog_cache_entries", "gauge", "Entries in the cache");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_entries", label(c), c.getEntries());
+            }
+            header(out, "blog_cache_size_bytes", "gauge", "Estimated cache size");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_size_bytes", label(c), c.getWeightBytes());
+            }
+            header(out, "blog_cache_max_bytes", "gauge", "Configured maximum cache size");
+            for (CacheStats c : caches) {
+                sample(out, "blog_cache_max_bytes", label(c), c.getMaxBytes());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the metrics (including the time series) as JSON
+     */
+    static void writeJson(List<PoolMetrics> pools, CircuitBreaker breaker, List<Bulkhead> bulkheads,
+            List<CacheStats> caches, PrintWriter out) {
+        out.print("{\"circuitBreaker\":{\"state\":\"" + breaker.getState().name() + "\""
+                + ",\"enabled\":" + breaker.isEnabled()
+                + ",\"failureRate\":" + number(breaker.getFailureRate())
+                + ",\"retryInMs\":" + breaker.getRetryInMillis()
+                + ",\"timesOpened\":" + breaker.getTimesOpened()
+                + ",\"rejected\":" + breaker.getRejectedCalls()
+                + ",\"lastTransition\":" + breaker.getLastTransitionMillis() + "}");
+        out.print(",\"bulkheads\":[");
+        for (int b = 0; b < bulkheads.size(); b++) {
+            Bulkhead bulkhead = bulkheads.get(b);
+            if (b > 0) {
+                out.print(',');
+            }
+            out.print("{\"workload\":\"" + bulkhead.getWorkload().getKey() + "\""
+                    + ",\"percent\":" + bulkhead.getPercent()
+                    + ",\"limit\":" + bulkhead.getLimit()
+                    + ",\"inUse\":" + bulkhead.getInUse()
+                    + ",\"waiting\":" + bulkhead.getWaiting()
+                    + ",\"acquired\":" + bulkhead.getAcquired()
+                    + ",\"waited\":" + bulkhead.getWaited()
+                    + ",\"rejected\":" + bulkhead.getRejected() + "}");
+        }
+        out.print("]");
+        out.print(",\"caches\":[");
+        for (int c = 0; c < caches.size(); c++) {
+            CacheStats cache = caches.get(c);
+            if (c > 0) {
+                out.print(',');
+            }
+            out.print("{\"name\":" + JsonUtil.cadena(cache.getName())
+                    + ",\"hits\":" + cache.getHits()
+                    + ",\"misses\":" + cache.getMisses()
+                    + ",\"hitRate\":" + number(cache.getHitRate())
+                    + ",\"admitted\":" + cache.getAdmitted()
+                    + ",\"rejected\":" + cache.getRejected()
+                    + ",\"evicted\":" + cache.getEvicted()
+                    + ",\"invalidated\":" + cache.getInvalidated()
+                    + ",\"entries\":" + cache.getEntries()
+                    + ",\"sizeBytes\":" + cache.getWeightBytes()
+                    + ",\"maxBytes\":" + cache.getMaxBytes() + "}");
+        }
+        out.print("]");
+        out.print(",\"pools\":[");
+        for (int p = 0; p < pools.size(); p++) {
+            PoolMetrics m = pools.get(p);
+            if (p > 0) {
+                out.print(',');
+            }
+            out.print("{\"name\":" + JsonUtil.cadena(m.getPoolName()));
+            out.print(",\"total\":" + m.getTotalConnections());
+            out.print(",\"active\":" + m.getActiveConnections());
+            out.print(",\"idle\":" + m.getIdleConnections());
+            out.print(",\"waiting\":" + m.getWaitingThreads());
+            out.print(",\"min\":" + m.getMinConnections());
+            out.print(",\"max\":" + m.getMaxConnections());
+            out.print(",\"limit\":" + m.getSizeLimit());
+            out.print(",\"adaptive\":" + m.isAdaptive());
+            out.print(",\"utilization\":" + number(m.getUtilization()));
+            out.print(",\"borrowTimeouts\":" + m.getBorrowTimeouts());
+            out.print(",\"connectionsCreated\":" + m.getConnectionsCreated());
+            out.print(",\"connectionCreationFailures\":" + m.getConnectionCreationFailures());
+            out.print(",\"connectionsEvicted\":" + m.getConnectionsEvicted());
+            out.print(",\"leaksDetected\":" + m.getLeaksDetected());
+            out.print(",\"statementCacheHits\":" + m.getStatementCacheHits());
+            out.print(",\"statementCacheMisses\":" + m.getStatementCacheMisses());
+            out.print(",\"borrowWaitMs\":");
+            jsonHistogram(out, m.getBorrowWait());
+            out.print(",\"holdTimeMs\":");
+            jsonHistogram(out, m.getHoldTime());
+            out.print(",\"borrowWaitByPriorityMs\":{");
+            for (BorrowPriority priority : BorrowPriority.values()) {
+                if (priority.ordinal() > 0) {
+                    out.print(',');
+                }
+                out.print("\"" + priority.name() + "\":");
+                jsonHistogram(out, m.getBorrowWait(priority));
+            }
+            out.print("},\"borrowTimeoutsByPriority\":{");
+            for (BorrowPriority priority : BorrowPriority.values()) {
+                if (priority.ordinal() > 0) {
+                    out.print(',');
+                }
+                out.print("\"" + priority.name() + "\":" + m.getBorrowTimeouts(priority));
+            }
+            out.print("}");
+
+            out.print(",\"sampleIntervalSeconds\":" + m.getSampleIntervalSeconds());
+            out.print(",\"timeSeries\":[");
+            List<PoolMetrics.Sample> series = m.getTimeSeries();
+            for (int i = 0; i < series.size(); i++) {
+                PoolMetrics.Sample s = series.get(i);
+                if (i > 0) {
+                    out.print(',');
+                }
+                out.print("{\"timestamp\":" + s.getTimestamp()
+                        + ",\"total\":" + s.getTotal()
+                        + ",\"active\":" + s.getActive()
+                        + ",\"idle\":" + s.getIdle()
+                        + ",\"waiting\":" + s.getWaiting()
+                        + ",\"borrows\":" + s.getBorrows()
+                        + ",\"timeouts\":" + s.getTimeouts()
+                        + ",\"avgBorrowWaitMs\":" + number(s.getAvgBorrowWaitMillis()) + "}");
+            }
+            out.print("],\"sizingDecisions\":[");
+            List<SizingDecision> decisions = m.getSizingDecisions();
+            for (int i = 0; i < decisions.size(); i++) {
+                SizingDecision d = decisions.get(i);
+                if (i > 0) {
+                    out.print(',');
+                }
+                out.print("{\"timestamp\":" + d.getTimestamp()
+                        + ",\"action\":\"" + d.getAction().name() + "\""
+                        + ",\"from\":" + d.getPreviousSize()
+                        + ",\"to\":" + d.getNewSize()
+                        + ",\"throughputPerSecond\":" + number(d.getThroughputPerSecond())
+                        + ",\"avgHoldMs\":" + number(d.getAvgHoldMillis())
+                        + ",\"inFlight\":" + number(d.getInFlight())
+                        + ",\"avgBorrowWaitMs\":" + number(d.getAvgBorrowWaitMillis())
+                        + ",\"timeouts\":" + d.getTimeouts()
+                        + ",\"reason\":" + JsonUtil.cadena(d.getReason()) + "}");
+            }
+            out.print("]}");
+        }
+        out.print("]}");
+        out.flush();
+    }
+
+    private static void jsonHistogram(PrintWriter out, LatencyHistogram h) {
+        out.print("{\"count\":" + h.getCount()
+                + ",\"sum\":" + number(h.getSumMillis())
+                + ",\"p50\":" + jsonNumber(h.getPercentileMillis(0.50))
+                + ",\"p95\":" + jsonNumber(h.getPercentileMillis(0.95))
+                + ",\"p99\":" + jsonNumber(h.getPercentileMillis(0.99))
+                + ",\"buckets\":{");
+        double[] bounds = h.getBoundsMillis();
+        long[] counts = h.getCumulativeCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                out.print(',');
+            }
+            String le = i < bounds.length ? number(bounds[i]) : "+Inf";
+            out.print("\"" + le + "\":" + counts[i]);
+        }
+        out.print("}}");
+    }
+
+    private static void histogram(PrintWriter out, List<PoolMetrics> pools, String name, String help,
+            boolean borrowWait) {
+        header(out, name, "histogram", help);
+        for (PoolMetrics m : pools) {
+            histogramSamples(out, name, label(m), borrowWait ? m.getBorrowWait() : m.getHoldTime());
+        }
+    }
+
+    private static void histogramSamples(PrintWriter out, String name, String labels, LatencyHistogram h) {
+        double[] bounds = h.getBoundsMillis();
+        long[] counts = h.getCumulativeCounts();
+        for (int i = 0; i < counts.length; i++) {
+            String le = i < bounds.length ? number(bounds[i] / 1000.0) : "+Inf";
+            sample(out, name + "_bucket", labels + ",le=\"" + le + "\"", counts[i]);
+        }
+        sample(out, name + "_sum", labels, h.getSumMillis() / 1000.0);
+        sample(out, name + "_count", labels, h.getCount());
+    }
+
+    private static void gauge(PrintWriter out, List<PoolMetrics> pools, String name, String help,
+            ToDoubleFunction<PoolMetrics> value) {
+        header(out, name, "gauge", help);
+        for (PoolMetrics m : pools) {
+            sample(out, name, label(m), value.applyAsDouble(m));
+        }
+    }
+
+    private static void counter(PrintWriter out, List<PoolMetrics> pools, String name, String help,
+            ToDoubleFunction<PoolMetrics> value) {
+        header(out, name, "counter", help);
+        for (PoolMetrics m : pools) {
+            sample(out, name, label(m), value.applyAsDouble(m));
+        }
+    }
+
+    private static void header(PrintWriter out, String name, String type, String help) {
+        out.print("# HELP " + name + " " + help + "\n");
+        out.print("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void sample(PrintWriter out, String name, String labels, double value) {
+        out.print(name + "{" + labels + "} " + number(value) + "\n");
+    }
+
+    private static String label(PoolMetrics m) {
+        return "pool=\"" + m.getPoolName().replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String label(CacheStats c) {
+        return "cache=\"" + c.getName() + "\"";
+    }
+
+    private static String label(Bulkhead b) {
+        return "workload=\"" + b.getWorkload().getKey() + "\"";
+    }
+
+    private static String number(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6g", value).replaceAll("\\.?0+(e|$)", "$1");
+    }
+
+    private static String jsonNumber(double value) {
+        return Double.isInfinite(value) ? "null" : number(value);
+    }
+}
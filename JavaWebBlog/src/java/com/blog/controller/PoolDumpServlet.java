@@ -0,0 +1,93 @@
+package com.blog.controller;
+
+import com.blog.dao.ConexionBD;
+import com.blog.dao.PooledConnectionInfo;
+import com.blog.util.SesionUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * PoolDumpServlet - Dumps every in-use pooled connection for administrators
+ *
+ * <p>{@code GET /admin/pool} lists, like a thread dump, which thread holds each
+ * borrowed connection, for how long and from where it was borrowed. The borrow
+ * site is only available when {@code pool.leakDetectionThresholdMs} is enabled.</p>
+ *
+ * <p>{@code POST /admin/pool?action=reload} re-reads db.properties and swaps in a
+ * new pool if the configuration changed, draining the old one in the background.</p>
+ */
+public class PoolDumpServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // Ensure only admins access this
+        if (!SesionUtil.esAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        ConexionBD conexionBD = ConexionBD.getInstancia();
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("UTF-8");
+        writeDump(conexionBD.getPoolStats(), conexionBD.getConexionesEnUso(), response.getWriter());
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // Ensure only admins access this
+        if (!SesionUtil.esAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        if (!"reload".equals(request.getParameter("action"))) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Acción no válida");
+            return;
+        }
+
+        boolean aplicada = ConexionBD.recargarConfiguracion();
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter out = response.getWriter();
+        out.println(aplicada ? "Configuración recargada: pool reemplazado."
+                : "Sin cambios: la configuración es la misma o no pudo aplicarse.");
+        out.println(ConexionBD.getInstancia().getPoolStats());
+        out.flush();
+    }
+
+    /**
+     * Writes the dump of the given in-use connections
+     */
+    static void writeDump(String stats, List<PooledConnectionInfo> conexiones, PrintWriter out) {
+        out.println(stats);
+        out.println("Conexiones en uso: " + conexiones.size());
+        for (PooledConnectionInfo info : conexiones) {
+            out.println();
+            out.println("[" + info.getPoolName() + "] conexión " + info.getConnectionId()
+                    + (info.isLeakSuspected() ? "  ** POSIBLE FUGA **" : ""));
+            out.println("  hilo: \"" + info.getHolderThread() + "\" (id " + info.getHolderThreadId() + ")");
+            out.println("  prestada hace: " + info.getHeldMillis() + "ms");
+            out.println("  antigüedad de la conexión: " + info.getAgeMillis() + "ms");
+            if (info.getBorrowSite().isEmpty()) {
+                out.println("  punto de préstamo: no registrado (activar pool.leakDetectionThresholdMs)");
+            } else {
+                out.println("  punto de préstamo:");
+                for (StackTraceElement frame : info.getBorrowSite()) {
+                    out.println("    at " + frame);
+                }
+            }
+        }
+        out.flush();
+    }
+}
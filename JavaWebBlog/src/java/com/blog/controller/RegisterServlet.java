@@ -1,8 +1,9 @@
 package com.blog.controller;
 
+import com.blog.dao.DAOFactory;
 import com.blog.dao.IUsuarioDAO;
-import com.blog.dao.MySQLUsuarioDAO;
 import com.blog.model.Usuario;
+import com.blog.util.Log;
 import com.blog.util.PasswordUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -13,11 +14,13 @@ import java.sql.SQLException;
 
 public class RegisterServlet extends HttpServlet {
 
+    private static final Log LOG = Log.get(RegisterServlet.class);
+
     private IUsuarioDAO usuarioDAO;
 
     @Override
     public void init() throws ServletException {
-        usuarioDAO = new MySQLUsuarioDAO();
+        usuarioDAO = DAOFactory.getUsuarioDAO();
     }
 
     @Override
@@ -66,7 +69,7 @@ public class RegisterServlet extends HttpServlet {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error al registrar el usuario", e);
             request.setAttribute("error", "Error de base de datos: " + e.getMessage());
             request.getRequestDispatcher("register.jsp").forward(request, response);
         }
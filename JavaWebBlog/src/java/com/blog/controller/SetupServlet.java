@@ -2,6 +2,7 @@ package com.blog.controller;
 
 import com.blog.dao.ConexionBD;
 import com.blog.filter.DatabaseCheckFilter;
+import com.blog.util.Log;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +19,13 @@ import java.util.Properties;
  */
 public class SetupServlet extends HttpServlet {
 
+    private static final Log LOG = Log.get(SetupServlet.class);
+
+    // Used when db.properties has no URL yet; batching needs rewriteBatchedStatements
+    private static final String DEFAULT_URL_OPTIONS = "useSSL=false&serverTimezone=UTC&useUnicode=true"
+            + "&characterEncoding=UTF-8&autoReconnect=true&allowPublicKeyRetrieval=true"
+            + "&rewriteBatchedStatements=true";
+
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
@@ -36,9 +44,8 @@ public class SetupServlet extends HttpServlet {
         String user = request.getParameter("user");
         String password = request.getParameter("password");
 
-        // Build connection URL
-        String url = String.format("jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&useUnicode=true&characterEncoding=UTF-8&autoReconnect=true&allowPublicKeyRetrieval=true",
-                host, port, database);
+        // Build connection URL, keeping the driver options already configured
+        String url = String.format("jdbc:mysql://%s:%s/%s?%s", host, port, database, urlOptions());
 
         if ("test".equals(action)) {
             // Test the connection
@@ -61,6 +68,8 @@ public class SetupServlet extends HttpServlet {
 
             // Save the configuration
             if (saveConfiguration(url, user, password)) {
+                // Swap the live pool over to the new settings without a restart
+                ConexionBD.recargarConfiguracion();
                 // Invalidate the DatabaseCheckFilter cache to force a new check
                 DatabaseCheckFilter.invalidateCache();
                 response.sendRedirect(request.getContextPath() + "/setup?success=true");
@@ -79,23 +88,47 @@ public class SetupServlet extends HttpServlet {
         return ConexionBD.verificarConexionConParametros(url, user, password);
     }
 
+    /**
+     * Query options of the current db.url (or the defaults), so the wizard only changes
+     * host, port and database. rewriteBatchedStatements=true is always kept: without it
+     * batch inserts and imports fall back to one round trip per row.
+     */
+    private String urlOptions() {
+        String current = loadProperties().getProperty("db.url", "");
+        int query = current.indexOf('?');
+        String options = query >= 0 ? current.substring(query + 1) : "";
+        if (options.isEmpty()) {
+            return DEFAULT_URL_OPTIONS;
+        }
+        if (!options.contains("rewriteBatchedStatements=")) {
+            options += "&rewriteBatchedStatements=true";
+        }
+        return options;
+    }
+
+    /**
+     * Loads the current db.properties, or empty properties if it can't be read
+     */
+    private Properties loadProperties() {
+        Properties props = new Properties();
+        try (InputStream input = getClass().getResourceAsStream("/com/blog/dao/db.properties")) {
+            if (input != null) {
+                props.load(input);
+            }
+        } catch (Exception e) {
+            // If can't load, start with empty properties
+            LOG.warn("Could not load existing properties: " + e.getMessage());
+        }
+        return props;
+    }
+
     /**
      * Saves configuration to db.properties file
      */
     private boolean saveConfiguration(String url, String user, String password) {
         try {
             // Load existing properties to preserve other settings
-            Properties props = new Properties();
-            
-            // Try to load existing properties
-            try (InputStream input = getClass().getResourceAsStream("/com/blog/dao/db.properties")) {
-                if (input != null) {
-                    props.load(input);
-                }
-            } catch (Exception e) {
-                // If can't load, start with empty properties
-                System.err.println("[SetupServlet] Could not load existing properties: " + e.getMessage());
-            }
+            Properties props = loadProperties();
 
             // Update connection properties
             props.setProperty("db.url", url);
@@ -112,12 +145,11 @@ public class SetupServlet extends HttpServlet {
             // Save properties
             try (OutputStream output = new FileOutputStream(propsFile)) {
                 props.store(output, "Database Configuration - Updated by Setup Wizard");
-                System.out.println("[SetupServlet] Configuration saved to: " + propsFile.getAbsolutePath());
+                LOG.info("Configuration saved to: " + propsFile.getAbsolutePath());
                 return true;
             }
         } catch (Exception e) {
-            System.err.println("[SetupServlet] Failed to save configuration: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to save configuration: " + e.getMessage(), e);
             return false;
         }
     }
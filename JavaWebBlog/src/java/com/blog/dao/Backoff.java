@@ -0,0 +1,62 @@
+package com.blog.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pausa entre reintentos de {@link ConexionBD} y de los DAOs.
+ *
+ * <p>Las pausas esperan sobre una {@link Condition} de un {@link ReentrantLock} en lugar
+ * de usar {@code Thread.sleep} o un monitor {@code synchronized}: un hilo virtual que
+ * espera así libera su hilo portador, y la pausa puede terminarse antes de tiempo. Al
+ * recargar la configuración o cerrar el pool se llama a {@link #wakeAll()}, de modo que
+ * los reintentos pendientes se ejecutan de inmediato contra el pool nuevo (o fallan
+ * enseguida contra el cerrado) en lugar de agotar su espera.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#recargarConfiguracion()
+ */
+final class Backoff {
+
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final Condition WAKE_UP = LOCK.newCondition();
+    /** Se incrementa con cada {@link #wakeAll()}; protegido por {@link #LOCK} */
+    private static long generation;
+
+    private Backoff() {
+    }
+
+    /**
+     * Espera el tiempo indicado, o hasta que se llame a {@link #wakeAll()}.
+     *
+     * @param millis Tiempo de espera en milisegundos
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     */
+    static void pause(long millis) throws InterruptedException {
+        LOCK.lock();
+        try {
+            long startGeneration = generation;
+            long remaining = TimeUnit.MILLISECONDS.toNanos(millis);
+            while (remaining > 0 && startGeneration == generation) {
+                remaining = WAKE_UP.awaitNanos(remaining);
+            }
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * Termina todas las pausas en curso.
+     */
+    static void wakeAll() {
+        LOCK.lock();
+        try {
+            generation++;
+            WAKE_UP.signalAll();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+}
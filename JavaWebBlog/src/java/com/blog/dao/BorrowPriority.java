@@ -0,0 +1,29 @@
+package com.blog.dao;
+
+/**
+ * Prioridad de un préstamo de conexión cuando el pool está lleno y hay varios hilos
+ * esperando.
+ *
+ * <p>Al devolverse una conexión se entrega al hilo en espera con mayor prioridad; entre
+ * hilos de la misma prioridad, al que lleva más tiempo esperando. Para que las
+ * peticiones de prioridad baja no esperen indefinidamente, cada
+ * {@code pool.priority.agingMs} de espera equivalen a subir un nivel (ver
+ * {@link ConcurrentBag}).</p>
+ *
+ * <p>La prioridad se deduce del tipo de tráfico ({@link Workload#getPriority()}); las
+ * conexiones pedidas sin tipo de tráfico tienen prioridad {@link #NORMAL}.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.ConcurrentBag
+ * @see com.blog.dao.PoolMetrics#getBorrowWait(BorrowPriority)
+ */
+public enum BorrowPriority {
+
+    /** Lecturas anónimas: se atienden las últimas */
+    LOW,
+    /** Conexiones sin tipo de tráfico (comprobaciones de salud, herramientas) */
+    NORMAL,
+    /** Inicio de sesión y panel de administración */
+    HIGH
+}
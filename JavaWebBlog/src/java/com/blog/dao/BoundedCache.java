@@ -0,0 +1,410 @@
+package com.blog.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Caché en memoria acotada por tamaño, concurrente, con admisión por frecuencia, para
+ * los decoradores de los DAOs.
+ *
+ * <p>Las lecturas son una consulta a un {@link ConcurrentHashMap}, sin bloqueos. Solo
+ * las inserciones, expulsiones e invalidaciones toman un {@link ReentrantLock}; en una
+ * caché de artículos son raras comparadas con las lecturas.</p>
+ *
+ * <h3>Funcionamiento:</h3>
+ * <ul>
+ *   <li><b>Tamaño:</b> Cada entrada pesa lo que indica la función de peso (bytes
+ *   aproximados); la suma nunca pasa de {@code maxBytes}. Una entrada de más de un
+ *   octavo de la caché no se guarda, para que un valor enorme no vacíe la caché.</li>
+ *   <li><b>Frecuencia:</b> Cada acceso, acierto o fallo, se cuenta en un
+ *   <i>count-min sketch</i> de contadores de 4 bits que se reducen a la mitad
+ *   periódicamente, de modo que la frecuencia refleja el uso reciente con memoria
+ *   fija.</li>
+ *   <li><b>Expulsión y admisión (TinyLFU):</b> Si no hay sitio, el reloj (CLOCK con
+ *   segunda oportunidad) propone como víctimas entradas no leídas desde la última
+ *   vuelta hasta liberar el peso necesario. Las víctimas salen solo si el valor nuevo
+ *   es más frecuente que todas ellas; si no, el valor nuevo no se guarda y las víctimas
+ *   siguen en la caché. Un recorrido que lee muchos artículos una sola vez no expulsa
+ *   así a los artículos populares.</li>
+ *   <li><b>Caducidad:</b> Opcional; protege de escrituras hechas fuera de la
+ *   aplicación.</li>
+ * </ul>
+ *
+ * <h3>Invalidación:</h3>
+ * <p>{@link #invalidate(Object)} quita la entrada e impide que se guarde un valor cuya
+ * carga empezó antes de la invalidación: una lectura que leyó la fila vieja mientras
+ * otra petición la actualizaba no vuelve a meterla en la caché. Con réplicas, además,
+ * durante {@code replicaWindowMs} no se guarda la clave invalidada, porque una
+ * réplica con retraso aún puede devolver la versión anterior.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Solo guarda valores; qué se
+ *   guarda y cuándo se invalida lo decide cada decorador.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor; las instancias guardadas no deben modificarse
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.CachingArticuloDAO
+ * @see com.blog.dao.CacheStats
+ */
+public final class BoundedCache<K, V> {
+
+    /**
+     * Carga un valor que no está en la caché
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        /**
+         * @param key Clave a cargar
+         * @return El valor, o null si no existe (null no se guarda)
+         * @throws SQLException Error de base de datos
+         */
+        V load(K key) throws SQLException;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final int weight;
+        final long loadedAt;
+        volatile boolean referenced;
+        /** false cuando sale del mapa; solo se cambia con el lock */
+        boolean live = true;
+
+        Entry(V value, int weight, long loadedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final String name;
+    private final long maxWeight;
+    private final ToIntFunction<V> weigher;
+    private final long ttlNanos;
+    private final long replicaWindowNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Orden del reloj; puede contener entradas ya retiradas, que se descartan al pasar */
+    private final ArrayDeque<Map.Entry<K, Entry<V>>> ring = new ArrayDeque<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ConcurrentHashMap<K, Long> recentlyInvalidated = new ConcurrentHashMap<>();
+    private volatile long allInvalidatedAt;
+    private volatile long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    /**
+     * @param name Nombre de la caché en las métricas
+     * @param maxBytes Tamaño máximo (suma de los pesos)
+     * @param weigher Peso aproximado de un valor, en bytes
+     * @param ttlMs Caducidad de las entradas (0 para no caducar)
+     * @param replicaWindowMs Tiempo tras invalidar una clave durante el cual no se
+     *        guarda (retraso máximo esperado de las réplicas; 0 sin réplicas)
+     */
+    public BoundedCache(String name, long maxBytes, ToIntFunction<V> weigher, long ttlMs, long replicaWindowMs) {
+        this(name, maxBytes, weigher, ttlMs, replicaWindowMs, System::nanoTime);
+    }
+
+    BoundedCache(String name, long maxBytes, ToIntFunction<V> weigher, long ttlMs, long replicaWindowMs,
+            LongSupplier clock) {
+        this.name = name;
+        this.maxWeight = Math.max(1, maxBytes);
+        this.weigher = weigher;
+        this.ttlNanos = Math.max(0, ttlMs) * 1_000_000;
+        this.replicaWindowNanos = Math.max(0, replicaWindowMs) * 1_000_000;
+        this.clock = clock;
+        // Un contador por cada ~2 KB de caché: de sobra para entradas de varios KB
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(256, maxBytes / 2048)));
+        this.allInvalidatedAt = clock.getAsLong() - replicaWindowNanos - 1;
+    }
+
+    /**
+     * Devuelve el valor de la caché o, si no está, lo carga y lo ofrece a la caché.
+     *
+     * @param key Clave
+     * @param loader Carga el valor desde la base de datos
+     * @return El valor, o null si no existe
+     * @throws SQLException Error al cargar
+     */
+    public V get(K key, Loader<K, V> loader) throws SQLException {
+        sketch.increment(key.hashCode());
+        Entry<V> entry = map.get(key);
+        long now = clock.getAsLong();
+        if (entry != null && !expired(entry, now)) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        long version = invalidations.get();
+        V value = loader.load(key);
+        if (value != null) {
+            offer(key, value, version);
+        }
+        return value;
+    }
+
+    /**
+     * Quita una clave de la caché e impide guardar cargas de esa clave que empezaron
+     * antes de esta llamada.
+     *
+     * @param key Clave modificada o eliminada
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            if (replicaWindowNanos > 0) {
+                long now = clock.getAsLong();
+                recentlyInvalidated.put(key, now);
+                if (recentlyInvalidated.size() > 1024) {
+                    recentlyInvalidated.values().removeIf(at -> now - at > replicaWindowNanos);
+                }
+            }
+            Entry<V> entry = map.remove(key);
+            if (entry != null) {
+                retire(entry);
+                invalidated.increment();
+            }
+            compactRing();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía la caché, por ejemplo tras un borrado en cascada que afecta a claves que no
+     * se conocen.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            allInvalidatedAt = clock.getAsLong();
+            recentlyInvalidated.clear();
+            invalidated.add(map.size());
+            for (Entry<V> entry : map.values()) {
+                entry.live = false;
+            }
+            map.clear();
+            ring.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Instantánea de las estadísticas
+     */
+    public CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), admitted.sum(), rejected.sum(), evicted.sum(),
+                invalidated.sum(), map.size(), weight, maxWeight);
+    }
+
+    private void offer(K key, V value, long version) {
+        int w = weigher.applyAsInt(value);
+        if (w > maxWeight / 8) {
+            rejected.increment();
+            return;
+        }
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            if (invalidations.get() != version || recentlyInvalidated(key, now)) {
+                // Se cargó antes de una escritura: puede ser la versión anterior
+                return;
+            }
+            Entry<V> previous = map.get(key);
+            if (previous != null) {
+                if (!expired(previous, now)) {
+                    // Otra petición la cargó a la vez
+                    return;
+                }
+                map.remove(key);
+                retire(previous);
+            }
+            if (weight + w > maxWeight && !evictFor(key, w, now)) {
+                rejected.increment();
+                return;
+            }
+            Entry<V> entry = new Entry<>(value, w, now);
+            map.put(key, entry);
+            ring.addLast(Map.entry(key, entry));
+            weight += w;
+            admitted.increment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Decide la admisión antes de expulsar: reúne víctimas hasta liberar el peso del
+     * valor nuevo y solo las expulsa si es más frecuente que cada una de ellas. Si no,
+     * las devuelve al principio del reloj en su orden y la caché queda como estaba.
+     *
+     * @return true si se liberó sitio para el valor nuevo
+     */
+    private boolean evictFor(K key, int w, long now) {
+        int frequency = sketch.frequency(key.hashCode());
+        List<Map.Entry<K, Entry<V>>> victims = new ArrayList<>();
+        long freed = 0;
+        boolean admit = true;
+        while (weight - freed + w > maxWeight) {
+            Map.Entry<K, Entry<V>> victim = nextVictim(now);
+            if (victim == null) {
+                admit = false;
+                break;
+            }
+            victims.add(victim);
+            Entry<V> entry = victim.getValue();
+            if (!expired(entry, now) && sketch.frequency(victim.getKey().hashCode()) >= frequency) {
+                admit = false;
+                break;
+            }
+            freed += entry.weight;
+        }
+        if (!admit) {
+            for (int i = victims.size() - 1; i >= 0; i--) {
+                ring.addFirst(victims.get(i));
+            }
+            return false;
+        }
+        for (Map.Entry<K, Entry<V>> victim : victims) {
+            map.remove(victim.getKey(), victim.getValue());
+            retire(victim.getValue());
+            evicted.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Avanza el reloj hasta una entrada viva que no se haya leído desde la última
+     * vuelta. Las entradas leídas pierden la marca y pasan al final.
+     */
+    private Map.Entry<K, Entry<V>> nextVictim(long now) {
+        int secondChances = ring.size();
+        while (!ring.isEmpty()) {
+            Map.Entry<K, Entry<V>> candidate = ring.pollFirst();
+            Entry<V> entry = candidate.getValue();
+            if (!entry.live) {
+                continue;
+            }
+            if (entry.referenced && secondChances-- > 0 && !expired(entry, now)) {
+                entry.referenced = false;
+                ring.addLast(candidate);
+                continue;
+            }
+            return candidate;
+        }
+        return null;
+    }
+
+    private void retire(Entry<V> entry) {
+        entry.live = false;
+        weight -= entry.weight;
+    }
+
+    /**
+     * Quita del reloj las entradas retiradas cuando ya son más que las vivas.
+     */
+    private void compactRing() {
+        if (ring.size() > 2 * map.size() + 64) {
+            ring.removeIf(e -> !e.getValue().live);
+        }
+    }
+
+    private boolean expired(Entry<V> entry, long now) {
+        return ttlNanos > 0 && now - entry.loadedAt > ttlNanos;
+    }
+
+    private boolean recentlyInvalidated(K key, long now) {
+        if (replicaWindowNanos == 0) {
+            return false;
+        }
+        if (now - allInvalidatedAt <= replicaWindowNanos) {
+            return true;
+        }
+        Long at = recentlyInvalidated.get(key);
+        return at != null && now - at <= replicaWindowNanos;
+    }
+
+    /**
+     * Count-min sketch de 4 filas con contadores saturados en 15 (TinyLFU). Tras
+     * {@code 10 × ancho} incrementos todos los contadores se dividen entre dos, de modo
+     * que las frecuencias antiguas pierden peso.
+     *
+     * <p>Los incrementos no son atómicos: uno perdido por una carrera entre dos hilos
+     * solo hace la frecuencia un poco más aproximada, y evita contención en las
+     * lecturas.</p>
+     */
+    static final class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int MAX = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[] counters;
+        private final int mask;
+        private final int resetAfter;
+        private int additions;
+
+        FrequencySketch(int width) {
+            int w = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+            this.counters = new byte[w * ROWS];
+            this.mask = w - 1;
+            this.resetAfter = 10 * w;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int row = 0; row < ROWS; row++) {
+                int i = index(hash, row);
+                if (counters[i] < MAX) {
+                    counters[i]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= resetAfter) {
+                additions = 0;
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] = (byte) (counters[i] >> 1);
+                }
+            }
+        }
+
+        int frequency(int hash) {
+            int min = MAX;
+            for (int row = 0; row < ROWS; row++) {
+                min = Math.min(min, counters[index(hash, row)]);
+            }
+            return min;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return row * (mask + 1) + (h & mask);
+        }
+    }
+}
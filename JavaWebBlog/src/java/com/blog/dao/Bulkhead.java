@@ -0,0 +1,196 @@
+package com.blog.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cuota de conexiones del pool principal reservada a un tipo de tráfico
+ * ({@link Workload}).
+ *
+ * <p>Con un único pool, una avalancha de visitas anónimas a {@code /articulos} ocupa
+ * todas las conexiones y el inicio de sesión y el panel de administración esperan
+ * detrás de ellas hasta agotar {@code pool.borrowTimeoutMs}. Con {@code
+ * pool.bulkhead.enabled=true} cada tipo de tráfico solo puede tener prestadas a la vez
+ * un {@code pool.bulkhead.<tipo>.percent} del límite del pool: si la portada pública
+ * no pasa del 70%, el 30% restante queda siempre libre para {@code auth} y
+ * {@code admin-write}. Las cuotas pueden sumar más del 100%; lo que garantizan es el
+ * máximo de cada tipo, no un mínimo.</p>
+ *
+ * <p>La cuota se calcula sobre el límite efectivo del pool, de modo que acompaña al
+ * dimensionamiento adaptativo ({@link PoolSizer}). Las lecturas que se sirven desde
+ * una réplica no consumen cuota: no ocupan conexiones del pool principal.</p>
+ *
+ * <p>Los recorridos en streaming ({@code scan}) tienen cuota propia: una exportación
+ * retiene su conexión durante minutos y no debe quitar plazas a {@code admin-write}.</p>
+ *
+ * <h3>Funcionamiento:</h3>
+ * <ul>
+ *   <li>Con cuota libre, tomarla es una única operación CAS, sin bloqueos</li>
+ *   <li>Con la cuota llena, el hilo espera en una {@link Condition} (válida también para
+ *   hilos virtuales) hasta que otro hilo del mismo tipo devuelva su conexión, como
+ *   mucho el tiempo que le quede de {@code pool.borrowTimeoutMs}</li>
+ *   <li>La cuota se devuelve al cerrar la conexión ({@link ProxyConnection#close()})</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Bulkhead:</b> Divide un recurso compartido en compartimentos estancos para que
+ *   la saturación de uno no inunde a los demás.</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.Workload
+ * @see com.blog.dao.ConexionBD#getBulkheads()
+ */
+public final class Bulkhead {
+
+    private final Workload workload;
+    private final ConnectionPool pool;
+    private final int percent;
+
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+
+    /**
+     * @param workload Tipo de tráfico
+     * @param pool Pool cuya capacidad se reparte
+     * @param percent Porcentaje del límite del pool que puede ocupar este tipo
+     */
+    Bulkhead(Workload workload, ConnectionPool pool, int percent) {
+        this.workload = workload;
+        this.pool = pool;
+        this.percent = Math.max(1, Math.min(100, percent));
+    }
+
+    /**
+     * Toma una plaza de la cuota, esperando si está llena.
+     *
+     * @param timeoutMs Espera máxima
+     * @return true si se obtuvo la plaza; false si se agotó la espera
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera
+     */
+    boolean acquire(long timeoutMs) throws InterruptedException {
+        if (tryAcquire()) {
+            acquired.increment();
+            return true;
+        }
+        waited.increment();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lock.lock();
+        try {
+            // Se anota antes de reintentar: release() solo señala si ve esperas
+            waiting.incrementAndGet();
+            try {
+                while (!tryAcquire()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+        acquired.increment();
+        return true;
+    }
+
+    private boolean tryAcquire() {
+        int limit = getLimit();
+        for (;;) {
+            int current = inUse.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inUse.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devuelve una plaza de la cuota.
+     */
+    void release() {
+        inUse.decrementAndGet();
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    /**
+     * @return Porcentaje configurado del límite del pool
+     */
+    public int getPercent() {
+        return percent;
+    }
+
+    /**
+     * @return Conexiones que este tipo puede tener prestadas a la vez (al menos una)
+     */
+    public int getLimit() {
+        return Math.max(1, pool.getSizeLimit() * percent / 100);
+    }
+
+    /**
+     * @return Conexiones prestadas en este momento a este tipo de tráfico
+     */
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * @return Hilos esperando plaza en la cuota
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /**
+     * @return Préstamos que obtuvieron plaza
+     */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * @return Préstamos que encontraron la cuota llena y tuvieron que esperar
+     */
+    public long getWaited() {
+        return waited.sum();
+    }
+
+    /**
+     * @return Préstamos rechazados por agotar la espera con la cuota llena
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return workload.getKey() + ": " + getInUse() + "/" + getLimit();
+    }
+}
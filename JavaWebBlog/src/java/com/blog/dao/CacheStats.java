@@ -0,0 +1,108 @@
+package com.blog.dao;
+
+/**
+ * Instantánea inmutable de las estadísticas de una {@link BoundedCache}, para las
+ * métricas de {@code /admin/metrics}.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.BoundedCache#stats()
+ * @see com.blog.controller.MetricsServlet
+ */
+public final class CacheStats {
+
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long admitted;
+    private final long rejected;
+    private final long evicted;
+    private final long invalidated;
+    private final long entries;
+    private final long weightBytes;
+    private final long maxBytes;
+
+    CacheStats(String name, long hits, long misses, long admitted, long rejected, long evicted, long invalidated,
+            long entries, long weightBytes, long maxBytes) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.admitted = admitted;
+        this.rejected = rejected;
+        this.evicted = evicted;
+        this.invalidated = invalidated;
+        this.entries = entries;
+        this.weightBytes = weightBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Lecturas servidas desde la caché
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Lecturas que fueron a la base de datos
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Fracción de lecturas servidas desde la caché (0 sin lecturas)
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return Valores cargados que se guardaron
+     */
+    public long getAdmitted() {
+        return admitted;
+    }
+
+    /**
+     * @return Valores cargados que no se guardaron por ser menos frecuentes que la
+     *         víctima propuesta o demasiado grandes
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return Entradas expulsadas para hacer sitio
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    /**
+     * @return Entradas quitadas por escrituras
+     */
+    public long getInvalidated() {
+        return invalidated;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return Tamaño aproximado ocupado, en bytes
+     */
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
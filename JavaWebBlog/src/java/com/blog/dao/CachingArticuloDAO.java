@@ -0,0 +1,174 @@
+package com.blog.dao;
+
+import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link IArticuloDAO} que sirve {@link #obtenerPorId(int)} desde
+ * memoria.
+ *
+ * <p>La vista de un artículo es la lectura más repetida del blog y los artículos
+ * cambian poco: con este decorador los artículos populares se leen de una
+ * {@link BoundedCache} y solo el primer acceso (o el primero tras una modificación) va
+ * a MySQL. El resto de operaciones pasan directamente al DAO decorado.</p>
+ *
+ * <h3>Coherencia:</h3>
+ * <ul>
+ *   <li>{@link #actualizar(Articulo)} y {@link #eliminar(int)} invalidan exactamente
+ *   ese artículo al terminar, también si fallan (la escritura pudo confirmarse
+ *   antes del error)</li>
+ *   <li>{@link #crear(Articulo)} y {@link #crearLote(List)} no invalidan nada: la caché
+ *   no guarda los artículos que no existen</li>
+ *   <li>Borrar un usuario borra sus artículos en cascada; quien lo borre debe llamar
+ *   a {@link #invalidarTodo()} (ver {@link DAOFactory#usuariosEliminados()})</li>
+ *   <li>Las instancias se copian al guardar y al devolver, de modo que un llamador que
+ *   modifica el artículo recibido no altera la caché</li>
+ * </ul>
+ *
+ * <h3>Configuración (db.properties):</h3>
+ * <pre>
+ * cache.articulos.enabled=true
+ * cache.articulos.maxBytes=33554432
+ * cache.articulos.ttlSeconds=600
+ * </pre>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>O - Open/Closed Principle (OCP):</b> Añade la caché sin modificar
+ *   {@link MySQLArticuloDAO} ni los controladores.
+ *   Ver Sección 2.1.2 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>L - Liskov Substitution Principle (LSP):</b> Cumple el contrato de
+ *   {@link IArticuloDAO}: quien lo usa no distingue si hay caché.
+ *   Ver Sección 2.1.3 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Decorator:</b> Envuelve otro {@link IArticuloDAO} con la misma interfaz y
+ *   le añade comportamiento. Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.BoundedCache
+ * @see com.blog.dao.DAOFactory
+ */
+public class CachingArticuloDAO implements IArticuloDAO {
+
+    /** Bytes fijos estimados de un artículo además de sus textos */
+    private static final int PESO_BASE = 160;
+
+    private final IArticuloDAO delegado;
+    private final BoundedCache<Integer, Articulo> cache;
+
+    /**
+     * @param delegado DAO que accede a la base de datos
+     * @param cache Caché donde se guardan los artículos
+     */
+    public CachingArticuloDAO(IArticuloDAO delegado, BoundedCache<Integer, Articulo> cache) {
+        this.delegado = delegado;
+        this.cache = cache;
+    }
+
+    /**
+     * Crea la caché de artículos con el peso aproximado de cada artículo en memoria.
+     *
+     * @param maxBytes Tamaño máximo
+     * @param ttlMs Caducidad de las entradas (0 para no caducar)
+     * @param ventanaReplicasMs Retraso máximo esperado de las réplicas (0 sin réplicas)
+     * @return Caché lista para el decorador
+     */
+    public static BoundedCache<Integer, Articulo> crearCache(long maxBytes, long ttlMs, long ventanaReplicasMs) {
+        return new BoundedCache<>("articulos", maxBytes, CachingArticuloDAO::peso, ttlMs, ventanaReplicasMs);
+    }
+
+    @Override
+    public Articulo obtenerPorId(int id) throws SQLException {
+        Articulo articulo = cache.get(id, clave -> copiar(delegado.obtenerPorId(clave)));
+        return copiar(articulo);
+    }
+
+    @Override
+    public boolean actualizar(Articulo articulo) throws SQLException {
+        try {
+            return delegado.actualizar(articulo);
+        } finally {
+            cache.invalidate(articulo.getId());
+        }
+    }
+
+    @Override
+    public boolean eliminar(int id) throws SQLException {
+        try {
+            return delegado.eliminar(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean crear(Articulo articulo) throws SQLException {
+        return delegado.crear(articulo);
+    }
+
+    @Override
+    public List<Integer> crearLote(List<Articulo> articulos) throws SQLException {
+        return delegado.crearLote(articulos);
+    }
+
+    @Override
+    public List<Articulo> listarTodos() throws SQLException {
+        return delegado.listarTodos();
+    }
+
+    @Override
+    public Pagina<ArticuloResumen> listarPagina(CursorArticulo cursor, int tamano) throws SQLException {
+        return delegado.listarPagina(cursor, tamano);
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<? super Articulo> accion) throws SQLException {
+        return delegado.recorrerTodos(accion);
+    }
+
+    @Override
+    public int contarTotal() throws SQLException {
+        return delegado.contarTotal();
+    }
+
+    /**
+     * Vacía la caché (por ejemplo, tras borrar usuarios y sus artículos en cascada).
+     */
+    public void invalidarTodo() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Estadísticas de la caché
+     */
+    public CacheStats getEstadisticas() {
+        return cache.stats();
+    }
+
+    private static int peso(Articulo a) {
+        return PESO_BASE + 2 * (longitud(a.getTitulo()) + longitud(a.getContenido()) + longitud(a.getAutorNombre()));
+    }
+
+    private static int longitud(String texto) {
+        return texto == null ? 0 : texto.length();
+    }
+
+    private static Articulo copiar(Articulo a) {
+        if (a == null) {
+            return null;
+        }
+        Articulo copia = new Articulo(a.getId(), a.getTitulo(), a.getContenido(), a.getFechaPublicacion(),
+                a.getAutorId());
+        copia.setAutorNombre(a.getAutorNombre());
+        return copia;
+    }
+}
@@ -0,0 +1,255 @@
+package com.blog.dao;
+
+import com.blog.model.Usuario;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link IUsuarioDAO} que sirve {@link #buscarPorUsername(String)} y
+ * {@link #obtenerPorId(int)} desde memoria.
+ *
+ * <p>Cada login y cada registro buscan el usuario por username; tras una oleada de
+ * sesiones caducadas es la consulta más frecuente del blog. Con este decorador solo la
+ * primera búsqueda de cada usuario va a MySQL. Se usan dos {@link BoundedCache}: una
+ * por ID y otra por username.</p>
+ *
+ * <h3>Caché negativa:</h3>
+ * <p>La caché por username también guarda los usernames que no existen
+ * ({@link Optional#empty()}), de modo que repetir un login con un usuario inexistente
+ * o comprobar varias veces un username libre al registrarse no vuelve a consultar la
+ * base de datos. Como cualquier otra entrada, un username desconocido solo se admite
+ * si es más frecuente que el que expulsaría: un recorrido de usernames inventados no
+ * desplaza a los usuarios reales.</p>
+ *
+ * <h3>Coherencia:</h3>
+ * <ul>
+ *   <li>{@link #crear(Usuario)} y {@link #crearLote(List)} invalidan el username de cada
+ *   usuario creado, que podía estar guardado como inexistente</li>
+ *   <li>{@link #actualizarRol(int, String)} y {@link #eliminar(int)} invalidan el
+ *   usuario por ID y vacían la caché por username al terminar, también si fallan. La
+ *   columna {@code username} usa {@code utf8mb4_unicode_ci}, que no distingue
+ *   mayúsculas, acentos ni espacios finales: "admin", "Admin " o "ádmin" encuentran al
+ *   mismo usuario y pueden estar guardados como entradas distintas. Vaciarla entera
+ *   garantiza que un usuario degradado o eliminado no siga entrando con el rol
+ *   anterior por una variante; son operaciones raras del panel.</li>
+ *   <li>{@link #eliminarTodosExceptoAdmins()} vacía ambas cachés</li>
+ *   <li>La clave por username se pasa a minúsculas, para que las variantes más
+ *   habituales compartan entrada</li>
+ *   <li>Con réplicas, ninguna de las dos cachés guarda un usuario recién invalidado
+ *   hasta que pasa su retraso máximo: una réplica atrasada podría devolver el rol
+ *   anterior</li>
+ *   <li>La caducidad acota el tiempo que se ven cambios hechos fuera de esta instancia
+ *   (otro servidor o MySQL directamente). La caché por username caduca antes: un
+ *   usuario registrado en otro servidor debe poder entrar aquí enseguida.</li>
+ *   <li>Las instancias se copian al guardar y al devolver</li>
+ * </ul>
+ *
+ * <h3>Configuración (db.properties):</h3>
+ * <pre>
+ * cache.usuarios.enabled=true
+ * cache.usuarios.maxBytes=4194304
+ * cache.usuarios.ttlSeconds=300
+ * cache.usuarios.usernameTtlSeconds=30
+ * </pre>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>O - Open/Closed Principle (OCP):</b> Añade la caché sin modificar
+ *   {@link MySQLUsuarioDAO} ni los controladores.
+ *   Ver Sección 2.1.2 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>L - Liskov Substitution Principle (LSP):</b> Cumple el contrato de
+ *   {@link IUsuarioDAO}: quien lo usa no distingue si hay caché.
+ *   Ver Sección 2.1.3 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Decorator:</b> Envuelve otro {@link IUsuarioDAO} con la misma interfaz y le
+ *   añade comportamiento. Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.2
+ * @since 2026-10-18
+ * @see com.blog.dao.BoundedCache
+ * @see com.blog.dao.CachingArticuloDAO
+ * @see com.blog.dao.DAOFactory
+ */
+public class CachingUsuarioDAO implements IUsuarioDAO {
+
+    /** Bytes fijos estimados de un usuario además de sus textos */
+    private static final int PESO_BASE = 120;
+    /** Bytes estimados de una entrada negativa (el username de la clave incluido) */
+    private static final int PESO_INEXISTENTE = 96;
+
+    private final IUsuarioDAO delegado;
+    private final BoundedCache<Integer, Usuario> porId;
+    private final BoundedCache<String, Optional<Usuario>> porUsername;
+
+    /**
+     * @param delegado DAO que accede a la base de datos
+     * @param porId Caché de usuarios por ID
+     * @param porUsername Caché de usuarios por username, con los inexistentes vacíos
+     */
+    public CachingUsuarioDAO(IUsuarioDAO delegado, BoundedCache<Integer, Usuario> porId,
+            BoundedCache<String, Optional<Usuario>> porUsername) {
+        this.delegado = delegado;
+        this.porId = porId;
+        this.porUsername = porUsername;
+    }
+
+    /**
+     * Crea la caché de usuarios por ID.
+     *
+     * @param maxBytes Tamaño máximo
+     * @param ttlMs Caducidad de las entradas (0 para no caducar)
+     * @param ventanaReplicasMs Retraso máximo esperado de las réplicas (0 sin réplicas)
+     * @return Caché lista para el decorador
+     */
+    public static BoundedCache<Integer, Usuario> crearCachePorId(long maxBytes, long ttlMs, long ventanaReplicasMs) {
+        return new BoundedCache<>("usuarios", maxBytes, CachingUsuarioDAO::peso, ttlMs, ventanaReplicasMs);
+    }
+
+    /**
+     * Crea la caché de usuarios por username.
+     *
+     * @param maxBytes Tamaño máximo
+     * @param ttlMs Caducidad de las entradas, también de las negativas (0 para no caducar)
+     * @param ventanaReplicasMs Retraso máximo esperado de las réplicas (0 sin réplicas)
+     * @return Caché lista para el decorador
+     */
+    public static BoundedCache<String, Optional<Usuario>> crearCachePorUsername(long maxBytes, long ttlMs,
+            long ventanaReplicasMs) {
+        return new BoundedCache<>("usuarios_username", maxBytes,
+                u -> u.map(CachingUsuarioDAO::peso).orElse(PESO_INEXISTENTE), ttlMs, ventanaReplicasMs);
+    }
+
+    @Override
+    public Usuario buscarPorUsername(String username) throws SQLException {
+        if (username == null) {
+            return delegado.buscarPorUsername(null);
+        }
+        Optional<Usuario> usuario = porUsername.get(clave(username),
+                clave -> Optional.ofNullable(copiar(delegado.buscarPorUsername(username))));
+        return copiar(usuario.orElse(null));
+    }
+
+    @Override
+    public Usuario obtenerPorId(int id) throws SQLException {
+        Usuario usuario = porId.get(id, clave -> copiar(delegado.obtenerPorId(clave)));
+        return copiar(usuario);
+    }
+
+    @Override
+    public boolean crear(Usuario usuario) throws SQLException {
+        try {
+            return delegado.crear(usuario);
+        } finally {
+            invalidarUsername(usuario.getUsername());
+        }
+    }
+
+    @Override
+    public List<Integer> crearLote(List<Usuario> usuarios) throws SQLException {
+        try {
+            return delegado.crearLote(usuarios);
+        } finally {
+            for (Usuario usuario : usuarios) {
+                invalidarUsername(usuario.getUsername());
+            }
+        }
+    }
+
+    @Override
+    public boolean actualizarRol(int id, String nuevoRol) throws SQLException {
+        try {
+            return delegado.actualizarRol(id, nuevoRol);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    @Override
+    public boolean eliminar(int id) throws SQLException {
+        try {
+            return delegado.eliminar(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    @Override
+    public int eliminarTodosExceptoAdmins() throws SQLException {
+        try {
+            return delegado.eliminarTodosExceptoAdmins();
+        } finally {
+            invalidarTodo();
+        }
+    }
+
+    @Override
+    public List<Usuario> listarTodos() throws SQLException {
+        return delegado.listarTodos();
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<? super Usuario> accion) throws SQLException {
+        return delegado.recorrerTodos(accion);
+    }
+
+    /**
+     * Vacía ambas cachés.
+     */
+    public void invalidarTodo() {
+        porId.invalidateAll();
+        porUsername.invalidateAll();
+    }
+
+    /**
+     * @return Estadísticas de la caché por ID y de la caché por username
+     */
+    public List<CacheStats> getEstadisticas() {
+        return List.of(porId.stats(), porUsername.stats());
+    }
+
+    /**
+     * Invalida un usuario modificado o eliminado. La caché por username se vacía
+     * entera: MySQL lo encuentra también por variantes que aquí son otras claves.
+     */
+    private void invalidar(int id) {
+        porId.invalidate(id);
+        porUsername.invalidateAll();
+    }
+
+    private void invalidarUsername(String username) {
+        if (username != null) {
+            porUsername.invalidate(clave(username));
+        }
+    }
+
+    /**
+     * Clave de la caché por username: MySQL compara los usernames sin distinguir
+     * mayúsculas, así que esas variantes comparten entrada.
+     */
+    private static String clave(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static int peso(Usuario u) {
+        return PESO_BASE + 2 * (longitud(u.getUsername()) + longitud(u.getPassword()) + longitud(u.getNombre())
+                + longitud(u.getEmail()) + longitud(u.getRol()));
+    }
+
+    private static int longitud(String texto) {
+        return texto == null ? 0 : texto.length();
+    }
+
+    private static Usuario copiar(Usuario u) {
+        if (u == null) {
+            return null;
+        }
+        return new Usuario(u.getId(), u.getNombre(), u.getEmail(), u.getUsername(), u.getPassword(), u.getRol());
+    }
+}
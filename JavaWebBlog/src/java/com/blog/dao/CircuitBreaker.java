@@ -0,0 +1,324 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Interruptor de circuito (circuit breaker) delante de la base de datos.
+ *
+ * <p>Cuando MySQL no responde, cada petición agotaría los reintentos de
+ * {@link ConexionBD} y después los de su DAO, ocupando un hilo del contenedor durante
+ * decenas de segundos. El interruptor observa el resultado de cada intento de obtener
+ * una conexión y, si la proporción de fallos supera un umbral, deja de intentarlo: las
+ * peticiones fallan de inmediato con {@link CircuitOpenException} hasta que pase un
+ * tiempo de espera.</p>
+ *
+ * <h3>Estados:</h3>
+ * <ul>
+ *   <li><b>{@link State#CLOSED}:</b> funcionamiento normal. Los resultados se guardan en una
+ *   ventana de los últimos {@code circuit.windowSize} intentos; con al menos
+ *   {@code circuit.minimumCalls} intentos y un {@code circuit.failureRatePercent} de fallos
+ *   o más, el circuito se abre</li>
+ *   <li><b>{@link State#OPEN}:</b> se rechazan todos los intentos durante
+ *   {@code circuit.openMs}</li>
+ *   <li><b>{@link State#HALF_OPEN}:</b> pasado ese tiempo se deja pasar un único intento
+ *   de prueba; el resto se sigue rechazando. Si la prueba tiene éxito el circuito se
+ *   cierra con la ventana vacía; si falla, vuelve a abrirse</li>
+ * </ul>
+ *
+ * <p>Cada intento recibe en {@link #tryAcquirePermission()} un {@link Permission} y lo
+ * devuelve al registrar su resultado. Solo el resultado de la prueba cambia el estado
+ * semiabierto: un intento lento admitido con el circuito cerrado que termina después
+ * no cierra ni reabre el circuito, ni libera el permiso de la prueba en curso.</p>
+ *
+ * <p>Los préstamos que agotan {@code pool.borrowTimeoutMs} con el pool lleno no cuentan
+ * como fallos: indican saturación, no que la base de datos esté caída.</p>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Circuit Breaker:</b> Envuelve el acceso a un recurso remoto y corta las
+ *   llamadas mientras el recurso falla, para no agotar los hilos esperándolo.</li>
+ * </ul>
+ *
+ * @version 1.2
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#getCircuitBreaker()
+ * @see com.blog.filter.DatabaseCheckFilter
+ */
+public final class CircuitBreaker {
+
+    private static final Log LOG = Log.get(CircuitBreaker.class);
+
+    /**
+     * Estado del interruptor.
+     */
+    public enum State {
+        /** Funcionamiento normal */
+        CLOSED,
+        /** Se rechazan los intentos sin llegar a la base de datos */
+        OPEN,
+        /** Se deja pasar un único intento de prueba */
+        HALF_OPEN
+    }
+
+    /**
+     * Permiso concedido a un intento, que se pasa de vuelta al registrar su resultado.
+     */
+    enum Permission {
+        /** Rechazado: debe fallar de inmediato */
+        DENIED,
+        /** Intento normal con el circuito cerrado */
+        CALL,
+        /** Único intento de prueba con el circuito semiabierto */
+        PROBE;
+
+        boolean isGranted() {
+            return this != DENIED;
+        }
+    }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+
+    // Ventana circular de resultados (true = fallo), protegida por windowLock
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAtMillis;
+    private volatile long lastTransitionMillis = System.currentTimeMillis();
+
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+
+    /**
+     * Crea un interruptor a partir de la configuración indicada.
+     *
+     * @param properties Configuración (mismas claves que db.properties)
+     */
+    CircuitBreaker(Properties properties) {
+        this.enabled = Boolean.parseBoolean(properties.getProperty("circuit.enabled", "true"));
+        this.window = new boolean[Math.max(1, Integer.parseInt(properties.getProperty("circuit.windowSize", "20")))];
+        this.minimumCalls = Math.min(window.length,
+                Integer.parseInt(properties.getProperty("circuit.minimumCalls", "5")));
+        this.failureRateThreshold = Double.parseDouble(
+                properties.getProperty("circuit.failureRatePercent", "50")) / 100.0;
+        this.openMillis = Long.parseLong(properties.getProperty("circuit.openMs", "10000"));
+    }
+
+    /**
+     * Pide permiso para intentar obtener una conexión.
+     *
+     * @return {@link Permission#CALL} o {@link Permission#PROBE} si el intento puede
+     *         hacerse; {@link Permission#DENIED} si debe fallar de inmediato
+     */
+    Permission tryAcquirePermission() {
+        if (!enabled) {
+            return Permission.CALL;
+        }
+        State current = state.get();
+        if (current == State.OPEN
+                && System.currentTimeMillis() - openedAtMillis >= openMillis
+                && transition(State.OPEN, State.HALF_OPEN)) {
+            current = State.HALF_OPEN;
+        }
+        switch (current) {
+            case CLOSED:
+                return Permission.CALL;
+            case HALF_OPEN:
+                if (probeInFlight.compareAndSet(false, true)) {
+                    LOG.info("Circuito semiabierto: enviando intento de prueba");
+                    return Permission.PROBE;
+                }
+                rejectedCalls.increment();
+                return Permission.DENIED;
+            default:
+                rejectedCalls.increment();
+                return Permission.DENIED;
+        }
+    }
+
+    /**
+     * Registra un intento exitoso. Solo cuenta si es la prueba o si el circuito sigue
+     * cerrado.
+     *
+     * @param permission Permiso que recibió el intento
+     */
+    void onSuccess(Permission permission) {
+        if (!enabled) {
+            return;
+        }
+        if (permission == Permission.PROBE) {
+            resetWindow();
+            if (transition(State.HALF_OPEN, State.CLOSED)) {
+                LOG.info("Intento de prueba exitoso: circuito cerrado");
+            }
+            probeInFlight.set(false);
+            return;
+        }
+        if (state.get() == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Registra un intento fallido. Solo cuenta si es la prueba o si el circuito sigue
+     * cerrado.
+     *
+     * @param permission Permiso que recibió el intento
+     * @return true si este fallo abrió el circuito
+     */
+    boolean onFailure(Permission permission) {
+        if (!enabled) {
+            return false;
+        }
+        if (permission == Permission.PROBE) {
+            boolean opened = open(State.HALF_OPEN);
+            probeInFlight.set(false);
+            return opened;
+        }
+        if (state.get() == State.CLOSED && record(true)) {
+            return open(State.CLOSED);
+        }
+        return false;
+    }
+
+    /**
+     * Registra un intento que terminó sin indicar nada sobre la salud de la base de
+     * datos (por ejemplo, pool lleno), liberando el permiso de prueba si lo tenía.
+     *
+     * @param permission Permiso que recibió el intento
+     */
+    void onIgnored(Permission permission) {
+        if (permission == Permission.PROBE) {
+            probeInFlight.set(false);
+        }
+    }
+
+    /**
+     * Guarda un resultado en la ventana.
+     *
+     * @return true si la proporción de fallos supera el umbral
+     */
+    private boolean record(boolean failure) {
+        windowLock.lock();
+        try {
+            if (windowCalls == window.length) {
+                if (window[windowIndex]) {
+                    windowFailures--;
+                }
+            } else {
+                windowCalls++;
+            }
+            window[windowIndex] = failure;
+            if (failure) {
+                windowFailures++;
+            }
+            windowIndex = (windowIndex + 1) % window.length;
+            return windowCalls >= minimumCalls && (double) windowFailures / windowCalls >= failureRateThreshold;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void resetWindow() {
+        windowLock.lock();
+        try {
+            windowIndex = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private boolean open(State from) {
+        openedAtMillis = System.currentTimeMillis();
+        if (transition(from, State.OPEN)) {
+            timesOpened.increment();
+            LOG.warn("Circuito abierto: las peticiones fallarán de inmediato durante "
+                    + openMillis + "ms (tasa de fallos " + Math.round(getFailureRate() * 100) + "%)");
+            return true;
+        }
+        return false;
+    }
+
+    private boolean transition(State from, State to) {
+        if (state.compareAndSet(from, to)) {
+            lastTransitionMillis = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene el estado actual. Un circuito abierto cuyo tiempo de espera ya pasó se
+     * sigue reportando abierto hasta que llegue el siguiente intento (la prueba).
+     *
+     * @return Estado del interruptor
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * @return true si el interruptor está activado ({@code circuit.enabled})
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Proporción de fallos (0 a 1) en la ventana actual
+     */
+    public double getFailureRate() {
+        windowLock.lock();
+        try {
+            return windowCalls == 0 ? 0 : (double) windowFailures / windowCalls;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /**
+     * @return Milisegundos que faltan para el siguiente intento de prueba, o 0 si el
+     *         circuito no está abierto
+     */
+    public long getRetryInMillis() {
+        if (state.get() != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openMillis - (System.currentTimeMillis() - openedAtMillis));
+    }
+
+    /**
+     * @return Intentos rechazados sin llegar a la base de datos
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    /**
+     * @return Veces que el circuito se ha abierto
+     */
+    public long getTimesOpened() {
+        return timesOpened.sum();
+    }
+
+    /**
+     * @return Momento del último cambio de estado (epoch en ms)
+     */
+    public long getLastTransitionMillis() {
+        return lastTransitionMillis;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.dao;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Indica que no se intentó obtener una conexión porque el {@link CircuitBreaker} de la
+ * base de datos está abierto.
+ *
+ * <p>Los DAOs no reintentan operaciones que fallan con esta excepción: el circuito ya
+ * decidió que la base de datos no está disponible y reintentar solo retendría el hilo.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.CircuitBreaker
+ */
+public class CircuitOpenException extends SQLTransientConnectionException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param retryInMillis Milisegundos que faltan para el siguiente intento de prueba
+     */
+    public CircuitOpenException(long retryInMillis) {
+        super("Base de datos no disponible (circuito abierto); próximo intento en " + retryInMillis + "ms", "08001");
+    }
+}
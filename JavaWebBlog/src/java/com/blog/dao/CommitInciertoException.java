@@ -0,0 +1,27 @@
+package com.blog.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Indica que falló el {@code commit()} de una transacción: la base de datos pudo
+ * confirmarla aunque la respuesta no llegara (por ejemplo, si se cortó la conexión).
+ *
+ * <p>Los DAOs no reintentan operaciones que fallan con esta excepción: repetir la
+ * transacción podría insertar de nuevo las mismas filas.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.LoteInterrumpidoException
+ */
+class CommitInciertoException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param causa Error devuelto por {@code commit()}
+     */
+    CommitInciertoException(SQLException causa) {
+        super("No se sabe si la transacción se confirmó: " + causa.getMessage(),
+                causa.getSQLState(), causa.getErrorCode(), causa);
+    }
+}
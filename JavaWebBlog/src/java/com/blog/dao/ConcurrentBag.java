@@ -0,0 +1,411 @@
+package com.blog.dao;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contenedor concurrente de conexiones sin bloqueos para el pool.
+ *
+ * <p>Reemplaza la búsqueda lineal sincronizada sobre un {@code ArrayList}. Para tomar
+ * una conexión se siguen tres pasos, del más barato al más costoso:</p>
+ * <ol>
+ *   <li><b>Afinidad por hilo:</b> cada hilo recuerda (mediante {@link ThreadLocal}) las
+ *   últimas conexiones que devolvió y las intenta reutilizar primero. Esto evita
+ *   competir con otros hilos por las mismas entradas. Los hilos virtuales se omiten:
+ *   cada petición usa uno nuevo, así que la lista nunca se reutilizaría y solo
+ *   ocuparía memoria en miles de hilos.</li>
+ *   <li><b>Lista compartida:</b> se recorre la lista global (copy-on-write, lectura sin
+ *   bloqueo) intentando cambiar el estado de cada entrada con CAS.</li>
+ *   <li><b>Entrega directa (hand-off):</b> si no hay entradas libres, el hilo espera en
+ *   una cola de prioridad; quien devuelve una conexión se la pasa directamente al hilo
+ *   en espera con mayor prioridad ({@link BorrowPriority}) y, entre los de la misma
+ *   prioridad, al que lleva más tiempo esperando.</li>
+ * </ol>
+ *
+ * <h3>Prioridad y envejecimiento:</h3>
+ * <p>Cada hilo en espera se ordena por su momento de llegada adelantado
+ * {@code pool.priority.agingMs} por cada nivel de prioridad. Equivale a que cada
+ * {@code agingMs} de espera suban un nivel: una lectura anónima que lleva esperando
+ * {@code 2 × agingMs} pasa por delante de un login que acaba de llegar, de modo que con
+ * el pool saturado las peticiones importantes se atienden antes sin dejar a las demás
+ * esperando indefinidamente. Como el orden no cambia con el tiempo, basta una cola de
+ * prioridad ordinaria.</p>
+ *
+ * <p>Los dos primeros pasos no adquieren ningún bloqueo, por lo que el rendimiento
+ * escala con el número de núcleos en lugar de estancarse por contención. Solo la cola
+ * de espera, que se usa cuando el pool ya está lleno, se protege con un
+ * {@link ReentrantLock} (válido para hilos virtuales).</p>
+ *
+ * <h3>Patrones de diseño:</h3>
+ * <ul>
+ *   <li><b>Object Pool:</b> Estructura de almacenamiento del pool de {@link ConexionBD}.
+ *   Ver Sección 2.4.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.3
+ * @since 2026-10-18
+ * @see com.blog.dao.PoolEntry
+ * @see com.blog.dao.ConnectionPool
+ * @see com.blog.dao.BorrowPriority
+ */
+final class ConcurrentBag {
+
+    /** Número máximo de entradas recordadas por cada hilo */
+    private static final int THREAD_LOCAL_CAPACITY = 16;
+
+    private final CopyOnWriteArrayList<PoolEntry> sharedList = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<WeakReference<PoolEntry>>> threadList =
+            ThreadLocal.withInitial(() -> new ArrayList<>(THREAD_LOCAL_CAPACITY));
+    /** Hilos buscando una entrada en la lista compartida o esperando una entrega */
+    private final AtomicInteger waiters = new AtomicInteger();
+    /** Hilos en espera de una entrega, el de mayor prioridad efectiva primero */
+    private final PriorityQueue<Waiter> waitQueue = new PriorityQueue<>();
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final long agingNanos;
+    private long waiterSequence;
+    private volatile boolean closed;
+
+    /**
+     * Hilo esperando a que otro le entregue una entrada.
+     */
+    private static final class Waiter implements Comparable<Waiter> {
+        final Thread thread = Thread.currentThread();
+        /** Momento de llegada adelantado según la prioridad: menor = se atiende antes */
+        final long rank;
+        final long sequence;
+        /** Entrada entregada (ya en estado {@link PoolEntry#STATE_IN_USE}) */
+        volatile PoolEntry entry;
+
+        Waiter(long rank, long sequence) {
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            // Comparación por diferencia: System.nanoTime() puede desbordarse
+            long diff = rank - other.rank;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Crea un contenedor sin prioridades: las entregas siguen el orden de llegada.
+     */
+    ConcurrentBag() {
+        this(0);
+    }
+
+    /**
+     * @param agingMs Espera que equivale a subir un nivel de prioridad
+     *        ({@code pool.priority.agingMs}); con 0 se ignora la prioridad
+     */
+    ConcurrentBag(long agingMs) {
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, agingMs));
+    }
+
+    /**
+     * Toma una entrada libre del contenedor con prioridad {@link BorrowPriority#NORMAL}.
+     *
+     * @param timeout Tiempo máximo de espera si no hay entradas libres
+     * @param unit Unidad del tiempo de espera
+     * @return La entrada tomada (en estado {@link PoolEntry#STATE_IN_USE}), o null si
+     *         se agotó el tiempo de espera
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     */
+    PoolEntry borrow(long timeout, TimeUnit unit) throws InterruptedException {
+        return borrow(timeout, unit, BorrowPriority.NORMAL);
+    }
+
+    /**
+     * Toma una entrada libre del contenedor.
+     *
+     * @param timeout Tiempo máximo de espera si no hay entradas libres
+     * @param unit Unidad del tiempo de espera
+     * @param priority Prioridad frente a otros hilos en espera
+     * @return La entrada tomada (en estado {@link PoolEntry#STATE_IN_USE}), o null si
+     *         se agotó el tiempo de espera
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     */
+    PoolEntry borrow(long timeout, TimeUnit unit, BorrowPriority priority) throws InterruptedException {
+        // 1. Conexiones usadas recientemente por este mismo hilo
+        if (!Thread.currentThread().isVirtual()) {
+            List<WeakReference<PoolEntry>> list = threadList.get();
+            for (int i = list.size() - 1; i >= 0; i--) {
+                PoolEntry entry = list.remove(i).get();
+                if (entry != null && entry.compareAndSet(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE)) {
+                    return entry;
+                }
+            }
+        }
+
+        // 2. Lista compartida
+        waiters.incrementAndGet();
+        try {
+            for (PoolEntry entry : sharedList) {
+                if (entry.compareAndSet(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE)) {
+                    return entry;
+                }
+            }
+
+            // 3. Esperar a que otro hilo entregue una entrada
+            long remaining = unit.toNanos(timeout);
+            if (remaining <= 0 || closed) {
+                return null;
+            }
+            return await(remaining, priority);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private PoolEntry await(long timeoutNanos, BorrowPriority priority) throws InterruptedException {
+        long now = System.nanoTime();
+        long deadline = now + timeoutNanos;
+        Waiter waiter;
+        waitLock.lock();
+        try {
+            waiter = new Waiter(now - priority.ordinal() * agingNanos, waiterSequence++);
+            waitQueue.add(waiter);
+        } finally {
+            waitLock.unlock();
+        }
+
+        while (waiter.entry == null && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                if (leave(waiter)) {
+                    throw new InterruptedException();
+                }
+                // Ya se le había entregado una entrada: se usa y se conserva la interrupción
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        leave(waiter);
+        return waiter.entry;
+    }
+
+    /**
+     * Saca a un hilo de la cola de espera.
+     *
+     * @return true si seguía en la cola (no se le entregó ninguna entrada)
+     */
+    private boolean leave(Waiter waiter) {
+        if (waiter.entry != null) {
+            return false;
+        }
+        waitLock.lock();
+        try {
+            return waitQueue.remove(waiter) && waiter.entry == null;
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    /**
+     * Entrega una entrada libre al hilo en espera con mayor prioridad efectiva. La
+     * entrada pasa a {@link PoolEntry#STATE_IN_USE} antes de salir de la cola, de modo
+     * que ningún otro hilo puede adelantarse al elegido.
+     *
+     * @return true si la entrada ya no está libre (entregada o tomada por otro hilo)
+     */
+    private boolean handOff(PoolEntry entry) {
+        Waiter waiter;
+        waitLock.lock();
+        try {
+            waiter = waitQueue.peek();
+            if (waiter == null || !entry.compareAndSet(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE)) {
+                return entry.getState() != PoolEntry.STATE_NOT_IN_USE;
+            }
+            waitQueue.poll();
+            waiter.entry = entry;
+        } finally {
+            waitLock.unlock();
+        }
+        LockSupport.unpark(waiter.thread);
+        return true;
+    }
+
+    /**
+     * Entrega una entrada que todavía está en {@link PoolEntry#STATE_IN_USE} al hilo en
+     * cola con mayor prioridad efectiva. La entrada no pasa nunca por
+     * {@link PoolEntry#STATE_NOT_IN_USE}, así que un hilo que recorre la lista compartida
+     * en ese momento no puede quitársela al que ya esperaba.
+     *
+     * @return true si había un hilo en cola y se le entregó la entrada
+     */
+    private boolean handOffInUse(PoolEntry entry) {
+        Waiter waiter;
+        waitLock.lock();
+        try {
+            waiter = waitQueue.poll();
+            if (waiter == null) {
+                return false;
+            }
+            waiter.entry = entry;
+        } finally {
+            waitLock.unlock();
+        }
+        LockSupport.unpark(waiter.thread);
+        return true;
+    }
+
+    /**
+     * Ofrece una entrada recién liberada a los hilos en espera. Mientras haya hilos
+     * recorriendo la lista compartida que todavía no están en la cola, se espera a que
+     * la tomen o se pongan en cola, para no dejarlos esperando con una entrada libre.
+     */
+    private void offerToWaiters(PoolEntry entry) {
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (handOff(entry)) {
+                return;
+            }
+            if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Devuelve una entrada al contenedor. Si hay hilos en cola, se entrega directamente
+     * al primero sin marcarla como libre; solo si nadie espera pasa a
+     * {@link PoolEntry#STATE_NOT_IN_USE} y queda registrada en la lista del hilo actual.
+     *
+     * @param entry Entrada a devolver
+     */
+    void requite(PoolEntry entry) {
+        entry.touch();
+        if (waiters.get() > 0 && handOffInUse(entry)) {
+            return;
+        }
+        entry.setState(PoolEntry.STATE_NOT_IN_USE);
+
+        offerToWaiters(entry);
+        if (entry.getState() != PoolEntry.STATE_NOT_IN_USE || Thread.currentThread().isVirtual()) {
+            return;
+        }
+        List<WeakReference<PoolEntry>> list = threadList.get();
+        if (list.size() < THREAD_LOCAL_CAPACITY) {
+            list.add(new WeakReference<>(entry));
+        }
+    }
+
+    /**
+     * Agrega una nueva entrada al contenedor y la entrega a un hilo en espera si lo hay.
+     *
+     * @param entry Entrada nueva en estado {@link PoolEntry#STATE_NOT_IN_USE}
+     */
+    void add(PoolEntry entry) {
+        if (closed) {
+            throw new IllegalStateException("El contenedor de conexiones está cerrado");
+        }
+        sharedList.add(entry);
+        offerToWaiters(entry);
+    }
+
+    /**
+     * Retira una entrada del contenedor. Solo puede retirarse una entrada que esté
+     * prestada o reservada.
+     *
+     * @param entry Entrada a retirar
+     * @return true si la entrada fue retirada
+     */
+    boolean remove(PoolEntry entry) {
+        if (!entry.compareAndSet(PoolEntry.STATE_IN_USE, PoolEntry.STATE_REMOVED)
+                && !entry.compareAndSet(PoolEntry.STATE_RESERVED, PoolEntry.STATE_REMOVED)
+                && !closed) {
+            return false;
+        }
+        entry.setState(PoolEntry.STATE_REMOVED);
+        return sharedList.remove(entry);
+    }
+
+    /**
+     * Reserva una entrada libre para tareas internas (por ejemplo, la limpieza de
+     * conexiones inactivas), impidiendo que sea prestada mientras tanto.
+     *
+     * @param entry Entrada a reservar
+     * @return true si la entrada estaba libre y quedó reservada
+     */
+    boolean reserve(PoolEntry entry) {
+        return entry.compareAndSet(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_RESERVED);
+    }
+
+    /**
+     * Libera una entrada reservada con {@link #reserve(PoolEntry)}.
+     *
+     * @param entry Entrada reservada
+     */
+    void unreserve(PoolEntry entry) {
+        if (entry.compareAndSet(PoolEntry.STATE_RESERVED, PoolEntry.STATE_NOT_IN_USE)) {
+            offerToWaiters(entry);
+        }
+    }
+
+    /**
+     * Obtiene una instantánea de todas las entradas del contenedor.
+     *
+     * @return Lista con las entradas actuales
+     */
+    List<PoolEntry> values() {
+        return new ArrayList<>(sharedList);
+    }
+
+    /**
+     * Cuenta las entradas que se encuentran en el estado indicado.
+     *
+     * @param state Estado a contar
+     * @return Número de entradas en ese estado
+     */
+    int getCount(int state) {
+        int count = 0;
+        for (PoolEntry entry : sharedList) {
+            if (entry.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        return sharedList.size();
+    }
+
+    int getWaitingThreadCount() {
+        return waiters.get();
+    }
+
+    /**
+     * Cierra el contenedor: los hilos en espera dejan de esperar y no se admiten
+     * nuevas entradas.
+     */
+    void close() {
+        closed = true;
+
+        waitLock.lock();
+        try {
+            for (Waiter waiter : waitQueue) {
+                LockSupport.unpark(waiter.thread);
+            }
+        } finally {
+            waitLock.unlock();
+        }
+    }
+}
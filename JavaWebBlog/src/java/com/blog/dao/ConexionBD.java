@@ -1,15 +1,26 @@
 package com.blog.dao;
 
+import com.blog.util.Log;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Clase Singleton para gestionar el pool de conexiones a la base de datos MySQL.
@@ -22,14 +33,79 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  *   <li><b>Tamaño dinámico:</b> Crece de {@code minConnections} a {@code maxConnections}
  *   según la demanda</li>
- *   <li><b>Validación automática:</b> Las conexiones se validan antes de usarse con
- *   {@code testOnBorrow}</li>
- *   <li><b>Limpieza de inactivas:</b> Cierra conexiones que han estado inactivas por más
- *   de 30 minutos</li>
- *   <li><b>Reintentos con backoff exponencial:</b> Hasta 3 intentos con delays crecientes</li>
- *   <li><b>Thread-safe:</b> Uso de sincronización para acceso concurrente seguro</li>
+ *   <li><b>Mantenimiento en segundo plano:</b> Un hilo programado cierra conexiones inactivas
+ *   por más de 30 minutos, retira las que superan su tiempo de vida máximo, valida las
+ *   conexiones libres (keepalive) y repone el pool hasta el mínimo, de modo que tomar una
+ *   conexión no requiere ningún viaje de validación a la base de datos</li>
+ *   <li><b>Espera acotada:</b> Con el pool lleno, el hilo espera hasta {@code pool.borrowTimeoutMs}
+ *   y recibe una conexión devuelta según su prioridad (ver <b>Prioridad en la espera</b>);
+ *   si no llega ninguna falla con {@link PoolExhaustedException}, que los DAOs no
+ *   reintentan</li>
+ *   <li><b>Reintentos con backoff exponencial:</b> Hasta 3 intentos con delays crecientes
+ *   cuando falla la creación de una conexión</li>
+ *   <li><b>Sin bloqueos:</b> Las conexiones se guardan en un {@link ConcurrentBag} con afinidad
+ *   por hilo y transiciones de estado CAS; tomar y devolver una conexión no adquiere
+ *   ningún bloqueo global (ver {@link ConnectionPool})</li>
+ *   <li><b>Caché de statements:</b> Cada conexión física guarda en una caché LRU los
+ *   {@code PreparedStatement} ya preparados; las sentencias repetidas de los DAOs no se
+ *   vuelven a preparar (ver {@link StatementCache})</li>
+ *   <li><b>Métricas:</b> Histogramas de espera y de uso de las conexiones, contadores y una
+ *   serie temporal de la última hora (ver {@link #getMetrics()} y {@code /admin/metrics})</li>
+ *   <li><b>Detección de fugas:</b> Las conexiones retenidas más de
+ *   {@code pool.leakDetectionThresholdMs} se reportan con el hilo que las tiene y el punto
+ *   donde se pidieron; {@code /admin/pool} lista todas las conexiones en uso</li>
+ *   <li><b>Réplicas de lectura:</b> Un pool por cada {@code db.replica.N.url}. Las lecturas
+ *   ({@link #getConexionLectura()}) van a las réplicas según su peso y salud, con
+ *   respaldo en la base de datos principal; las escrituras ({@link #getConexionEscritura()})
+ *   van a la principal y fijan la sesión a ella durante {@code db.replica.stickyMs}
+ *   (ver {@link ReplicaSet} y {@link SessionConsistency})</li>
+ *   <li><b>Ciclo de vida:</b> {@link com.blog.listener.PoolLifecycleListener} crea el pool
+ *   al desplegar la aplicación (abriendo las conexiones iniciales en paralelo y preparando
+ *   los statements de los DAOs) y lo vacía de forma ordenada al replegarla</li>
+ *   <li><b>Configuración en caliente:</b> Al cambiar db.properties (por ejemplo desde
+ *   {@code /setup}) se crea un pool nuevo con la configuración nueva, se publica en un
+ *   {@link AtomicReference} en lugar del anterior y el anterior se vacía sin interrumpir
+ *   las peticiones en curso (ver {@link #recargarConfiguracion()})</li>
+ *   <li><b>Interruptor de circuito:</b> Si la proporción de fallos al conectar supera
+ *   {@code circuit.failureRatePercent}, las peticiones fallan de inmediato durante
+ *   {@code circuit.openMs} en lugar de agotar los reintentos; después un único
+ *   intento de prueba decide si el circuito se cierra (ver {@link CircuitBreaker})</li>
+ *   <li><b>Tamaño adaptativo:</b> Con {@code pool.adaptive.enabled=true} el pool principal
+ *   ajusta su límite de conexiones entre {@code pool.minConnections} y
+ *   {@code pool.maxConnections} según la demanda observada, con histéresis y un registro
+ *   de cada decisión (ver {@link PoolSizer})</li>
+ *   <li><b>Cuotas por tipo de tráfico:</b> Los DAOs declaran si cada operación es una
+ *   lectura pública, un inicio de sesión o una operación del panel de administración
+ *   ({@link Workload}); cada tipo solo puede ocupar un porcentaje del pool principal,
+ *   de modo que una avalancha de visitas a la portada no deja sin conexiones al login
+ *   ni a los editores (ver {@link Bulkhead})</li>
+ *   <li><b>Prioridad en la espera:</b> Con el pool lleno, cada conexión devuelta se
+ *   entrega primero a los hilos del login y del panel y después a las lecturas
+ *   anónimas; cada {@code pool.priority.agingMs} de espera cuentan como un nivel más
+ *   de prioridad, de modo que ninguna petición espera indefinidamente (ver
+ *   {@link BorrowPriority})</li>
+ *   <li><b>Recorridos en streaming:</b> Para exportar o reprocesar tablas completas,
+ *   {@link #getConexionRecorrido(Workload)} y {@link #prepararRecorrido(Connection, String)}
+ *   leen las filas de una en una a medida que llegan de MySQL, con memoria constante
+ *   sea cual sea el tamaño de la tabla</li>
+ *   <li><b>Escrituras por lotes:</b> Las cargas masivas insertan en tramos de
+ *   {@link #getTamanoLote()} filas, cada uno en un lote JDBC y una transacción
+ *   ({@link #insertarPorTramos(String, List, AsignadorFila)}); con
+ *   {@code rewriteBatchedStatements=true} en {@code db.url} el driver envía cada tramo
+ *   como un único INSERT de varias filas</li>
  * </ul>
  * 
+ * <h3>Hilos virtuales:</h3>
+ * <p>Ni esta clase ni el pool usan {@code synchronized}: la creación de la instancia,
+ * las recargas y el vaciado usan {@link ReentrantLock} y {@code Condition}, y las
+ * pausas entre reintentos (aquí y en los DAOs) esperan con {@link Backoff}. Un hilo
+ * virtual que espera una conexión, un reintento o la respuesta de MySQL libera su hilo
+ * portador, de modo que Tomcat puede atender las peticiones con hilos virtuales
+ * ({@code useVirtualThreads="true"} en el {@code Connector} de server.xml) sin que miles
+ * de lecturas lentas necesiten miles de hilos de plataforma. Con
+ * {@code pool.virtualThreads=true} las tareas internas del pool (apertura inicial y
+ * vaciado) también se ejecutan en hilos virtuales.</p>
+ * 
  * <h3>Configuración (db.properties):</h3>
  * <pre>
  * db.url=jdbc:mysql://localhost:3306/blog_db?useSSL=false&serverTimezone=UTC
@@ -37,11 +113,32 @@ import java.util.concurrent.TimeUnit;
  * db.password=
  * pool.minConnections=2
  * pool.maxConnections=10
+ * pool.borrowTimeoutMs=5000
+ * pool.statementCacheSize=25
  * retry.maxAttempts=3
  * retry.initialDelayMs=1000
  * connection.timeoutSeconds=10
  * validation.timeoutSeconds=5
  * connection.maxIdleMinutes=30
+ * connection.maxLifetimeMinutes=30
+ * connection.keepaliveMinutes=5
+ * pool.housekeepingIntervalSeconds=30
+ * metrics.sampleIntervalSeconds=10
+ * pool.leakDetectionThresholdMs=60000
+ * pool.drainTimeoutSeconds=10
+ * config.watch=true
+ * pool.virtualThreads=false
+ * circuit.failureRatePercent=50
+ * circuit.openMs=10000
+ * pool.adaptive.enabled=false
+ * pool.bulkhead.enabled=true
+ * pool.bulkhead.public-read.percent=70
+ * pool.bulkhead.scan.percent=20
+ * pool.priority.agingMs=500
+ * scan.netWriteTimeoutSeconds=600
+ * batch.chunkSize=1000
+ * db.replica.1.url=jdbc:mysql://replica1:3306/blog_db?useSSL=false&serverTimezone=UTC
+ * db.replica.stickyMs=5000
  * </pre>
  * 
  * <h3>Principios SOLID aplicados:</h3>
@@ -67,7 +164,8 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  *   <li><b>Reintentos automáticos:</b> Si una conexión falla, se reintenta hasta 3 veces</li>
  *   <li><b>Backoff exponencial:</b> Los delays aumentan exponencialmente (1s, 2s, 4s)</li>
- *   <li><b>Validación proactiva:</b> Se ejecuta {@code SELECT 1} antes de entregar conexiones</li>
+ *   <li><b>Validación proactiva:</b> El keepalive ejecuta {@code SELECT 1} sobre las conexiones
+ *   libres en segundo plano</li>
  *   <li><b>Recreación automática:</b> Las conexiones inválidas se cierran y recrean</li>
  * </ul>
  * 
@@ -86,15 +184,22 @@ import java.util.concurrent.TimeUnit;
  *         conexionBD.cerrarConexion(conn); // Devolver al pool
  *     }
  * }
+ *
+ * // O bien, con try-with-resources
+ * try (Connection conn = conexionBD.getConexion()) {
+ *     // Usar la conexión...
+ * }
  * }</pre>
  * 
  * <h3>Nota importante:</h3>
- * <p>Las conexiones obtenidas de {@link #getConexion()} DEBEN devolverse al pool
- * usando {@link #cerrarConexion(Connection)}. No usar {@code conn.close()} directamente.</p>
+ * <p>Las conexiones obtenidas de {@link #getConexion()} son proxies: {@code conn.close()}
+ * y {@link #cerrarConexion(Connection)} las devuelven al pool (restaurando autocommit,
+ * readOnly y nivel de aislamiento) en lugar de cerrar la conexión física. Usar la
+ * conexión después de devolverla lanza {@link SQLException}.</p>
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 2.0
+ * @version 2.8
  * @since 2025-12-09
  * @see java.sql.Connection
  * @see com.blog.dao.MySQLArticuloDAO
@@ -102,171 +207,140 @@ import java.util.concurrent.TimeUnit;
  */
 public class ConexionBD {
 
-    private static final Properties properties = new Properties();
+    private static final Log LOG = Log.get(ConexionBD.class);
+    /** Reintentos de un tramo de {@link #insertarPorTramos(String, List, AsignadorFila)} */
+    private static final int MAX_REINTENTOS_TRAMO = 2;
+
     private static volatile ConexionBD instancia;
+    // Protege la creación y el cierre de la instancia (sin synchronized: ver "Hilos virtuales")
+    private static final ReentrantLock INSTANCIA_LOCK = new ReentrantLock();
 
-    // Pool de conexiones
-    private final List<PooledConnection> connectionPool;
-    private final int maxConnections;
-    private final int minConnections;
-    
-    // Configuración de reintentos
-    private final int maxRetries;
-    private final long initialRetryDelayMs;
-    
-    // Configuración de timeouts
-    private final int connectionTimeoutSeconds;
-    private final int validationTimeoutSeconds;
-    
-    // Configuración de validación
-    private final String validationQuery;
-    private final boolean testOnBorrow;
-    private final long maxIdleTimeMs;
-
-    /**
-     * Clase interna para representar una conexión del pool
-     */
-    private static class PooledConnection {
-        private Connection connection;
-        private long lastUsedTime;
-        private boolean inUse;
-
-        public PooledConnection(Connection connection) {
-            this.connection = connection;
-            this.lastUsedTime = System.currentTimeMillis();
-            this.inUse = false;
-        }
-
-        public synchronized boolean isInUse() {
-            return inUse;
-        }
-
-        public synchronized void setInUse(boolean inUse) {
-            this.inUse = inUse;
-            if (!inUse) {
-                this.lastUsedTime = System.currentTimeMillis();
-            }
-        }
+    // Pools y parámetros de la configuración vigente; se reemplazan en bloque al recargar
+    private final AtomicReference<PoolGroup> grupo;
 
-        public long getIdleTime() {
-            return System.currentTimeMillis() - lastUsedTime;
-        }
-    }
+    // Vigilante de db.properties (null si config.watch=false o el archivo no está en disco)
+    private final ConfigWatcher watcher;
+
+    // Serializa las recargas de configuración
+    private final ReentrantLock recargaLock = new ReentrantLock();
 
     // Constructor privado para Singleton
     private ConexionBD() {
+        this(loadProperties(), true);
+    }
+
+    /**
+     * Crea el sistema de conexión con la configuración indicada.
+     *
+     * @param properties Configuración (mismas claves que db.properties)
+     * @param vigilarArchivo Si debe vigilarse db.properties para recargarlo al cambiar
+     */
+    ConexionBD(Properties properties, boolean vigilarArchivo) {
         try {
-            System.out.println("[ConexionBD] Inicializando sistema de conexión a base de datos...");
-            
-            // Cargar configuración
-            loadProperties();
-            
-            // Cargar parámetros del pool
-            maxConnections = Integer.parseInt(properties.getProperty("pool.maxConnections", "10"));
-            minConnections = Integer.parseInt(properties.getProperty("pool.minConnections", "2"));
-            
-            // Cargar parámetros de reintentos
-            maxRetries = Integer.parseInt(properties.getProperty("retry.maxAttempts", "3"));
-            initialRetryDelayMs = Long.parseLong(properties.getProperty("retry.initialDelayMs", "1000"));
-            
-            // Cargar parámetros de timeout
-            connectionTimeoutSeconds = Integer.parseInt(properties.getProperty("connection.timeoutSeconds", "10"));
-            validationTimeoutSeconds = Integer.parseInt(properties.getProperty("validation.timeoutSeconds", "5"));
-            
-            // Cargar parámetros de validación
-            validationQuery = properties.getProperty("validation.query", "SELECT 1");
-            testOnBorrow = Boolean.parseBoolean(properties.getProperty("pool.testOnBorrow", "true"));
-            long maxIdleMinutes = Long.parseLong(properties.getProperty("connection.maxIdleMinutes", "30"));
-            maxIdleTimeMs = TimeUnit.MINUTES.toMillis(maxIdleMinutes);
+            LOG.info("Inicializando sistema de conexión a base de datos...");
 
             // Cargar el driver de MySQL
             Class.forName("com.mysql.cj.jdbc.Driver");
-            System.out.println("[ConexionBD] Driver MySQL cargado.");
+            LOG.info("Driver MySQL cargado.");
 
-            // Inicializar el pool de conexiones
-            connectionPool = new ArrayList<>();
-            initializePool();
+            // Inicializar el pool principal y los de las réplicas de lectura, si hay
+            PoolGroup inicial = new PoolGroup(properties);
+            inicial.initialize();
+            grupo = new AtomicReference<>(inicial);
+            if (inicial.replicas != null) {
+                LOG.info("Réplicas de lectura: " + inicial.replicas.getReplicas().size());
+            }
 
-            System.out.println("[ConexionBD] Sistema de conexión inicializado correctamente.");
-            System.out.println("[ConexionBD] Pool: min=" + minConnections + ", max=" + maxConnections);
+            LOG.info("Sistema de conexión inicializado correctamente.");
+            LOG.info("Pool: min=" + inicial.pool.getMinConnections()
+                    + ", max=" + inicial.pool.getMaxConnections());
 
         } catch (Exception e) {
-            System.err.println("[ConexionBD] Error al inicializar conexión: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error al inicializar conexión: " + e.getMessage(), e);
             throw new RuntimeException("Error al cargar la configuración de la base de datos o el driver", e);
         }
+        watcher = vigilarArchivo ? startWatcher(properties) : null;
     }
 
     /**
-     * Carga el archivo de propiedades db.properties
+     * Carga el archivo de propiedades db.properties. Si el archivo está en disco se lee
+     * directamente de él, para ver siempre su contenido actual aunque el servidor
+     * guarde en caché los recursos del classpath.
      * 
-     * @throws Exception si no se puede cargar el archivo
+     * @return Configuración leída
+     * @throws RuntimeException si no se puede cargar el archivo
      */
-    private void loadProperties() throws Exception {
-        System.out.println("[ConexionBD] Intentando cargar db.properties...");
-        InputStream input = ConexionBD.class.getResourceAsStream("db.properties");
+    private static Properties loadProperties() {
+        LOG.info("Intentando cargar db.properties...");
+        Properties properties = new Properties();
+        try {
+            Path path = configPath();
+            InputStream input = path != null ? Files.newInputStream(path) : null;
 
-        if (input == null) {
-            System.out.println(
-                    "[ConexionBD] No se encontró con getResourceAsStream relativo. Intentando absoluto...");
-            input = ConexionBD.class.getResourceAsStream("/com/blog/dao/db.properties");
-        }
+            if (input == null) {
+                input = ConexionBD.class.getResourceAsStream("db.properties");
+            }
 
-        if (input == null) {
-            System.out.println(
-                    "[ConexionBD] No se encontró con getResourceAsStream absoluto. Intentando ContextClassLoader...");
-            input = Thread.currentThread().getContextClassLoader()
-                    .getResourceAsStream("com/blog/dao/db.properties");
-        }
+            if (input == null) {
+                LOG.info("No se encontró con getResourceAsStream relativo. Intentando absoluto...");
+                input = ConexionBD.class.getResourceAsStream("/com/blog/dao/db.properties");
+            }
 
-        if (input == null) {
-            System.err.println(
-                    "[ConexionBD] Error FATAL: No se pudo encontrar el archivo db.properties en el classpath.");
-            throw new RuntimeException("No se pudo encontrar el archivo db.properties");
-        }
+            if (input == null) {
+                LOG.info("No se encontró con getResourceAsStream absoluto. Intentando ContextClassLoader...");
+                input = Thread.currentThread().getContextClassLoader()
+                        .getResourceAsStream("com/blog/dao/db.properties");
+            }
 
-        properties.load(input);
-        System.out.println(
-                "[ConexionBD] db.properties cargado correctamente. URL: " + properties.getProperty("db.url"));
+            if (input == null) {
+                LOG.error("Error FATAL: No se pudo encontrar el archivo db.properties en el classpath.");
+                throw new RuntimeException("No se pudo encontrar el archivo db.properties");
+            }
+
+            try (InputStream in = input) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo leer el archivo db.properties", e);
+        }
+        LOG.info("db.properties cargado correctamente. URL: " + properties.getProperty("db.url"));
+        return properties;
     }
 
     /**
-     * Inicializa el pool con el número mínimo de conexiones
+     * Obtiene la ruta en disco de db.properties, o null si se carga desde un JAR u
+     * otro origen que no es un archivo.
      */
-    private void initializePool() {
-        System.out.println("[ConexionBD] Inicializando pool con " + minConnections + " conexiones...");
-        synchronized (connectionPool) {
-            for (int i = 0; i < minConnections; i++) {
-                try {
-                    Connection conn = createNewConnection();
-                    connectionPool.add(new PooledConnection(conn));
-                } catch (SQLException e) {
-                    System.err.println("[ConexionBD] Advertencia: No se pudo crear conexión inicial #" + (i + 1) 
-                        + ": " + e.getMessage());
-                    // No lanzar excepción, el pool puede funcionar con menos conexiones
-                }
+    private static Path configPath() {
+        try {
+            URL url = ConexionBD.class.getResource("db.properties");
+            if (url != null && "file".equals(url.getProtocol())) {
+                return Path.of(url.toURI());
             }
+        } catch (Exception e) {
+            LOG.warn("No se pudo resolver la ruta de db.properties: " + e.getMessage());
         }
-        System.out.println("[ConexionBD] Pool inicializado con " + connectionPool.size() + " conexiones.");
+        return null;
     }
 
-    /**
-     * Crea una nueva conexión física a la base de datos
-     * 
-     * @return Nueva conexión
-     * @throws SQLException Error al crear la conexión
-     */
-    private Connection createNewConnection() throws SQLException {
-        DriverManager.setLoginTimeout(connectionTimeoutSeconds);
-        Connection conn = DriverManager.getConnection(
-                properties.getProperty("db.url"),
-                properties.getProperty("db.user"),
-                properties.getProperty("db.password"));
-        
-        // Configurar la conexión
-        conn.setAutoCommit(true);
-        
-        return conn;
+    private ConfigWatcher startWatcher(Properties properties) {
+        if (!Boolean.parseBoolean(properties.getProperty("config.watch", "true"))) {
+            return null;
+        }
+        Path path = configPath();
+        if (path == null) {
+            return null;
+        }
+        ConfigWatcher nuevo = new ConfigWatcher(path,
+                Long.parseLong(properties.getProperty("config.watchDebounceMs", "500")),
+                () -> recargar(loadProperties()));
+        try {
+            nuevo.start();
+            return nuevo;
+        } catch (IOException e) {
+            LOG.warn("No se pudo vigilar db.properties: " + e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -276,186 +350,532 @@ public class ConexionBD {
      */
     public static ConexionBD getInstancia() {
         if (instancia == null) {
-            synchronized (ConexionBD.class) {
+            INSTANCIA_LOCK.lock();
+            try {
                 if (instancia == null) {
                     instancia = new ConexionBD();
                 }
+            } finally {
+                INSTANCIA_LOCK.unlock();
             }
         }
         return instancia;
     }
 
     /**
-     * Obtiene una conexión a la base de datos del pool con reintentos automáticos
+     * Obtiene la instancia única si ya fue creada, sin crearla ni cargar la configuración
      * 
-     * @return Conexión activa y validada
+     * @return Instancia de ConexionBD, o null si todavía no existe
+     */
+    public static ConexionBD getInstanciaExistente() {
+        return instancia;
+    }
+
+    /**
+     * Obtiene una conexión a la base de datos del pool con reintentos automáticos.
+     * No ocupa la cuota de ningún tipo de tráfico: la usan las comprobaciones de salud
+     * y las herramientas de línea de comandos.
+     * 
+     * @return Conexión abierta; no se valida al prestarla: se usó o se validó hace como
+     *         mucho {@code connection.keepaliveMinutes} (ver {@link ConnectionPool})
      * @throws SQLException Error al conectar después de todos los reintentos
      */
     public Connection getConexion() throws SQLException {
-        return getConexionWithRetry(maxRetries);
+        return getConexionWithRetry(grupo.get().maxRetries, null);
     }
 
     /**
-     * Obtiene una conexión con lógica de reintento
+     * Obtiene una conexión de la base de datos principal dentro de la cuota del tipo de
+     * tráfico indicado ({@code pool.bulkhead.<tipo>.percent}).
      * 
-     * @param retriesLeft Número de reintentos restantes
-     * @return Conexión activa
-     * @throws SQLException Error al conectar
+     * @param workload Tipo de tráfico que pide la conexión
+     * @return Conexión abierta; no se valida al prestarla: se usó o se validó hace como
+     *         mucho {@code connection.keepaliveMinutes} (ver {@link ConnectionPool})
+     * @throws SQLException Error al conectar después de todos los reintentos, o cuota
+     *         llena durante {@code pool.borrowTimeoutMs}
      */
-    private Connection getConexionWithRetry(int retriesLeft) throws SQLException {
-        try {
-            // Limpiar conexiones inactivas
-            cleanupIdleConnections();
-            
-            // Intentar obtener una conexión del pool
-            Connection conn = getConnectionFromPool();
-            
+    public Connection getConexion(Workload workload) throws SQLException {
+        return getConexionWithRetry(grupo.get().maxRetries, workload);
+    }
+
+    /**
+     * Obtiene una conexión para operaciones de solo lectura.
+     * 
+     * <p>Si hay réplicas configuradas ({@code db.replica.N.url}), la conexión proviene
+     * de una réplica elegida según su peso y su salud. Se usa la base de datos
+     * principal si no hay réplicas, si ninguna está disponible, o si la sesión actual
+     * escribió hace menos de {@code db.replica.stickyMs} (para que vea sus propios
+     * cambios aunque las réplicas vayan con retraso).</p>
+     * 
+     * @return Conexión de una réplica o de la base de datos principal
+     * @throws SQLException Error al conectar con la base de datos principal
+     */
+    public Connection getConexionLectura() throws SQLException {
+        return lectura(null);
+    }
+
+    /**
+     * Obtiene una conexión para operaciones de solo lectura, como
+     * {@link #getConexionLectura()}. Si la lectura acaba en la base de datos principal,
+     * ocupa la cuota del tipo de tráfico indicado; las réplicas no tienen cuotas.
+     * 
+     * @param workload Tipo de tráfico que pide la conexión
+     * @return Conexión de una réplica o de la base de datos principal
+     * @throws SQLException Error al conectar con la base de datos principal
+     */
+    public Connection getConexionLectura(Workload workload) throws SQLException {
+        return lectura(workload);
+    }
+
+    private Connection lectura(Workload workload) throws SQLException {
+        PoolGroup g = grupo.get();
+        if (g.replicas != null && !SessionConsistency.requiresPrimary(g.stickyMs)) {
+            Connection conn = g.replicas.getConnection();
             if (conn != null) {
                 return conn;
             }
-            
-            // Si no hay conexión disponible, intentar crear una nueva con control de concurrencia
-            synchronized (connectionPool) {
-                // Re-verificar después de obtener el lock por si otra thread creó una conexión
-                conn = getConnectionFromPool();
-                if (conn != null) {
-                    return conn;
-                }
-                
-                // Verificar si el pool no está lleno
-                if (connectionPool.size() < maxConnections) {
-                    try {
-                        Connection newConn = createNewConnection();
-                        PooledConnection pooledConn = new PooledConnection(newConn);
-                        pooledConn.setInUse(true);
-                        connectionPool.add(pooledConn);
-                        System.out.println("[ConexionBD] Nueva conexión creada. Pool size: " + connectionPool.size());
-                        return newConn;
-                    } catch (SQLException sqlEx) {
-                        // La creación de conexión falló, lanzar para que el retry logic lo maneje
-                        throw sqlEx;
-                    }
-                }
+        }
+        return getConexionWithRetry(g.maxRetries, workload);
+    }
+
+    /**
+     * Obtiene una conexión de la base de datos principal para una operación de
+     * escritura, y registra la escritura para que las lecturas siguientes de la
+     * misma sesión no se dirijan a las réplicas durante {@code db.replica.stickyMs}.
+     * 
+     * @return Conexión de la base de datos principal
+     * @throws SQLException Error al conectar después de todos los reintentos
+     */
+    public Connection getConexionEscritura() throws SQLException {
+        return escritura(null);
+    }
+
+    /**
+     * Obtiene una conexión para una operación de escritura, como
+     * {@link #getConexionEscritura()}, dentro de la cuota del tipo de tráfico indicado.
+     * 
+     * @param workload Tipo de tráfico que pide la conexión
+     * @return Conexión de la base de datos principal
+     * @throws SQLException Error al conectar después de todos los reintentos, o cuota
+     *         llena durante {@code pool.borrowTimeoutMs}
+     */
+    public Connection getConexionEscritura(Workload workload) throws SQLException {
+        return escritura(workload);
+    }
+
+    private Connection escritura(Workload workload) throws SQLException {
+        Connection conn = getConexionWithRetry(grupo.get().maxRetries, workload);
+        SessionConsistency.recordWrite();
+        return conn;
+    }
+
+    /**
+     * Obtiene una conexión con lógica de reintento.
+     * 
+     * <p>Si el pool está lleno, el hilo espera como máximo {@code pool.borrowTimeoutMs}
+     * a que otro hilo devuelva una conexión; la conexión devuelta se le entrega
+     * directamente al hilo de mayor {@link BorrowPriority}, contando como un nivel más
+     * cada {@code pool.priority.agingMs} de espera, y por orden de llegada entre hilos
+     * de la misma prioridad. Solo los fallos al crear conexiones físicas
+     * se reintentan con backoff exponencial.</p>
+     * 
+     * <p>Si la configuración se recarga mientras el hilo espera, el pool anterior deja de
+     * prestar conexiones; el préstamo se repite de inmediato en el pool nuevo sin contar
+     * como reintento.</p>
+     * 
+     * <p>Cada intento pasa por el {@link CircuitBreaker}: con el circuito abierto falla
+     * de inmediato con {@link CircuitOpenException}, y un fallo que abre el circuito
+     * corta los reintentos pendientes de este y de los demás hilos.</p>
+     * 
+     * <p>Con un tipo de tráfico, antes de pedir la conexión al pool se toma una plaza
+     * de su {@link Bulkhead}; la espera por la plaza y la espera por la conexión
+     * comparten el mismo {@code pool.borrowTimeoutMs}. Si hay que esperar a que se
+     * devuelva una conexión, se espera con la prioridad del tipo de tráfico
+     * ({@link BorrowPriority}).</p>
+     * 
+     * @param retriesLeft Número de reintentos restantes
+     * @param workload Tipo de tráfico, o null para no ocupar ninguna cuota
+     * @return Conexión activa
+     * @throws SQLException Error al conectar o tiempo de espera agotado
+     */
+    private Connection getConexionWithRetry(int retriesLeft, Workload workload) throws SQLException {
+        PoolGroup g = grupo.get();
+        CircuitBreaker breaker = g.breaker;
+        CircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+        if (!permission.isGranted()) {
+            throw new CircuitOpenException(breaker.getRetryInMillis());
+        }
+
+        long timeoutMs = g.pool.getBorrowTimeoutMs();
+        Workload effective = workload != null ? Workload.effective(workload) : null;
+        Bulkhead bulkhead = effective != null ? g.bulkheads.get(effective) : null;
+        BorrowPriority priority = effective != null ? effective.getPriority() : BorrowPriority.NORMAL;
+        if (bulkhead != null) {
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = bulkhead.acquire(timeoutMs);
+            } catch (InterruptedException ie) {
+                breaker.onIgnored(permission);
+                Thread.currentThread().interrupt();
+                throw new SQLException("Espera de conexión interrumpida", ie);
             }
-            
-            // Pool lleno, esperar un poco y reintentar
-            throw new SQLException("Pool de conexiones lleno. No hay conexiones disponibles.");
+            if (!acquired) {
+                // Cuota llena: saturación de un tipo de tráfico, no un fallo de la base de datos
+                breaker.onIgnored(permission);
+                throw new PoolExhaustedException("Cuota de conexiones '"
+                        + bulkhead.getWorkload().getKey() + "' llena (" + bulkhead.getLimit()
+                        + " conexiones). No se liberó ninguna en " + g.pool.getBorrowTimeoutMs() + "ms.");
+            }
+            timeoutMs = Math.max(0, timeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        Connection conn;
+        try {
+            // Tomar una conexión libre, crear una nueva o esperar a que se libere una
+            conn = g.pool.getConnection(timeoutMs, priority);
             
         } catch (SQLException e) {
-            if (retriesLeft > 0) {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            if (g != grupo.get()) {
+                // El pool se reemplazó durante la espera: pedir al pool nuevo
+                breaker.onIgnored(permission);
+                return getConexionWithRetry(retriesLeft, workload);
+            }
+            if (breaker.onFailure(permission)) {
+                // Este fallo abrió el circuito: no tiene sentido seguir esperando para reintentar
+                Backoff.wakeAll();
+            }
+            int maxRetries = g.maxRetries;
+            if (breaker.getState() != CircuitBreaker.State.CLOSED) {
+                LOG.warn("Fallo con el circuito abierto, sin más reintentos: " + e.getMessage());
+                CircuitOpenException circuitOpen = new CircuitOpenException(breaker.getRetryInMillis());
+                circuitOpen.initCause(e);
+                throw circuitOpen;
+            } else if (retriesLeft > 0) {
                 int currentAttempt = maxRetries - retriesLeft + 1;
-                long delay = initialRetryDelayMs * (long) Math.pow(2, maxRetries - retriesLeft);
-                System.err.println("[ConexionBD] Intento " + currentAttempt + "/" + maxRetries 
+                long delay = g.initialRetryDelayMs * (long) Math.pow(2, maxRetries - retriesLeft);
+                LOG.warn("Intento " + currentAttempt + "/" + maxRetries 
                     + " fallido: " + e.getMessage());
-                System.err.println("[ConexionBD] Reintentando en " + delay + "ms...");
+                LOG.warn("Reintentando en " + delay + "ms...");
                 
                 try {
-                    Thread.sleep(delay);
+                    Backoff.pause(delay);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw new SQLException("Reintento interrumpido", ie);
                 }
                 
-                return getConexionWithRetry(retriesLeft - 1);
+                return getConexionWithRetry(retriesLeft - 1, workload);
             } else {
-                System.err.println("[ConexionBD] Intento " + maxRetries + "/" + maxRetries 
+                LOG.error("Intento " + maxRetries + "/" + maxRetries 
                     + " fallido: " + e.getMessage());
-                System.err.println("[ConexionBD] Redirigiendo a página de configuración...");
+                LOG.warn("Redirigiendo a página de configuración...");
                 throw new SQLException("No se pudo conectar a la base de datos después de " 
                     + maxRetries + " reintentos. Error: " + e.getMessage(), e);
             }
         }
+
+        if (conn == null) {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            // Pool lleno: no dice nada de la salud de la base de datos
+            breaker.onIgnored(permission);
+            if (g != grupo.get()) {
+                return getConexionWithRetry(retriesLeft, workload);
+            }
+            // Pool lleno y ninguna conexión se liberó a tiempo
+            throw new PoolExhaustedException("Pool de conexiones lleno. No se liberó ninguna conexión en "
+                    + g.pool.getBorrowTimeoutMs() + "ms (" + g.pool.getWaitingThreads() + " hilos en espera).");
+        }
+        if (bulkhead != null) {
+            ((ProxyConnection) conn).bindBulkhead(bulkhead);
+        }
+        breaker.onSuccess(permission);
+        return conn;
     }
 
     /**
-     * Obtiene una conexión del pool
+     * Obtiene una conexión de lectura para recorrer una tabla completa en streaming
+     * (exportaciones, reindexados, rellenos de columnas).
+     * 
+     * <p>Se elige como {@link #getConexionLectura(Workload)}, preferiblemente en una
+     * réplica. Además:</p>
+     * <ul>
+     *   <li>El préstamo se declara largo: la detección de fugas no lo reporta aunque
+     *   supere {@code pool.leakDetectionThresholdMs}, y su duración no cuenta en el
+     *   tiempo de retención de las métricas ni en el tamaño adaptativo</li>
+     *   <li>Se fija {@code net_write_timeout} de la sesión a
+     *   {@code scan.netWriteTimeoutSeconds}. Mientras el llamador procesa una fila, MySQL
+     *   espera con el resto sin enviar; con el valor por defecto del servidor (60 s) un
+     *   consumidor lento haría que el servidor cortara la conexión. El valor queda en la
+     *   conexión del pool, donde solo afecta a clientes que dejan de leer.</li>
+     * </ul>
+     * 
+     * <p>Mientras dure el recorrido la conexión no admite otras consultas. Si el
+     * recorrido termina antes de leer todas las filas, la conexión debe liberarse con
+     * {@link #abortarConexion(Connection)}: cerrarla obligaría a leer y descartar el
+     * resto del resultado.</p>
      * 
-     * @return Conexión disponible o null si no hay ninguna
-     * @throws SQLException Error al validar la conexión
+     * @param workload Tipo de tráfico que pide la conexión; normalmente
+     *        {@link Workload#SCAN}, con su propia cuota y prioridad baja
+     * @return Conexión de una réplica o de la base de datos principal
+     * @throws SQLException Error al conectar
+     * @see #prepararRecorrido(Connection, String)
      */
-    private Connection getConnectionFromPool() throws SQLException {
-        for (PooledConnection pooledConn : connectionPool) {
-            synchronized (pooledConn) {
-                if (!pooledConn.isInUse()) {
-                    // Validar la conexión si está configurado
-                    if (testOnBorrow && !isConnectionValid(pooledConn.connection)) {
-                        System.out.println("[ConexionBD] Conexión inválida detectada, recreando...");
-                        try {
-                            pooledConn.connection.close();
-                        } catch (SQLException e) {
-                            // Ignorar errores al cerrar
-                        }
-                        pooledConn.connection = createNewConnection();
-                    }
-                    
-                    pooledConn.setInUse(true);
-                    return pooledConn.connection;
-                }
+    public Connection getConexionRecorrido(Workload workload) throws SQLException {
+        Connection conn = lectura(workload);
+        if (conn instanceof ProxyConnection) {
+            ((ProxyConnection) conn).markLongRunning();
+        }
+        int netWriteTimeout = grupo.get().scanNetWriteTimeoutSeconds;
+        if (netWriteTimeout > 0) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("SET SESSION net_write_timeout = " + netWriteTimeout);
+            } catch (SQLException e) {
+                LOG.warn("No se pudo ajustar net_write_timeout para el recorrido: " + e.getMessage());
             }
         }
-        return null;
+        return conn;
     }
 
     /**
-     * Valida que una conexión esté activa
+     * Prepara una consulta cuyo resultado se lee en streaming: el driver de MySQL
+     * entrega las filas de una en una a medida que llegan en lugar de cargar el
+     * resultado completo en memoria ({@code TYPE_FORWARD_ONLY}, {@code CONCUR_READ_ONLY}
+     * y {@code fetchSize = Integer.MIN_VALUE}).
+     * 
+     * <p>El statement no pasa por la caché de statements de la conexión.</p>
      * 
-     * @param conn Conexión a validar
-     * @return true si la conexión es válida
+     * @param conn Conexión obtenida con {@link #getConexionRecorrido(Workload)}
+     * @param sql Consulta a preparar
+     * @return Statement listo para asignar parámetros y ejecutar
+     * @throws SQLException Error al preparar la consulta
      */
-    private boolean isConnectionValid(Connection conn) {
+    public static PreparedStatement prepararRecorrido(Connection conn, String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(Integer.MIN_VALUE);
+        return stmt;
+    }
+
+    /**
+     * Libera una conexión descartando la conexión física en lugar de devolverla al
+     * pool. Es la forma de abandonar un recorrido en streaming a medias sin esperar a
+     * que el driver lea y descarte las filas pendientes.
+     * 
+     * @param conn Conexión a descartar
+     */
+    public void abortarConexion(Connection conn) {
         if (conn == null) {
-            return false;
+            return;
         }
-        
         try {
-            if (conn.isClosed()) {
-                return false;
+            conn.abort(Runnable::run);
+        } catch (SQLException e) {
+            LOG.warn("Error al abortar conexión: " + e.getMessage());
+            // La entrada ya quedó marcada para retirarse: se devuelve para cerrarla
+            cerrarConexion(conn);
+        }
+    }
+
+    /**
+     * Obtiene el número de filas de cada tramo de las inserciones por lotes
+     * ({@code batch.chunkSize}). Cada tramo se envía en un lote y se confirma en su
+     * propia transacción.
+     * 
+     * @return Filas por tramo (al menos 1)
+     */
+    public int getTamanoLote() {
+        return grupo.get().batchChunkSize;
+    }
+
+    /**
+     * Obtiene un valor de la configuración actual, para componentes que se configuran
+     * una vez al arrancar con sus propias claves de db.properties (las cachés de
+     * {@link DAOFactory}).
+     * 
+     * @param clave Clave de db.properties
+     * @param porDefecto Valor si la clave no está
+     * @return Valor configurado o el valor por defecto
+     */
+    public String getPropiedad(String clave, String porDefecto) {
+        return grupo.get().config.getProperty(clave, porDefecto);
+    }
+
+    /**
+     * Obtiene el retraso máximo que se supone a las réplicas de lectura
+     * ({@code db.replica.stickyMs}): durante ese tiempo tras una escritura, una réplica
+     * aún puede devolver la versión anterior de la fila.
+     * 
+     * @return Milisegundos, o 0 si no hay réplicas configuradas
+     */
+    public long getRetrasoReplicasMs() {
+        PoolGroup g = grupo.get();
+        return g.replicas != null ? g.stickyMs : 0;
+    }
+
+    /**
+     * Ejecuta el lote acumulado en un statement preparado con
+     * {@link Statement#RETURN_GENERATED_KEYS} y lee los IDs generados.
+     * 
+     * <p>No confirma la transacción: el llamador hace {@code commit()} cuando el tramo
+     * completo se insertó, o {@code rollback()} si este método falla.</p>
+     * 
+     * @param stmt Statement con las filas añadidas mediante {@code addBatch()}
+     * @param filas Número de filas añadidas al lote
+     * @return IDs generados, en el orden en que se añadieron las filas
+     * @throws SQLException Error al ejecutar el lote, o si el driver no devolvió un ID
+     *         por fila
+     */
+    public static List<Integer> ejecutarLote(PreparedStatement stmt, int filas) throws SQLException {
+        stmt.executeBatch();
+        List<Integer> ids = new ArrayList<>(filas);
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getInt(1));
             }
-            
-            // Ejecutar consulta de validación
-            try (Statement stmt = conn.createStatement()) {
-                stmt.setQueryTimeout(validationTimeoutSeconds);
-                try (ResultSet rs = stmt.executeQuery(validationQuery)) {
-                    return rs.next();
+        }
+        if (ids.size() != filas) {
+            throw new SQLException("El lote devolvió " + ids.size() + " IDs generados para " + filas + " filas");
+        }
+        return ids;
+    }
+
+    /**
+     * Asigna los parámetros de una fila en el statement de un lote.
+     *
+     * @param <T> Tipo de las filas
+     */
+    @FunctionalInterface
+    public interface AsignadorFila<T> {
+        /**
+         * @param stmt Statement del lote
+         * @param fila Fila a insertar
+         * @throws SQLException Error al asignar un parámetro
+         */
+        void asignar(PreparedStatement stmt, T fila) throws SQLException;
+    }
+
+    /**
+     * Inserta las filas en tramos de {@link #getTamanoLote()}: cada tramo se envía en un
+     * lote ({@link #ejecutarLote(PreparedStatement, int)}) y se confirma en su propia
+     * transacción, sobre una conexión de escritura de {@link Workload#ADMIN_WRITE} (las
+     * cargas masivas son trabajo del panel y no deben ocupar la cuota del login).
+     * 
+     * <p>Un tramo que falla antes de confirmarse se deshace y se reintenta hasta
+     * {@value #MAX_REINTENTOS_TRAMO} veces, salvo que el fallo no pueda resolverse
+     * repitiéndolo:</p>
+     * <ul>
+     *   <li>Errores definitivos ({@link SQLNonTransientException}, como un username
+     *   duplicado, o un SQLState de clase 23 o 42)</li>
+     *   <li>Circuito abierto o pool agotado ({@link CircuitOpenException},
+     *   {@link PoolExhaustedException})</li>
+     *   <li>Un fallo del {@code commit()}: el tramo pudo guardarse y repetirlo podría
+     *   duplicar filas ({@link LoteInterrumpidoException#isTramoIncierto()})</li>
+     * </ul>
+     * 
+     * @param <T> Tipo de las filas
+     * @param sql INSERT con un parámetro por columna
+     * @param filas Filas a insertar
+     * @param asignador Asigna los parámetros de cada fila
+     * @return IDs generados, en el orden de las filas
+     * @throws LoteInterrumpidoException Si un tramo falla; lleva los IDs de los tramos
+     *         ya confirmados
+     */
+    public <T> List<Integer> insertarPorTramos(String sql, List<T> filas, AsignadorFila<T> asignador)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>(filas.size());
+        int tamano = getTamanoLote();
+        for (int desde = 0; desde < filas.size(); desde += tamano) {
+            List<T> tramo = filas.subList(desde, Math.min(desde + tamano, filas.size()));
+            try {
+                ids.addAll(insertarTramoConReintentos(sql, tramo, asignador));
+            } catch (SQLException e) {
+                throw new LoteInterrumpidoException(ids, e, e instanceof CommitInciertoException);
+            }
+        }
+        return ids;
+    }
+
+    private <T> List<Integer> insertarTramoConReintentos(String sql, List<T> tramo, AsignadorFila<T> asignador)
+            throws SQLException {
+        for (int intento = 0; ; intento++) {
+            try {
+                return insertarTramo(sql, tramo, asignador);
+            } catch (SQLException e) {
+                if (intento >= MAX_REINTENTOS_TRAMO || !reintentable(e)) {
+                    throw e;
+                }
+                LOG.warn("Error en un tramo de " + tramo.size() + " filas, reintentando... (intento "
+                        + (intento + 1) + "/" + MAX_REINTENTOS_TRAMO + "): " + e.getMessage());
+                try {
+                    Backoff.pause(500L * (intento + 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(ie);
+                    throw e;
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("[ConexionBD] Error al validar conexión: " + e.getMessage());
-            return false;
         }
     }
 
     /**
-     * Limpia conexiones que han estado inactivas por mucho tiempo
+     * Inserta un tramo en un lote y una transacción.
+     * 
+     * @throws CommitInciertoException Si falla el commit: el tramo pudo guardarse
+     * @throws SQLException Error al insertar; la transacción se deshace
      */
-    private void cleanupIdleConnections() {
-        synchronized (connectionPool) {
-            List<PooledConnection> toRemove = new ArrayList<>();
-            
-            for (PooledConnection pooledConn : connectionPool) {
-                synchronized (pooledConn) {
-                    if (!pooledConn.isInUse() && pooledConn.getIdleTime() > maxIdleTimeMs) {
-                        // Mantener al menos el mínimo de conexiones
-                        if (connectionPool.size() - toRemove.size() > minConnections) {
-                            toRemove.add(pooledConn);
-                            try {
-                                pooledConn.connection.close();
-                                System.out.println("[ConexionBD] Conexión inactiva cerrada. Tiempo inactivo: " 
-                                    + TimeUnit.MILLISECONDS.toMinutes(pooledConn.getIdleTime()) + " minutos");
-                            } catch (SQLException e) {
-                                System.err.println("[ConexionBD] Error al cerrar conexión inactiva: " + e.getMessage());
-                            }
-                        }
-                    }
+    private <T> List<Integer> insertarTramo(String sql, List<T> tramo, AsignadorFila<T> asignador)
+            throws SQLException {
+        Connection conn = getConexionEscritura(Workload.ADMIN_WRITE);
+        try {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T fila : tramo) {
+                    asignador.asignar(stmt, fila);
+                    stmt.addBatch();
                 }
+                List<Integer> ids = ejecutarLote(stmt, tramo.size());
+                try {
+                    conn.commit();
+                } catch (SQLException e) {
+                    throw new CommitInciertoException(e);
+                }
+                return ids;
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
             }
-            
-            connectionPool.removeAll(toRemove);
+        } finally {
+            cerrarConexion(conn);
+        }
+    }
+
+    /**
+     * Indica si repetir un tramo fallido puede tener éxito. El driver envuelve el error
+     * de una fila del lote en un {@code BatchUpdateException} genérico, así que también
+     * se mira la causa y el SQLState.
+     */
+    private static boolean reintentable(SQLException e) {
+        if (e instanceof CircuitOpenException || e instanceof PoolExhaustedException
+                || e instanceof CommitInciertoException || e instanceof SQLNonTransientException
+                || e.getCause() instanceof SQLNonTransientException) {
+            return false;
         }
+        String estado = e.getSQLState();
+        return estado == null || !(estado.startsWith("23") || estado.startsWith("42"));
     }
 
     /**
-     * Devuelve una conexión al pool
+     * Devuelve una conexión al pool. Equivale a {@code conn.close()}: las conexiones del
+     * pool vuelven a él y cualquier otra conexión se cierra directamente.
      * 
      * @param conn Conexión a devolver
      */
@@ -464,40 +884,135 @@ public class ConexionBD {
             return;
         }
 
-        // Buscar la conexión en el pool y marcarla como disponible
-        for (PooledConnection pooledConn : connectionPool) {
-            if (pooledConn.connection == conn) {
-                synchronized (pooledConn) {
-                    pooledConn.setInUse(false);
-                }
-                return;
-            }
-        }
-
-        // Si no está en el pool, cerrarla directamente
         try {
             conn.close();
         } catch (SQLException e) {
-            System.err.println("[ConexionBD] Error al cerrar conexión: " + e.getMessage());
+            LOG.warn("Error al cerrar conexión: " + e.getMessage());
         }
     }
 
     /**
-     * Cierra todas las conexiones del pool (para shutdown)
+     * Cierra todas las conexiones del pool (para shutdown). El cierre es ordenado: se
+     * dejan de prestar conexiones y se espera hasta {@code pool.drainTimeoutSeconds} a
+     * que las peticiones en curso devuelvan las suyas.
      */
     public void shutdown() {
-        System.out.println("[ConexionBD] Cerrando todas las conexiones del pool...");
-        synchronized (connectionPool) {
-            for (PooledConnection pooledConn : connectionPool) {
-                try {
-                    pooledConn.connection.close();
-                } catch (SQLException e) {
-                    System.err.println("[ConexionBD] Error al cerrar conexión durante shutdown: " + e.getMessage());
-                }
-            }
-            connectionPool.clear();
+        LOG.info("Cerrando todas las conexiones del pool...");
+        if (watcher != null) {
+            watcher.close();
+        }
+        Backoff.wakeAll();
+        boolean drained = grupo.get().drain();
+        LOG.info("Pool cerrado" + (drained ? "." : " (con conexiones sin devolver)."));
+    }
+
+    /**
+     * Cierra el pool de la instancia única, si llegó a crearse, y la descarta para que
+     * un nuevo despliegue de la aplicación empiece desde cero. Pensado para
+     * {@link com.blog.listener.PoolLifecycleListener} al replegar la aplicación.
+     */
+    public static void cerrarInstancia() {
+        ConexionBD actual;
+        INSTANCIA_LOCK.lock();
+        try {
+            actual = instancia;
+            instancia = null;
+        } finally {
+            INSTANCIA_LOCK.unlock();
+        }
+        if (actual != null) {
+            actual.shutdown();
+        }
+    }
+
+    /**
+     * Vuelve a leer db.properties y, si cambió, reemplaza los pools de la instancia
+     * única sin reiniciar la aplicación (ver {@link #recargar(Properties)}). No hace
+     * nada si la instancia todavía no se creó: se creará con la configuración nueva.
+     *
+     * @return true si se aplicó una configuración nueva
+     */
+    public static boolean recargarConfiguracion() {
+        ConexionBD actual = instancia;
+        if (actual == null) {
+            return false;
+        }
+        try {
+            return actual.recargar(loadProperties());
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudo recargar la configuración: " + e.getMessage());
+            return false;
         }
-        System.out.println("[ConexionBD] Pool cerrado.");
+    }
+
+    /**
+     * Aplica una configuración nueva sin cortar el servicio.
+     *
+     * <p>Se construye e inicializa un conjunto de pools nuevo mientras el actual sigue
+     * atendiendo; después se publica con una única escritura atómica, de modo que cada
+     * préstamo usa el conjunto completo anterior o el nuevo, nunca una mezcla. El
+     * conjunto anterior se vacía en segundo plano: deja de prestar conexiones y espera
+     * hasta {@code pool.drainTimeoutSeconds} a que sus préstamos en curso terminen.</p>
+     *
+     * <p>Si el pool nuevo no logra abrir ninguna conexión mientras el actual sí tiene,
+     * la configuración se descarta y se conserva la actual.</p>
+     *
+     * @param properties Configuración nueva (mismas claves que db.properties)
+     * @return true si se aplicó; false si no cambió nada o se descartó
+     */
+    boolean recargar(Properties properties) {
+        recargaLock.lock();
+        try {
+            return aplicar(properties);
+        } finally {
+            recargaLock.unlock();
+        }
+    }
+
+    private boolean aplicar(Properties properties) {
+        PoolGroup anterior = grupo.get();
+        if (anterior.config.equals(properties)) {
+            return false;
+        }
+
+        LOG.info("Aplicando nueva configuración. URL: " + properties.getProperty("db.url"));
+        PoolGroup nuevo = new PoolGroup(properties);
+        nuevo.initialize();
+        if (nuevo.pool.getMinConnections() > 0 && nuevo.pool.getTotalConnections() == 0
+                && anterior.pool.getTotalConnections() > 0) {
+            LOG.warn("La nueva configuración no logró abrir conexiones; se conserva la actual.");
+            nuevo.shutdown();
+            return false;
+        }
+
+        grupo.set(nuevo);
+        // Los reintentos en espera pasan de inmediato al pool nuevo
+        Backoff.wakeAll();
+        LOG.info("Nueva configuración activa. Pool: min=" + nuevo.pool.getMinConnections()
+                + ", max=" + nuevo.pool.getMaxConnections());
+
+        anterior.pool.newThread("blog-pool-drain").start(() -> {
+            boolean drained = anterior.drain();
+            LOG.info("Pool anterior cerrado"
+                    + (drained ? "." : " (con conexiones sin devolver)."));
+        });
+        return true;
+    }
+
+    /**
+     * Prepara las sentencias indicadas en las conexiones libres de todos los pools, para
+     * que las primeras peticiones tras el despliegue encuentren sus statements en caché.
+     *
+     * @param sqls Sentencias SQL que los DAOs ejecutan con más frecuencia
+     */
+    public void precalentarStatements(Collection<String> sqls) {
+        List<String> sentencias = List.copyOf(sqls);
+        int conexiones = 0;
+        for (ConnectionPool p : grupo.get().pools()) {
+            conexiones += p.primeStatements(sentencias);
+        }
+        LOG.info(sentencias.size() + " statements preparados en "
+                + conexiones + " conexiones.");
     }
 
     /**
@@ -506,17 +1021,122 @@ public class ConexionBD {
      * @return String con estadísticas
      */
     public String getPoolStats() {
-        synchronized (connectionPool) {
-            int total = connectionPool.size();
-            int inUse = 0;
-            for (PooledConnection pooledConn : connectionPool) {
-                if (pooledConn.isInUse()) {
-                    inUse++;
-                }
-            }
-            return String.format("Pool Stats - Total: %d, En uso: %d, Disponibles: %d, Máximo: %d",
-                    total, inUse, total - inUse, maxConnections);
+        PoolGroup g = grupo.get();
+        ConnectionPool pool = g.pool;
+        int total = pool.getTotalConnections();
+        int inUse = pool.getActiveConnections();
+        return String.format("Pool Stats - Total: %d, En uso: %d, Disponibles: %d, Máximo: %d, "
+                + "Caché de statements: %d aciertos / %d fallos",
+                total, inUse, total - inUse, pool.getMaxConnections(),
+                pool.getStatementCacheHits(), pool.getStatementCacheMisses())
+                + (pool.isAdaptive() ? String.format(", Límite adaptativo: %d", pool.getSizeLimit()) : "")
+                + String.format(", Circuito: %s", g.breaker.getState())
+                + getBulkheadStats(g.bulkheads)
+                + getReplicaStats(g.replicas);
+    }
+
+    private static String getBulkheadStats(Map<Workload, Bulkhead> bulkheads) {
+        if (bulkheads.isEmpty()) {
+            return "";
+        }
+        StringBuilder stats = new StringBuilder(", Cuotas:");
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            stats.append(' ').append(bulkhead);
         }
+        return stats.toString();
+    }
+
+    private static String getReplicaStats(ReplicaSet replicas) {
+        if (replicas == null) {
+            return "";
+        }
+        StringBuilder stats = new StringBuilder();
+        for (ReplicaSet.Replica replica : replicas.getReplicas()) {
+            stats.append(String.format(" | %s - Total: %d, En uso: %d, Salud: %.2f",
+                    replica.pool.getName(), replica.pool.getTotalConnections(),
+                    replica.pool.getActiveConnections(), replica.health));
+        }
+        return stats.toString();
+    }
+
+    /**
+     * Obtiene el interruptor de circuito de la base de datos principal, para consultar
+     * su estado (cerrado, abierto o semiabierto) y sus contadores
+     *
+     * @return Interruptor de circuito de la configuración vigente
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return grupo.get().breaker;
+    }
+
+    /**
+     * Obtiene las cuotas del pool principal por tipo de tráfico, con sus plazas en uso,
+     * esperas y rechazos
+     *
+     * @return Cuotas de la configuración vigente, o una lista vacía si
+     *         {@code pool.bulkhead.enabled=false}
+     */
+    public List<Bulkhead> getBulkheads() {
+        return new ArrayList<>(grupo.get().bulkheads.values());
+    }
+
+    /**
+     * Obtiene las métricas del pool: histogramas de espera y de tiempo de préstamo,
+     * contadores, indicadores de uso y la serie temporal de la última hora
+     *
+     * @return Métricas del pool de conexiones
+     */
+    public PoolMetrics getMetrics() {
+        return grupo.get().pool.getMetrics();
+    }
+
+    /**
+     * Obtiene las métricas del pool principal y de los pools de las réplicas
+     *
+     * @return Métricas de todos los pools, empezando por el principal
+     */
+    public List<PoolMetrics> getAllMetrics() {
+        List<PoolMetrics> metrics = new ArrayList<>();
+        for (ConnectionPool p : grupo.get().pools()) {
+            metrics.add(p.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Obtiene las conexiones prestadas en este momento, con el hilo que las tiene,
+     * su antigüedad y (si {@code pool.leakDetectionThresholdMs} está activado) el
+     * punto del código desde el que se pidieron
+     *
+     * @return Conexiones en uso, de la prestada hace más tiempo a la más reciente
+     */
+    public List<PooledConnectionInfo> getConexionesEnUso() {
+        List<PooledConnectionInfo> enUso = new ArrayList<>();
+        for (ConnectionPool p : grupo.get().pools()) {
+            enUso.addAll(p.getInUseConnections());
+        }
+        enUso.sort((a, b) -> Long.compare(b.getHeldMillis(), a.getHeldMillis()));
+        return enUso;
+    }
+
+    /**
+     * Obtiene el número de veces que {@code prepareStatement} reutilizó un statement
+     * de la caché de su conexión
+     *
+     * @return Aciertos acumulados de la caché de statements
+     */
+    public long getStatementCacheHits() {
+        return grupo.get().pool.getStatementCacheHits();
+    }
+
+    /**
+     * Obtiene el número de veces que {@code prepareStatement} tuvo que preparar un
+     * statement nuevo
+     *
+     * @return Fallos acumulados de la caché de statements
+     */
+    public long getStatementCacheMisses() {
+        return grupo.get().pool.getStatementCacheMisses();
     }
 
     /**
@@ -534,7 +1154,7 @@ public class ConexionBD {
                 return true;
             }
         } catch (Exception e) {
-            System.err.println("[ConexionBD] Verificación de conexión fallida: " + e.getMessage());
+            LOG.warn("Verificación de conexión fallida: " + e.getMessage());
         }
         return false;
     }
@@ -555,7 +1175,7 @@ public class ConexionBD {
                 return conn != null && !conn.isClosed();
             }
         } catch (Exception e) {
-            System.err.println("[ConexionBD] Error al verificar conexión con parámetros: " + e.getMessage());
+            LOG.warn("Error al verificar conexión con parámetros: " + e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,114 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila un archivo de configuración con {@link WatchService} y avisa cuando cambia.
+ *
+ * <p>Los editores y {@code Properties.store} suelen generar varios eventos por cada
+ * guardado (truncar, escribir, renombrar). Tras el primer evento el vigilante espera a
+ * que pasen {@code debounceMs} sin eventos nuevos y avisa una sola vez, de modo que la
+ * configuración se lee cuando el archivo ya está completo.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#recargarConfiguracion()
+ */
+final class ConfigWatcher implements Runnable {
+
+    private static final Log LOG = Log.get(ConfigWatcher.class);
+
+    private final Path file;
+    private final long debounceMs;
+    private final Runnable onChange;
+    private volatile WatchService watchService;
+
+    /**
+     * @param file Archivo a vigilar
+     * @param debounceMs Tiempo sin eventos que se espera antes de avisar
+     * @param onChange Acción a ejecutar cuando el archivo cambia
+     */
+    ConfigWatcher(Path file, long debounceMs, Runnable onChange) {
+        this.file = file.toAbsolutePath();
+        this.debounceMs = debounceMs;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Empieza a vigilar el archivo en un hilo daemon.
+     *
+     * @throws IOException Si no se puede vigilar el directorio del archivo
+     */
+    void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread thread = new Thread(this, "blog-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        LOG.info("Vigilando cambios en " + file);
+    }
+
+    @Override
+    public void run() {
+        WatchService ws = watchService;
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                boolean changed = consume(key);
+                while (changed) {
+                    // Agrupar los eventos de un mismo guardado
+                    WatchKey next = ws.poll(debounceMs, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    consume(next);
+                }
+                if (changed) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        LOG.warn("Error al aplicar la configuración: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // close() detiene el vigilante
+        }
+    }
+
+    private boolean consume(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Deja de vigilar el archivo.
+     */
+    void close() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("Error al cerrar el vigilante: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,934 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Motor del pool de conexiones utilizado por {@link ConexionBD}.
+ *
+ * <p>Gestiona el ciclo de vida de las conexiones físicas (creación, préstamo,
+ * devolución y cierre) sobre un {@link ConcurrentBag}. El préstamo y la devolución
+ * no adquieren ningún bloqueo global ni hacen viajes de validación a la base de
+ * datos: el estado de cada entrada se cambia con CAS y el crecimiento del pool se
+ * controla con un contador atómico.</p>
+ *
+ * <h3>Mantenimiento en segundo plano:</h3>
+ * <p>Un hilo de mantenimiento (housekeeper) se ejecuta cada
+ * {@code pool.housekeepingIntervalSeconds} y se encarga de:</p>
+ * <ul>
+ *   <li><b>Inactividad:</b> cerrar conexiones libres por más de {@code connection.maxIdleMinutes}
+ *   (respetando el mínimo)</li>
+ *   <li><b>Tiempo de vida:</b> retirar conexiones con más de {@code connection.maxLifetimeMinutes};
+ *   si están prestadas, se retiran al devolverse</li>
+ *   <li><b>Keepalive:</b> validar con {@code validation.query} las conexiones libres que llevan
+ *   más de {@code connection.keepaliveMinutes} sin usarse ni validarse. Validar no cuenta
+ *   como uso, así que una conexión que solo se valida se cierra igualmente por
+ *   inactividad.</li>
+ *   <li><b>Reposición:</b> volver a llenar el pool hasta {@code pool.minConnections} de forma
+ *   asíncrona, sin hacer esperar a las peticiones</li>
+ *   <li><b>Métricas:</b> tomar cada {@code metrics.sampleIntervalSeconds} una muestra de la
+ *   serie temporal de {@link PoolMetrics}</li>
+ *   <li><b>Fugas:</b> si {@code pool.leakDetectionThresholdMs} es mayor que cero, reportar
+ *   las conexiones prestadas por más tiempo junto con el hilo y el punto de préstamo,
+ *   salvo las que se pidieron para un recorrido largo
+ *   ({@link ConexionBD#getConexionRecorrido(Workload)})</li>
+ *   <li><b>Tamaño adaptativo:</b> con {@code pool.adaptive.enabled=true}, ajustar cada
+ *   {@code pool.adaptive.intervalSeconds} el límite efectivo de conexiones entre
+ *   {@code pool.minConnections} y {@code pool.maxConnections} (ver {@link PoolSizer})</li>
+ * </ul>
+ *
+ * <h3>Configuración leída de db.properties:</h3>
+ * <ul>
+ *   <li>{@code db.url}, {@code db.user}, {@code db.password}</li>
+ *   <li>{@code pool.minConnections}, {@code pool.maxConnections}, {@code pool.borrowTimeoutMs},
+ *   {@code pool.statementCacheSize}, {@code pool.readOnly} (conexiones de réplicas)</li>
+ *   <li>{@code connection.timeoutSeconds}, {@code validation.timeoutSeconds}, {@code validation.query}</li>
+ *   <li>{@code connection.maxIdleMinutes}, {@code connection.maxLifetimeMinutes},
+ *   {@code connection.keepaliveMinutes}, {@code pool.housekeepingIntervalSeconds}</li>
+ *   <li>{@code metrics.sampleIntervalSeconds}, {@code pool.leakDetectionThresholdMs}</li>
+ *   <li>{@code pool.virtualThreads}</li>
+ *   <li>{@code pool.adaptive.*} (ver {@link PoolSizer})</li>
+ *   <li>{@code pool.priority.enabled}, {@code pool.priority.agingMs} (orden de entrega a
+ *   los hilos en espera, ver {@link ConcurrentBag})</li>
+ * </ul>
+ *
+ * <h3>Hilos virtuales:</h3>
+ * <p>El pool no usa monitores {@code synchronized}: los hilos que esperan una conexión
+ * lo hacen en el {@link ConcurrentBag} y el vaciado espera sobre una {@link Condition},
+ * así que un hilo virtual nunca queda fijado a su hilo portador mientras espera. Con
+ * {@code pool.virtualThreads=true} la apertura inicial de conexiones y el vaciado se
+ * ejecutan en hilos virtuales; el hilo de mantenimiento sigue siendo uno solo de
+ * plataforma.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> {@link ConexionBD} conserva la
+ *   configuración, el Singleton y los reintentos; esta clase solo administra las
+ *   conexiones del pool. Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.12
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD
+ * @see com.blog.dao.ConcurrentBag
+ * @see com.blog.dao.ProxyConnection
+ * @see com.blog.dao.PoolMetrics
+ * @see com.blog.dao.PoolSizer
+ */
+final class ConnectionPool {
+
+    /** Clases del propio pool que se omiten al capturar el punto de préstamo */
+    private static final Set<String> INTERNAL_CLASSES = Set.of(
+            ConnectionPool.class.getName(), ConexionBD.class.getName());
+    private static final int BORROW_SITE_FRAMES = 10;
+    /** Máximo de conexiones que se abren en paralelo al inicializar el pool */
+    private static final int MAX_WARMUP_THREADS = 8;
+
+    private final String name;
+    private final Log log;
+    private final ConcurrentBag bag;
+    /** Reloj en milisegundos para la inactividad, el keepalive y el tiempo de vida */
+    private final LongSupplier reloj;
+
+    /** Conexiones existentes más las que se están creando en este momento */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicBoolean refillPending = new AtomicBoolean();
+    private volatile boolean shutdown;
+    /** El pool se está vaciando: no presta conexiones y cierra las que se devuelven */
+    private volatile boolean draining;
+    private ScheduledExecutorService housekeeper;
+
+    // drain() espera en esta condición a que se devuelvan las conexiones prestadas
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Condition drainProgress = drainLock.newCondition();
+
+    // Contadores de la caché de statements (compartidos por todas las conexiones)
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private final PoolMetrics metrics;
+    /** Dimensionamiento adaptativo (null si {@code pool.adaptive.enabled=false}) */
+    private final PoolSizer sizer;
+    /** Límite efectivo de conexiones: {@code maxConnections}, o el que decida {@link #sizer} */
+    private volatile int sizeLimit;
+
+    // Parámetros de conexión
+    private final String url;
+    private final String user;
+    private final String password;
+
+    // Configuración del pool
+    private final int maxConnections;
+    private final int minConnections;
+    private final long borrowTimeoutMs;
+    private final int connectionTimeoutSeconds;
+    private final int validationTimeoutSeconds;
+    private final String validationQuery;
+    private final int statementCacheSize;
+    private final boolean readOnly;
+    private final boolean virtualThreads;
+
+    // Configuración del mantenimiento
+    private final long maxIdleTimeMs;
+    private final long maxLifetimeMs;
+    private final long keepaliveMs;
+    private final long housekeepingIntervalMs;
+    private final long metricsSampleIntervalSeconds;
+    private final long leakDetectionThresholdMs;
+
+    /**
+     * Crea un pool a partir de la configuración indicada. No abre ninguna conexión
+     * hasta que se invoque {@link #initialize()} o se solicite la primera.
+     *
+     * @param name Nombre del pool (para mensajes de log)
+     * @param properties Configuración (mismas claves que db.properties)
+     */
+    ConnectionPool(String name, Properties properties) {
+        this(name, properties, System::currentTimeMillis);
+    }
+
+    /**
+     * @param name Nombre del pool (para mensajes de log)
+     * @param properties Configuración (mismas claves que db.properties)
+     * @param reloj Reloj en milisegundos con el que se miden la inactividad, el
+     *        keepalive y el tiempo de vida de las conexiones
+     */
+    ConnectionPool(String name, Properties properties, LongSupplier reloj) {
+        this.name = name;
+        this.reloj = reloj;
+        this.log = Log.get("ConnectionPool:" + name);
+        this.bag = new ConcurrentBag(Boolean.parseBoolean(properties.getProperty("pool.priority.enabled", "true"))
+                ? Long.parseLong(properties.getProperty("pool.priority.agingMs", "500"))
+                : 0);
+        this.url = properties.getProperty("db.url");
+        this.user = properties.getProperty("db.user");
+        this.password = properties.getProperty("db.password");
+
+        this.maxConnections = Integer.parseInt(properties.getProperty("pool.maxConnections", "10"));
+        this.minConnections = Integer.parseInt(properties.getProperty("pool.minConnections", "2"));
+        this.borrowTimeoutMs = Long.parseLong(properties.getProperty("pool.borrowTimeoutMs", "5000"));
+        this.connectionTimeoutSeconds = Integer.parseInt(properties.getProperty("connection.timeoutSeconds", "10"));
+        this.validationTimeoutSeconds = Integer.parseInt(properties.getProperty("validation.timeoutSeconds", "5"));
+        this.validationQuery = properties.getProperty("validation.query", "SELECT 1");
+        this.statementCacheSize = Integer.parseInt(properties.getProperty("pool.statementCacheSize", "25"));
+        this.readOnly = Boolean.parseBoolean(properties.getProperty("pool.readOnly", "false"));
+        this.virtualThreads = Boolean.parseBoolean(properties.getProperty("pool.virtualThreads", "false"));
+
+        this.maxIdleTimeMs = TimeUnit.MINUTES.toMillis(
+                Long.parseLong(properties.getProperty("connection.maxIdleMinutes", "30")));
+        this.maxLifetimeMs = TimeUnit.MINUTES.toMillis(
+                Long.parseLong(properties.getProperty("connection.maxLifetimeMinutes", "30")));
+        this.keepaliveMs = TimeUnit.MINUTES.toMillis(
+                Long.parseLong(properties.getProperty("connection.keepaliveMinutes", "5")));
+        this.housekeepingIntervalMs = TimeUnit.SECONDS.toMillis(
+                Long.parseLong(properties.getProperty("pool.housekeepingIntervalSeconds", "30")));
+        this.metricsSampleIntervalSeconds = Long.parseLong(properties.getProperty("metrics.sampleIntervalSeconds", "10"));
+        this.leakDetectionThresholdMs = Long.parseLong(properties.getProperty("pool.leakDetectionThresholdMs", "0"));
+        this.metrics = new PoolMetrics(this, metricsSampleIntervalSeconds);
+        this.sizer = Boolean.parseBoolean(properties.getProperty("pool.adaptive.enabled", "false"))
+                ? new PoolSizer(this, properties)
+                : null;
+        this.sizeLimit = sizer != null ? sizer.initialSize() : maxConnections;
+    }
+
+    /**
+     * Abre el número mínimo de conexiones configurado e inicia el hilo de
+     * mantenimiento. Las conexiones iniciales se abren en paralelo, de modo que el
+     * arranque tarda aproximadamente lo que tarda una sola conexión. Los fallos al
+     * abrir conexiones no son fatales: el pool puede funcionar con menos conexiones
+     * y el mantenimiento las repondrá más tarde.
+     */
+    void initialize() {
+        log.info("Inicializando pool con " + minConnections + " conexiones...");
+        if (minConnections > 0) {
+            openInitialConnections();
+        }
+        log.info("Pool inicializado con " + bag.size() + " conexiones.");
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blog-pool-housekeeper-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                housekeepingIntervalMs, housekeepingIntervalMs, TimeUnit.MILLISECONDS);
+        housekeeper.scheduleAtFixedRate(metrics::sample,
+                metricsSampleIntervalSeconds, metricsSampleIntervalSeconds, TimeUnit.SECONDS);
+        if (leakDetectionThresholdMs > 0) {
+            long leakCheckMs = Math.max(1000, Math.min(leakDetectionThresholdMs / 2, housekeepingIntervalMs));
+            housekeeper.scheduleWithFixedDelay(this::detectLeaks, leakCheckMs, leakCheckMs, TimeUnit.MILLISECONDS);
+        }
+        if (sizer != null) {
+            log.info("Tamaño adaptativo entre " + minConnections + " y "
+                    + maxConnections + " conexiones; límite inicial " + sizeLimit);
+            sizer.adjust();
+            housekeeper.scheduleWithFixedDelay(this::adjustSize,
+                    sizer.getIntervalMs(), sizer.getIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Abre las conexiones iniciales en paralelo con un ejecutor temporal.
+     */
+    private void openInitialConnections() {
+        ExecutorService warmup = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(newThread("blog-pool-warmup-" + name).factory())
+                : Executors.newFixedThreadPool(Math.min(minConnections, MAX_WARMUP_THREADS),
+                        newThread("blog-pool-warmup-" + name).factory());
+        try {
+            List<Future<Boolean>> pendientes = new ArrayList<>();
+            for (int i = 0; i < minConnections; i++) {
+                pendientes.add(warmup.submit(this::addConnection));
+            }
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(connectionTimeoutSeconds + 5L);
+            for (int i = 0; i < pendientes.size(); i++) {
+                try {
+                    pendientes.get(i).get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException e) {
+                    log.warn("No se pudo crear conexión inicial #"
+                            + (i + 1) + ": " + e.getCause().getMessage());
+                } catch (TimeoutException e) {
+                    log.warn("Conexión inicial #" + (i + 1)
+                            + " no se abrió a tiempo; se completará en segundo plano");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            warmup.shutdown();
+        }
+    }
+
+    /**
+     * Obtiene una conexión del pool. Primero intenta reutilizar una conexión libre;
+     * si no hay y el pool no está lleno, crea una nueva; en último caso espera a que
+     * otro hilo devuelva una conexión durante el tiempo indicado.
+     *
+     * <p>No se ejecuta ninguna consulta de validación: de eso se encarga el keepalive
+     * del hilo de mantenimiento. Solo se descartan conexiones ya cerradas o marcadas
+     * para retiro, comprobaciones que no requieren ir a la base de datos.</p>
+     *
+     * @param timeoutMs Tiempo máximo de espera si el pool está lleno (0 = no esperar)
+     * @return Conexión lista para usarse (un {@link ProxyConnection} cuyo {@code close()}
+     *         la devuelve al pool), o null si el pool está lleno y no se liberó
+     *         ninguna conexión a tiempo
+     * @throws SQLException Error al crear una conexión nueva
+     */
+    Connection getConnection(long timeoutMs) throws SQLException {
+        return getConnection(timeoutMs, BorrowPriority.NORMAL);
+    }
+
+    /**
+     * Obtiene una conexión del pool como {@link #getConnection(long)}. Si hay que
+     * esperar, las conexiones que se devuelvan se entregan antes a los hilos de mayor
+     * prioridad (ver {@link ConcurrentBag}).
+     *
+     * @param timeoutMs Tiempo máximo de espera si el pool está lleno (0 = no esperar)
+     * @param priority Prioridad frente a otros hilos en espera
+     * @return Conexión lista para usarse, o null si el pool está lleno y no se liberó
+     *         ninguna conexión a tiempo
+     * @throws SQLException Error al crear una conexión nueva
+     */
+    Connection getConnection(long timeoutMs, BorrowPriority priority) throws SQLException {
+        if (draining || shutdown) {
+            throw new SQLTransientConnectionException("El pool " + name + " se está cerrando");
+        }
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                PoolEntry entry = bag.borrow(0, TimeUnit.MILLISECONDS);
+
+                if (entry == null) {
+                    entry = createInUseEntry();
+                }
+                if (entry == null) {
+                    entry = bag.borrow(timeoutMs, TimeUnit.MILLISECONDS, priority);
+                }
+                if (entry == null) {
+                    metrics.borrowTimeouts.increment();
+                    metrics.borrowTimeoutsByPriority[priority.ordinal()].increment();
+                    return null;
+                }
+
+                if (entry.isMarkedEvicted() || entry.getConnection().isClosed()) {
+                    closeEntry(entry);
+                    continue;
+                }
+                entry.markBorrowed(leakDetectionThresholdMs > 0 ? captureBorrowSite() : null);
+                long waitNanos = System.nanoTime() - start;
+                metrics.borrowWait.record(waitNanos);
+                metrics.borrowWaitByPriority[priority.ordinal()].record(waitNanos);
+                return new ProxyConnection(this, entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Espera de conexión interrumpida", e);
+        }
+    }
+
+    /**
+     * Devuelve una entrada al pool. Lo invoca {@link ProxyConnection#close()}, que ya
+     * conoce su entrada, por lo que la devolución es O(1). Si la conexión superó su
+     * tiempo de vida mientras estaba prestada, se cierra en lugar de devolverse.
+     *
+     * @param entry Entrada a devolver
+     */
+    void release(PoolEntry entry) {
+        if (entry.getState() != PoolEntry.STATE_IN_USE) {
+            return;
+        }
+        long heldNanos = entry.getHeldNanos();
+        if (!entry.isLongRunning()) {
+            // Un recorrido de minutos no es latencia de consulta: inflaría la ley de Little
+            metrics.holdTime.record(heldNanos);
+        }
+        if (entry.isLeakReported()) {
+            log.warn("Conexión reportada como posible fuga devuelta tras "
+                    + TimeUnit.NANOSECONDS.toMillis(heldNanos) + "ms (hilo " + holderName(entry) + ")");
+        }
+        entry.clearHolder();
+        if (draining) {
+            closeEntry(entry);
+            signalDrainProgress();
+        } else if (entry.isMarkedEvicted() || shutdown || totalConnections.get() > sizeLimit) {
+            // Por encima del límite efectivo tras reducirlo: la conexión sobra
+            closeEntry(entry);
+        } else {
+            bag.requite(entry);
+        }
+    }
+
+    /**
+     * Crea una entrada ya prestada si el pool aún no alcanzó su tamaño máximo.
+     *
+     * @return Entrada en uso, o null si el pool está lleno
+     * @throws SQLException Error al crear la conexión
+     */
+    private PoolEntry createInUseEntry() throws SQLException {
+        if (!reserveSlot()) {
+            return null;
+        }
+        PoolEntry entry = null;
+        try {
+            entry = newEntry();
+            entry.setState(PoolEntry.STATE_IN_USE);
+            bag.add(entry);
+            log.debug("Nueva conexión creada. Pool size: " + bag.size());
+            return entry;
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            if (entry != null) {
+                // El pool se cerró mientras se abría la conexión
+                closeEntry(entry);
+                throw new SQLTransientConnectionException("El pool " + name + " se está cerrando", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Agrega una conexión libre al pool si no se ha alcanzado el máximo.
+     *
+     * @return true si se agregó la conexión, false si el pool está lleno
+     * @throws SQLException Error al crear la conexión
+     */
+    private boolean addConnection() throws SQLException {
+        if (!reserveSlot()) {
+            return false;
+        }
+        PoolEntry entry = null;
+        try {
+            entry = newEntry();
+            bag.add(entry);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            if (entry != null) {
+                // El pool se cerró mientras se abría la conexión
+                closeEntry(entry);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reserva un cupo para una conexión nueva sin superar el límite efectivo.
+     */
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= sizeLimit) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Abre una conexión física y crea su entrada, con su propia caché de statements
+     * si {@code pool.statementCacheSize} es mayor que cero.
+     */
+    private PoolEntry newEntry() throws SQLException {
+        Connection conn;
+        try {
+            conn = createNewConnection();
+        } catch (SQLException e) {
+            metrics.connectionCreationFailures.increment();
+            throw e;
+        }
+        metrics.connectionsCreated.increment();
+        StatementCache cache = statementCacheSize > 0
+                ? new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses)
+                : null;
+        return new PoolEntry(conn, cache, reloj);
+    }
+
+    /**
+     * Crea una nueva conexión física a la base de datos
+     *
+     * @return Nueva conexión
+     * @throws SQLException Error al crear la conexión
+     */
+    private Connection createNewConnection() throws SQLException {
+        DriverManager.setLoginTimeout(connectionTimeoutSeconds);
+        Connection conn = DriverManager.getConnection(url, user, password);
+
+        // Configurar la conexión
+        conn.setAutoCommit(true);
+        if (readOnly) {
+            conn.setReadOnly(true);
+        }
+
+        return conn;
+    }
+
+    /**
+     * Valida que una conexión esté activa
+     *
+     * @param conn Conexión a validar
+     * @return true si la conexión es válida
+     */
+    private boolean isConnectionValid(Connection conn) {
+        if (conn == null) {
+            return false;
+        }
+
+        try {
+            if (conn.isClosed()) {
+                return false;
+            }
+
+            // Ejecutar consulta de validación
+            try (Statement stmt = conn.createStatement()) {
+                stmt.setQueryTimeout(validationTimeoutSeconds);
+                try (ResultSet rs = stmt.executeQuery(validationQuery)) {
+                    return rs.next();
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Error al validar conexión: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Tarea periódica del hilo de mantenimiento. Recorre una instantánea del pool y,
+     * para cada conexión libre, la reserva con CAS antes de cerrarla o validarla, de
+     * modo que nunca compite con los hilos que toman conexiones.
+     */
+    void housekeep() {
+        try {
+            for (PoolEntry entry : bag.values()) {
+                if (isPastLifetime(entry)) {
+                    // Las conexiones prestadas se retiran al devolverse
+                    entry.markEvicted();
+                    if (bag.reserve(entry)) {
+                        closeEntry(entry);
+                        log.info("Conexión retirada por tiempo de vida máximo ("
+                                + TimeUnit.MILLISECONDS.toMinutes(entry.getAge()) + " minutos)");
+                    }
+                } else if (entry.getIdleTime() > maxIdleTimeMs && totalConnections.get() > minConnections) {
+                    if (bag.reserve(entry)) {
+                        long idleMinutes = TimeUnit.MILLISECONDS.toMinutes(entry.getIdleTime());
+                        closeEntry(entry);
+                        log.info("Conexión inactiva cerrada. Tiempo inactivo: "
+                                + idleMinutes + " minutos");
+                    }
+                } else if (entry.getTimeSinceValidation() > keepaliveMs && bag.reserve(entry)) {
+                    if (isConnectionValid(entry.getConnection())) {
+                        // Validar no es usar: la inactividad sigue contando para maxIdle
+                        entry.markValidated();
+                        bag.unreserve(entry);
+                    } else {
+                        log.info("Keepalive: conexión inválida descartada.");
+                        closeEntry(entry);
+                    }
+                }
+            }
+            fillPool();
+        } catch (RuntimeException e) {
+            // Un error no debe cancelar las ejecuciones futuras del mantenimiento
+            log.error("Error en mantenimiento del pool", e);
+        }
+    }
+
+    /**
+     * Reporta las conexiones prestadas por más de {@code pool.leakDetectionThresholdMs},
+     * indicando el hilo que las tiene y desde dónde las pidió. Cada préstamo se reporta
+     * una sola vez; si la conexión se devuelve más tarde, se registra también.
+     */
+    void detectLeaks() {
+        try {
+            for (PoolEntry entry : bag.values()) {
+                if (entry.getState() != PoolEntry.STATE_IN_USE || entry.isLeakReported()
+                        || entry.isLongRunning()) {
+                    continue;
+                }
+                long heldMs = TimeUnit.NANOSECONDS.toMillis(entry.getHeldNanos());
+                if (heldMs <= leakDetectionThresholdMs) {
+                    continue;
+                }
+                entry.setLeakReported(true);
+                metrics.leaksDetected.increment();
+
+                StringBuilder mensaje = new StringBuilder();
+                mensaje.append("Posible fuga de conexión: prestada hace ")
+                        .append(heldMs).append("ms al hilo ").append(holderName(entry))
+                        .append(" y aún no devuelta. Punto de préstamo:");
+                StackTraceElement[] site = entry.getBorrowSite();
+                if (site != null) {
+                    for (StackTraceElement frame : site) {
+                        mensaje.append(System.lineSeparator()).append("    at ").append(frame);
+                    }
+                }
+                log.warn(mensaje.toString());
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en detección de fugas", e);
+        }
+    }
+
+    /**
+     * Captura los primeros marcos de pila de quien pide la conexión, omitiendo los del
+     * propio pool. {@link StackWalker} recorre la pila de forma perezosa, por lo que el
+     * costo se limita a los pocos marcos que se conservan.
+     */
+    private static StackTraceElement[] captureBorrowSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !INTERNAL_CLASSES.contains(frame.getClassName()))
+                .limit(BORROW_SITE_FRAMES)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new));
+    }
+
+    private static String holderName(PoolEntry entry) {
+        Thread holder = entry.getHolder();
+        return holder != null ? "'" + holder.getName() + "'" : "(desconocido)";
+    }
+
+    /**
+     * Obtiene una fotografía de las conexiones prestadas en este momento.
+     *
+     * @return Conexiones en uso, de la prestada hace más tiempo a la más reciente
+     */
+    List<PooledConnectionInfo> getInUseConnections() {
+        List<PooledConnectionInfo> result = new ArrayList<>();
+        for (PoolEntry entry : bag.values()) {
+            Thread holder = entry.getHolder();
+            if (entry.getState() != PoolEntry.STATE_IN_USE || holder == null) {
+                continue;
+            }
+            long heldMs = TimeUnit.NANOSECONDS.toMillis(entry.getHeldNanos());
+            StackTraceElement[] site = entry.getBorrowSite();
+            result.add(new PooledConnectionInfo(name,
+                    Integer.toHexString(System.identityHashCode(entry.getConnection())),
+                    holder.getName(), holder.threadId(), entry.getAge(), heldMs,
+                    site != null ? Arrays.asList(site) : List.of(),
+                    leakDetectionThresholdMs > 0 && heldMs > leakDetectionThresholdMs
+                            && !entry.isLongRunning()));
+        }
+        result.sort((a, b) -> Long.compare(b.getHeldMillis(), a.getHeldMillis()));
+        return result;
+    }
+
+    long getLeakDetectionThresholdMs() {
+        return leakDetectionThresholdMs;
+    }
+
+    /**
+     * Indica si la conexión superó su tiempo de vida máximo. Se resta una variación de
+     * hasta 2,5% por conexión para que las conexiones creadas juntas no se retiren
+     * todas a la vez.
+     */
+    private boolean isPastLifetime(PoolEntry entry) {
+        if (maxLifetimeMs <= 0) {
+            return false;
+        }
+        long variance = maxLifetimeMs / 40;
+        long lifetime = maxLifetimeMs - (variance > 0 ? System.identityHashCode(entry) % variance : 0);
+        return entry.getAge() > lifetime;
+    }
+
+    /**
+     * Agrega conexiones hasta alcanzar el mínimo configurado, o mientras haya hilos
+     * esperando y quede cupo.
+     */
+    private void fillPool() {
+        while (!shutdown && !draining && (totalConnections.get() < minConnections
+                || (bag.getWaitingThreadCount() > 0 && totalConnections.get() < sizeLimit))) {
+            try {
+                if (!addConnection()) {
+                    return;
+                }
+            } catch (SQLException e) {
+                log.warn("No se pudo reponer conexión: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tarea periódica del dimensionamiento adaptativo.
+     */
+    private void adjustSize() {
+        try {
+            sizer.adjust();
+        } catch (RuntimeException e) {
+            // Un error no debe cancelar los ajustes futuros
+            log.error("Error al ajustar el tamaño del pool", e);
+        }
+    }
+
+    /**
+     * Cambia el límite efectivo de conexiones. Al reducirlo se cierran en el acto las
+     * conexiones libres que sobran y las prestadas se cierran al devolverse; al
+     * ampliarlo se atiende enseguida a los hilos que esperaban.
+     *
+     * @param newLimit Nuevo límite, entre {@code pool.minConnections} y {@code pool.maxConnections}
+     */
+    void resize(int newLimit) {
+        int previous = sizeLimit;
+        sizeLimit = Math.max(1, Math.min(maxConnections, newLimit));
+        if (sizeLimit > previous) {
+            requestRefill();
+            return;
+        }
+        for (PoolEntry entry : bag.values()) {
+            if (totalConnections.get() <= sizeLimit) {
+                break;
+            }
+            if (bag.reserve(entry)) {
+                closeEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Programa una reposición asíncrona del pool en el hilo de mantenimiento. Las
+     * solicitudes repetidas mientras hay una pendiente se agrupan en una sola.
+     */
+    private void requestRefill() {
+        if (shutdown || draining || housekeeper == null || !refillPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            housekeeper.execute(() -> {
+                refillPending.set(false);
+                fillPool();
+            });
+        } catch (RejectedExecutionException e) {
+            refillPending.set(false);
+        }
+    }
+
+    /**
+     * Retira una entrada (prestada o reservada) del pool, cierra su conexión física y
+     * solicita la reposición asíncrona del cupo liberado.
+     */
+    private void closeEntry(PoolEntry entry) {
+        if (bag.remove(entry)) {
+            totalConnections.decrementAndGet();
+            if (!shutdown && !draining) {
+                metrics.connectionsEvicted.increment();
+            }
+        }
+        if (entry.getStatementCache() != null) {
+            entry.getStatementCache().close();
+        }
+        try {
+            entry.getConnection().close();
+        } catch (SQLException e) {
+            log.warn("Error al cerrar conexión: " + e.getMessage());
+        }
+        requestRefill();
+    }
+
+    /**
+     * Prepara las sentencias indicadas en cada conexión libre del pool, para que las
+     * primeras peticiones encuentren los statements ya en la caché de su conexión.
+     * Solo usa las conexiones existentes: no hace crecer el pool.
+     *
+     * @param sqls Sentencias SQL a preparar
+     * @return Número de conexiones preparadas
+     */
+    int primeStatements(List<String> sqls) {
+        if (statementCacheSize <= 0 || sqls.isEmpty()) {
+            return 0;
+        }
+        List<Connection> prestadas = new ArrayList<>();
+        try {
+            PoolEntry entry;
+            while (prestadas.size() < bag.size() && (entry = bag.borrow(0, TimeUnit.MILLISECONDS)) != null) {
+                entry.markBorrowed(null);
+                prestadas.add(new ProxyConnection(this, entry));
+            }
+            for (Connection conn : prestadas) {
+                for (String sql : sqls) {
+                    conn.prepareStatement(sql).close();
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Error al preparar statements: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Connection conn : prestadas) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    // La conexión ya se retiró del pool
+                }
+            }
+        }
+        return prestadas.size();
+    }
+
+    /**
+     * Cierra el pool de forma ordenada: deja de prestar conexiones, cierra las libres
+     * y espera hasta {@code timeoutMs} a que se devuelvan las prestadas (que se cierran
+     * al devolverse) antes de cerrar el resto.
+     *
+     * @param timeoutMs Tiempo máximo de espera por las conexiones prestadas
+     * @return true si todas las conexiones se devolvieron a tiempo
+     */
+    boolean drain(long timeoutMs) {
+        draining = true;
+        // Los hilos que esperaban una conexión dejan de esperar y reciben null
+        bag.close();
+        for (PoolEntry entry : bag.values()) {
+            if (bag.reserve(entry)) {
+                closeEntry(entry);
+            }
+        }
+
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        boolean drained = true;
+        drainLock.lock();
+        try {
+            while (getActiveConnections() > 0) {
+                if (remaining <= 0) {
+                    drained = false;
+                    log.warn(getActiveConnections()
+                            + " conexiones no se devolvieron en " + timeoutMs + "ms; se cerrarán igualmente");
+                    break;
+                }
+                remaining = drainProgress.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        } finally {
+            drainLock.unlock();
+        }
+        shutdown();
+        return drained;
+    }
+
+    private void signalDrainProgress() {
+        drainLock.lock();
+        try {
+            drainProgress.signalAll();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Prepara un hilo para tareas internas del pool: virtual si
+     * {@code pool.virtualThreads=true}, o daemon de plataforma en otro caso.
+     *
+     * @param threadName Nombre del hilo
+     * @return Constructor del hilo
+     */
+    Thread.Builder newThread(String threadName) {
+        return virtualThreads
+                ? Thread.ofVirtual().name(threadName)
+                : Thread.ofPlatform().name(threadName).daemon(true);
+    }
+
+    /**
+     * Detiene el mantenimiento y cierra todas las conexiones del pool.
+     */
+    void shutdown() {
+        shutdown = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        bag.close();
+        for (PoolEntry entry : bag.values()) {
+            closeEntry(entry);
+        }
+    }
+
+    int getTotalConnections() {
+        return bag.size();
+    }
+
+    int getActiveConnections() {
+        return bag.getCount(PoolEntry.STATE_IN_USE);
+    }
+
+    int getIdleConnections() {
+        return bag.getCount(PoolEntry.STATE_NOT_IN_USE);
+    }
+
+    int getWaitingThreads() {
+        return bag.getWaitingThreadCount();
+    }
+
+    PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    int getMaxConnections() {
+        return maxConnections;
+    }
+
+    int getMinConnections() {
+        return minConnections;
+    }
+
+    /**
+     * @return Límite efectivo de conexiones ({@code pool.maxConnections} si el tamaño no es adaptativo)
+     */
+    int getSizeLimit() {
+        return sizeLimit;
+    }
+
+    /**
+     * @return Decisiones del dimensionamiento adaptativo (vacío si no está activado)
+     */
+    List<SizingDecision> getSizingDecisions() {
+        return sizer != null ? sizer.getDecisions() : List.of();
+    }
+
+    boolean isAdaptive() {
+        return sizer != null;
+    }
+
+    long getBorrowTimeoutMs() {
+        return borrowTimeoutMs;
+    }
+
+    String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,149 @@
+package com.blog.dao;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Posición dentro del listado de artículos para la paginación por cursor
+ * ({@link IArticuloDAO#listarPagina(CursorArticulo, int)}).
+ *
+ * <p>El listado se ordena por {@code (fecha_publicacion DESC, id DESC)}; el cursor guarda
+ * ese par del artículo en el borde de la página y la dirección en la que se quiere
+ * seguir. La consulta busca directamente esa posición en el índice
+ * {@code idx_fecha_publicacion_id} en lugar de saltar filas con {@code OFFSET}, de modo
+ * que la página 1 y la 5.000 cuestan lo mismo y un artículo publicado mientras se
+ * navega no desplaza ni repite resultados.</p>
+ *
+ * <p>En la URL viaja como texto ({@link #toToken()}): {@code <fecha ISO>_<id>}. Un
+ * token manipulado o mal formado no produce un error: {@link #parse(String, boolean)} devuelve
+ * null y el listado vuelve a la primera página.</p>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Value Object:</b> Inmutable y comparable por valor.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.IArticuloDAO#listarPagina(CursorArticulo, int)
+ * @see com.blog.model.Pagina
+ */
+public final class CursorArticulo {
+
+    private static final char SEPARADOR = '_';
+
+    private final LocalDateTime fechaPublicacion;
+    private final int id;
+    private final boolean anterior;
+
+    private CursorArticulo(LocalDateTime fechaPublicacion, int id, boolean anterior) {
+        if (fechaPublicacion == null) {
+            throw new IllegalArgumentException("El cursor necesita la fecha de publicación");
+        }
+        this.fechaPublicacion = fechaPublicacion;
+        this.id = id;
+        this.anterior = anterior;
+    }
+
+    /**
+     * @param fechaPublicacion Fecha del último artículo de la página actual
+     * @param id ID del último artículo de la página actual
+     * @return Cursor para la página siguiente (artículos más antiguos)
+     */
+    public static CursorArticulo despues(LocalDateTime fechaPublicacion, int id) {
+        return new CursorArticulo(fechaPublicacion, id, false);
+    }
+
+    /**
+     * @param fechaPublicacion Fecha del primer artículo de la página actual
+     * @param id ID del primer artículo de la página actual
+     * @return Cursor para la página anterior (artículos más recientes)
+     */
+    public static CursorArticulo antes(LocalDateTime fechaPublicacion, int id) {
+        return new CursorArticulo(fechaPublicacion, id, true);
+    }
+
+    /**
+     * Interpreta un token recibido en la URL.
+     *
+     * @param token Texto generado por {@link #toToken()}
+     * @param anterior true si el token viene del enlace a la página anterior
+     * @return El cursor, o null si el token falta o no es válido
+     */
+    public static CursorArticulo parse(String token, boolean anterior) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        int separador = token.lastIndexOf(SEPARADOR);
+        if (separador <= 0 || separador == token.length() - 1) {
+            return null;
+        }
+        try {
+            LocalDateTime fecha = LocalDateTime.parse(token.substring(0, separador));
+            int id = Integer.parseInt(token.substring(separador + 1));
+            return new CursorArticulo(fecha, id, anterior);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Interpreta los parámetros de paginación de un listado: {@code antes} (enlace a la
+     * página anterior) tiene preferencia sobre {@code despues} (enlace a la siguiente).
+     *
+     * @param antes Valor del parámetro {@code antes}, o null si falta
+     * @param despues Valor del parámetro {@code despues}, o null si falta
+     * @return El cursor, o null (primera página) si faltan ambos o no son válidos
+     */
+    public static CursorArticulo desdeParametros(String antes, String despues) {
+        if (antes != null) {
+            return parse(antes, true);
+        }
+        return parse(despues, false);
+    }
+
+    /**
+     * @return Texto para la URL, interpretable con {@link #parse(String, boolean)}
+     */
+    public String toToken() {
+        return fechaPublicacion + String.valueOf(SEPARADOR) + id;
+    }
+
+    public LocalDateTime getFechaPublicacion() {
+        return fechaPublicacion;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return true si se piden los artículos más recientes que el cursor; false si los
+     *         más antiguos
+     */
+    public boolean isAnterior() {
+        return anterior;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CursorArticulo)) {
+            return false;
+        }
+        CursorArticulo otro = (CursorArticulo) o;
+        return id == otro.id && anterior == otro.anterior && fechaPublicacion.equals(otro.fechaPublicacion);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * fechaPublicacion.hashCode() + id) + (anterior ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return (anterior ? "antes " : "despues ") + toToken();
+    }
+}
@@ -0,0 +1,173 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Punto único donde los controladores obtienen los DAOs compartidos.
+ *
+ * <p>Una caché solo es coherente si todas las escrituras pasan por el mismo
+ * decorador que las lecturas: si cada servlet creara su propio
+ * {@link CachingArticuloDAO}, una edición desde el panel no invalidaría la caché de la
+ * vista pública. Por eso los controladores piden aquí el DAO en lugar de crearlo con
+ * {@code new}.</p>
+ *
+ * <p>Los decoradores se activan en db.properties ({@code cache.articulos.enabled},
+ * {@code cache.portada.enabled}, {@code cache.usuarios.enabled}). La configuración se
+ * lee una vez, la primera vez que se pide cada DAO; cambiarla requiere reiniciar la
+ * aplicación.</p>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Factory:</b> Decide qué implementación de cada interfaz se usa, de modo que
+ *   los controladores solo conocen {@link IArticuloDAO} e {@link IUsuarioDAO}.
+ *   Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.4
+ * @since 2026-10-18
+ * @see com.blog.dao.CachingArticuloDAO
+ * @see com.blog.dao.PortadaArticuloDAO
+ * @see com.blog.dao.CachingUsuarioDAO
+ */
+public final class DAOFactory {
+
+    private static final Log LOG = Log.get(DAOFactory.class);
+
+    /**
+     * DAO de artículos compartido y sus decoradores (null los desactivados)
+     */
+    private static final class Articulos {
+        final IArticuloDAO dao;
+        final CachingArticuloDAO cache;
+        final PortadaArticuloDAO portada;
+
+        Articulos(IArticuloDAO dao, CachingArticuloDAO cache, PortadaArticuloDAO portada) {
+            this.dao = dao;
+            this.cache = cache;
+            this.portada = portada;
+        }
+    }
+
+    private static final AtomicReference<Articulos> articulos = new AtomicReference<>();
+    private static final AtomicReference<IUsuarioDAO> usuarios = new AtomicReference<>();
+
+    private DAOFactory() {
+    }
+
+    /**
+     * Obtiene el DAO de artículos compartido por toda la aplicación.
+     *
+     * @return {@link PortadaArticuloDAO} sobre {@link CachingArticuloDAO} sobre
+     *         {@link MySQLArticuloDAO}, sin los decoradores desactivados en la
+     *         configuración
+     */
+    public static IArticuloDAO getArticuloDAO() {
+        Articulos actual = articulos.get();
+        if (actual != null) {
+            return actual.dao;
+        }
+        Articulos nuevo = crearArticulos(ConexionBD.getInstancia());
+        // Si otro hilo llegó antes, se usa el suyo para compartir una sola caché
+        return articulos.compareAndSet(null, nuevo) ? nuevo.dao : articulos.get().dao;
+    }
+
+    /**
+     * Obtiene el DAO de usuarios compartido por toda la aplicación.
+     *
+     * @return {@link CachingUsuarioDAO} sobre {@link MySQLUsuarioDAO}, o solo este si la
+     *         caché está desactivada en la configuración
+     */
+    public static IUsuarioDAO getUsuarioDAO() {
+        IUsuarioDAO actual = usuarios.get();
+        if (actual != null) {
+            return actual;
+        }
+        IUsuarioDAO nuevo = crearUsuarios(ConexionBD.getInstancia());
+        return usuarios.compareAndSet(null, nuevo) ? nuevo : usuarios.get();
+    }
+
+    /**
+     * Avisa de que se borraron usuarios: sus artículos se borraron en cascada
+     * ({@code ON DELETE CASCADE}), así que la caché de artículos se vacía y la portada
+     * se reconstruye.
+     */
+    public static void usuariosEliminados() {
+        Articulos actual = articulos.get();
+        if (actual == null) {
+            return;
+        }
+        if (actual.cache != null) {
+            actual.cache.invalidarTodo();
+        }
+        if (actual.portada != null) {
+            actual.portada.invalidar();
+        }
+    }
+
+    /**
+     * Detiene el hilo que reconstruye la portada. Se llama al replegar la aplicación.
+     */
+    public static void cerrar() {
+        Articulos actual = articulos.getAndSet(null);
+        if (actual != null && actual.portada != null) {
+            actual.portada.cerrar();
+        }
+    }
+
+    /**
+     * @return Estadísticas de las cachés creadas hasta ahora
+     */
+    public static List<CacheStats> getEstadisticasCaches() {
+        List<CacheStats> stats = new ArrayList<>();
+        Articulos actual = articulos.get();
+        if (actual != null && actual.cache != null) {
+            stats.add(actual.cache.getEstadisticas());
+        }
+        if (usuarios.get() instanceof CachingUsuarioDAO) {
+            stats.addAll(((CachingUsuarioDAO) usuarios.get()).getEstadisticas());
+        }
+        return stats;
+    }
+
+    private static Articulos crearArticulos(ConexionBD conexionBD) {
+        IArticuloDAO dao = new MySQLArticuloDAO();
+        CachingArticuloDAO cache = null;
+        if (Boolean.parseBoolean(conexionBD.getPropiedad("cache.articulos.enabled", "true"))) {
+            long maxBytes = Long.parseLong(conexionBD.getPropiedad("cache.articulos.maxBytes", "33554432"));
+            long ttlMs = Long.parseLong(conexionBD.getPropiedad("cache.articulos.ttlSeconds", "600")) * 1000;
+            long ventanaReplicasMs = conexionBD.getRetrasoReplicasMs();
+            LOG.info("Caché de artículos: " + maxBytes / 1024 + " KB, caducidad " + ttlMs / 1000 + " s");
+            cache = new CachingArticuloDAO(dao, CachingArticuloDAO.crearCache(maxBytes, ttlMs, ventanaReplicasMs));
+            dao = cache;
+        }
+        PortadaArticuloDAO portada = null;
+        if (Boolean.parseBoolean(conexionBD.getPropiedad("cache.portada.enabled", "true"))) {
+            long debounceMs = Long.parseLong(conexionBD.getPropiedad("cache.portada.debounceMs", "250"));
+            long maxDelayMs = Long.parseLong(conexionBD.getPropiedad("cache.portada.maxDelayMs", "2000"));
+            LOG.info("Portada en memoria: reconstrucción tras " + debounceMs + " ms sin escrituras");
+            portada = new PortadaArticuloDAO(dao, debounceMs, maxDelayMs, conexionBD.getRetrasoReplicasMs());
+            dao = portada;
+        }
+        return new Articulos(dao, cache, portada);
+    }
+
+    private static IUsuarioDAO crearUsuarios(ConexionBD conexionBD) {
+        IUsuarioDAO dao = new MySQLUsuarioDAO();
+        if (!Boolean.parseBoolean(conexionBD.getPropiedad("cache.usuarios.enabled", "true"))) {
+            return dao;
+        }
+        // Mitad del tamaño para cada caché
+        long maxBytes = Long.parseLong(conexionBD.getPropiedad("cache.usuarios.maxBytes", "4194304")) / 2;
+        long ttlMs = Long.parseLong(conexionBD.getPropiedad("cache.usuarios.ttlSeconds", "300")) * 1000;
+        long usernameTtlMs = Long.parseLong(conexionBD.getPropiedad("cache.usuarios.usernameTtlSeconds", "30")) * 1000;
+        LOG.info("Caché de usuarios: " + maxBytes * 2 / 1024 + " KB, caducidad " + ttlMs / 1000 + " s ("
+                + usernameTtlMs / 1000 + " s por username)");
+        long ventanaReplicasMs = conexionBD.getRetrasoReplicasMs();
+        return new CachingUsuarioDAO(dao,
+                CachingUsuarioDAO.crearCachePorId(maxBytes, ttlMs, ventanaReplicasMs),
+                CachingUsuarioDAO.crearCachePorUsername(maxBytes, usernameTtlMs, ventanaReplicasMs));
+    }
+}
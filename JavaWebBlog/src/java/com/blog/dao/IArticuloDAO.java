@@ -1,8 +1,11 @@
 package com.blog.dao;
 
 import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para operaciones de acceso a datos de artículos.
@@ -35,10 +38,12 @@ import java.util.List;
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 1.0
+ * @version 1.6
  * @since 2025-12-09
  * @see com.blog.model.Articulo
  * @see com.blog.dao.MySQLArticuloDAO
+ * @see com.blog.dao.CursorArticulo
+ * @see com.blog.model.ArticuloResumen
  */
 public interface IArticuloDAO {
     
@@ -47,11 +52,52 @@ public interface IArticuloDAO {
      * 
      * <p>Los artículos se devuelven con información del autor mediante JOIN con la tabla usuarios.</p>
      * 
+     * <p>Carga la tabla completa: las vistas deben usar {@link #listarPagina(CursorArticulo, int)}.</p>
+     * 
      * @return Lista de todos los artículos, ordenados del más reciente al más antiguo
      * @throws SQLException Si ocurre un error de base de datos durante la consulta
      */
     List<Articulo> listarTodos() throws SQLException;
     
+    /**
+     * Lista una página de artículos ordenados por fecha de publicación, del más reciente
+     * al más antiguo, usando paginación por cursor.
+     * 
+     * <p>La página empieza justo después (o termina justo antes) del artículo indicado por
+     * el cursor, sin contar las filas anteriores, por lo que su coste no depende de lo
+     * lejos que esté del principio del listado.</p>
+     * 
+     * <p>Devuelve resúmenes con el extracto guardado al escribir el artículo; el contenido
+     * completo no se lee.</p>
+     * 
+     * @param cursor Posición desde la que continuar, o null para la primera página
+     * @param tamano Número máximo de artículos de la página (mayor que cero)
+     * @return La página, con los cursores para las páginas anterior y siguiente
+     * @throws SQLException Si ocurre un error de base de datos durante la consulta
+     */
+    Pagina<ArticuloResumen> listarPagina(CursorArticulo cursor, int tamano) throws SQLException;
+    
+    /**
+     * Recorre todos los artículos, con su contenido completo, en orden de ID y sin
+     * cargarlos a la vez en memoria.
+     * 
+     * <p>Pensado para exportaciones, reindexados y rellenos de columnas: las filas se
+     * entregan a la acción de una en una a medida que llegan de la base de datos, por lo
+     * que la memoria usada no depende del número de artículos. La conexión queda
+     * ocupada durante todo el recorrido. Si la acción lanza una excepción, el recorrido
+     * se detiene y la excepción se propaga.</p>
+     * 
+     * <p>No se reintenta: las filas ya entregadas a la acción no pueden repetirse.</p>
+     * 
+     * <p>Además del nombre, cada artículo trae el username de su autor
+     * ({@link Articulo#getAutorUsername()}), null si el autor ya no existe.</p>
+     * 
+     * @param accion Acción a ejecutar con cada artículo
+     * @return Número de artículos recorridos
+     * @throws SQLException Si ocurre un error de base de datos durante el recorrido
+     */
+    int recorrerTodos(Consumer<? super Articulo> accion) throws SQLException;
+    
     /**
      * Obtiene un artículo específico por su identificador único.
      * 
@@ -69,17 +115,46 @@ public interface IArticuloDAO {
      * <p>La fecha de publicación se establece automáticamente al momento actual.
      * El ID del artículo se genera automáticamente por la base de datos.</p>
      * 
+     * <p>Guarda también el extracto del contenido ({@link ArticuloResumen#extraer(String)}).</p>
+     * 
      * @param articulo Objeto Articulo con los datos a insertar (titulo, contenido, autorId)
      * @return true si el artículo se creó exitosamente, false en caso contrario
      * @throws SQLException Si ocurre un error de base de datos durante la inserción
      */
     boolean crear(Articulo articulo) throws SQLException;
+
+    /**
+     * Crea varios artículos con pocos viajes a la base de datos (cargas e importaciones).
+     * 
+     * <p>Los artículos se insertan en tramos de {@link ConexionBD#getTamanoLote()}: cada
+     * tramo se envía en un solo lote y se confirma en su propia transacción, de modo que
+     * un tramo se guarda entero o no se guarda. Si un tramo falla, los anteriores quedan
+     * guardados y se lanza {@link LoteInterrumpidoException} con sus IDs.</p>
+     * 
+     * <p>Un tramo que falla antes de confirmarse se deshace y, si el error es transitorio
+     * (ej: se perdió la conexión), se reintenta. Los errores deterministas, como una
+     * restricción violada ({@link java.sql.SQLNonTransientException}), no se reintentan
+     * porque fallarían igual. Si falla el propio {@code commit()}, tampoco se reintenta
+     * (podría duplicar filas) y la excepción lo indica con
+     * {@link LoteInterrumpidoException#isTramoIncierto()}.</p>
+     * 
+     * <p>Como {@link #crear(Articulo)}, guarda el extracto de cada artículo. La fecha de
+     * publicación de cada artículo es obligatoria.</p>
+     * 
+     * @param articulos Artículos a insertar (titulo, contenido, fechaPublicacion, autorId)
+     * @return IDs generados, en el mismo orden que la lista recibida
+     * @throws LoteInterrumpidoException Si un tramo falla tras guardarse los anteriores
+     * @throws SQLException Si ocurre un error de base de datos durante la inserción
+     */
+    List<Integer> crearLote(List<Articulo> articulos) throws SQLException;
     
     /**
      * Actualiza un artículo existente en la base de datos.
      * 
      * <p>Solo se actualizan el título y contenido. La fecha de publicación y el autor no cambian.</p>
      * 
+     * <p>El extracto se recalcula a partir del nuevo contenido.</p>
+     * 
      * @param articulo Objeto Articulo con los datos actualizados (debe incluir el ID)
      * @return true si el artículo se actualizó exitosamente, false si no existe
      * @throws SQLException Si ocurre un error de base de datos durante la actualización
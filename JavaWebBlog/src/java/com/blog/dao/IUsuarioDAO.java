@@ -3,6 +3,7 @@ package com.blog.dao;
 import com.blog.model.Usuario;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para operaciones de acceso a datos de usuarios.
@@ -33,7 +34,7 @@ import java.util.List;
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 1.0
+ * @version 1.4
  * @since 2025-12-09
  * @see com.blog.model.Usuario
  * @see com.blog.dao.MySQLUsuarioDAO
@@ -74,6 +75,31 @@ public interface IUsuarioDAO {
      */
     boolean crear(Usuario usuario) throws SQLException;
 
+    /**
+     * Crea varios usuarios con pocos viajes a la base de datos (cargas e importaciones).
+     * 
+     * <p>Los usuarios se insertan en tramos de {@link ConexionBD#getTamanoLote()}: cada
+     * tramo se envía en un solo lote y se confirma en su propia transacción. Si un tramo
+     * falla (ej: un username duplicado), los anteriores quedan guardados y se lanza
+     * {@link LoteInterrumpidoException} con sus IDs.</p>
+     * 
+     * <p>Un tramo que falla antes de confirmarse se deshace y, si el error es transitorio
+     * (ej: se perdió la conexión), se reintenta. Los errores deterministas, como una
+     * restricción violada ({@link java.sql.SQLNonTransientException}), no se reintentan
+     * porque fallarían igual. Si falla el propio {@code commit()}, tampoco se reintenta
+     * (podría duplicar filas) y la excepción lo indica con
+     * {@link LoteInterrumpidoException#isTramoIncierto()}.</p>
+     * 
+     * <p>Como en {@link #crear(Usuario)}, las contraseñas deben llegar hasheadas y los
+     * usuarios se crean con rol 'autor'.</p>
+     * 
+     * @param usuarios Usuarios a insertar
+     * @return IDs generados, en el mismo orden que la lista recibida
+     * @throws LoteInterrumpidoException Si un tramo falla tras guardarse los anteriores
+     * @throws SQLException Si ocurre un error de base de datos durante la inserción
+     */
+    List<Integer> crearLote(List<Usuario> usuarios) throws SQLException;
+
     /**
      * Lista todos los usuarios registrados en el sistema.
      * 
@@ -84,6 +110,20 @@ public interface IUsuarioDAO {
      * @throws SQLException Si ocurre un error de base de datos durante la consulta
      */
     List<Usuario> listarTodos() throws SQLException;
+    
+    /**
+     * Recorre todos los usuarios en orden de ID sin cargarlos a la vez en memoria.
+     * 
+     * <p>Las filas se entregan a la acción de una en una a medida que llegan de la base
+     * de datos (exportaciones, reprocesos). Los usuarios se entregan sin contraseña. Si
+     * la acción lanza una excepción, el recorrido se detiene y la excepción se propaga.
+     * No se reintenta: las filas ya entregadas no pueden repetirse.</p>
+     * 
+     * @param accion Acción a ejecutar con cada usuario
+     * @return Número de usuarios recorridos
+     * @throws SQLException Si ocurre un error de base de datos durante el recorrido
+     */
+    int recorrerTodos(Consumer<? super Usuario> accion) throws SQLException;
 
     /**
      * Actualiza el rol de un usuario existente.
@@ -0,0 +1,104 @@
+package com.blog.dao;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas fijas, al estilo de los histogramas de Prometheus.
+ *
+ * <p>Registrar una muestra solo incrementa dos {@link LongAdder}, por lo que puede
+ * hacerse en cada préstamo de conexión sin añadir contención entre hilos. Los límites
+ * de las cubetas (en milisegundos) cubren desde 0.1ms hasta 10s; lo que exceda el
+ * último límite se cuenta en la cubeta {@code +Inf}.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.PoolMetrics
+ */
+public final class LatencyHistogram {
+
+    /** Límite superior (inclusive) de cada cubeta, en milisegundos */
+    private static final double[] BOUNDS_MS = {
+        0.1, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra una muestra.
+     *
+     * @param nanos Duración en nanosegundos
+     */
+    void record(long nanos) {
+        double ms = nanos / 1_000_000.0;
+        int i = 0;
+        while (i < BOUNDS_MS.length && ms > BOUNDS_MS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * @return Límites superiores de las cubetas en milisegundos (sin incluir {@code +Inf})
+     */
+    public double[] getBoundsMillis() {
+        return BOUNDS_MS.clone();
+    }
+
+    /**
+     * Obtiene los conteos acumulados por cubeta, como los expone Prometheus: el
+     * elemento {@code i} es el número de muestras menores o iguales al límite
+     * {@code i}; el último elemento corresponde a {@code +Inf}.
+     *
+     * @return Conteos acumulados ({@code getBoundsMillis().length + 1} elementos)
+     */
+    public long[] getCumulativeCounts() {
+        long[] result = new long[buckets.length];
+        long acumulado = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            acumulado += buckets[i].sum();
+            result[i] = acumulado;
+        }
+        return result;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSumMillis() {
+        return sumNanos.sum() / 1_000_000.0;
+    }
+
+    /**
+     * Estima un percentil a partir de las cubetas (devuelve el límite superior de la
+     * cubeta que lo contiene).
+     *
+     * @param percentile Percentil entre 0 y 1 (por ejemplo, 0.99)
+     * @return Latencia estimada en milisegundos; 0 si no hay muestras, o
+     *         {@link Double#POSITIVE_INFINITY} si cae en la cubeta {@code +Inf}
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] cumulative = getCumulativeCounts();
+        long total = cumulative[cumulative.length - 1];
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(percentile * total);
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            if (cumulative[i] >= objetivo) {
+                return BOUNDS_MS[i];
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Indica que una inserción por lotes ({@code crearLote} de los DAOs) se detuvo a medias.
+ *
+ * <p>Cada tramo del lote se confirma en su propia transacción: los tramos anteriores al
+ * que falló quedan guardados y el que falló se deshace entero. Esta excepción lleva los
+ * IDs de las filas ya confirmadas, en el orden de la lista recibida, para que el
+ * llamador sepa desde qué posición continuar ({@link #getConfirmadas()}).</p>
+ *
+ * <p>Si lo que falló fue el {@code commit()} del tramo, la base de datos pudo
+ * confirmarlo sin que llegara la respuesta: {@link #isTramoIncierto()} devuelve true y
+ * esas filas pueden estar guardadas. El tramo no se reintenta para no duplicarlas.</p>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.IArticuloDAO#crearLote(java.util.List)
+ * @see com.blog.dao.IUsuarioDAO#crearLote(java.util.List)
+ */
+public class LoteInterrumpidoException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> idsConfirmados;
+    private final boolean tramoIncierto;
+
+    /**
+     * @param idsConfirmados IDs generados para las filas ya confirmadas
+     * @param causa Error del tramo que falló
+     */
+    public LoteInterrumpidoException(List<Integer> idsConfirmados, SQLException causa) {
+        this(idsConfirmados, causa, false);
+    }
+
+    /**
+     * @param idsConfirmados IDs generados para las filas ya confirmadas
+     * @param causa Error del tramo que falló
+     * @param tramoIncierto true si falló el commit y el tramo pudo guardarse
+     */
+    public LoteInterrumpidoException(List<Integer> idsConfirmados, SQLException causa, boolean tramoIncierto) {
+        super("Lote interrumpido tras " + idsConfirmados.size() + " filas confirmadas"
+                + (tramoIncierto ? " (el tramo siguiente pudo confirmarse)" : "") + ": " + causa.getMessage(),
+                causa.getSQLState(), causa.getErrorCode(), causa);
+        this.idsConfirmados = List.copyOf(idsConfirmados);
+        this.tramoIncierto = tramoIncierto;
+    }
+
+    /**
+     * @return IDs generados para las filas confirmadas, en el orden de la lista recibida
+     */
+    public List<Integer> getIdsConfirmados() {
+        return idsConfirmados;
+    }
+
+    /**
+     * @return Número de filas del principio de la lista que quedaron guardadas
+     */
+    public int getConfirmadas() {
+        return idsConfirmados.size();
+    }
+
+    /**
+     * @return true si el tramo que falló pudo quedar guardado (falló su commit), de modo
+     *         que las filas siguientes a {@link #getConfirmadas()} deben comprobarse antes
+     *         de volver a insertarlas
+     */
+    public boolean isTramoIncierto() {
+        return tramoIncierto;
+    }
+}
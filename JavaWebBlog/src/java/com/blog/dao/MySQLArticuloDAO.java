@@ -1,13 +1,18 @@
 package com.blog.dao;
 
 import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import com.blog.util.Log;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementación MySQL del patrón DAO para operaciones de artículos.
@@ -20,11 +25,32 @@ import java.util.List;
  * <h3>Características de resiliencia:</h3>
  * <ul>
  *   <li><b>Reintentos automáticos:</b> Las operaciones se reintentan hasta 2 veces
- *   con backoff exponencial en caso de fallo</li>
+ *   con backoff exponencial en caso de fallo, salvo si el {@link CircuitBreaker} de la
+ *   base de datos está abierto ({@link CircuitOpenException}) o si el pool o la cuota
+ *   siguieron llenos durante toda la espera ({@link PoolExhaustedException})</li>
  *   <li><b>Pool de conexiones:</b> Utiliza el pool de {@link ConexionBD} para
  *   gestión eficiente de conexiones</li>
+ *   <li><b>Separación lectura/escritura:</b> Las consultas (listado, detalle y conteo) usan
+ *   {@link ConexionBD#getConexionLectura(Workload)}, que puede dirigirlas a una réplica; las
+ *   modificaciones usan {@link ConexionBD#getConexionEscritura(Workload)}</li>
+ *   <li><b>Cuotas por tipo de tráfico:</b> Las consultas cuentan como
+ *   {@link Workload#PUBLIC_READ} y las modificaciones como {@link Workload#ADMIN_WRITE}
+ *   (ver {@link Bulkhead})</li>
  *   <li><b>LEFT JOIN:</b> Las consultas usan LEFT JOIN para mostrar artículos aunque
  *   el autor haya sido eliminado</li>
+ *   <li><b>Paginación por cursor:</b> {@link #listarPagina(CursorArticulo, int)} busca la
+ *   posición {@code (fecha_publicacion, id)} del cursor en el índice
+ *   {@code idx_fecha_publicacion_id} y lee solo las filas de la página (más una, para
+ *   saber si hay más), sin {@code OFFSET}</li>
+ *   <li><b>Extracto precalculado:</b> {@link #crear(Articulo)} y {@link #actualizar(Articulo)}
+ *   guardan en {@code articulos.extracto} el resumen que muestran los listados, y las
+ *   páginas del listado leen esa columna en lugar de {@code contenido}</li>
+ *   <li><b>Recorridos en streaming:</b> {@link #recorrerTodos(Consumer)} lee la tabla
+ *   fila a fila sobre una conexión retenida durante el recorrido
+ *   ({@link ConexionBD#getConexionRecorrido(Workload)}), con memoria constante</li>
+ *   <li><b>Escrituras por lotes:</b> {@link #crearLote(List)} inserta en tramos de
+ *   {@link ConexionBD#getTamanoLote()} artículos, cada uno en un lote JDBC y una
+ *   transacción ({@link ConexionBD#insertarPorTramos(String, List, ConexionBD.AsignadorFila)})</li>
  * </ul>
  * 
  * <h3>Principios SOLID aplicados:</h3>
@@ -52,7 +78,7 @@ import java.util.List;
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 1.0
+ * @version 1.7
  * @since 2025-12-09
  * @see com.blog.dao.IArticuloDAO
  * @see com.blog.dao.ConexionBD
@@ -60,13 +86,72 @@ import java.util.List;
  */
 public class MySQLArticuloDAO implements IArticuloDAO {
 
+    private static final Log LOG = Log.get(MySQLArticuloDAO.class);
+
     private final ConexionBD conexionBD;
     private static final int MAX_OPERATION_RETRIES = 2;
+    /** Tope del tamaño de página, para que un parámetro manipulado no cargue la tabla */
+    static final int MAX_TAMANO_PAGINA = 100;
+
+    // Changed INNER JOIN to LEFT JOIN to ensure articles are shown even if author
+    // is deleted
+    // Used COALESCE to provide a default value for unknown authors
+    private static final String SQL_LISTAR_TODOS =
+            "SELECT a.id, a.titulo, a.contenido, a.fecha_publicacion, a.autor_id, " +
+            "COALESCE(u.nombre, 'Usuario Desconocido') as autor_nombre " +
+            "FROM articulos a " +
+            "LEFT JOIN usuarios u ON a.autor_id = u.id " +
+            "ORDER BY a.fecha_publicacion DESC";
+    private static final String SQL_OBTENER_POR_ID =
+            "SELECT a.id, a.titulo, a.contenido, a.fecha_publicacion, a.autor_id, " +
+            "COALESCE(u.nombre, 'Usuario Desconocido') as autor_nombre " +
+            "FROM articulos a " +
+            "LEFT JOIN usuarios u ON a.autor_id = u.id " +
+            "WHERE a.id = ?";
+    private static final String SQL_CONTAR_TOTAL = "SELECT COUNT(*) as total FROM articulos";
+    private static final String SQL_CREAR =
+            "INSERT INTO articulos (titulo, contenido, extracto, fecha_publicacion, autor_id) VALUES (?, ?, ?, ?, ?)";
+
+    // Keyset pagination over idx_fecha_publicacion_id: each page seeks straight to the
+    // cursor position, so its cost does not grow with the page number.
+    // Reads the stored excerpt, never contenido (TEXT, usually stored off-page)
+    private static final String SQL_PAGINA_BASE =
+            "SELECT a.id, a.titulo, a.extracto, a.fecha_publicacion, a.autor_id, " +
+            "COALESCE(u.nombre, 'Usuario Desconocido') as autor_nombre " +
+            "FROM articulos a " +
+            "LEFT JOIN usuarios u ON a.autor_id = u.id ";
+    private static final String SQL_PAGINA_PRIMERA = SQL_PAGINA_BASE +
+            "ORDER BY a.fecha_publicacion DESC, a.id DESC LIMIT ?";
+    private static final String SQL_PAGINA_SIGUIENTE = SQL_PAGINA_BASE +
+            "WHERE a.fecha_publicacion < ? OR (a.fecha_publicacion = ? AND a.id < ?) " +
+            "ORDER BY a.fecha_publicacion DESC, a.id DESC LIMIT ?";
+    private static final String SQL_PAGINA_ANTERIOR = SQL_PAGINA_BASE +
+            "WHERE a.fecha_publicacion > ? OR (a.fecha_publicacion = ? AND a.id > ?) " +
+            "ORDER BY a.fecha_publicacion ASC, a.id ASC LIMIT ?";
+
+    // Primary key order: MySQL walks the clustered index and sends rows as it reads them
+    private static final String SQL_RECORRER_TODOS =
+            "SELECT a.id, a.titulo, a.contenido, a.fecha_publicacion, a.autor_id, " +
+            "u.username as autor_username, " +
+            "COALESCE(u.nombre, 'Usuario Desconocido') as autor_nombre " +
+            "FROM articulos a " +
+            "LEFT JOIN usuarios u ON a.autor_id = u.id " +
+            "ORDER BY a.id";
 
     public MySQLArticuloDAO() {
         this.conexionBD = ConexionBD.getInstancia();
     }
 
+    /**
+     * Prepara en las conexiones del pool las consultas de lectura más frecuentes
+     * (páginas del listado, detalle y conteo), para que las primeras visitas tras el
+     * despliegue no paguen su preparación
+     */
+    public void precalentar() {
+        conexionBD.precalentarStatements(List.of(SQL_PAGINA_PRIMERA, SQL_PAGINA_SIGUIENTE,
+                SQL_PAGINA_ANTERIOR, SQL_OBTENER_POR_ID, SQL_CONTAR_TOTAL));
+    }
+
     /**
      * Ejecuta una operación con reintentos automáticos
      * 
@@ -82,13 +167,19 @@ public class MySQLArticuloDAO implements IArticuloDAO {
         for (int attempt = 0; attempt <= MAX_OPERATION_RETRIES; attempt++) {
             try {
                 return operation.execute();
+            } catch (CircuitOpenException e) {
+                // El circuito ya decidió que la base de datos no está disponible
+                throw e;
+            } catch (PoolExhaustedException e) {
+                // Ya se esperó borrowTimeoutMs: reintentar solo añadiría carga al pool saturado
+                throw e;
             } catch (SQLException e) {
                 lastException = e;
                 if (attempt < MAX_OPERATION_RETRIES) {
-                    System.err.println("[MySQLArticuloDAO] Error en " + operationName + 
+                    LOG.warn("Error en " + operationName + 
                         ", reintentando... (intento " + (attempt + 1) + "/" + MAX_OPERATION_RETRIES + ")");
                     try {
-                        Thread.sleep(500 * (attempt + 1)); // Backoff incremental
+                        Backoff.pause(500 * (attempt + 1)); // Backoff incremental
                     } catch (InterruptedException ie) {
                         Thread.currentThread().interrupt();
                         throw new SQLException("Operación interrumpida", ie);
@@ -114,18 +205,11 @@ public class MySQLArticuloDAO implements IArticuloDAO {
     public List<Articulo> listarTodos() throws SQLException {
         return executeWithRetry(() -> {
             List<Articulo> articulos = new ArrayList<>();
-            // Changed INNER JOIN to LEFT JOIN to ensure articles are shown even if author
-            // is deleted
-            // Used COALESCE to provide a default value for unknown authors
-            String sql = "SELECT a.id, a.titulo, a.contenido, a.fecha_publicacion, a.autor_id, " +
-                    "COALESCE(u.nombre, 'Usuario Desconocido') as autor_nombre " +
-                    "FROM articulos a " +
-                    "LEFT JOIN usuarios u ON a.autor_id = u.id " +
-                    "ORDER BY a.fecha_publicacion DESC";
+            String sql = SQL_LISTAR_TODOS;
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionLectura(Workload.PUBLIC_READ);
                 try (PreparedStatement stmt = conn.prepareStatement(sql);
                         ResultSet rs = stmt.executeQuery()) {
 
@@ -149,19 +233,130 @@ public class MySQLArticuloDAO implements IArticuloDAO {
         }, "listarTodos");
     }
 
+    @Override
+    public Pagina<ArticuloResumen> listarPagina(CursorArticulo cursor, int tamano) throws SQLException {
+        int limite = Math.max(1, Math.min(tamano, MAX_TAMANO_PAGINA));
+        List<ArticuloResumen> filas = executeWithRetry(() -> {
+            List<ArticuloResumen> articulos = new ArrayList<>();
+            String sql = cursor == null ? SQL_PAGINA_PRIMERA
+                    : cursor.isAnterior() ? SQL_PAGINA_ANTERIOR : SQL_PAGINA_SIGUIENTE;
+
+            Connection conn = null;
+            try {
+                conn = conexionBD.getConexionLectura(Workload.PUBLIC_READ);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    if (cursor != null) {
+                        Timestamp fecha = Timestamp.valueOf(cursor.getFechaPublicacion());
+                        stmt.setTimestamp(i++, fecha);
+                        stmt.setTimestamp(i++, fecha);
+                        stmt.setInt(i++, cursor.getId());
+                    }
+                    // Una fila de más indica si hay otra página en esa dirección
+                    stmt.setInt(i, limite + 1);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ArticuloResumen resumen = new ArticuloResumen();
+                            resumen.setId(rs.getInt("id"));
+                            resumen.setTitulo(rs.getString("titulo"));
+                            resumen.setExtracto(rs.getString("extracto"));
+                            resumen.setFechaPublicacion(rs.getTimestamp("fecha_publicacion").toLocalDateTime());
+                            resumen.setAutorId(rs.getInt("autor_id"));
+                            resumen.setAutorNombre(rs.getString("autor_nombre"));
+                            articulos.add(resumen);
+                        }
+                    }
+                }
+                return articulos;
+            } finally {
+                if (conn != null) {
+                    conexionBD.cerrarConexion(conn);
+                }
+            }
+        }, "listarPagina");
+
+        if (cursor != null && cursor.isAnterior() && filas.size() < limite) {
+            // Volviendo hacia el principio quedan menos de una página: se muestra la
+            // primera completa en lugar de una página corta
+            return listarPagina(null, limite);
+        }
+        return armarPagina(filas, cursor, limite);
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<? super Articulo> accion) throws SQLException {
+        Connection conn = conexionBD.getConexionRecorrido(Workload.SCAN);
+        boolean completo = false;
+        try {
+            // Sin try-with-resources: cerrar el resultado a medias obligaría al driver a
+            // leer el resto de la tabla
+            PreparedStatement stmt = ConexionBD.prepararRecorrido(conn, SQL_RECORRER_TODOS);
+            ResultSet rs = stmt.executeQuery();
+            int filas = 0;
+            while (rs.next()) {
+                Articulo articulo = new Articulo();
+                articulo.setId(rs.getInt("id"));
+                articulo.setTitulo(rs.getString("titulo"));
+                articulo.setContenido(rs.getString("contenido"));
+                articulo.setFechaPublicacion(rs.getTimestamp("fecha_publicacion").toLocalDateTime());
+                articulo.setAutorId(rs.getInt("autor_id"));
+                articulo.setAutorNombre(rs.getString("autor_nombre"));
+                articulo.setAutorUsername(rs.getString("autor_username"));
+                accion.accept(articulo);
+                filas++;
+            }
+            completo = true;
+            return filas;
+        } finally {
+            if (completo) {
+                conexionBD.cerrarConexion(conn);
+            } else {
+                conexionBD.abortarConexion(conn);
+            }
+        }
+    }
+
+    /**
+     * Ordena las filas leídas para una página y calcula sus cursores.
+     *
+     * @param filas Filas leídas: hasta {@code tamano + 1}, en el orden de la consulta
+     *        (ascendente si el cursor apunta hacia atrás)
+     * @param cursor Cursor de la petición, o null para la primera página
+     * @param tamano Tamaño de la página
+     * @return La página, en orden descendente de fecha
+     */
+    static Pagina<ArticuloResumen> armarPagina(List<ArticuloResumen> filas, CursorArticulo cursor, int tamano) {
+        boolean hayMas = filas.size() > tamano;
+        List<ArticuloResumen> elementos = new ArrayList<>(hayMas ? filas.subList(0, tamano) : filas);
+        boolean haciaAtras = cursor != null && cursor.isAnterior();
+        if (haciaAtras) {
+            Collections.reverse(elementos);
+        }
+        if (elementos.isEmpty()) {
+            return new Pagina<>(elementos, null, null);
+        }
+
+        ArticuloResumen primero = elementos.get(0);
+        ArticuloResumen ultimo = elementos.get(elementos.size() - 1);
+        // Hacia delante, la fila extra dice si hay página siguiente y el cursor que hay
+        // página anterior; hacia atrás, al revés
+        boolean hayAnterior = haciaAtras ? hayMas : cursor != null;
+        boolean haySiguiente = haciaAtras || hayMas;
+        return new Pagina<>(elementos,
+                hayAnterior ? CursorArticulo.antes(primero.getFechaPublicacion(), primero.getId()).toToken() : null,
+                haySiguiente ? CursorArticulo.despues(ultimo.getFechaPublicacion(), ultimo.getId()).toToken() : null);
+    }
+
     @Override
     public Articulo obtenerPorId(int id) throws SQLException {
         return executeWithRetry(() -> {
             Articulo articulo = null;
-            String sql = "SELECT a.id, a.titulo, a.contenido, a.fecha_publicacion, a.autor_id, " +
-                    "COALESCE(u.nombre, 'Usuario Desconocido') as autor_nombre " +
-                    "FROM articulos a " +
-                    "LEFT JOIN usuarios u ON a.autor_id = u.id " +
-                    "WHERE a.id = ?";
+            String sql = SQL_OBTENER_POR_ID;
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionLectura(Workload.PUBLIC_READ);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, id);
 
@@ -189,16 +384,11 @@ public class MySQLArticuloDAO implements IArticuloDAO {
     @Override
     public boolean crear(Articulo articulo) throws SQLException {
         return executeWithRetry(() -> {
-            String sql = "INSERT INTO articulos (titulo, contenido, fecha_publicacion, autor_id) VALUES (?, ?, ?, ?)";
-
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    stmt.setString(1, articulo.getTitulo());
-                    stmt.setString(2, articulo.getContenido());
-                    stmt.setTimestamp(3, Timestamp.valueOf(articulo.getFechaPublicacion()));
-                    stmt.setInt(4, articulo.getAutorId());
+                conn = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE);
+                try (PreparedStatement stmt = conn.prepareStatement(SQL_CREAR)) {
+                    asignarParametrosCrear(stmt, articulo);
 
                     int filasAfectadas = stmt.executeUpdate();
                     return filasAfectadas > 0;
@@ -211,19 +401,33 @@ public class MySQLArticuloDAO implements IArticuloDAO {
         }, "crear");
     }
 
+    @Override
+    public List<Integer> crearLote(List<Articulo> articulos) throws SQLException {
+        return conexionBD.insertarPorTramos(SQL_CREAR, articulos, MySQLArticuloDAO::asignarParametrosCrear);
+    }
+
+    private static void asignarParametrosCrear(PreparedStatement stmt, Articulo articulo) throws SQLException {
+        stmt.setString(1, articulo.getTitulo());
+        stmt.setString(2, articulo.getContenido());
+        stmt.setString(3, ArticuloResumen.extraer(articulo.getContenido()));
+        stmt.setTimestamp(4, Timestamp.valueOf(articulo.getFechaPublicacion()));
+        stmt.setInt(5, articulo.getAutorId());
+    }
+
     @Override
     public boolean actualizar(Articulo articulo) throws SQLException {
         return executeWithRetry(() -> {
-            String sql = "UPDATE articulos SET titulo = ?, contenido = ?, fecha_publicacion = ? WHERE id = ?";
+            String sql = "UPDATE articulos SET titulo = ?, contenido = ?, extracto = ?, fecha_publicacion = ? WHERE id = ?";
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setString(1, articulo.getTitulo());
                     stmt.setString(2, articulo.getContenido());
-                    stmt.setTimestamp(3, Timestamp.valueOf(articulo.getFechaPublicacion()));
-                    stmt.setInt(4, articulo.getId());
+                    stmt.setString(3, ArticuloResumen.extraer(articulo.getContenido()));
+                    stmt.setTimestamp(4, Timestamp.valueOf(articulo.getFechaPublicacion()));
+                    stmt.setInt(5, articulo.getId());
 
                     int filasAfectadas = stmt.executeUpdate();
                     return filasAfectadas > 0;
@@ -243,7 +447,7 @@ public class MySQLArticuloDAO implements IArticuloDAO {
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, id);
 
@@ -261,11 +465,11 @@ public class MySQLArticuloDAO implements IArticuloDAO {
     @Override
     public int contarTotal() throws SQLException {
         return executeWithRetry(() -> {
-            String sql = "SELECT COUNT(*) as total FROM articulos";
+            String sql = SQL_CONTAR_TOTAL;
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionLectura(Workload.PUBLIC_READ);
                 try (PreparedStatement stmt = conn.prepareStatement(sql);
                         ResultSet rs = stmt.executeQuery()) {
 
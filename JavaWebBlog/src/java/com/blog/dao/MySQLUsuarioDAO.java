@@ -1,12 +1,14 @@
 package com.blog.dao;
 
 import com.blog.model.Usuario;
+import com.blog.util.Log;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementación MySQL del patrón DAO para operaciones de usuarios.
@@ -19,9 +21,23 @@ import java.util.List;
  * <h3>Características de resiliencia:</h3>
  * <ul>
  *   <li><b>Reintentos automáticos:</b> Las operaciones se reintentan hasta 2 veces
- *   con backoff exponencial en caso de fallo</li>
+ *   con backoff exponencial en caso de fallo, salvo si el {@link CircuitBreaker} de la
+ *   base de datos está abierto ({@link CircuitOpenException}) o si el pool o la cuota
+ *   siguieron llenos durante toda la espera ({@link PoolExhaustedException})</li>
  *   <li><b>Pool de conexiones:</b> Utiliza el pool de {@link ConexionBD} para
  *   gestión eficiente de conexiones</li>
+ *   <li><b>Separación lectura/escritura:</b> Las consultas (búsqueda por id y listado) usan
+ *   {@link ConexionBD#getConexionLectura(Workload)}, que puede dirigirlas a una réplica; las
+ *   modificaciones usan {@link ConexionBD#getConexionEscritura(Workload)}</li>
+ *   <li><b>Cuotas por tipo de tráfico:</b> El login y el registro cuentan como
+ *   {@link Workload#AUTH}, de modo que siguen funcionando con la portada saturada; la
+ *   gestión de usuarios, como {@link Workload#ADMIN_WRITE} (ver {@link Bulkhead})</li>
+ *   <li><b>Recorridos en streaming:</b> {@link #recorrerTodos(Consumer)} lee la tabla
+ *   fila a fila sobre una conexión retenida durante el recorrido
+ *   ({@link ConexionBD#getConexionRecorrido(Workload)}), con memoria constante</li>
+ *   <li><b>Escrituras por lotes:</b> {@link #crearLote(List)} inserta en tramos de
+ *   {@link ConexionBD#getTamanoLote()} usuarios, cada uno en un lote JDBC y una
+ *   transacción ({@link ConexionBD#insertarPorTramos(String, List, ConexionBD.AsignadorFila)})</li>
  *   <li><b>Gestión de errores:</b> Manejo robusto de errores de constraint violations
  *   (ej: username duplicado)</li>
  * </ul>
@@ -55,7 +71,7 @@ import java.util.List;
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 1.0
+ * @version 1.5
  * @since 2025-12-09
  * @see com.blog.dao.IUsuarioDAO
  * @see com.blog.dao.ConexionBD
@@ -64,13 +80,34 @@ import java.util.List;
  */
 public class MySQLUsuarioDAO implements IUsuarioDAO {
 
+    private static final Log LOG = Log.get(MySQLUsuarioDAO.class);
+
     private final ConexionBD conexionBD;
     private static final int MAX_OPERATION_RETRIES = 2;
 
+    private static final String SQL_BUSCAR_POR_USERNAME =
+            "SELECT id, username, password, nombre, email, rol FROM usuarios WHERE username = ?";
+    private static final String SQL_OBTENER_POR_ID =
+            "SELECT id, username, password, nombre, email, rol FROM usuarios WHERE id = ?";
+    private static final String SQL_CREAR =
+            "INSERT INTO usuarios (username, password, nombre, email, rol, activo, fecha_creacion) VALUES (?, ?, ?, ?, 'autor', 1, NOW())";
+    // Full scans never carry the password hash
+    private static final String SQL_RECORRER_TODOS =
+            "SELECT id, username, nombre, email, rol FROM usuarios ORDER BY id";
+
     public MySQLUsuarioDAO() {
         this.conexionBD = ConexionBD.getInstancia();
     }
 
+    /**
+     * Prepara en las conexiones del pool las consultas de usuarios más frecuentes
+     * (login y sesión), para que los primeros inicios de sesión tras el despliegue
+     * no paguen su preparación
+     */
+    public void precalentar() {
+        conexionBD.precalentarStatements(List.of(SQL_BUSCAR_POR_USERNAME, SQL_OBTENER_POR_ID));
+    }
+
     /**
      * Ejecuta una operación con reintentos automáticos
      * 
@@ -86,13 +123,19 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
         for (int attempt = 0; attempt <= MAX_OPERATION_RETRIES; attempt++) {
             try {
                 return operation.execute();
+            } catch (CircuitOpenException e) {
+                // El circuito ya decidió que la base de datos no está disponible
+                throw e;
+            } catch (PoolExhaustedException e) {
+                // Ya se esperó borrowTimeoutMs: reintentar solo añadiría carga al pool saturado
+                throw e;
             } catch (SQLException e) {
                 lastException = e;
                 if (attempt < MAX_OPERATION_RETRIES) {
-                    System.err.println("[MySQLUsuarioDAO] Error en " + operationName + 
+                    LOG.warn("Error en " + operationName + 
                         ", reintentando... (intento " + (attempt + 1) + "/" + MAX_OPERATION_RETRIES + ")");
                     try {
-                        Thread.sleep(500 * (attempt + 1)); // Backoff incremental
+                        Backoff.pause(500 * (attempt + 1)); // Backoff incremental
                     } catch (InterruptedException ie) {
                         Thread.currentThread().interrupt();
                         throw new SQLException("Operación interrumpida", ie);
@@ -118,11 +161,12 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
     public Usuario buscarPorUsername(String username) throws SQLException {
         return executeWithRetry(() -> {
             Usuario usuario = null;
-            String sql = "SELECT id, username, password, nombre, email, rol FROM usuarios WHERE username = ?";
+            String sql = SQL_BUSCAR_POR_USERNAME;
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                // Login y registro dependen de este resultado: siempre desde la base de datos principal
+                conn = conexionBD.getConexion(Workload.AUTH);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setString(1, username);
 
@@ -151,11 +195,11 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
     public Usuario obtenerPorId(int id) throws SQLException {
         return executeWithRetry(() -> {
             Usuario usuario = null;
-            String sql = "SELECT id, username, password, nombre, email, rol FROM usuarios WHERE id = ?";
+            String sql = SQL_OBTENER_POR_ID;
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionLectura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, id);
 
@@ -183,16 +227,11 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
     @Override
     public boolean crear(Usuario usuario) throws SQLException {
         return executeWithRetry(() -> {
-            String sql = "INSERT INTO usuarios (username, password, nombre, email, rol, activo, fecha_creacion) VALUES (?, ?, ?, ?, 'autor', 1, NOW())";
-
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    stmt.setString(1, usuario.getUsername());
-                    stmt.setString(2, usuario.getPassword());
-                    stmt.setString(3, usuario.getNombre());
-                    stmt.setString(4, usuario.getEmail());
+                conn = conexionBD.getConexionEscritura(Workload.AUTH);
+                try (PreparedStatement stmt = conn.prepareStatement(SQL_CREAR)) {
+                    asignarParametrosCrear(stmt, usuario);
 
                     int filasAfectadas = stmt.executeUpdate();
                     return filasAfectadas > 0;
@@ -205,6 +244,18 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
         }, "crear");
     }
 
+    @Override
+    public List<Integer> crearLote(List<Usuario> usuarios) throws SQLException {
+        return conexionBD.insertarPorTramos(SQL_CREAR, usuarios, MySQLUsuarioDAO::asignarParametrosCrear);
+    }
+
+    private static void asignarParametrosCrear(PreparedStatement stmt, Usuario usuario) throws SQLException {
+        stmt.setString(1, usuario.getUsername());
+        stmt.setString(2, usuario.getPassword());
+        stmt.setString(3, usuario.getNombre());
+        stmt.setString(4, usuario.getEmail());
+    }
+
     @Override
     public List<Usuario> listarTodos() throws SQLException {
         return executeWithRetry(() -> {
@@ -213,7 +264,7 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionLectura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql);
                         ResultSet rs = stmt.executeQuery()) {
 
@@ -237,6 +288,37 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
         }, "listarTodos");
     }
 
+    @Override
+    public int recorrerTodos(Consumer<? super Usuario> accion) throws SQLException {
+        Connection conn = conexionBD.getConexionRecorrido(Workload.SCAN);
+        boolean completo = false;
+        try {
+            // Sin try-with-resources: cerrar el resultado a medias obligaría al driver a
+            // leer el resto de la tabla
+            PreparedStatement stmt = ConexionBD.prepararRecorrido(conn, SQL_RECORRER_TODOS);
+            ResultSet rs = stmt.executeQuery();
+            int filas = 0;
+            while (rs.next()) {
+                Usuario usuario = new Usuario();
+                usuario.setId(rs.getInt("id"));
+                usuario.setUsername(rs.getString("username"));
+                usuario.setNombre(rs.getString("nombre"));
+                usuario.setEmail(rs.getString("email"));
+                usuario.setRol(rs.getString("rol"));
+                accion.accept(usuario);
+                filas++;
+            }
+            completo = true;
+            return filas;
+        } finally {
+            if (completo) {
+                conexionBD.cerrarConexion(conn);
+            } else {
+                conexionBD.abortarConexion(conn);
+            }
+        }
+    }
+
     @Override
     public boolean actualizarRol(int id, String nuevoRol) throws SQLException {
         return executeWithRetry(() -> {
@@ -244,7 +326,7 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setString(1, nuevoRol);
                     stmt.setInt(2, id);
@@ -266,7 +348,7 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, id);
 
@@ -287,7 +369,7 @@ public class MySQLUsuarioDAO implements IUsuarioDAO {
 
             Connection conn = null;
             try {
-                conn = conexionBD.getConexion();
+                conn = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE);
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     return stmt.executeUpdate();
                 }
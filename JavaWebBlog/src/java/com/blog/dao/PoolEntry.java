@@ -0,0 +1,206 @@
+package com.blog.dao;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongSupplier;
+
+/**
+ * Entrada del pool de conexiones: envuelve una conexión física y su estado.
+ *
+ * <p>El estado se modifica únicamente mediante operaciones CAS (compare-and-set),
+ * de modo que tomar o devolver una conexión nunca requiere adquirir un monitor.
+ * Una entrada pasa por los siguientes estados:</p>
+ * <ul>
+ *   <li>{@link #STATE_NOT_IN_USE}: disponible para ser prestada</li>
+ *   <li>{@link #STATE_IN_USE}: prestada a un hilo</li>
+ *   <li>{@link #STATE_RESERVED}: reservada por tareas internas del pool (limpieza)</li>
+ *   <li>{@link #STATE_REMOVED}: retirada del pool, su conexión debe cerrarse</li>
+ * </ul>
+ *
+ * <p>Las marcas de tiempo de inactividad, validación y edad se toman del reloj del
+ * pool, en milisegundos, para que el mantenimiento pueda probarse sin esperar.</p>
+ *
+ * @version 1.3
+ * @since 2026-10-18
+ * @see com.blog.dao.ConcurrentBag
+ * @see com.blog.dao.ConnectionPool
+ * @see com.blog.dao.StatementCache
+ */
+final class PoolEntry {
+
+    static final int STATE_NOT_IN_USE = 0;
+    static final int STATE_IN_USE = 1;
+    static final int STATE_REMOVED = -1;
+    static final int STATE_RESERVED = -2;
+
+    private static final AtomicIntegerFieldUpdater<PoolEntry> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(PoolEntry.class, "state");
+
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private final LongSupplier reloj;
+    private final long creationTime;
+    private volatile int state;
+    private volatile long lastAccessed;
+    // Último uso o validación del keepalive; no cuenta como uso para la inactividad
+    private volatile long lastValidated;
+    private volatile long borrowedAtNanos;
+
+    // Quién tiene la conexión prestada (diagnóstico de fugas)
+    private volatile Thread holder;
+    private volatile StackTraceElement[] borrowSite;
+    private volatile boolean leakReported;
+    // Préstamo largo declarado (recorridos en streaming): no se reporta como fuga
+    private volatile boolean longRunning;
+    private volatile boolean evicted;
+
+    PoolEntry(Connection connection) {
+        this(connection, null, System::currentTimeMillis);
+    }
+
+    /**
+     * @param connection Conexión física
+     * @param statementCache Caché de statements de la conexión, o null si está desactivada
+     * @param reloj Reloj del pool en milisegundos
+     */
+    PoolEntry(Connection connection, StatementCache statementCache, LongSupplier reloj) {
+        this.connection = connection;
+        this.statementCache = statementCache;
+        this.reloj = reloj;
+        this.creationTime = reloj.getAsLong();
+        this.lastAccessed = creationTime;
+        this.lastValidated = creationTime;
+        this.state = STATE_NOT_IN_USE;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    int getState() {
+        return state;
+    }
+
+    void setState(int newState) {
+        STATE_UPDATER.set(this, newState);
+    }
+
+    boolean compareAndSet(int expectedState, int newState) {
+        return STATE_UPDATER.compareAndSet(this, expectedState, newState);
+    }
+
+    /**
+     * Marca la entrada como recién utilizada (se invoca al devolverla al pool).
+     */
+    void touch() {
+        lastAccessed = reloj.getAsLong();
+        lastValidated = lastAccessed;
+    }
+
+    /**
+     * Registra que el keepalive validó la conexión. No la marca como utilizada: una
+     * conexión que solo se valida sigue inactiva y debe poder cerrarse por
+     * {@code connection.maxIdleMinutes}.
+     */
+    void markValidated() {
+        lastValidated = reloj.getAsLong();
+    }
+
+    /**
+     * Registra el momento en que la entrada se entregó al hilo actual.
+     *
+     * @param site Punto de préstamo capturado, o null si no se registra
+     */
+    void markBorrowed(StackTraceElement[] site) {
+        borrowedAtNanos = System.nanoTime();
+        holder = Thread.currentThread();
+        borrowSite = site;
+        leakReported = false;
+        longRunning = false;
+    }
+
+    /**
+     * Olvida al hilo que tenía la conexión (se invoca al devolverla).
+     */
+    void clearHolder() {
+        holder = null;
+        borrowSite = null;
+    }
+
+    Thread getHolder() {
+        return holder;
+    }
+
+    /**
+     * @return Punto de préstamo, o null si la detección de fugas está desactivada
+     */
+    StackTraceElement[] getBorrowSite() {
+        return borrowSite;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported(boolean reported) {
+        leakReported = reported;
+    }
+
+    /**
+     * @return true si quien tiene la conexión declaró que la retendrá a propósito
+     *         (ver {@link ConexionBD#getConexionRecorrido(Workload)})
+     */
+    boolean isLongRunning() {
+        return longRunning;
+    }
+
+    /**
+     * Declara el préstamo actual como de larga duración. Se olvida al volver a prestarse.
+     */
+    void markLongRunning() {
+        longRunning = true;
+    }
+
+    /**
+     * @return Nanosegundos transcurridos desde el último préstamo
+     */
+    long getHeldNanos() {
+        return System.nanoTime() - borrowedAtNanos;
+    }
+
+    long getIdleTime() {
+        return reloj.getAsLong() - lastAccessed;
+    }
+
+    /**
+     * @return Milisegundos desde el último uso o la última validación del keepalive
+     */
+    long getTimeSinceValidation() {
+        return reloj.getAsLong() - lastValidated;
+    }
+
+    long getAge() {
+        return reloj.getAsLong() - creationTime;
+    }
+
+    /**
+     * Marca la entrada para ser retirada del pool en cuanto se devuelva (por ejemplo,
+     * cuando superó su tiempo de vida máximo mientras estaba prestada).
+     */
+    void markEvicted() {
+        evicted = true;
+    }
+
+    boolean isMarkedEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolEntry{state=" + state + ", idleMs=" + getIdleTime() + "}";
+    }
+}
@@ -0,0 +1,28 @@
+package com.blog.dao;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Indica que no se obtuvo una conexión porque el pool, o la cuota del tipo de tráfico
+ * de la petición ({@link Bulkhead}), estuvo lleno durante todo {@code pool.borrowTimeoutMs}.
+ *
+ * <p>Los DAOs no reintentan operaciones que fallan con esta excepción: el hilo ya
+ * esperó el tiempo máximo y reintentar solo lo retendría más y añadiría carga justo
+ * cuando el pool está saturado.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD
+ * @see com.blog.dao.CircuitOpenException
+ */
+public class PoolExhaustedException extends SQLTransientConnectionException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message Pool o cuota agotados y tiempo esperado
+     */
+    public PoolExhaustedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,136 @@
+package com.blog.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Conjunto inmutable de pools creado a partir de una configuración: el pool de la base
+ * de datos principal, las réplicas de lectura y los parámetros que {@link ConexionBD}
+ * usa al pedirles conexiones.
+ *
+ * <p>Al recargar la configuración no se modifica ningún pool existente: se construye un
+ * {@code PoolGroup} nuevo, se publica en lugar del anterior con una única escritura
+ * atómica y el anterior se vacía con {@link #drain()}. Así las peticiones en curso
+ * terminan con las conexiones que ya tenían y las nuevas usan la configuración
+ * nueva, sin ningún momento en que no haya pool disponible.</p>
+ *
+ * <p>El {@link CircuitBreaker} también forma parte del conjunto: al apuntar a otra
+ * base de datos el historial de fallos de la anterior deja de ser relevante.</p>
+ *
+ * <p>Las cuotas por tipo de tráfico ({@link Bulkhead}) se reparten el pool principal
+ * del conjunto. Una conexión devuelve su plaza a la cuota que la prestó, aunque el
+ * conjunto ya se haya reemplazado.</p>
+ *
+ * @version 1.5
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#recargarConfiguracion()
+ */
+final class PoolGroup {
+
+    final Properties config;
+    final ConnectionPool pool;
+    /** Réplicas de lectura (null si no hay ninguna configurada) */
+    final ReplicaSet replicas;
+    /** Interruptor de la base de datos principal; una configuración nueva empieza cerrada */
+    final CircuitBreaker breaker;
+    /** Cuotas del pool principal por tipo de tráfico (vacío si pool.bulkhead.enabled=false) */
+    final Map<Workload, Bulkhead> bulkheads;
+    final long stickyMs;
+    final long drainTimeoutMs;
+    final int maxRetries;
+    final long initialRetryDelayMs;
+    /** net_write_timeout de las conexiones de recorrido (0 = el del servidor) */
+    final int scanNetWriteTimeoutSeconds;
+    /** Filas por tramo (y por transacción) de las inserciones por lotes */
+    final int batchChunkSize;
+
+    /**
+     * Crea los pools descritos por la configuración, sin abrir todavía conexiones.
+     *
+     * @param config Configuración (mismas claves que db.properties); se copia
+     */
+    PoolGroup(Properties config) {
+        this.config = new Properties();
+        this.config.putAll(config);
+        this.maxRetries = Integer.parseInt(config.getProperty("retry.maxAttempts", "3"));
+        this.initialRetryDelayMs = Long.parseLong(config.getProperty("retry.initialDelayMs", "1000"));
+        this.stickyMs = Long.parseLong(config.getProperty("db.replica.stickyMs", "5000"));
+        this.drainTimeoutMs = Long.parseLong(config.getProperty("pool.drainTimeoutSeconds", "10")) * 1000;
+        this.scanNetWriteTimeoutSeconds = Integer.parseInt(config.getProperty("scan.netWriteTimeoutSeconds", "600"));
+        this.batchChunkSize = Math.max(1, Integer.parseInt(config.getProperty("batch.chunkSize", "1000")));
+        this.pool = new ConnectionPool("primary", this.config);
+        this.replicas = ReplicaSet.fromProperties(this.config);
+        this.breaker = new CircuitBreaker(this.config);
+        this.bulkheads = createBulkheads(this.config, this.pool);
+    }
+
+    private static Map<Workload, Bulkhead> createBulkheads(Properties config, ConnectionPool pool) {
+        if (!Boolean.parseBoolean(config.getProperty("pool.bulkhead.enabled", "true"))) {
+            return Collections.emptyMap();
+        }
+        Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+        bulkheads.put(Workload.PUBLIC_READ, new Bulkhead(Workload.PUBLIC_READ, pool,
+                Integer.parseInt(config.getProperty("pool.bulkhead.public-read.percent", "70"))));
+        bulkheads.put(Workload.AUTH, new Bulkhead(Workload.AUTH, pool,
+                Integer.parseInt(config.getProperty("pool.bulkhead.auth.percent", "20"))));
+        bulkheads.put(Workload.ADMIN_WRITE, new Bulkhead(Workload.ADMIN_WRITE, pool,
+                Integer.parseInt(config.getProperty("pool.bulkhead.admin-write.percent", "30"))));
+        bulkheads.put(Workload.SCAN, new Bulkhead(Workload.SCAN, pool,
+                Integer.parseInt(config.getProperty("pool.bulkhead.scan.percent", "20"))));
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    /**
+     * Abre las conexiones iniciales de todos los pools.
+     */
+    void initialize() {
+        pool.initialize();
+        if (replicas != null) {
+            replicas.initialize();
+        }
+    }
+
+    /**
+     * Obtiene todos los pools del conjunto, empezando por el principal.
+     *
+     * @return Pools del conjunto
+     */
+    List<ConnectionPool> pools() {
+        List<ConnectionPool> pools = new ArrayList<>();
+        pools.add(pool);
+        if (replicas != null) {
+            for (ReplicaSet.Replica replica : replicas.getReplicas()) {
+                pools.add(replica.pool);
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * Cierra de forma ordenada todos los pools, esperando hasta
+     * {@code pool.drainTimeoutSeconds} a las conexiones prestadas.
+     *
+     * @return true si todas las conexiones se devolvieron a tiempo
+     */
+    boolean drain() {
+        boolean drained = pool.drain(drainTimeoutMs);
+        if (replicas != null) {
+            drained &= replicas.drain(drainTimeoutMs);
+        }
+        return drained;
+    }
+
+    /**
+     * Cierra inmediatamente todos los pools.
+     */
+    void shutdown() {
+        pool.shutdown();
+        if (replicas != null) {
+            replicas.shutdown();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.blog.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de un pool de conexiones: vista pública de solo lectura del pool.
+ *
+ * <p>Reúne tres tipos de datos, pensados para dimensionar {@code pool.maxConnections}
+ * a partir de mediciones reales:</p>
+ * <ul>
+ *   <li><b>Histogramas:</b> tiempo de espera para obtener una conexión (en total y por
+ *   {@link BorrowPriority}, para comprobar que el login y el panel esperan menos que la
+ *   portada con el pool saturado) y tiempo que cada conexión permanece prestada
+ *   ({@link LatencyHistogram})</li>
+ *   <li><b>Contadores:</b> esperas agotadas, conexiones creadas, fallos de creación,
+ *   conexiones retiradas por el pool y posibles fugas detectadas</li>
+ *   <li><b>Indicadores instantáneos:</b> conexiones totales, en uso, libres, hilos en
+ *   espera, utilización y límite efectivo (con tamaño adaptativo)</li>
+ * </ul>
+ *
+ * <p>Además guarda en memoria una serie temporal circular con una muestra cada
+ * {@code metrics.sampleIntervalSeconds} (10s por defecto) durante la última hora.
+ * Las muestras las toma el hilo de mantenimiento del pool.</p>
+ *
+ * <p>Registrar una métrica solo incrementa contadores {@link LongAdder}: no añade
+ * bloqueos al préstamo ni a la devolución de conexiones.</p>
+ *
+ * @version 1.4
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#getMetrics()
+ * @see com.blog.controller.MetricsServlet
+ */
+public final class PoolMetrics {
+
+    /** Ventana de la serie temporal en memoria */
+    private static final long RETENTION_SECONDS = 3600;
+
+    private final ConnectionPool pool;
+    private final long sampleIntervalSeconds;
+
+    final LatencyHistogram borrowWait = new LatencyHistogram();
+    final LatencyHistogram holdTime = new LatencyHistogram();
+    final LongAdder borrowTimeouts = new LongAdder();
+    /** Espera y esperas agotadas por prioridad, indexadas por {@link BorrowPriority#ordinal()} */
+    final LatencyHistogram[] borrowWaitByPriority = new LatencyHistogram[BorrowPriority.values().length];
+    final LongAdder[] borrowTimeoutsByPriority = new LongAdder[BorrowPriority.values().length];
+    final LongAdder connectionsCreated = new LongAdder();
+    final LongAdder connectionCreationFailures = new LongAdder();
+    final LongAdder connectionsEvicted = new LongAdder();
+    final LongAdder leaksDetected = new LongAdder();
+
+    // Serie temporal (solo la escribe el hilo de mantenimiento)
+    private final AtomicReferenceArray<Sample> samples;
+    private long nextSample;
+    private long lastBorrows;
+    private long lastTimeouts;
+    private double lastWaitSumMillis;
+
+    PoolMetrics(ConnectionPool pool, long sampleIntervalSeconds) {
+        this.pool = pool;
+        this.sampleIntervalSeconds = Math.max(1, sampleIntervalSeconds);
+        this.samples = new AtomicReferenceArray<>((int) Math.max(1, RETENTION_SECONDS / this.sampleIntervalSeconds));
+        for (int i = 0; i < borrowWaitByPriority.length; i++) {
+            borrowWaitByPriority[i] = new LatencyHistogram();
+            borrowTimeoutsByPriority[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Una muestra de la serie temporal.
+     */
+    public static final class Sample {
+        private final long timestamp;
+        private final int total;
+        private final int active;
+        private final int idle;
+        private final int waiting;
+        private final long borrows;
+        private final long timeouts;
+        private final double avgBorrowWaitMillis;
+
+        Sample(long timestamp, int total, int active, int idle, int waiting,
+                long borrows, long timeouts, double avgBorrowWaitMillis) {
+            this.timestamp = timestamp;
+            this.total = total;
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.borrows = borrows;
+            this.timeouts = timeouts;
+            this.avgBorrowWaitMillis = avgBorrowWaitMillis;
+        }
+
+        /** @return Momento de la muestra (epoch en milisegundos) */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        /** @return Préstamos realizados durante el intervalo de la muestra */
+        public long getBorrows() {
+            return borrows;
+        }
+
+        /** @return Esperas agotadas durante el intervalo de la muestra */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /** @return Espera media de los préstamos del intervalo, en milisegundos */
+        public double getAvgBorrowWaitMillis() {
+            return avgBorrowWaitMillis;
+        }
+    }
+
+    /**
+     * Toma una muestra de la serie temporal. La invoca periódicamente el hilo de
+     * mantenimiento del pool.
+     */
+    void sample() {
+        long borrows = borrowWait.getCount();
+        long timeouts = borrowTimeouts.sum();
+        double waitSum = borrowWait.getSumMillis();
+
+        long deltaBorrows = borrows - lastBorrows;
+        double avgWait = deltaBorrows > 0 ? (waitSum - lastWaitSumMillis) / deltaBorrows : 0;
+        Sample sample = new Sample(System.currentTimeMillis(),
+                pool.getTotalConnections(), pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getWaitingThreads(), deltaBorrows, timeouts - lastTimeouts, avgWait);
+
+        samples.set((int) (nextSample % samples.length()), sample);
+        nextSample++;
+        lastBorrows = borrows;
+        lastTimeouts = timeouts;
+        lastWaitSumMillis = waitSum;
+    }
+
+    /**
+     * @return Muestras de la última hora, de la más antigua a la más reciente
+     */
+    public List<Sample> getTimeSeries() {
+        int length = samples.length();
+        List<Sample> result = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            Sample sample = samples.get(i);
+            if (sample != null) {
+                result.add(sample);
+            }
+        }
+        result.sort((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+        return result;
+    }
+
+    public long getSampleIntervalSeconds() {
+        return sampleIntervalSeconds;
+    }
+
+    public String getPoolName() {
+        return pool.getName();
+    }
+
+    public int getTotalConnections() {
+        return pool.getTotalConnections();
+    }
+
+    public int getActiveConnections() {
+        return pool.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        return pool.getIdleConnections();
+    }
+
+    public int getWaitingThreads() {
+        return pool.getWaitingThreads();
+    }
+
+    public int getMinConnections() {
+        return pool.getMinConnections();
+    }
+
+    public int getMaxConnections() {
+        return pool.getMaxConnections();
+    }
+
+    /**
+     * @return Límite efectivo de conexiones; igual a {@code pool.maxConnections} salvo
+     *         con {@code pool.adaptive.enabled=true}
+     */
+    public int getSizeLimit() {
+        return pool.getSizeLimit();
+    }
+
+    /** @return true si el tamaño del pool se ajusta según la demanda */
+    public boolean isAdaptive() {
+        return pool.isAdaptive();
+    }
+
+    /** @return Últimas decisiones del dimensionamiento adaptativo, de la más antigua a la más reciente */
+    public List<SizingDecision> getSizingDecisions() {
+        return pool.getSizingDecisions();
+    }
+
+    /**
+     * @return Fracción de {@code pool.maxConnections} en uso (entre 0 y 1)
+     */
+    public double getUtilization() {
+        int max = pool.getMaxConnections();
+        return max > 0 ? (double) pool.getActiveConnections() / max : 0;
+    }
+
+    /** @return Histograma del tiempo de espera para obtener una conexión */
+    public LatencyHistogram getBorrowWait() {
+        return borrowWait;
+    }
+
+    /**
+     * @param priority Prioridad de los préstamos
+     * @return Histograma del tiempo de espera de los préstamos con esa prioridad
+     */
+    public LatencyHistogram getBorrowWait(BorrowPriority priority) {
+        return borrowWaitByPriority[priority.ordinal()];
+    }
+
+    /**
+     * @param priority Prioridad de los préstamos
+     * @return Préstamos con esa prioridad que agotaron la espera sin recibir conexión
+     */
+    public long getBorrowTimeouts(BorrowPriority priority) {
+        return borrowTimeoutsByPriority[priority.ordinal()].sum();
+    }
+
+    /**
+     * @return Histograma del tiempo que cada conexión permanece prestada, sin los
+     *         recorridos en streaming ({@link ConexionBD#getConexionRecorrido(Workload)})
+     */
+    public LatencyHistogram getHoldTime() {
+        return holdTime;
+    }
+
+    /** @return Préstamos que agotaron {@code pool.borrowTimeoutMs} sin recibir conexión */
+    public long getBorrowTimeouts() {
+        return borrowTimeouts.sum();
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated.sum();
+    }
+
+    public long getConnectionCreationFailures() {
+        return connectionCreationFailures.sum();
+    }
+
+    /** @return Conexiones cerradas por el pool (inactividad, tiempo de vida, keepalive fallido...) */
+    public long getConnectionsEvicted() {
+        return connectionsEvicted.sum();
+    }
+
+    /** @return Préstamos reportados como posible fuga por superar {@code pool.leakDetectionThresholdMs} */
+    public long getLeaksDetected() {
+        return leaksDetected.sum();
+    }
+
+    public long getStatementCacheHits() {
+        return pool.getStatementCacheHits();
+    }
+
+    public long getStatementCacheMisses() {
+        return pool.getStatementCacheMisses();
+    }
+}
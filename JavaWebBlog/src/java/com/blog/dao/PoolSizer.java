@@ -0,0 +1,272 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Dimensionamiento adaptativo de un {@link ConnectionPool} según la demanda observada.
+ *
+ * <p>Con {@code pool.adaptive.enabled=true}, {@code pool.minConnections} y
+ * {@code pool.maxConnections} pasan a ser límites duros y el pool trabaja con un límite
+ * efectivo entre ambos que esta clase ajusta cada {@code pool.adaptive.intervalSeconds}.
+ * El tráfico del blog es diurno: con un límite fijo o se retienen conexiones ociosas de
+ * MySQL por la noche o faltan en las horas punta.</p>
+ *
+ * <h3>Mediciones de cada intervalo:</h3>
+ * <ul>
+ *   <li><b>Ley de Little:</b> la concurrencia media es L = λ·W, con λ los préstamos por
+ *   segundo y W el tiempo medio que se retiene cada conexión (la latencia de las
+ *   consultas vista desde el pool). Se calcula como el tiempo total de retención
+ *   dividido entre la duración del intervalo. Los recorridos en streaming no cuentan:
+ *   un préstamo de varios minutos que termina en un intervalo parecería cientos de
+ *   conexiones simultáneas</li>
+ *   <li><b>Utilización:</b> L frente al límite efectivo actual</li>
+ *   <li><b>Espera:</b> espera media para obtener una conexión y esperas agotadas</li>
+ * </ul>
+ *
+ * <h3>Decisiones:</h3>
+ * <ul>
+ *   <li><b>Crecer:</b> si hubo esperas agotadas, la espera media supera
+ *   {@code pool.adaptive.waitThresholdMs} o la utilización supera
+ *   {@code pool.adaptive.growUtilization}. El límite sube de inmediato al mayor entre
+ *   L / {@code pool.adaptive.targetUtilization} y un 25% más</li>
+ *   <li><b>Reducir:</b> solo si la utilización queda por debajo de
+ *   {@code pool.adaptive.shrinkUtilization} sin esperas durante
+ *   {@code pool.adaptive.shrinkAfterIntervals} intervalos seguidos y han pasado
+ *   {@code pool.adaptive.cooldownSeconds} desde el último cambio. Baja como mucho un 25%
+ *   cada vez</li>
+ * </ul>
+ * <p>La banda entre ambos umbrales, la racha exigida y el tiempo de enfriamiento forman
+ * la histéresis: un pico aislado no hace oscilar el tamaño del pool. Crecer es rápido
+ * porque faltar conexiones hace esperar a los usuarios; reducir es lento porque una
+ * conexión ociosa solo cuesta memoria en MySQL.</p>
+ *
+ * <p>Cada cambio se escribe en el log y se guarda en memoria (las últimas
+ * {@value #MAX_DECISIONS} decisiones), consultables en
+ * {@code /admin/metrics?format=json}.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> el pool aplica un límite; esta
+ *   clase solo decide cuál. Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.ConnectionPool
+ * @see com.blog.dao.SizingDecision
+ */
+final class PoolSizer {
+
+    /** Decisiones que se conservan en memoria */
+    static final int MAX_DECISIONS = 100;
+    /** Fracción máxima del límite que se sube o se baja como mínimo en cada paso */
+    private static final double STEP_FRACTION = 0.25;
+
+    private final ConnectionPool pool;
+    private final Log log;
+    private final int hardMin;
+    private final int hardMax;
+    private final long intervalMs;
+    private final double targetUtilization;
+    private final double growUtilization;
+    private final double shrinkUtilization;
+    private final double waitThresholdMs;
+    private final int shrinkAfterIntervals;
+    private final long cooldownMs;
+
+    // Estado del ajuste (solo lo modifica el hilo de mantenimiento del pool)
+    private long lastSampleNanos;
+    private long lastBorrows;
+    private double lastWaitSumMillis;
+    private long lastTimeouts;
+    private long lastHolds;
+    private double lastHoldSumMillis;
+    private int lowStreak;
+    private long lastChangeMillis;
+    private boolean saturated;
+
+    private final AtomicReferenceArray<SizingDecision> decisions = new AtomicReferenceArray<>(MAX_DECISIONS);
+    private long nextDecision;
+
+    /**
+     * Mediciones de un intervalo, ya como diferencias respecto al anterior.
+     */
+    static final class Interval {
+        final long elapsedMs;
+        final long borrows;
+        final double waitSumMillis;
+        final long timeouts;
+        final long holds;
+        final double holdSumMillis;
+
+        Interval(long elapsedMs, long borrows, double waitSumMillis, long timeouts, long holds, double holdSumMillis) {
+            this.elapsedMs = elapsedMs;
+            this.borrows = borrows;
+            this.waitSumMillis = waitSumMillis;
+            this.timeouts = timeouts;
+            this.holds = holds;
+            this.holdSumMillis = holdSumMillis;
+        }
+    }
+
+    /**
+     * @param pool Pool a dimensionar
+     * @param properties Configuración (mismas claves que db.properties)
+     */
+    PoolSizer(ConnectionPool pool, Properties properties) {
+        this.pool = pool;
+        this.log = Log.get("PoolSizer:" + pool.getName());
+        this.hardMin = pool.getMinConnections();
+        this.hardMax = pool.getMaxConnections();
+        this.intervalMs = TimeUnit.SECONDS.toMillis(
+                Long.parseLong(properties.getProperty("pool.adaptive.intervalSeconds", "10")));
+        this.targetUtilization = Double.parseDouble(properties.getProperty("pool.adaptive.targetUtilization", "0.7"));
+        this.growUtilization = Double.parseDouble(properties.getProperty("pool.adaptive.growUtilization", "0.85"));
+        this.shrinkUtilization = Double.parseDouble(properties.getProperty("pool.adaptive.shrinkUtilization", "0.4"));
+        this.waitThresholdMs = Double.parseDouble(properties.getProperty("pool.adaptive.waitThresholdMs", "10"));
+        this.shrinkAfterIntervals = Integer.parseInt(properties.getProperty("pool.adaptive.shrinkAfterIntervals", "3"));
+        this.cooldownMs = TimeUnit.SECONDS.toMillis(
+                Long.parseLong(properties.getProperty("pool.adaptive.cooldownSeconds", "60")));
+    }
+
+    /**
+     * @return Límite con el que arranca el pool: el punto medio entre los límites duros
+     */
+    int initialSize() {
+        return Math.max(1, (hardMin + hardMax + 1) / 2);
+    }
+
+    long getIntervalMs() {
+        return intervalMs;
+    }
+
+    /**
+     * Toma las mediciones del último intervalo y, si corresponde, cambia el límite del
+     * pool. La invoca periódicamente el hilo de mantenimiento.
+     */
+    void adjust() {
+        PoolMetrics metrics = pool.getMetrics();
+        long now = System.nanoTime();
+        long borrows = metrics.borrowWait.getCount();
+        double waitSum = metrics.borrowWait.getSumMillis();
+        long timeouts = metrics.borrowTimeouts.sum();
+        long holds = metrics.holdTime.getCount();
+        double holdSum = metrics.holdTime.getSumMillis();
+
+        if (lastSampleNanos != 0) {
+            Interval interval = new Interval(TimeUnit.NANOSECONDS.toMillis(now - lastSampleNanos),
+                    borrows - lastBorrows, waitSum - lastWaitSumMillis, timeouts - lastTimeouts,
+                    holds - lastHolds, holdSum - lastHoldSumMillis);
+            SizingDecision decision = evaluate(interval, pool.getSizeLimit(), System.currentTimeMillis());
+            if (decision != null) {
+                pool.resize(decision.getNewSize());
+            }
+        }
+        lastSampleNanos = now;
+        lastBorrows = borrows;
+        lastWaitSumMillis = waitSum;
+        lastTimeouts = timeouts;
+        lastHolds = holds;
+        lastHoldSumMillis = holdSum;
+    }
+
+    /**
+     * Decide el límite a partir de las mediciones de un intervalo. Actualiza la
+     * histéresis y, si el límite cambia, registra la decisión.
+     *
+     * @param interval Mediciones del intervalo
+     * @param current Límite actual
+     * @param nowMillis Momento actual (epoch en milisegundos)
+     * @return Decisión tomada, o null si el límite no cambia
+     */
+    SizingDecision evaluate(Interval interval, int current, long nowMillis) {
+        double seconds = Math.max(1, interval.elapsedMs) / 1000.0;
+        double throughput = interval.borrows / seconds;
+        double avgHold = interval.holds > 0 ? interval.holdSumMillis / interval.holds : 0;
+        double inFlight = interval.holdSumMillis / Math.max(1, interval.elapsedMs);
+        double avgWait = interval.borrows > 0 ? interval.waitSumMillis / interval.borrows : 0;
+        double utilization = inFlight / Math.max(1, current);
+        int desired = (int) Math.ceil(inFlight / targetUtilization);
+
+        String reason = null;
+        if (interval.timeouts > 0) {
+            reason = interval.timeouts + " esperas agotadas";
+        } else if (avgWait > waitThresholdMs) {
+            reason = String.format(Locale.ROOT, "espera media %.1fms > %.1fms", avgWait, waitThresholdMs);
+        } else if (utilization >= growUtilization) {
+            reason = String.format(Locale.ROOT, "utilización %.0f%% >= %.0f%%", utilization * 100, growUtilization * 100);
+        }
+
+        if (reason != null) {
+            lowStreak = 0;
+            int step = Math.max(1, (int) Math.ceil(current * STEP_FRACTION));
+            int target = clamp(Math.max(desired, current + step));
+            if (target <= current) {
+                if (!saturated) {
+                    saturated = true;
+                    log.warn("La demanda supera pool.maxConnections="
+                            + hardMax + " (" + reason + ")");
+                }
+                return null;
+            }
+            return record(nowMillis, SizingDecision.Action.GROW, current, target,
+                    throughput, avgHold, inFlight, avgWait, interval.timeouts, reason);
+        }
+        saturated = false;
+
+        if (utilization >= shrinkUtilization) {
+            lowStreak = 0;
+            return null;
+        }
+        lowStreak++;
+        if (lowStreak < shrinkAfterIntervals || nowMillis - lastChangeMillis < cooldownMs) {
+            return null;
+        }
+        int step = Math.max(1, (int) (current * STEP_FRACTION));
+        int target = clamp(Math.max(desired, current - step));
+        if (target >= current) {
+            return null;
+        }
+        lowStreak = 0;
+        return record(nowMillis, SizingDecision.Action.SHRINK, current, target,
+                throughput, avgHold, inFlight, avgWait, 0,
+                String.format(Locale.ROOT, "utilización %.0f%% < %.0f%% durante %d intervalos",
+                        utilization * 100, shrinkUtilization * 100, shrinkAfterIntervals));
+    }
+
+    private int clamp(int size) {
+        return Math.max(Math.max(1, hardMin), Math.min(hardMax, size));
+    }
+
+    private SizingDecision record(long nowMillis, SizingDecision.Action action, int current, int target,
+            double throughput, double avgHold, double inFlight, double avgWait, long timeouts, String reason) {
+        SizingDecision decision = new SizingDecision(nowMillis, pool.getName(), action, current, target,
+                throughput, avgHold, inFlight, avgWait, timeouts, reason);
+        lastChangeMillis = nowMillis;
+        decisions.set((int) (nextDecision % MAX_DECISIONS), decision);
+        nextDecision++;
+        log.info(decision.toString());
+        return decision;
+    }
+
+    /**
+     * @return Decisiones registradas, de la más antigua a la más reciente
+     */
+    List<SizingDecision> getDecisions() {
+        List<SizingDecision> result = new ArrayList<>(MAX_DECISIONS);
+        for (int i = 0; i < MAX_DECISIONS; i++) {
+            SizingDecision decision = decisions.get(i);
+            if (decision != null) {
+                result.add(decision);
+            }
+        }
+        result.sort((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.blog.dao;
+
+import java.util.List;
+
+/**
+ * Fotografía de una conexión prestada por el pool, para diagnosticar fugas.
+ *
+ * <p>Indica qué hilo tiene la conexión, desde hace cuánto y desde qué punto del
+ * código la pidió. El punto de préstamo solo se registra si la detección de fugas
+ * está activada ({@code pool.leakDetectionThresholdMs} mayor que cero).</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#getConexionesEnUso()
+ * @see com.blog.controller.PoolDumpServlet
+ */
+public final class PooledConnectionInfo {
+
+    private final String poolName;
+    private final String connectionId;
+    private final String holderThread;
+    private final long holderThreadId;
+    private final long ageMillis;
+    private final long heldMillis;
+    private final List<StackTraceElement> borrowSite;
+    private final boolean leakSuspected;
+
+    PooledConnectionInfo(String poolName, String connectionId, String holderThread, long holderThreadId,
+            long ageMillis, long heldMillis, List<StackTraceElement> borrowSite, boolean leakSuspected) {
+        this.poolName = poolName;
+        this.connectionId = connectionId;
+        this.holderThread = holderThread;
+        this.holderThreadId = holderThreadId;
+        this.ageMillis = ageMillis;
+        this.heldMillis = heldMillis;
+        this.borrowSite = borrowSite;
+        this.leakSuspected = leakSuspected;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /** @return Identificador de la conexión física (estable mientras exista) */
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    /** @return Nombre del hilo que pidió la conexión */
+    public String getHolderThread() {
+        return holderThread;
+    }
+
+    public long getHolderThreadId() {
+        return holderThreadId;
+    }
+
+    /** @return Milisegundos desde que se abrió la conexión física */
+    public long getAgeMillis() {
+        return ageMillis;
+    }
+
+    /** @return Milisegundos desde que se prestó la conexión */
+    public long getHeldMillis() {
+        return heldMillis;
+    }
+
+    /**
+     * @return Marcos de pila del punto de préstamo (el primero es quien llamó a
+     *         {@code getConexion()}), o una lista vacía si la detección de fugas está
+     *         desactivada
+     */
+    public List<StackTraceElement> getBorrowSite() {
+        return borrowSite;
+    }
+
+    /** @return true si la conexión superó {@code pool.leakDetectionThresholdMs} */
+    public boolean isLeakSuspected() {
+        return leakSuspected;
+    }
+}
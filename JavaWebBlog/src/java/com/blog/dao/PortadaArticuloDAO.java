@@ -0,0 +1,397 @@
+package com.blog.dao;
+
+import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import com.blog.util.Log;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorador de {@link IArticuloDAO} que sirve la portada ({@code /articulos} sin
+ * cursor) desde una instantánea inmutable en memoria.
+ *
+ * <p>La portada es la URL más visitada y su contenido solo cambia cuando se escribe
+ * un artículo. La primera página de {@link #listarPagina(CursorArticulo, int)} se
+ * guarda en memoria, con una instantánea por tamaño de página para que tamaños
+ * distintos no se pisen: leerla devuelve siempre la misma {@link Pagina}, sin
+ * bloqueos y sin crear objetos. Solo la primera petición de cada tamaño consulta
+ * MySQL, para construir su instantánea; a partir de ahí ningún lector lo hace. Las
+ * demás páginas, y los tamaños por encima de los primeros cuatro, pasan al DAO
+ * decorado (los controladores usan dos tamaños fijos).</p>
+ *
+ * <h3>Leer lo que uno mismo escribió:</h3>
+ * <p>La instantánea va por detrás de las escrituras, pero quien acaba de escribir debe
+ * ver su cambio en la página siguiente (ver {@link SessionConsistency}). Por eso no se
+ * usa:</p>
+ * <ul>
+ *   <li>En las peticiones del panel de administración ({@link Workload#ADMIN_WRITE}):
+ *   tras crear, editar o eliminar, el panel redirige a su listado</li>
+ *   <li>En las peticiones de una sesión que escribió hace menos de
+ *   {@code maxDelayMs} más el retraso de las réplicas, lo más que puede tardar la
+ *   instantánea en incluir esa escritura</li>
+ * </ul>
+ *
+ * <h3>Reconstrucción (copy-on-write):</h3>
+ * <ul>
+ *   <li>Cada escritura a través de este DAO ({@code crear}, {@code crearLote},
+ *   {@code actualizar}, {@code eliminar}) marca la instantánea como desactualizada;
+ *   nunca se modifica: se construye otra y se sustituye entera</li>
+ *   <li>La reconstrucción espera a que pasen {@code cache.portada.debounceMs} sin
+ *   escrituras, de modo que una ráfaga (una importación) cuesta una sola consulta y
+ *   no una por artículo. Si las escrituras no cesan, se reconstruye igualmente cada
+ *   {@code cache.portada.maxDelayMs}.</li>
+ *   <li>La reconstrucción la programa la propia escritura y se hace en un hilo propio
+ *   ({@code blog-portada}), nunca en la petición de un lector: los lectores siguen
+ *   recibiendo la instantánea anterior hasta que se publica la nueva.</li>
+ *   <li>Con réplicas, la espera sin escrituras es al menos su retraso máximo
+ *   ({@link ConexionBD#getRetrasoReplicasMs()}): la consulta puede ir a una réplica y no
+ *   debe fijar una portada sin las últimas escrituras. Si una ráfaga obliga a
+ *   reconstruir antes, la instantánea queda como provisional y se vuelve a construir
+ *   cuando pasa ese retraso.</li>
+ *   <li>Si la reconstrucción falla se sigue sirviendo la instantánea anterior y se
+ *   reintenta pasado un segundo</li>
+ * </ul>
+ *
+ * <p>La portada puede ir, por tanto, hasta {@code maxDelayMs} por detrás de la base
+ * de datos. Los elementos de la página se comparten entre peticiones y no deben
+ * modificarse.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Solo mantiene la portada; la
+ *   caché de artículos individuales es {@link CachingArticuloDAO}.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>O - Open/Closed Principle (OCP):</b> Se añade sin modificar los demás DAOs
+ *   ni los controladores. Ver Sección 2.1.2 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Decorator:</b> Envuelve otro {@link IArticuloDAO} con la misma interfaz.
+ *   Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.3
+ * @since 2026-10-18
+ * @see com.blog.dao.DAOFactory
+ * @see com.blog.controller.ArticuloServlet
+ */
+public class PortadaArticuloDAO implements IArticuloDAO {
+
+    private static final Log LOG = Log.get(PortadaArticuloDAO.class);
+
+    /** Espera antes de reintentar una reconstrucción fallida */
+    private static final long REINTENTO_NANOS = 1_000_000_000L;
+    /** Tamaños de página distintos con instantánea propia; el resto va a la base de datos */
+    private static final int MAX_TAMANOS = 4;
+
+    /**
+     * Programa una tarea tras un retraso; las pruebas la sustituyen por una que avanza
+     * con el reloj simulado.
+     */
+    interface Programador {
+        void programar(Runnable tarea, long retrasoNanos);
+    }
+
+    /**
+     * Portada publicada para un tamaño de página y número de escrituras que ya incluye
+     */
+    private static final class Instantanea {
+        final Pagina<ArticuloResumen> pagina;
+        final long version;
+        /** Leída cuando una réplica podía no tener aún las últimas escrituras */
+        final boolean provisional;
+        /** Momento de la primera escritura aún no incluida (0 si ninguna) */
+        final AtomicLong primeraPendiente = new AtomicLong();
+
+        Instantanea(Pagina<ArticuloResumen> pagina, long version, boolean provisional) {
+            this.pagina = pagina;
+            this.version = version;
+            this.provisional = provisional;
+        }
+
+        boolean vigente(long escrituras) {
+            return version == escrituras && !provisional;
+        }
+    }
+
+    private final IArticuloDAO delegado;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final long retrasoReplicasNanos;
+    /** Ventana tras una escritura de la sesión durante la cual no se usa la instantánea */
+    private final long ventanaSesionMs;
+    private final LongSupplier reloj;
+    private final Programador programador;
+    /** Hilo de reconstrucción (null si las pruebas inyectan el programador) */
+    private final ScheduledExecutorService reconstructor;
+
+    private final ConcurrentHashMap<Integer, Instantanea> portadas = new ConcurrentHashMap<>();
+    private final AtomicLong escrituras = new AtomicLong();
+    /** Hay una reconstrucción programada que aún no ha empezado */
+    private final AtomicBoolean programada = new AtomicBoolean();
+    private volatile long ultimaEscritura;
+    private volatile long reintentarDesde;
+    private final AtomicLong reconstrucciones = new AtomicLong();
+
+    /**
+     * @param delegado DAO decorado
+     * @param debounceMs Tiempo sin escrituras antes de reconstruir la portada
+     * @param maxDelayMs Retraso máximo de la portada durante una ráfaga de escrituras
+     * @param retrasoReplicasMs Retraso máximo esperado de las réplicas (0 sin réplicas)
+     */
+    public PortadaArticuloDAO(IArticuloDAO delegado, long debounceMs, long maxDelayMs, long retrasoReplicasMs) {
+        this(delegado, debounceMs, maxDelayMs, retrasoReplicasMs, System::nanoTime,
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "blog-portada");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    private PortadaArticuloDAO(IArticuloDAO delegado, long debounceMs, long maxDelayMs, long retrasoReplicasMs,
+            LongSupplier reloj, ScheduledExecutorService reconstructor) {
+        this(delegado, debounceMs, maxDelayMs, retrasoReplicasMs, reloj,
+                (tarea, retrasoNanos) -> reconstructor.schedule(tarea, retrasoNanos, TimeUnit.NANOSECONDS),
+                reconstructor);
+    }
+
+    PortadaArticuloDAO(IArticuloDAO delegado, long debounceMs, long maxDelayMs, long retrasoReplicasMs,
+            LongSupplier reloj, Programador programador) {
+        this(delegado, debounceMs, maxDelayMs, retrasoReplicasMs, reloj, programador, null);
+    }
+
+    private PortadaArticuloDAO(IArticuloDAO delegado, long debounceMs, long maxDelayMs, long retrasoReplicasMs,
+            LongSupplier reloj, Programador programador, ScheduledExecutorService reconstructor) {
+        this.delegado = delegado;
+        this.debounceNanos = Math.max(0, debounceMs) * 1_000_000;
+        this.maxDelayNanos = Math.max(debounceMs, maxDelayMs) * 1_000_000;
+        this.retrasoReplicasNanos = Math.max(0, retrasoReplicasMs) * 1_000_000;
+        this.ventanaSesionMs = Math.max(debounceMs, maxDelayMs) + Math.max(0, retrasoReplicasMs);
+        this.reloj = reloj;
+        this.programador = programador;
+        this.reconstructor = reconstructor;
+        this.ultimaEscritura = reloj.getAsLong() - retrasoReplicasNanos;
+        this.reintentarDesde = ultimaEscritura;
+    }
+
+    @Override
+    public Pagina<ArticuloResumen> listarPagina(CursorArticulo cursor, int tamano) throws SQLException {
+        if (cursor != null || leeSusEscrituras()) {
+            return delegado.listarPagina(cursor, tamano);
+        }
+        Instantanea actual = portadas.get(tamano);
+        if (actual != null) {
+            return actual.pagina;
+        }
+        if (portadas.size() >= MAX_TAMANOS) {
+            return delegado.listarPagina(null, tamano);
+        }
+        // Primera petición de este tamaño: no hay nada publicado que servir
+        Instantanea nueva = consultar(tamano);
+        Instantanea previa = portadas.putIfAbsent(tamano, nueva);
+        if (previa != null) {
+            return previa.pagina;
+        }
+        if (!nueva.vigente(escrituras.get())) {
+            programar();
+        }
+        return nueva.pagina;
+    }
+
+    private Instantanea consultar(int tamano) throws SQLException {
+        long version = escrituras.get();
+        // Una réplica puede no tener aún las escrituras más recientes
+        boolean provisional = reloj.getAsLong() - ultimaEscritura < retrasoReplicasNanos;
+        Instantanea nueva = new Instantanea(delegado.listarPagina(null, tamano), version, provisional);
+        if (provisional || escrituras.get() != version) {
+            // Sigue pendiente: una escritura llegó durante la consulta o la réplica podía
+            // no tenerla
+            nueva.primeraPendiente.set(reloj.getAsLong());
+        }
+        reconstrucciones.incrementAndGet();
+        return nueva;
+    }
+
+    /**
+     * Programa la reconstrucción para cuando venza la primera instantánea pendiente,
+     * salvo que ya haya una programada.
+     */
+    private void programar() {
+        if (!programada.compareAndSet(false, true)) {
+            return;
+        }
+        long espera = esperaPendientes();
+        if (espera == Long.MAX_VALUE) {
+            programada.set(false);
+            return;
+        }
+        try {
+            programador.programar(this::reconstruirPendientes, Math.max(0, espera));
+        } catch (RejectedExecutionException e) {
+            // Cerrado al replegar la aplicación: la portada ya no se actualiza
+            programada.set(false);
+        }
+    }
+
+    /**
+     * Tarea del hilo de reconstrucción: reconstruye las instantáneas que ya vencieron y
+     * vuelve a programarse si queda alguna pendiente.
+     */
+    void reconstruirPendientes() {
+        long espera = esperaPendientes();
+        if (espera > 0 && espera != Long.MAX_VALUE) {
+            // Hubo escrituras desde que se programó: el debounce vuelve a contar
+            programador.programar(this::reconstruirPendientes, espera);
+            return;
+        }
+        programada.set(false);
+        for (Map.Entry<Integer, Instantanea> portada : portadas.entrySet()) {
+            Instantanea anterior = portada.getValue();
+            if (anterior.vigente(escrituras.get()) || tiempoHastaVencer(anterior) > 0) {
+                continue;
+            }
+            try {
+                portadas.put(portada.getKey(), consultar(portada.getKey()));
+            } catch (SQLException | RuntimeException e) {
+                reintentarDesde = reloj.getAsLong() + REINTENTO_NANOS;
+                LOG.warn("No se pudo reconstruir la portada; se sirve la anterior: " + e.getMessage());
+            }
+        }
+        programar();
+    }
+
+    /**
+     * @return Nanosegundos hasta que vence la primera instantánea pendiente, o
+     *         {@code Long.MAX_VALUE} si todas están al día
+     */
+    private long esperaPendientes() {
+        long espera = Long.MAX_VALUE;
+        long escritas = escrituras.get();
+        for (Instantanea instantanea : portadas.values()) {
+            if (!instantanea.vigente(escritas)) {
+                espera = Math.min(espera, tiempoHastaVencer(instantanea));
+            }
+        }
+        return espera;
+    }
+
+    /**
+     * Indica si la petición actual debe leer de la base de datos para ver sus propias
+     * escrituras.
+     */
+    private boolean leeSusEscrituras() {
+        return Workload.current() == Workload.ADMIN_WRITE || SessionConsistency.requiresPrimary(ventanaSesionMs);
+    }
+
+    /**
+     * @return Nanosegundos hasta que toca reconstruir una instantánea desactualizada
+     *         (cero o negativo si ya toca)
+     */
+    private long tiempoHastaVencer(Instantanea actual) {
+        long ahora = reloj.getAsLong();
+        long espera = ultimaEscritura + Math.max(debounceNanos, retrasoReplicasNanos) - ahora;
+        long primera = actual.primeraPendiente.get();
+        if (primera != 0) {
+            espera = Math.min(espera, primera + maxDelayNanos - ahora);
+        }
+        return Math.max(espera, reintentarDesde - ahora);
+    }
+
+    /**
+     * Marca la portada como desactualizada tras una escritura.
+     */
+    public void invalidar() {
+        long ahora = reloj.getAsLong();
+        ultimaEscritura = ahora;
+        for (Instantanea instantanea : portadas.values()) {
+            instantanea.primeraPendiente.compareAndSet(0, ahora);
+        }
+        escrituras.incrementAndGet();
+        programar();
+    }
+
+    /**
+     * Detiene el hilo de reconstrucción. La portada publicada se sigue sirviendo, pero
+     * ya no se actualiza.
+     */
+    public void cerrar() {
+        if (reconstructor != null) {
+            reconstructor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Veces que se ha construido la portada
+     */
+    public long getReconstrucciones() {
+        return reconstrucciones.get();
+    }
+
+    @Override
+    public boolean crear(Articulo articulo) throws SQLException {
+        try {
+            return delegado.crear(articulo);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public List<Integer> crearLote(List<Articulo> articulos) throws SQLException {
+        try {
+            return delegado.crearLote(articulos);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public boolean actualizar(Articulo articulo) throws SQLException {
+        try {
+            return delegado.actualizar(articulo);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public boolean eliminar(int id) throws SQLException {
+        try {
+            return delegado.eliminar(id);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public List<Articulo> listarTodos() throws SQLException {
+        return delegado.listarTodos();
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<? super Articulo> accion) throws SQLException {
+        return delegado.recorrerTodos(accion);
+    }
+
+    @Override
+    public Articulo obtenerPorId(int id) throws SQLException {
+        return delegado.obtenerPorId(id);
+    }
+
+    @Override
+    public int contarTotal() throws SQLException {
+        return delegado.contarTotal();
+    }
+}
@@ -0,0 +1,536 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Conexión entregada por el pool: envoltorio ligero sobre la conexión física.
+ *
+ * <p>Cada préstamo crea un {@code ProxyConnection} que conoce su {@link PoolEntry},
+ * por lo que {@link #close()} devuelve la conexión al pool en O(1), sin buscarla.
+ * Esto permite usar las conexiones del pool con try-with-resources:</p>
+ *
+ * <pre>{@code
+ * try (Connection conn = ConexionBD.getInstancia().getConexion()) {
+ *     // usar la conexión; al salir del bloque vuelve al pool
+ * }
+ * }</pre>
+ *
+ * <h3>Al devolver la conexión:</h3>
+ * <ul>
+ *   <li>Se cierran los statements que el llamador dejó abiertos (los que provienen de
+ *   la {@link StatementCache} de la conexión vuelven a ella)</li>
+ *   <li>Se deshace la transacción pendiente y se restauran autocommit, readOnly,
+ *   nivel de aislamiento y catálogo si el llamador los modificó</li>
+ *   <li>Cualquier uso posterior del proxy lanza {@link SQLException}, en lugar de
+ *   operar sobre una conexión que ya pertenece a otro hilo</li>
+ *   <li>Si la conexión ocupaba la cuota de un tipo de tráfico ({@link Bulkhead}), la
+ *   plaza queda libre</li>
+ * </ul>
+ *
+ * <h3>Patrones de diseño:</h3>
+ * <ul>
+ *   <li><b>Proxy:</b> Controla el acceso a la conexión física y redefine
+ *   {@code close()}. Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.3
+ * @since 2026-10-18
+ * @see com.blog.dao.ConnectionPool
+ * @see com.blog.dao.PoolEntry
+ * @see com.blog.dao.StatementCache
+ */
+final class ProxyConnection implements Connection {
+
+    private static final Log LOG = Log.get(ProxyConnection.class);
+
+    private final ConnectionPool pool;
+    private final PoolEntry entry;
+    private final Connection delegate;
+    private final List<Statement> openStatements = new ArrayList<>();
+    private boolean closed;
+    // Cuota del tipo de tráfico que pidió la conexión (null si no ocupa ninguna)
+    private Bulkhead bulkhead;
+
+    // Estado de sesión modificado por el llamador (se restaura al devolver)
+    private boolean autoCommitDirty;
+    private boolean readOnlyDirty;
+    private boolean isolationDirty;
+    private boolean catalogDirty;
+    private boolean currentAutoCommit = true;
+    private boolean originalReadOnly;
+    private int originalIsolation;
+    private String originalCatalog;
+
+    ProxyConnection(ConnectionPool pool, PoolEntry entry) {
+        this.pool = pool;
+        this.entry = entry;
+        this.delegate = entry.getConnection();
+    }
+
+    PoolEntry getPoolEntry() {
+        return entry;
+    }
+
+    /**
+     * Declara que el préstamo será largo a propósito, para que la detección de fugas no
+     * lo reporte.
+     */
+    void markLongRunning() {
+        entry.markLongRunning();
+    }
+
+    /**
+     * Asocia la conexión a la cuota que ocupa, para devolverla al cerrar.
+     */
+    void bindBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("La conexión ya fue devuelta al pool y no puede seguir usándose", "08003");
+        }
+    }
+
+    private <T extends Statement> T track(T statement) {
+        openStatements.add(statement);
+        return statement;
+    }
+
+    /**
+     * Devuelve la conexión al pool. Las llamadas repetidas no tienen efecto.
+     * Si no es posible restaurar el estado de sesión, la conexión física se retira
+     * del pool en lugar de reutilizarse.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Statement statement : openStatements) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // El statement ya no es utilizable; se ignora
+            }
+        }
+        openStatements.clear();
+
+        try {
+            resetSessionState();
+        } catch (SQLException e) {
+            LOG.warn("No se pudo restaurar el estado de la conexión, se descartará: "
+                    + e.getMessage());
+            entry.markEvicted();
+        }
+        try {
+            pool.release(entry);
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private void resetSessionState() throws SQLException {
+        if (autoCommitDirty) {
+            if (!currentAutoCommit) {
+                delegate.rollback();
+            }
+            delegate.setAutoCommit(true);
+        }
+        if (readOnlyDirty) {
+            delegate.setReadOnly(originalReadOnly);
+        }
+        if (isolationDirty) {
+            delegate.setTransactionIsolation(originalIsolation);
+        }
+        if (catalogDirty) {
+            delegate.setCatalog(originalCatalog);
+        }
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || delegate.isClosed();
+    }
+
+    // ---------------------------------------------------------------
+    // Estado de sesión
+    // ---------------------------------------------------------------
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen();
+        delegate.setAutoCommit(autoCommit);
+        currentAutoCommit = autoCommit;
+        autoCommitDirty = true;
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        checkOpen();
+        return delegate.getAutoCommit();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        if (!readOnlyDirty) {
+            originalReadOnly = delegate.isReadOnly();
+        }
+        delegate.setReadOnly(readOnly);
+        readOnlyDirty = true;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        checkOpen();
+        return delegate.isReadOnly();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen();
+        if (!isolationDirty) {
+            originalIsolation = delegate.getTransactionIsolation();
+        }
+        delegate.setTransactionIsolation(level);
+        isolationDirty = true;
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        checkOpen();
+        return delegate.getTransactionIsolation();
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        checkOpen();
+        if (!catalogDirty) {
+            originalCatalog = delegate.getCatalog();
+        }
+        delegate.setCatalog(catalog);
+        catalogDirty = true;
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        checkOpen();
+        return delegate.getCatalog();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+        delegate.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+        delegate.rollback();
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        delegate.rollback(savepoint);
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        checkOpen();
+        return delegate.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        checkOpen();
+        return delegate.setSavepoint(name);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        delegate.releaseSavepoint(savepoint);
+    }
+
+    // ---------------------------------------------------------------
+    // Creación de statements
+    // ---------------------------------------------------------------
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        checkOpen();
+        return track(delegate.createStatement());
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        return track(delegate.createStatement(resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        checkOpen();
+        return track(delegate.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        checkOpen();
+        return track(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+            int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return track(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
+        StatementCache cache = entry.getStatementCache();
+        if (cache != null) {
+            return track(cache.prepare(delegate, this, sql, autoGeneratedKeys));
+        }
+        return track(delegate.prepareStatement(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
+        return track(delegate.prepareStatement(sql, columnIndexes));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
+        return track(delegate.prepareStatement(sql, columnNames));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        checkOpen();
+        return track(delegate.prepareCall(sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        checkOpen();
+        return track(delegate.prepareCall(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+            int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return track(delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    // ---------------------------------------------------------------
+    // Resto de la interfaz: delegación directa
+    // ---------------------------------------------------------------
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        checkOpen();
+        return delegate.nativeSQL(sql);
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        checkOpen();
+        return delegate.getMetaData();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        checkOpen();
+        return delegate.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        checkOpen();
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        checkOpen();
+        return delegate.getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        checkOpen();
+        delegate.setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        checkOpen();
+        delegate.setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        checkOpen();
+        return delegate.getHoldability();
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        checkOpen();
+        return delegate.createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        checkOpen();
+        return delegate.createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        checkOpen();
+        return delegate.createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        checkOpen();
+        return delegate.createSQLXML();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return !closed && delegate.isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        delegate.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        delegate.setClientInfo(properties);
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        checkOpen();
+        return delegate.getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        checkOpen();
+        return delegate.getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        checkOpen();
+        return delegate.createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        checkOpen();
+        return delegate.createStruct(typeName, attributes);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        checkOpen();
+        delegate.setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        checkOpen();
+        return delegate.getSchema();
+    }
+
+    /**
+     * Aborta la conexión física: se retira del pool en lugar de reutilizarse.
+     */
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        checkOpen();
+        entry.markEvicted();
+        delegate.abort(executor);
+        close();
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        checkOpen();
+        delegate.setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        checkOpen();
+        return delegate.getNetworkTimeout();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        checkOpen();
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        checkOpen();
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public String toString() {
+        return "ProxyConnection{" + delegate + (closed ? ", devuelta" : "") + "}";
+    }
+}
@@ -0,0 +1,211 @@
+package com.blog.dao;
+
+import com.blog.util.Log;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conjunto de réplicas de lectura, cada una con su propio {@link ConnectionPool}.
+ *
+ * <p>Las réplicas se configuran en db.properties con claves numeradas desde 1:</p>
+ * <pre>
+ * db.replica.1.url=jdbc:mysql://replica1:3306/blog_db?...
+ * db.replica.1.user=blog_ro        (opcional, por defecto db.user)
+ * db.replica.1.password=...        (opcional, por defecto db.password)
+ * db.replica.1.weight=1            (opcional, peso relativo)
+ * </pre>
+ * <p>Cada pool de réplica hereda la configuración del pool principal; su espera por
+ * una conexión libre se limita a {@code db.replica.borrowTimeoutMs} para pasar pronto
+ * a otra réplica o a la base de datos principal.</p>
+ *
+ * <h3>Selección ponderada por salud:</h3>
+ * <ul>
+ *   <li>Cada réplica tiene una salud entre 0 y 1 (media móvil de préstamos exitosos);
+ *   se elige al azar con probabilidad proporcional a {@code peso × salud}</li>
+ *   <li>Un fallo al conectar reduce la salud a la mitad y deja la réplica fuera de
+ *   rotación durante {@code db.replica.retryMs}; después vuelve a probarse y su salud
+ *   se recupera gradualmente con cada préstamo exitoso</li>
+ *   <li>Si la réplica elegida falla o está saturada, se prueba la siguiente; si
+ *   ninguna responde, {@link #getConnection()} devuelve null y {@link ConexionBD}
+ *   recurre a la base de datos principal</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#getConexionLectura()
+ */
+final class ReplicaSet {
+
+    private static final Log LOG = Log.get(ReplicaSet.class);
+
+    /** Factor de la media móvil de salud */
+    private static final double HEALTH_ALPHA = 0.2;
+    private static final double MIN_HEALTH = 0.05;
+
+    private final List<Replica> replicas;
+    private final long retryMs;
+
+    /**
+     * Una réplica y su estado de salud.
+     */
+    static final class Replica {
+        final ConnectionPool pool;
+        final int weight;
+        volatile double health = 1.0;
+        volatile long downUntil;
+
+        Replica(ConnectionPool pool, int weight) {
+            this.pool = pool;
+            this.weight = weight;
+        }
+
+        double effectiveWeight(long now) {
+            return now < downUntil ? 0 : weight * health;
+        }
+
+        void recordSuccess() {
+            if (health < 1.0) {
+                health = Math.min(1.0, health + HEALTH_ALPHA * (1.0 - health));
+            }
+        }
+
+        void recordFailure(long now, long retryMs) {
+            health = Math.max(MIN_HEALTH, health / 2);
+            downUntil = now + retryMs;
+        }
+    }
+
+    private ReplicaSet(List<Replica> replicas, long retryMs) {
+        this.replicas = Collections.unmodifiableList(replicas);
+        this.retryMs = retryMs;
+    }
+
+    /**
+     * Crea los pools de las réplicas configuradas.
+     *
+     * @param properties Configuración (mismas claves que db.properties)
+     * @return Conjunto de réplicas, o null si no hay ninguna configurada
+     */
+    static ReplicaSet fromProperties(Properties properties) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 1; properties.getProperty("db.replica." + i + ".url") != null; i++) {
+            String prefix = "db.replica." + i + ".";
+            Properties replicaProps = new Properties();
+            replicaProps.putAll(properties);
+            replicaProps.setProperty("db.url", properties.getProperty(prefix + "url"));
+            replicaProps.setProperty("db.user",
+                    properties.getProperty(prefix + "user", properties.getProperty("db.user", "")));
+            replicaProps.setProperty("db.password",
+                    properties.getProperty(prefix + "password", properties.getProperty("db.password", "")));
+            replicaProps.setProperty("pool.borrowTimeoutMs",
+                    properties.getProperty("db.replica.borrowTimeoutMs", "1000"));
+            replicaProps.setProperty("pool.readOnly", "true");
+
+            int weight = Integer.parseInt(properties.getProperty(prefix + "weight", "1"));
+            replicas.add(new Replica(new ConnectionPool("replica-" + i, replicaProps), weight));
+        }
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        long retryMs = Long.parseLong(properties.getProperty("db.replica.retryMs", "10000"));
+        return new ReplicaSet(replicas, retryMs);
+    }
+
+    /**
+     * Abre las conexiones iniciales de cada réplica.
+     */
+    void initialize() {
+        for (Replica replica : replicas) {
+            replica.pool.initialize();
+        }
+    }
+
+    /**
+     * Obtiene una conexión de solo lectura de alguna réplica disponible.
+     *
+     * @return Conexión de una réplica, o null si ninguna está disponible
+     */
+    Connection getConnection() {
+        List<Replica> candidates = new ArrayList<>(replicas);
+        while (!candidates.isEmpty()) {
+            long now = System.currentTimeMillis();
+            Replica replica = choose(candidates, now);
+            if (replica == null) {
+                return null;
+            }
+            candidates.remove(replica);
+            try {
+                Connection conn = replica.pool.getConnection(replica.pool.getBorrowTimeoutMs());
+                if (conn != null) {
+                    replica.recordSuccess();
+                    return conn;
+                }
+                // Réplica saturada: no es un problema de salud, se prueba otra
+            } catch (SQLException e) {
+                replica.recordFailure(now, retryMs);
+                LOG.warn("Réplica " + replica.pool.getName()
+                        + " no disponible, fuera de rotación por " + retryMs + "ms: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Elige una réplica al azar con probabilidad proporcional a su peso efectivo.
+     */
+    private static Replica choose(List<Replica> candidates, long now) {
+        double total = 0;
+        for (Replica replica : candidates) {
+            total += replica.effectiveWeight(now);
+        }
+        if (total <= 0) {
+            return null;
+        }
+        double point = ThreadLocalRandom.current().nextDouble(total);
+        Replica last = null;
+        for (Replica replica : candidates) {
+            double weight = replica.effectiveWeight(now);
+            if (weight <= 0) {
+                continue;
+            }
+            if (point < weight) {
+                return replica;
+            }
+            point -= weight;
+            last = replica;
+        }
+        return last;
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Cierra de forma ordenada los pools de todas las réplicas.
+     *
+     * @param timeoutMs Espera máxima por las conexiones prestadas de cada réplica
+     * @return true si todas las conexiones se devolvieron a tiempo
+     */
+    boolean drain(long timeoutMs) {
+        boolean drained = true;
+        for (Replica replica : replicas) {
+            drained &= replica.pool.drain(timeoutMs);
+        }
+        return drained;
+    }
+
+    /**
+     * Detiene y cierra los pools de todas las réplicas.
+     */
+    void shutdown() {
+        for (Replica replica : replicas) {
+            replica.pool.shutdown();
+        }
+    }
+}
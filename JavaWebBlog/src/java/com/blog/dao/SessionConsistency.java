@@ -0,0 +1,68 @@
+package com.blog.dao;
+
+/**
+ * Consistencia "leer lo que uno mismo escribió" (read-your-writes) entre las
+ * réplicas de lectura y la base de datos principal.
+ *
+ * <p>Las réplicas aplican las escrituras con cierto retraso. Para que un usuario que
+ * acaba de crear o editar un artículo lo vea en la siguiente página, las lecturas de
+ * la sesión que escribió se dirigen a la base de datos principal durante
+ * {@code db.replica.stickyMs} milisegundos después de su última escritura.</p>
+ *
+ * <p>El momento de la última escritura viaja con la petición en un {@link ThreadLocal}:
+ * {@link com.blog.filter.ReadYourWritesFilter} lo carga desde la sesión HTTP al
+ * empezar la petición con {@link #begin(long)} y lo guarda de vuelta al terminar con
+ * {@link #end()}. Fuera de una petición web, el valor se conserva por hilo.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#getConexionLectura()
+ * @see com.blog.dao.ConexionBD#getConexionEscritura()
+ */
+public final class SessionConsistency {
+
+    private static final ThreadLocal<long[]> LAST_WRITE = ThreadLocal.withInitial(() -> new long[1]);
+
+    private SessionConsistency() {
+    }
+
+    /**
+     * Inicia una petición con el momento de la última escritura de su sesión.
+     *
+     * @param lastWriteMillis Última escritura de la sesión (epoch en ms), o 0 si no hay
+     */
+    public static void begin(long lastWriteMillis) {
+        LAST_WRITE.get()[0] = lastWriteMillis;
+    }
+
+    /**
+     * Termina la petición y devuelve el momento de la última escritura, que puede
+     * haber cambiado durante la petición.
+     *
+     * @return Última escritura de la sesión (epoch en ms), o 0 si no hay
+     */
+    public static long end() {
+        long lastWrite = LAST_WRITE.get()[0];
+        LAST_WRITE.remove();
+        return lastWrite;
+    }
+
+    /**
+     * Registra que la sesión actual está escribiendo en la base de datos principal.
+     */
+    static void recordWrite() {
+        LAST_WRITE.get()[0] = System.currentTimeMillis();
+    }
+
+    /**
+     * Indica si las lecturas de la sesión actual deben ir a la base de datos principal
+     * porque escribió hace menos de {@code stickyMs}.
+     *
+     * @param stickyMs Ventana de afinidad tras una escritura
+     * @return true si la sesión escribió dentro de la ventana
+     */
+    static boolean requiresPrimary(long stickyMs) {
+        long lastWrite = LAST_WRITE.get()[0];
+        return lastWrite > 0 && System.currentTimeMillis() - lastWrite < stickyMs;
+    }
+}
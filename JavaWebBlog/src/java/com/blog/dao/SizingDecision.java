@@ -0,0 +1,114 @@
+package com.blog.dao;
+
+import java.util.Locale;
+
+/**
+ * Registro de una decisión del dimensionamiento adaptativo del pool.
+ *
+ * <p>Guarda el tamaño anterior y el nuevo junto con las mediciones del intervalo que
+ * llevaron a la decisión, para poder revisar después por qué el pool creció o se
+ * redujo.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.PoolSizer
+ * @see com.blog.dao.PoolMetrics#getSizingDecisions()
+ */
+public final class SizingDecision {
+
+    /**
+     * Sentido del cambio de tamaño.
+     */
+    public enum Action {
+        /** Se subió el límite de conexiones */
+        GROW,
+        /** Se bajó el límite de conexiones */
+        SHRINK
+    }
+
+    private final long timestamp;
+    private final String poolName;
+    private final Action action;
+    private final int previousSize;
+    private final int newSize;
+    private final double throughputPerSecond;
+    private final double avgHoldMillis;
+    private final double inFlight;
+    private final double avgBorrowWaitMillis;
+    private final long timeouts;
+    private final String reason;
+
+    SizingDecision(long timestamp, String poolName, Action action, int previousSize, int newSize,
+            double throughputPerSecond, double avgHoldMillis, double inFlight,
+            double avgBorrowWaitMillis, long timeouts, String reason) {
+        this.timestamp = timestamp;
+        this.poolName = poolName;
+        this.action = action;
+        this.previousSize = previousSize;
+        this.newSize = newSize;
+        this.throughputPerSecond = throughputPerSecond;
+        this.avgHoldMillis = avgHoldMillis;
+        this.inFlight = inFlight;
+        this.avgBorrowWaitMillis = avgBorrowWaitMillis;
+        this.timeouts = timeouts;
+        this.reason = reason;
+    }
+
+    /** @return Momento de la decisión (epoch en milisegundos) */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public int getPreviousSize() {
+        return previousSize;
+    }
+
+    public int getNewSize() {
+        return newSize;
+    }
+
+    /** @return Préstamos por segundo durante el intervalo (λ en la ley de Little) */
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    /** @return Tiempo medio que se retuvo cada conexión (W en la ley de Little) */
+    public double getAvgHoldMillis() {
+        return avgHoldMillis;
+    }
+
+    /** @return Conexiones en uso en promedio durante el intervalo (L = λ·W) */
+    public double getInFlight() {
+        return inFlight;
+    }
+
+    public double getAvgBorrowWaitMillis() {
+        return avgBorrowWaitMillis;
+    }
+
+    /** @return Esperas agotadas durante el intervalo */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /** @return Explicación legible de la decisión */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s %d -> %d (λ=%.1f/s, W=%.1fms, L=%.2f, espera=%.1fms, timeouts=%d): %s",
+                action, previousSize, newSize, throughputPerSecond, avgHoldMillis, inFlight,
+                avgBorrowWaitMillis, timeouts, reason);
+    }
+}
@@ -0,0 +1,154 @@
+package com.blog.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché LRU de {@link PreparedStatement} asociada a una conexión física del pool.
+ *
+ * <p>Los DAOs preparan siempre las mismas pocas sentencias SQL constantes. Con esta
+ * caché, la segunda llamada a {@code prepareStatement(sql)} sobre la misma conexión
+ * física reutiliza el statement ya preparado en lugar de volver a analizar el SQL y
+ * asignar un objeto nuevo.</p>
+ *
+ * <h3>Funcionamiento:</h3>
+ * <ul>
+ *   <li>Al pedir un statement se retira de la caché (queda "prestado"); si la misma
+ *   sentencia se pide dos veces a la vez, la segunda se prepara sin caché</li>
+ *   <li>El {@code close()} del statement devuelto no lo cierra: cierra su último
+ *   {@link ResultSet}, limpia sus parámetros y el lote pendiente, si lo hay, y lo
+ *   devuelve a la caché</li>
+ *   <li>Si la caché supera {@code pool.statementCacheSize}, se cierra el statement
+ *   usado menos recientemente</li>
+ *   <li>Los statements a los que se les cambió la configuración (fetchSize, maxRows,
+ *   queryTimeout...) no vuelven a la caché, para no filtrar ese estado a otro llamador</li>
+ * </ul>
+ *
+ * <p>No es thread-safe: solo la usa el hilo que tiene prestada la conexión.</p>
+ *
+ * <h3>Patrones de diseño:</h3>
+ * <ul>
+ *   <li><b>Proxy:</b> Los statements entregados son {@link CachedPreparedStatement}, que
+ *   redefinen {@code close()}. Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.CachedPreparedStatement
+ * @see com.blog.dao.ProxyConnection
+ * @see com.blog.dao.PoolEntry
+ */
+final class StatementCache {
+
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * @param maxSize Número máximo de statements guardados
+     * @param hits Contador de aciertos (compartido por todas las conexiones del pool)
+     * @param misses Contador de fallos (compartido por todas las conexiones del pool)
+     */
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene un statement preparado para la sentencia indicada, reutilizando el de
+     * la caché si existe.
+     *
+     * @param connection Conexión física sobre la que se prepara la sentencia
+     * @param owner Conexión que verá el llamador en {@code getConnection()}
+     * @param sql Sentencia SQL
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} o
+     *        {@link Statement#NO_GENERATED_KEYS}
+     * @return Statement listo para usarse; su {@code close()} lo devuelve a la caché
+     * @throws SQLException Error al preparar la sentencia
+     */
+    PreparedStatement prepare(Connection connection, Connection owner, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? sql + "\u0000keys" : sql;
+        PreparedStatement cached = statements.remove(key);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            cached = connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return new CachedPreparedStatement(this, key, cached, owner);
+    }
+
+    /**
+     * Cierra todos los statements guardados (al cerrar la conexión física).
+     */
+    void close() {
+        for (Iterator<PreparedStatement> it = statements.values().iterator(); it.hasNext(); ) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * Devuelve a la caché un statement que el llamador cerró. Su último resultado se
+     * cierra antes, para que el statement guardado no retenga un cursor en el servidor
+     * hasta el siguiente préstamo.
+     *
+     * @param key Clave del statement en la caché
+     * @param statement Statement físico
+     * @param reusable false si el llamador cambió su configuración; entonces se cierra
+     */
+    void giveBack(String key, PreparedStatement statement, boolean reusable) {
+        if (!reusable) {
+            closeQuietly(statement);
+            return;
+        }
+        try {
+            ResultSet resultSet = statement.getResultSet();
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+        PreparedStatement previous = statements.put(key, statement);
+        if (previous != null && previous != statement) {
+            closeQuietly(previous);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // El statement ya no es utilizable; se ignora
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.blog.dao;
+
+/**
+ * Tipo de tráfico que pide una conexión, para repartir el pool principal en cuotas
+ * separadas (ver {@link Bulkhead}).
+ *
+ * <p>Cada método de los DAOs declara a qué tipo pertenece al pedir su conexión
+ * ({@link ConexionBD#getConexionLectura(Workload)},
+ * {@link ConexionBD#getConexionEscritura(Workload)}). Una petición puede sustituir el
+ * tipo declarado con {@link #enter(Workload)}: {@link com.blog.filter.AuthFilter} lo
+ * hace en las rutas {@code /admin/*}, de modo que el listado del panel de
+ * administración no compite con el de la portada pública aunque use el mismo método
+ * del DAO.</p>
+ *
+ * <p>El tipo también fija la prioridad con la que se espera una conexión cuando el pool
+ * está lleno ({@link BorrowPriority}): el login y el panel antes que la portada.</p>
+ *
+ * <p>Los recorridos de tablas completas ({@link #SCAN}) retienen su conexión durante
+ * minutos. Tienen su propia cuota y prioridad baja, y {@link #enter(Workload)} no los
+ * sustituye: una exportación desde {@code /admin} no debe ocupar las plazas de los
+ * editores.</p>
+ *
+ * @version 1.3
+ * @since 2026-10-18
+ * @see com.blog.dao.Bulkhead
+ * @see com.blog.dao.BorrowPriority
+ */
+public enum Workload {
+
+    /** Páginas públicas: listado y detalle de artículos */
+    PUBLIC_READ("public-read", BorrowPriority.LOW),
+    /** Inicio de sesión y registro */
+    AUTH("auth", BorrowPriority.HIGH),
+    /** Panel de administración: altas, ediciones, bajas y sus listados */
+    ADMIN_WRITE("admin-write", BorrowPriority.HIGH),
+    /** Recorridos en streaming de tablas completas (exportaciones, reprocesos) */
+    SCAN("scan", BorrowPriority.LOW);
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private final String key;
+    private final BorrowPriority priority;
+
+    Workload(String key, BorrowPriority priority) {
+        this.key = key;
+        this.priority = priority;
+    }
+
+    /**
+     * @return Nombre del tipo en la configuración ({@code pool.bulkhead.<nombre>.percent})
+     *         y en las métricas
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return Prioridad de sus préstamos cuando hay que esperar a que se libere una
+     *         conexión del pool
+     */
+    public BorrowPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Hace que las conexiones que pida el hilo actual cuenten como el tipo indicado,
+     * sea cual sea el que declaren los DAOs.
+     *
+     * @param workload Tipo de tráfico de la petición en curso
+     * @return Tipo que estaba fijado antes (o null), para pasarlo a {@link #restore(Workload)}
+     */
+    public static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    /**
+     * Restaura el tipo fijado antes de {@link #enter(Workload)}.
+     *
+     * @param previous Valor devuelto por {@link #enter(Workload)}
+     */
+    public static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return Tipo fijado para el hilo actual con {@link #enter(Workload)}, o null
+     */
+    static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param declared Tipo declarado por el DAO
+     * @return Tipo fijado para el hilo actual, o el declarado si no hay ninguno o si
+     *         es {@link #SCAN}
+     */
+    static Workload effective(Workload declared) {
+        if (declared == SCAN) {
+            return declared;
+        }
+        Workload current = CURRENT.get();
+        return current != null ? current : declared;
+    }
+}
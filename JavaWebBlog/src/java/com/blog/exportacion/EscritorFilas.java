@@ -0,0 +1,25 @@
+package com.blog.exportacion;
+
+import java.io.IOException;
+
+/**
+ * Escribe filas de una exportación en un formato concreto, de una en una y sin
+ * guardarlas: cada fila se pasa al {@link java.io.Writer} subyacente en cuanto se
+ * recibe.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.exportacion.FormatoExportacion
+ */
+public interface EscritorFilas {
+
+    /**
+     * Escribe una fila.
+     *
+     * @param valores Valores en el orden de las columnas indicadas al crear el escritor
+     *        ({@link Number}, {@link Boolean}, {@link java.time.LocalDateTime},
+     *        {@link String} o null)
+     * @throws IOException Error al escribir (por ejemplo, el cliente cerró la conexión)
+     */
+    void fila(Object... valores) throws IOException;
+}
@@ -0,0 +1,120 @@
+package com.blog.exportacion;
+
+import com.blog.dao.IArticuloDAO;
+import com.blog.dao.IUsuarioDAO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Exporta tablas completas escribiendo cada fila en cuanto llega de la base de datos.
+ *
+ * <p>Recorre las tablas con {@link IArticuloDAO#recorrerTodos} e
+ * {@link IUsuarioDAO#recorrerTodos}, que leen el resultado en streaming, y pasa cada
+ * fila al {@link EscritorFilas} del formato pedido. Nunca hay más de una fila en
+ * memoria, de modo que exportar un millón de artículos usa la misma memoria que
+ * exportar diez.</p>
+ *
+ * <h3>Columnas:</h3>
+ * <ul>
+ *   <li><b>Artículos:</b> {@code id, titulo, contenido, fecha, autor, autor_id,
+ *   autor_nombre}. {@code autor} es el username, que es lo que busca la importación;
+ *   el ID y el nombre son solo informativos y la importación los ignora.</li>
+ *   <li><b>Usuarios:</b> {@code id, username, nombre, email, rol}. La contraseña no
+ *   se exporta: el recorrido de usuarios no la lee.</li>
+ * </ul>
+ *
+ * <h3>Errores:</h3>
+ * <p>Si la escritura falla (el cliente cerró la conexión) el recorrido se abandona y
+ * la conexión de base de datos se descarta sin leer el resto de la tabla; el error se
+ * propaga como {@link IOException}. Un error de base de datos a mitad de la
+ * exportación se propaga como {@link SQLException}: lo ya escrito queda incompleto.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Solo decide qué columnas se
+ *   exportan; el formato es cosa de {@link FormatoExportacion} y la lectura, de los
+ *   DAOs. Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>D - Dependency Inversion Principle (DIP):</b> Depende de
+ *   {@link IArticuloDAO} e {@link IUsuarioDAO}.
+ *   Ver Sección 2.1.5 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.exportacion.FormatoExportacion
+ * @see com.blog.controller.AdminExportarServlet
+ */
+public class ExportadorDatos {
+
+    /** Columnas de la exportación de artículos */
+    public static final List<String> COLUMNAS_ARTICULOS =
+            List.of("id", "titulo", "contenido", "fecha", "autor", "autor_id", "autor_nombre");
+    /** Columnas de la exportación de usuarios */
+    public static final List<String> COLUMNAS_USUARIOS =
+            List.of("id", "username", "nombre", "email", "rol");
+
+    private final IArticuloDAO articuloDAO;
+    private final IUsuarioDAO usuarioDAO;
+
+    /**
+     * @param articuloDAO DAO de artículos
+     * @param usuarioDAO DAO de usuarios
+     */
+    public ExportadorDatos(IArticuloDAO articuloDAO, IUsuarioDAO usuarioDAO) {
+        this.articuloDAO = articuloDAO;
+        this.usuarioDAO = usuarioDAO;
+    }
+
+    /**
+     * Exporta todos los artículos, ordenados por ID.
+     *
+     * @param formato Formato de salida
+     * @param salida Destino; no se cierra ni se vacía al terminar
+     * @return Número de artículos exportados
+     * @throws SQLException Error de base de datos
+     * @throws IOException Error al escribir
+     */
+    public int exportarArticulos(FormatoExportacion formato, Writer salida) throws SQLException, IOException {
+        EscritorFilas escritor = formato.abrir(salida, COLUMNAS_ARTICULOS);
+        try {
+            return articuloDAO.recorrerTodos(a -> escribir(escritor, a.getId(), a.getTitulo(), a.getContenido(),
+                    a.getFechaPublicacion(), a.getAutorUsername(), a.getAutorId(), a.getAutorNombre()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Exporta todos los usuarios, ordenados por ID, sin contraseñas.
+     *
+     * @param formato Formato de salida
+     * @param salida Destino; no se cierra ni se vacía al terminar
+     * @return Número de usuarios exportados
+     * @throws SQLException Error de base de datos
+     * @throws IOException Error al escribir
+     */
+    public int exportarUsuarios(FormatoExportacion formato, Writer salida) throws SQLException, IOException {
+        EscritorFilas escritor = formato.abrir(salida, COLUMNAS_USUARIOS);
+        try {
+            return usuarioDAO.recorrerTodos(u -> escribir(escritor, u.getId(), u.getUsername(), u.getNombre(),
+                    u.getEmail(), u.getRol()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Escribe una fila desde el {@code Consumer} del recorrido, que no admite
+     * excepciones comprobadas.
+     */
+    private static void escribir(EscritorFilas escritor, Object... valores) {
+        try {
+            escritor.fila(valores);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.blog.exportacion;
+
+import com.blog.util.JsonUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formatos de la exportación masiva de artículos y usuarios.
+ *
+ * <ul>
+ *   <li><b>NDJSON:</b> Un objeto JSON por fila y por línea, con las columnas como
+ *   campos</li>
+ *   <li><b>CSV:</b> Fila de cabecera con los nombres de columna, separador coma,
+ *   comillas dobles y fin de línea CRLF según RFC 4180</li>
+ * </ul>
+ *
+ * <p>En CSV, un texto que empieza por {@code =}, {@code +}, {@code -}, {@code @},
+ * tabulador o retorno de carro se escribe precedido de un apóstrofo ({@code '}): una
+ * hoja de cálculo lo mostraría como texto en lugar de ejecutarlo como fórmula. Los
+ * textos que ya empiezan por apóstrofos seguidos de uno de esos caracteres reciben
+ * uno más, de modo que la importación quita exactamente uno y recupera el original.</p>
+ *
+ * <p>Las fechas se escriben en ISO-8601 ({@code 2026-10-18T09:30:00}). Los nombres de
+ * columna de los artículos coinciden con los que acepta la importación, de modo que
+ * un archivo exportado puede importarse en otra instalación.</p>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Factory Method:</b> {@link #abrir(Writer, List)} crea el escritor de cada
+ *   formato. Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.exportacion.EscritorFilas
+ * @see com.blog.importacion.FormatoImportacion
+ */
+public enum FormatoExportacion {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * @return Tipo MIME del archivo sin comprimir
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return Extensión del archivo, sin punto
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Crea el escritor de este formato. En CSV escribe la cabecera en ese momento.
+     *
+     * @param salida Destino de las filas; no se cierra
+     * @param columnas Nombres de las columnas, en el orden de los valores de cada fila
+     * @return Escritor de filas
+     * @throws IOException Error al escribir la cabecera
+     */
+    public EscritorFilas abrir(Writer salida, List<String> columnas) throws IOException {
+        if (this == CSV) {
+            escribirCsv(salida, columnas.toArray());
+            return valores -> escribirCsv(salida, valores);
+        }
+        return valores -> escribirJson(salida, columnas, valores);
+    }
+
+    /**
+     * Obtiene el formato de un parámetro de la petición.
+     *
+     * @param parametro "ndjson" o "csv"; null o vacío equivale a NDJSON
+     * @return El formato, o null si no se reconoce
+     */
+    public static FormatoExportacion deducir(String parametro) {
+        if (parametro == null || parametro.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(parametro.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void escribirJson(Writer out, List<String> columnas, Object[] valores) throws IOException {
+        out.write('{');
+        for (int i = 0; i < columnas.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            JsonUtil.escribirCadena(out, columnas.get(i));
+            out.write(':');
+            Object valor = valores[i];
+            if (valor == null) {
+                out.write("null");
+            } else if (valor instanceof Number || valor instanceof Boolean) {
+                out.write(valor.toString());
+            } else {
+                JsonUtil.escribirCadena(out, texto(valor));
+            }
+        }
+        out.write("}\n");
+    }
+
+    private static void escribirCsv(Writer out, Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (valores[i] == null) {
+                continue;
+            }
+            String valor = texto(valores[i]);
+            if (valores[i] instanceof CharSequence && pareceFormula(valor)) {
+                valor = "'" + valor;
+            }
+            if (necesitaComillas(valor)) {
+                out.write('"');
+                out.write(valor.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(valor);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Indica si una hoja de cálculo interpretaría el texto como fórmula, también
+     * después de quitarle los apóstrofos iniciales.
+     *
+     * @param valor Texto de la celda
+     * @return true si debe escribirse precedido de un apóstrofo
+     */
+    public static boolean pareceFormula(String valor) {
+        int i = 0;
+        while (i < valor.length() && valor.charAt(i) == '\'') {
+            i++;
+        }
+        if (i == valor.length()) {
+            return false;
+        }
+        char c = valor.charAt(i);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static boolean necesitaComillas(String valor) {
+        if (valor.isEmpty()) {
+            // Distingue la cadena vacía de null (campo sin nada)
+            return true;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String texto(Object valor) {
+        if (valor instanceof LocalDateTime) {
+            return ((LocalDateTime) valor).toString();
+        }
+        return valor.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.blog.filter;
 
+import com.blog.dao.Workload;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.FilterConfig;
@@ -22,7 +23,9 @@ import java.io.IOException;
  * <ol>
  *   <li>Intercepta la petición HTTP antes de que llegue al servlet</li>
  *   <li>Verifica si existe una sesión HTTP con un usuario autenticado</li>
- *   <li>Si está autenticado, permite continuar con la petición</li>
+ *   <li>Si está autenticado, permite continuar con la petición; las conexiones que se
+ *   pidan durante ella cuentan como {@link Workload#ADMIN_WRITE}, también las de los
+ *   listados que comparte con la parte pública</li>
  *   <li>Si no está autenticado, redirige a {@code /login}</li>
  * </ol>
  * 
@@ -57,7 +60,7 @@ import java.io.IOException;
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 1.0
+ * @version 1.1
  * @since 2025-12-09
  * @see jakarta.servlet.Filter
  * @see com.blog.controller.LoginServlet
@@ -98,8 +101,13 @@ public class AuthFilter implements Filter {
         boolean isLoggedIn = (session != null && session.getAttribute("usuario") != null);
 
         if (isLoggedIn) {
-            // Usuario autenticado, continuar con la petición
-            chain.doFilter(request, response);
+            // Usuario autenticado, continuar con la petición dentro de la cuota del panel
+            Workload previous = Workload.enter(Workload.ADMIN_WRITE);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                Workload.restore(previous);
+            }
         } else {
             // Usuario no autenticado, redirigir al login
             httpResponse.sendRedirect(httpRequest.getContextPath() + "/login");
@@ -1,6 +1,8 @@
 package com.blog.filter;
 
+import com.blog.dao.CircuitBreaker;
 import com.blog.dao.ConexionBD;
+import com.blog.util.Log;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -26,6 +28,8 @@ import java.io.IOException;
  *   <li><b>Reintentos automáticos:</b> Utiliza el mecanismo de reintentos de
  *   {@link ConexionBD}</li>
  *   <li><b>Redirección automática:</b> Guía al usuario a la configuración cuando es necesario</li>
+ *   <li><b>Interruptor de circuito:</b> Con el circuito de {@link ConexionBD} abierto,
+ *   redirige sin intentar conectar</li>
  * </ul>
  * 
  * <h3>Principios SOLID aplicados:</h3>
@@ -57,6 +61,8 @@ import java.io.IOException;
  * @see com.blog.controller.SetupServlet
  */
 public class DatabaseCheckFilter implements Filter {
+
+    private static final Log LOG = Log.get(DatabaseCheckFilter.class);
     
     /** Ruta de la página de setup */
     private static final String SETUP_PATH = "/setup";
@@ -78,7 +84,7 @@ public class DatabaseCheckFilter implements Filter {
      */
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        System.out.println("[DatabaseCheckFilter] Filter inicializado");
+        LOG.info("Filter inicializado");
     }
     
     /**
@@ -115,7 +121,7 @@ public class DatabaseCheckFilter implements Filter {
             chain.doFilter(request, response);
         } else {
             // Redirigir a la página de configuración
-            System.out.println("[DatabaseCheckFilter] Base de datos no disponible, redirigiendo a setup");
+            LOG.warn("Base de datos no disponible, redirigiendo a setup");
             httpResponse.sendRedirect(contextPath + SETUP_PATH);
         }
     }
@@ -163,13 +169,31 @@ public class DatabaseCheckFilter implements Filter {
      * el resultado durante 30 segundos. Solo se realiza una nueva verificación si
      * el caché ha expirado.</p>
      * 
+     * <p>El {@link CircuitBreaker} de {@link ConexionBD} tiene prioridad sobre el caché:
+     * mientras dura {@code circuit.openMs} la base de datos se considera no disponible
+     * sin intentar conectar. Pasado ese tiempo se verifica de nuevo sin mirar el caché,
+     * y esa verificación es el intento de prueba que puede cerrar el circuito. Si el
+     * circuito cambió de estado desde la última verificación, el caché se descarta.</p>
+     * 
      * @return true si la base de datos está disponible, false en caso contrario
      */
     private boolean isDatabaseAvailable() {
         long now = System.currentTimeMillis();
         
+        CircuitBreaker breaker = getCircuitBreaker();
+        boolean probeDue = false;
+        if (breaker != null && breaker.getState() == CircuitBreaker.State.OPEN) {
+            if (breaker.getRetryInMillis() > 0) {
+                // Fail-fast: el circuito ya sabe que la base de datos no responde
+                return false;
+            }
+            // Terminó el tiempo de espera: solo un intento real pasa el circuito a semiabierto
+            probeDue = true;
+        }
+        
         // Si tenemos un resultado cacheado y no ha pasado el intervalo, usar el cache
-        if (databaseAvailable != null && (now - lastCheck) < CHECK_INTERVAL_MS) {
+        boolean circuitChanged = breaker != null && breaker.getLastTransitionMillis() > lastCheck;
+        if (databaseAvailable != null && (now - lastCheck) < CHECK_INTERVAL_MS && !circuitChanged && !probeDue) {
             return databaseAvailable;
         }
         
@@ -180,18 +204,27 @@ public class DatabaseCheckFilter implements Filter {
             lastCheck = now;
             
             if (!available) {
-                System.err.println("[DatabaseCheckFilter] Verificación de BD falló");
+                LOG.warn("Verificación de BD falló");
             }
             
             return available;
         } catch (Exception e) {
-            System.err.println("[DatabaseCheckFilter] Error al verificar BD: " + e.getMessage());
+            LOG.warn("Error al verificar BD: " + e.getMessage());
             databaseAvailable = false;
             lastCheck = now;
             return false;
         }
     }
     
+    /**
+     * Obtiene el interruptor de circuito de la base de datos, o null si {@link ConexionBD}
+     * todavía no se creó. No la crea: eso lo hace la verificación cuando corresponde.
+     */
+    private CircuitBreaker getCircuitBreaker() {
+        ConexionBD conexionBD = ConexionBD.getInstanciaExistente();
+        return conexionBD != null ? conexionBD.getCircuitBreaker() : null;
+    }
+    
     /**
      * Invalida el caché de disponibilidad de base de datos.
      * 
@@ -209,6 +242,6 @@ public class DatabaseCheckFilter implements Filter {
      */
     @Override
     public void destroy() {
-        System.out.println("[DatabaseCheckFilter] Filter destruido");
+        LOG.info("Filter destruido");
     }
 }
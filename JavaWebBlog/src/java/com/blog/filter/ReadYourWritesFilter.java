@@ -0,0 +1,97 @@
+package com.blog.filter;
+
+import com.blog.dao.SessionConsistency;
+import com.blog.util.Log;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+
+/**
+ * Filtro que mantiene la consistencia "leer lo que uno mismo escribió" por sesión.
+ *
+ * <p>Las lecturas de los DAOs pueden ir a réplicas que aplican las escrituras con
+ * retraso. Este filtro guarda en la sesión HTTP el momento de la última escritura de
+ * cada usuario y lo entrega a {@link SessionConsistency} al comenzar cada petición,
+ * de modo que las lecturas posteriores a una escritura se sirvan desde la base de
+ * datos principal durante {@code db.replica.stickyMs}.</p>
+ *
+ * <h3>Funcionamiento:</h3>
+ * <ol>
+ *   <li>Antes de la petición: lee el atributo {@value #LAST_WRITE_ATTRIBUTE} de la sesión</li>
+ *   <li>Durante la petición: las escrituras de los DAOs actualizan el valor</li>
+ *   <li>Después de la petición: si hubo una escritura, la guarda en la sesión</li>
+ * </ol>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Este filtro solo transporta el
+ *   momento de la última escritura entre la sesión y la capa de datos; la decisión de
+ *   a qué base de datos leer la toma {@link com.blog.dao.ConexionBD}.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.SessionConsistency
+ * @see com.blog.dao.ConexionBD#getConexionLectura()
+ */
+public class ReadYourWritesFilter implements Filter {
+
+    private static final Log LOG = Log.get(ReadYourWritesFilter.class);
+
+    /** Atributo de sesión con el momento de la última escritura (epoch en ms) */
+    public static final String LAST_WRITE_ATTRIBUTE = "blog.lastWriteMillis";
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        LOG.info("Filter inicializado");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        long lastWrite = getLastWrite(httpRequest.getSession(false));
+
+        SessionConsistency.begin(lastWrite);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long updated = SessionConsistency.end();
+            if (updated > lastWrite) {
+                saveLastWrite(httpRequest.getSession(false), updated);
+            }
+        }
+    }
+
+    private long getLastWrite(HttpSession session) {
+        if (session == null) {
+            return 0;
+        }
+        try {
+            Object value = session.getAttribute(LAST_WRITE_ATTRIBUTE);
+            return value instanceof Long ? (Long) value : 0;
+        } catch (IllegalStateException e) {
+            // Sesión invalidada
+            return 0;
+        }
+    }
+
+    private void saveLastWrite(HttpSession session, long lastWrite) {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.setAttribute(LAST_WRITE_ATTRIBUTE, lastWrite);
+        } catch (IllegalStateException e) {
+            // La sesión se invalidó durante la petición (por ejemplo, logout)
+        }
+    }
+
+    @Override
+    public void destroy() {
+        LOG.info("Filter destruido");
+    }
+}
@@ -0,0 +1,114 @@
+package com.blog.importacion;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Nombres de campo y formatos de fecha comunes a los lectores NDJSON y CSV.
+ *
+ * <p>Los campos se aceptan en español y en inglés ({@code titulo}/{@code title},
+ * {@code contenido}/{@code content}, {@code fecha}/{@code date},
+ * {@code autor}/{@code author}), sin distinguir mayúsculas. Los demás se ignoran.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.LectorNdjson
+ * @see com.blog.importacion.LectorCsv
+ */
+final class CamposImportacion {
+
+    /** Formato de MySQL y de {@code wp:post_date} en las exportaciones de WordPress */
+    private static final DateTimeFormatter FORMATO_MYSQL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private CamposImportacion() {
+    }
+
+    /**
+     * Traduce el nombre de un campo del archivo al nombre interno.
+     *
+     * @param nombre Nombre del campo o de la columna
+     * @return "titulo", "contenido", "fecha" o "autor", o null si el campo no se importa
+     */
+    static String normalizar(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        switch (nombre.trim().toLowerCase(Locale.ROOT)) {
+            case "titulo":
+            case "título":
+            case "title":
+                return "titulo";
+            case "contenido":
+            case "content":
+                return "contenido";
+            case "fecha":
+            case "fecha_publicacion":
+            case "date":
+                return "fecha";
+            case "autor":
+            case "author":
+                return "autor";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Construye el registro a partir de los campos ya normalizados.
+     *
+     * @param posicion Línea del registro en el archivo
+     * @param campos Valores por nombre interno ({@link #normalizar(String)})
+     * @return Registro importado
+     * @throws RegistroInvalidoException Si la fecha no tiene un formato reconocido
+     */
+    static RegistroImportado registro(long posicion, Map<String, String> campos) throws RegistroInvalidoException {
+        String fecha = campos.get("fecha");
+        LocalDateTime fechaPublicacion = null;
+        if (fecha != null && !fecha.isBlank()) {
+            fechaPublicacion = parseFecha(fecha.trim());
+            if (fechaPublicacion == null) {
+                throw new RegistroInvalidoException(posicion, "Fecha no reconocida: " + fecha);
+            }
+        }
+        String autor = campos.get("autor");
+        return new RegistroImportado(posicion, campos.get("titulo"), campos.get("contenido"), fechaPublicacion,
+                autor == null || autor.isBlank() ? null : autor.trim());
+    }
+
+    /**
+     * Interpreta una fecha en ISO-8601 (con o sin zona horaria, o solo el día) o en el
+     * formato de MySQL ({@code yyyy-MM-dd HH:mm:ss}). Las fechas con zona se pasan a la
+     * hora local del servidor.
+     *
+     * @param texto Fecha a interpretar
+     * @return La fecha, o null si el formato no se reconoce
+     */
+    static LocalDateTime parseFecha(String texto) {
+        try {
+            return LocalDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            // probar el siguiente formato
+        }
+        try {
+            return OffsetDateTime.parse(texto).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // probar el siguiente formato
+        }
+        try {
+            return LocalDateTime.parse(texto, FORMATO_MYSQL);
+        } catch (DateTimeParseException e) {
+            // probar el siguiente formato
+        }
+        try {
+            return LocalDate.parse(texto).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.blog.importacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Formatos de archivo aceptados por la importación masiva de artículos.
+ *
+ * <ul>
+ *   <li><b>NDJSON:</b> Un objeto JSON por línea con los campos {@code titulo},
+ *   {@code contenido}, {@code fecha} y {@code autor} (también en inglés: {@code title},
+ *   {@code content}, {@code date}, {@code author})</li>
+ *   <li><b>CSV:</b> Primera fila de cabecera con esos mismos nombres de columna,
+ *   separador coma y comillas dobles según RFC 4180</li>
+ *   <li><b>WXR:</b> Exportación XML de WordPress (Herramientas → Exportar); solo se
+ *   importan las entradas ({@code post}) publicadas</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Factory Method:</b> {@link #abrir(InputStream)} crea el lector de cada
+ *   formato. Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.LectorImportacion
+ */
+public enum FormatoImportacion {
+    NDJSON,
+    CSV,
+    WXR;
+
+    /**
+     * Crea el lector de este formato sobre el contenido del archivo.
+     *
+     * @param entrada Contenido del archivo (UTF-8); el lector lo cierra al cerrarse
+     * @return Lector que recorre los registros en streaming
+     * @throws IOException Error al empezar a leer
+     */
+    public LectorImportacion abrir(InputStream entrada) throws IOException {
+        switch (this) {
+            case NDJSON:
+                return new LectorNdjson(entrada);
+            case CSV:
+                return new LectorCsv(entrada);
+            default:
+                return new LectorWxr(entrada);
+        }
+    }
+
+    /**
+     * Deduce el formato de un parámetro del formulario o, si no viene, de la extensión
+     * del archivo subido.
+     *
+     * @param parametro Valor elegido en el formulario ("ndjson", "csv", "wxr"), o null
+     *        para deducirlo
+     * @param nombreArchivo Nombre del archivo subido
+     * @return El formato, o null si no se reconoce
+     */
+    public static FormatoImportacion deducir(String parametro, String nombreArchivo) {
+        if (parametro != null && !parametro.isBlank() && !"auto".equals(parametro)) {
+            try {
+                return valueOf(parametro.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        if (nombreArchivo == null) {
+            return null;
+        }
+        String nombre = nombreArchivo.toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl") || nombre.endsWith(".json")) {
+            return NDJSON;
+        }
+        if (nombre.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nombre.endsWith(".xml") || nombre.endsWith(".wxr")) {
+            return WXR;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,257 @@
+package com.blog.importacion;
+
+import com.blog.dao.IArticuloDAO;
+import com.blog.dao.IUsuarioDAO;
+import com.blog.dao.LoteInterrumpidoException;
+import com.blog.model.Articulo;
+import com.blog.model.Usuario;
+import com.blog.util.Log;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Importa artículos en masa desde un {@link LectorImportacion}.
+ *
+ * <p>Lee los registros de uno en uno, los valida, asigna el autor y los acumula hasta
+ * completar un lote, que guarda con {@link IArticuloDAO#crearLote(List)}. En memoria
+ * solo hay un lote a la vez, de modo que un archivo de cientos de miles de artículos se
+ * importa con memoria acotada y a la velocidad de las inserciones por lotes.</p>
+ *
+ * <h3>Reglas:</h3>
+ * <ul>
+ *   <li><b>Validación:</b> Título y contenido son obligatorios, el título admite hasta
+ *   {@link #MAX_TITULO} caracteres y el contenido hasta {@link #MAX_BYTES_CONTENIDO}
+ *   bytes (columna {@code TEXT}). Los registros que no cumplen se omiten y se informan
+ *   en el progreso, sin detener la importación.</li>
+ *   <li><b>Autores:</b> El campo autor se busca como {@code username} en
+ *   {@code usuarios}; los artículos sin autor o con un autor que no existe quedan a
+ *   nombre del administrador que importa. Cada autor se busca una sola vez.</li>
+ *   <li><b>Fechas:</b> Un registro sin fecha se publica con la fecha actual.</li>
+ *   <li><b>Errores de base de datos:</b> Detienen la importación. Los lotes anteriores
+ *   quedan guardados y el progreso indica en qué registro continuar.</li>
+ *   <li><b>Cancelación:</b> Si se interrumpe el hilo, la importación se detiene antes
+ *   del siguiente registro.</li>
+ * </ul>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Solo coordina lectura,
+ *   validación y guardado; el formato del archivo es cosa del lector.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>D - Dependency Inversion Principle (DIP):</b> Depende de
+ *   {@link IArticuloDAO}, {@link IUsuarioDAO} y {@link LectorImportacion}.
+ *   Ver Sección 2.1.5 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.importacion.LectorImportacion
+ * @see com.blog.importacion.ProgresoImportacion
+ * @see com.blog.controller.AdminImportarServlet
+ */
+public class ImportadorArticulos {
+
+    private static final Log LOG = Log.get(ImportadorArticulos.class);
+
+    /** Tamaño máximo de un registro del archivo, en caracteres */
+    public static final int MAX_CARACTERES_REGISTRO = 1024 * 1024;
+    /** Longitud máxima del título ({@code articulos.titulo VARCHAR(200)}) */
+    public static final int MAX_TITULO = 200;
+    /** Tamaño máximo del contenido en UTF-8 ({@code articulos.contenido TEXT}) */
+    public static final int MAX_BYTES_CONTENIDO = 65_535;
+    /** Autores distintos recordados; más allá se buscan cada vez */
+    private static final int MAX_AUTORES_EN_CACHE = 10_000;
+
+    private final IArticuloDAO articuloDAO;
+    private final IUsuarioDAO usuarioDAO;
+    private final int tamanoLote;
+    private final int autorPorDefecto;
+    private final Map<String, Integer> autores = new HashMap<>();
+
+    /**
+     * @param articuloDAO DAO donde se guardan los artículos
+     * @param usuarioDAO DAO donde se buscan los autores
+     * @param tamanoLote Artículos por lote
+     * @param autorPorDefecto ID del usuario al que se asignan los artículos sin autor
+     *        conocido (el administrador que importa)
+     */
+    public ImportadorArticulos(IArticuloDAO articuloDAO, IUsuarioDAO usuarioDAO, int tamanoLote,
+            int autorPorDefecto) {
+        this.articuloDAO = articuloDAO;
+        this.usuarioDAO = usuarioDAO;
+        this.tamanoLote = Math.max(1, tamanoLote);
+        this.autorPorDefecto = autorPorDefecto;
+    }
+
+    /**
+     * Importa un archivo completo: abre el lector del formato sobre el archivo, cuenta
+     * los bytes leídos para el porcentaje del progreso y cierra el archivo al terminar.
+     * No lanza excepciones: el resultado queda en el progreso.
+     *
+     * @param formato Formato del archivo
+     * @param archivo Archivo a importar
+     * @param progreso Progreso donde se informa cada paso
+     */
+    public void importar(FormatoImportacion formato, Path archivo, ProgresoImportacion progreso) {
+        try (LectorImportacion lector = formato.abrir(
+                progreso.contar(new BufferedInputStream(Files.newInputStream(archivo))))) {
+            importar(lector, progreso);
+        } catch (IOException e) {
+            if (progreso.isEnCurso()) {
+                progreso.terminar(ProgresoImportacion.Estado.FALLIDA, "No se pudo leer el archivo: " + e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            // Never leave the import marked as running: it would block the next one
+            LOG.error("Error inesperado importando " + progreso.getArchivo(), e);
+            progreso.terminar(ProgresoImportacion.Estado.FALLIDA, "Error inesperado: " + e);
+        }
+    }
+
+    /**
+     * Importa todos los registros del lector. No lanza excepciones: el resultado (y el
+     * error que la detuvo, si lo hubo) queda en el progreso.
+     *
+     * @param lector Lector del archivo; no se cierra
+     * @param progreso Progreso donde se informa cada paso
+     */
+    public void importar(LectorImportacion lector, ProgresoImportacion progreso) {
+        List<Articulo> lote = new ArrayList<>(tamanoLote);
+        List<Long> posiciones = new ArrayList<>(tamanoLote);
+        try {
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    progreso.terminar(ProgresoImportacion.Estado.CANCELADA,
+                            "Importación cancelada; se guardaron " + progreso.getImportados() + " artículos");
+                    return;
+                }
+                RegistroImportado registro;
+                try {
+                    registro = lector.siguiente();
+                } catch (RegistroInvalidoException e) {
+                    progreso.registroLeido();
+                    progreso.registroOmitido(e.getPosicion(), e.getMessage());
+                    continue;
+                }
+                if (registro == null) {
+                    break;
+                }
+                progreso.registroLeido();
+
+                String motivo = validar(registro);
+                if (motivo != null) {
+                    progreso.registroOmitido(registro.getPosicion(), motivo);
+                    continue;
+                }
+                lote.add(articulo(registro, progreso));
+                posiciones.add(registro.getPosicion());
+                if (lote.size() >= tamanoLote) {
+                    guardar(lote, posiciones, progreso);
+                }
+            }
+            guardar(lote, posiciones, progreso);
+            progreso.terminar(ProgresoImportacion.Estado.COMPLETADA, null);
+            LOG.info("Importación de " + progreso.getArchivo() + " completada: " + progreso.getImportados()
+                    + " artículos, " + progreso.getOmitidos() + " omitidos");
+        } catch (LoteInterrumpidoException e) {
+            long continuar = posiciones.get(e.getConfirmadas());
+            LOG.error("Importación de " + progreso.getArchivo() + " detenida en el registro " + continuar, e);
+            String aviso = e.isTramoIncierto()
+                    ? " Se perdió la confirmación del bloque siguiente: algunos artículos desde ese registro "
+                    + "pueden estar guardados ya; compruébalo antes de continuar para no duplicarlos."
+                    : "";
+            progreso.terminar(ProgresoImportacion.Estado.FALLIDA, "Error de base de datos en el registro "
+                    + continuar + " o posterior (" + e.getCause().getMessage() + "). Los artículos anteriores "
+                    + "quedaron guardados: para continuar, importa el archivo desde ese registro." + aviso);
+        } catch (SQLException e) {
+            long continuar = posiciones.isEmpty() ? -1 : posiciones.get(0);
+            LOG.error("Importación de " + progreso.getArchivo() + " detenida", e);
+            progreso.terminar(ProgresoImportacion.Estado.FALLIDA, "Error de base de datos: " + e.getMessage()
+                    + (continuar < 0 ? "" : ". Los artículos anteriores al registro " + continuar
+                    + " quedaron guardados."));
+        } catch (IOException e) {
+            LOG.warn("Importación de " + progreso.getArchivo() + " detenida: " + e.getMessage());
+            progreso.terminar(ProgresoImportacion.Estado.FALLIDA, "No se pudo leer el archivo: " + e.getMessage()
+                    + ". Se guardaron " + progreso.getImportados() + " artículos.");
+        }
+    }
+
+    /**
+     * @return Motivo por el que el registro no se puede importar, o null si es válido
+     */
+    static String validar(RegistroImportado registro) {
+        String titulo = registro.getTitulo();
+        String contenido = registro.getContenido();
+        if (titulo == null || titulo.isBlank()) {
+            return "falta el título";
+        }
+        if (contenido == null || contenido.isBlank()) {
+            return "falta el contenido";
+        }
+        if (titulo.strip().codePointCount(0, titulo.strip().length()) > MAX_TITULO) {
+            return "el título tiene más de " + MAX_TITULO + " caracteres";
+        }
+        if (contenido.length() > MAX_BYTES_CONTENIDO
+                || contenido.getBytes(StandardCharsets.UTF_8).length > MAX_BYTES_CONTENIDO) {
+            return "el contenido supera los " + MAX_BYTES_CONTENIDO + " bytes";
+        }
+        return null;
+    }
+
+    private Articulo articulo(RegistroImportado registro, ProgresoImportacion progreso) throws SQLException {
+        Articulo articulo = new Articulo();
+        articulo.setTitulo(registro.getTitulo().strip());
+        articulo.setContenido(registro.getContenido());
+        articulo.setFechaPublicacion(registro.getFechaPublicacion() != null
+                ? registro.getFechaPublicacion() : LocalDateTime.now());
+        articulo.setAutorId(autor(registro.getAutor(), progreso));
+        return articulo;
+    }
+
+    /**
+     * @return ID del usuario con ese username, o el autor por defecto
+     */
+    private int autor(String username, ProgresoImportacion progreso) throws SQLException {
+        if (username == null) {
+            progreso.autorNoEncontrado();
+            return autorPorDefecto;
+        }
+        Integer id = autores.get(username);
+        if (id == null) {
+            Usuario usuario = usuarioDAO.buscarPorUsername(username);
+            id = usuario != null ? usuario.getId() : -1;
+            if (autores.size() < MAX_AUTORES_EN_CACHE) {
+                autores.put(username, id);
+            }
+        }
+        if (id < 0) {
+            progreso.autorNoEncontrado();
+            return autorPorDefecto;
+        }
+        return id;
+    }
+
+    private void guardar(List<Articulo> lote, List<Long> posiciones, ProgresoImportacion progreso)
+            throws SQLException {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            articuloDAO.crearLote(lote);
+        } catch (LoteInterrumpidoException e) {
+            progreso.registrosImportados(e.getConfirmadas());
+            throw e;
+        }
+        progreso.registrosImportados(lote.size());
+        lote.clear();
+        posiciones.clear();
+    }
+}
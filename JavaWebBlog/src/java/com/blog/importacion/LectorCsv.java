@@ -0,0 +1,198 @@
+package com.blog.importacion;
+
+import com.blog.exportacion.FormatoExportacion;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector de archivos CSV con fila de cabecera (RFC 4180).
+ *
+ * <p>Los campos entre comillas dobles pueden contener separadores, saltos de línea y
+ * comillas escritas dos veces ({@code ""}), de modo que un artículo con varios párrafos
+ * ocupa varias líneas del archivo. El separador es la coma, o el punto y coma si la
+ * cabecera lo usa (CSV guardado por Excel con configuración regional española).</p>
+ *
+ * <p>Deshace la protección contra fórmulas de la exportación CSV
+ * ({@link FormatoExportacion}): a un campo que empieza por apóstrofos seguidos de
+ * {@code =}, {@code +}, {@code -}, {@code @}, tabulador o retorno de carro se le quita
+ * el primer apóstrofo.</p>
+ *
+ * <p>La cabecera debe tener al menos las columnas {@code titulo} y {@code contenido}
+ * (ver {@link CamposImportacion}); una fila con un número de columnas distinto al de la
+ * cabecera se informa como {@link RegistroInvalidoException}.</p>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.importacion.FormatoImportacion#CSV
+ */
+final class LectorCsv implements LectorImportacion {
+
+    private final BufferedReader reader;
+    private char separador = ',';
+    private String[] columnas;
+    private long linea = 1;
+    private int pendiente = -2;
+
+    LectorCsv(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public RegistroImportado siguiente() throws IOException, RegistroInvalidoException {
+        if (columnas == null) {
+            leerCabecera();
+        }
+        List<String> campos = new ArrayList<>(columnas.length);
+        long inicio;
+        do {
+            inicio = linea;
+            if (!leerFila(campos)) {
+                return null;
+            }
+        } while (campos.size() == 1 && campos.get(0).isEmpty()); // línea en blanco
+
+        if (campos.size() != columnas.length) {
+            throw new RegistroInvalidoException(inicio, "La fila tiene " + campos.size()
+                    + " columnas y la cabecera " + columnas.length);
+        }
+        Map<String, String> valores = new HashMap<>();
+        for (int i = 0; i < columnas.length; i++) {
+            if (columnas[i] != null) {
+                valores.put(columnas[i], sinProteccion(campos.get(i)));
+            }
+        }
+        return CamposImportacion.registro(inicio, valores);
+    }
+
+    /**
+     * Quita el apóstrofo que la exportación añade delante de lo que parece una fórmula.
+     */
+    private static String sinProteccion(String campo) {
+        if (campo.startsWith("'") && FormatoExportacion.pareceFormula(campo)) {
+            return campo.substring(1);
+        }
+        return campo;
+    }
+
+    private void leerCabecera() throws IOException, RegistroInvalidoException {
+        int primero = leer();
+        if (primero != '\uFEFF') {
+            pendiente = primero; // sin marca de orden de bytes
+        }
+        List<String> cabecera = new ArrayList<>();
+        if (!leerFila(cabecera)) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+        if (cabecera.size() == 1 && cabecera.get(0).indexOf(';') >= 0) {
+            separador = ';';
+            cabecera = List.of(cabecera.get(0).split(";", -1));
+        }
+        columnas = new String[cabecera.size()];
+        boolean hayTitulo = false;
+        boolean hayContenido = false;
+        for (int i = 0; i < columnas.length; i++) {
+            columnas[i] = CamposImportacion.normalizar(cabecera.get(i));
+            hayTitulo |= "titulo".equals(columnas[i]);
+            hayContenido |= "contenido".equals(columnas[i]);
+        }
+        if (!hayTitulo || !hayContenido) {
+            throw new IOException("La cabecera del CSV debe tener las columnas titulo y contenido");
+        }
+    }
+
+    /**
+     * Lee una fila completa, que puede ocupar varias líneas si tiene campos entre comillas
+     *
+     * @param campos Lista donde dejar los campos de la fila
+     * @return false al final del archivo
+     */
+    private boolean leerFila(List<String> campos) throws IOException, RegistroInvalidoException {
+        campos.clear();
+        int c = leer();
+        if (c < 0) {
+            return false;
+        }
+        long inicio = linea;
+        StringBuilder campo = new StringBuilder();
+        int caracteres = 0;
+        boolean inicioDeCampo = true;
+        boolean entreComillas = false;
+        boolean demasiadoLarga = false;
+        while (true) {
+            if (c < 0) {
+                if (entreComillas) {
+                    throw new IOException("Comillas sin cerrar en el campo que empieza en la línea " + inicio);
+                }
+                break;
+            }
+            if (c == '\n') {
+                linea++;
+            }
+            if (++caracteres > ImportadorArticulos.MAX_CARACTERES_REGISTRO && !demasiadoLarga) {
+                // seguir leyendo hasta el final de la fila, sin guardarla
+                demasiadoLarga = true;
+                campo.setLength(0);
+            }
+            if (entreComillas) {
+                if (c == '"') {
+                    int siguiente = leer();
+                    if (siguiente == '"') {
+                        agregar(campo, '"', demasiadoLarga);
+                    } else {
+                        entreComillas = false;
+                        pendiente = siguiente;
+                    }
+                } else {
+                    agregar(campo, c, demasiadoLarga);
+                }
+            } else if (c == '"' && inicioDeCampo) {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                inicioDeCampo = true;
+                c = leer();
+                continue;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                agregar(campo, c, demasiadoLarga);
+            }
+            inicioDeCampo = false;
+            c = leer();
+        }
+        campos.add(campo.toString());
+        if (demasiadoLarga) {
+            throw new RegistroInvalidoException(inicio, "Fila de más de "
+                    + ImportadorArticulos.MAX_CARACTERES_REGISTRO + " caracteres");
+        }
+        return true;
+    }
+
+    private static void agregar(StringBuilder campo, int c, boolean descartar) {
+        if (!descartar) {
+            campo.append((char) c);
+        }
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != -2) {
+            int c = pendiente;
+            pendiente = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
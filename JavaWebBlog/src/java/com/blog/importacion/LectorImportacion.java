@@ -0,0 +1,42 @@
+package com.blog.importacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lector en streaming de los registros de un archivo de importación.
+ *
+ * <p>Cada llamada a {@link #siguiente()} lee del archivo solo lo necesario para el
+ * siguiente registro: la memoria usada depende del tamaño del artículo más grande, no
+ * del tamaño del archivo.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>O - Open/Closed Principle (OCP):</b> Un formato nuevo es una implementación
+ *   nueva; {@link ImportadorArticulos} no cambia. Ver Sección 2.1.2 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>D - Dependency Inversion Principle (DIP):</b> El importador depende de esta
+ *   abstracción, no de un formato concreto. Ver Sección 2.1.5 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Iterator:</b> Recorre los registros de uno en uno sin exponer el formato.
+ *   Ver Sección 2.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.FormatoImportacion#abrir(java.io.InputStream)
+ */
+public interface LectorImportacion extends Closeable {
+
+    /**
+     * Lee el siguiente registro del archivo.
+     *
+     * @return El registro, o null al llegar al final del archivo
+     * @throws RegistroInvalidoException Si el registro no se pudo interpretar; la
+     *         siguiente llamada continúa con el registro posterior
+     * @throws IOException Error de lectura o archivo mal formado; no se puede continuar
+     */
+    RegistroImportado siguiente() throws IOException, RegistroInvalidoException;
+}
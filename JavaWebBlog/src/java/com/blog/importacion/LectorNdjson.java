@@ -0,0 +1,238 @@
+package com.blog.importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lector de archivos NDJSON (un objeto JSON por línea).
+ *
+ * <p>Lee el archivo línea a línea e interpreta cada una con un analizador JSON mínimo:
+ * objetos planos cuyos valores son textos, números, booleanos o null. Los valores
+ * anidados (objetos y listas) se aceptan pero se ignoran. Las líneas en blanco se saltan
+ * y una línea con JSON inválido se informa como {@link RegistroInvalidoException} sin
+ * detener la lectura de las siguientes.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.FormatoImportacion#NDJSON
+ */
+final class LectorNdjson implements LectorImportacion {
+
+    private final BufferedReader reader;
+    private final StringBuilder linea = new StringBuilder();
+    private long numeroLinea;
+
+    LectorNdjson(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public RegistroImportado siguiente() throws IOException, RegistroInvalidoException {
+        while (leerLinea()) {
+            String texto = linea.toString().strip();
+            if (numeroLinea == 1 && texto.startsWith("\uFEFF")) {
+                texto = texto.substring(1);
+            }
+            if (texto.isEmpty()) {
+                continue;
+            }
+            return CamposImportacion.registro(numeroLinea, new Analizador(texto, numeroLinea).objeto());
+        }
+        return null;
+    }
+
+    /**
+     * Lee la siguiente línea en {@link #linea}, sin pasar de
+     * {@link ImportadorArticulos#MAX_CARACTERES_REGISTRO}
+     *
+     * @return false al final del archivo
+     */
+    private boolean leerLinea() throws IOException, RegistroInvalidoException {
+        linea.setLength(0);
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+        numeroLinea++;
+        boolean demasiadoLarga = false;
+        while (c >= 0 && c != '\n') {
+            if (linea.length() < ImportadorArticulos.MAX_CARACTERES_REGISTRO) {
+                linea.append((char) c);
+            } else {
+                demasiadoLarga = true; // descartar el resto de la línea
+            }
+            c = reader.read();
+        }
+        if (demasiadoLarga) {
+            linea.setLength(0);
+            throw new RegistroInvalidoException(numeroLinea, "Línea de más de "
+                    + ImportadorArticulos.MAX_CARACTERES_REGISTRO + " caracteres");
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Analizador JSON de una línea
+     */
+    private static final class Analizador {
+        private final String texto;
+        private final long posicion;
+        private int i;
+
+        Analizador(String texto, long posicion) {
+            this.texto = texto;
+            this.posicion = posicion;
+        }
+
+        Map<String, String> objeto() throws RegistroInvalidoException {
+            Map<String, String> campos = new HashMap<>();
+            esperar('{');
+            espacios();
+            if (!consumir('}')) {
+                do {
+                    espacios();
+                    String nombre = cadena();
+                    espacios();
+                    esperar(':');
+                    espacios();
+                    String valor = valor();
+                    String campo = CamposImportacion.normalizar(nombre);
+                    if (campo != null) {
+                        campos.put(campo, valor);
+                    }
+                    espacios();
+                } while (consumir(','));
+                esperar('}');
+            }
+            espacios();
+            if (i < texto.length()) {
+                throw error("contenido después del objeto");
+            }
+            return campos;
+        }
+
+        /** @return El valor como texto (null para null y para objetos y listas) */
+        private String valor() throws RegistroInvalidoException {
+            if (i >= texto.length()) {
+                throw error("falta un valor");
+            }
+            char c = texto.charAt(i);
+            if (c == '"') {
+                return cadena();
+            }
+            if (c == '{' || c == '[') {
+                saltarAnidado();
+                return null;
+            }
+            int inicio = i;
+            while (i < texto.length() && ",}] \t\r".indexOf(texto.charAt(i)) < 0) {
+                i++;
+            }
+            String literal = texto.substring(inicio, i);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                return literal;
+            }
+            throw error("valor no válido '" + literal + "'");
+        }
+
+        private String cadena() throws RegistroInvalidoException {
+            esperar('"');
+            StringBuilder sb = new StringBuilder();
+            while (i < texto.length()) {
+                char c = texto.charAt(i++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (i >= texto.length()) {
+                    break;
+                }
+                char e = texto.charAt(i++);
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        sb.append(e);
+                        break;
+                    case 'u':
+                        if (i + 4 > texto.length()) {
+                            throw error("escape \\u incompleto");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(texto.substring(i, i + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("escape \\u no válido");
+                        }
+                        i += 4;
+                        break;
+                    default:
+                        throw error("escape \\" + e + " no válido");
+                }
+            }
+            throw error("texto sin cerrar");
+        }
+
+        private void saltarAnidado() throws RegistroInvalidoException {
+            int profundidad = 0;
+            while (i < texto.length()) {
+                char c = texto.charAt(i);
+                if (c == '"') {
+                    cadena();
+                    continue;
+                }
+                i++;
+                if (c == '{' || c == '[') {
+                    profundidad++;
+                } else if ((c == '}' || c == ']') && --profundidad == 0) {
+                    return;
+                }
+            }
+            throw error("objeto o lista sin cerrar");
+        }
+
+        private void espacios() {
+            while (i < texto.length() && Character.isWhitespace(texto.charAt(i))) {
+                i++;
+            }
+        }
+
+        private boolean consumir(char c) {
+            if (i < texto.length() && texto.charAt(i) == c) {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        private void esperar(char c) throws RegistroInvalidoException {
+            if (!consumir(c)) {
+                throw error("se esperaba '" + c + "'");
+            }
+        }
+
+        private RegistroInvalidoException error(String detalle) {
+            return new RegistroInvalidoException(posicion, "JSON no válido (columna " + (i + 1) + "): " + detalle);
+        }
+    }
+}
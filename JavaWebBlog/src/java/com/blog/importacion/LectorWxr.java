@@ -0,0 +1,173 @@
+package com.blog.importacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Lector de exportaciones de WordPress (WXR, "WordPress eXtended RSS").
+ *
+ * <p>Recorre el XML con StAX, evento a evento, de modo que un archivo de cientos de
+ * megas no se carga entero en memoria. De cada {@code <item>} toma {@code title},
+ * {@code content:encoded}, {@code wp:post_date} y {@code dc:creator} (el login del autor
+ * en WordPress). Solo devuelve las entradas ({@code wp:post_type = post}) publicadas
+ * ({@code wp:status = publish}); páginas, adjuntos, menús y borradores se saltan.</p>
+ *
+ * <p>El analizador no procesa DTD ni entidades externas: un archivo subido no puede
+ * leer archivos del servidor ni hacer peticiones de red (XXE).</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.FormatoImportacion#WXR
+ */
+final class LectorWxr implements LectorImportacion {
+
+    private static final String NS_CONTENT = "http://purl.org/rss/1.0/modules/content/";
+    private static final String NS_WP = "http://wordpress.org/export/";
+    private static final String NS_DC = "http://purl.org/dc/elements/1.1/";
+
+    private final InputStream entrada;
+    private final XMLStreamReader xml;
+    private long entradas;
+
+    LectorWxr(InputStream entrada) throws IOException {
+        this.entrada = entrada;
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        try {
+            this.xml = factory.createXMLStreamReader(entrada, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IOException("XML no válido: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public RegistroImportado siguiente() throws IOException, RegistroInvalidoException {
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "item".equals(xml.getLocalName())) {
+                    entradas++;
+                    RegistroImportado registro = leerItem();
+                    if (registro != null) {
+                        return registro;
+                    }
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("XML no válido en la entrada " + entradas + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee un {@code <item>} hasta su cierre
+     *
+     * @return El artículo, o null si el item no es una entrada publicada
+     */
+    private RegistroImportado leerItem() throws XMLStreamException, RegistroInvalidoException {
+        String titulo = null;
+        String contenido = null;
+        String fecha = null;
+        String autor = null;
+        String tipo = null;
+        String estado = null;
+        boolean demasiadoLargo = false;
+
+        int profundidad = 0;
+        while (xml.hasNext()) {
+            int evento = xml.next();
+            if (evento == XMLStreamConstants.END_ELEMENT) {
+                if (profundidad == 0) {
+                    break; // </item>
+                }
+                profundidad--;
+            } else if (evento == XMLStreamConstants.START_ELEMENT) {
+                if (profundidad > 0) {
+                    profundidad++; // dentro de wp:postmeta, wp:comment, ...
+                    continue;
+                }
+                String nombre = xml.getLocalName();
+                String ns = xml.getNamespaceURI() == null ? "" : xml.getNamespaceURI();
+                if ("title".equals(nombre) && ns.isEmpty()) {
+                    titulo = texto();
+                } else if ("encoded".equals(nombre) && ns.equals(NS_CONTENT)) {
+                    contenido = texto();
+                    demasiadoLargo |= contenido == null;
+                } else if ("creator".equals(nombre) && ns.equals(NS_DC)) {
+                    autor = texto();
+                } else if (ns.startsWith(NS_WP) && "post_date".equals(nombre)) {
+                    fecha = texto();
+                } else if (ns.startsWith(NS_WP) && "post_type".equals(nombre)) {
+                    tipo = texto();
+                } else if (ns.startsWith(NS_WP) && "status".equals(nombre)) {
+                    estado = texto();
+                } else {
+                    profundidad++;
+                }
+            }
+        }
+
+        if ((tipo != null && !"post".equals(tipo.trim())) || (estado != null && !"publish".equals(estado.trim()))) {
+            return null;
+        }
+        if (demasiadoLargo) {
+            throw new RegistroInvalidoException(entradas, "Contenido de más de "
+                    + ImportadorArticulos.MAX_CARACTERES_REGISTRO + " caracteres");
+        }
+        LocalDateTime fechaPublicacion = null;
+        if (fecha != null && !fecha.isBlank() && !fecha.startsWith("0000")) {
+            fechaPublicacion = CamposImportacion.parseFecha(fecha.trim());
+            if (fechaPublicacion == null) {
+                throw new RegistroInvalidoException(entradas, "Fecha no reconocida: " + fecha);
+            }
+        }
+        return new RegistroImportado(entradas, titulo, contenido, fechaPublicacion,
+                autor == null || autor.isBlank() ? null : autor.trim());
+    }
+
+    /**
+     * Lee el texto de un elemento sin hijos hasta su cierre, sin pasar de
+     * {@link ImportadorArticulos#MAX_CARACTERES_REGISTRO}
+     *
+     * @return El texto, o null si supera el límite
+     */
+    private String texto() throws XMLStreamException {
+        StringBuilder sb = new StringBuilder();
+        boolean demasiadoLargo = false;
+        int profundidad = 0;
+        while (xml.hasNext()) {
+            int evento = xml.next();
+            if (evento == XMLStreamConstants.END_ELEMENT) {
+                if (profundidad-- == 0) {
+                    break;
+                }
+            } else if (evento == XMLStreamConstants.START_ELEMENT) {
+                profundidad++;
+            } else if (xml.hasText() && evento != XMLStreamConstants.COMMENT && !demasiadoLargo) {
+                if (sb.length() + xml.getTextLength() > ImportadorArticulos.MAX_CARACTERES_REGISTRO) {
+                    demasiadoLargo = true;
+                    sb.setLength(0);
+                } else {
+                    sb.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                }
+            }
+        }
+        return demasiadoLargo ? null : sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            // el flujo de entrada se cierra igualmente
+        }
+        entrada.close();
+    }
+}
@@ -0,0 +1,217 @@
+package com.blog.importacion;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de una importación masiva, actualizado por el hilo que importa y consultado
+ * por las peticiones que muestran el progreso.
+ *
+ * <p>El porcentaje se calcula con los bytes del archivo ya leídos
+ * ({@link #contar(InputStream)}), que es lo único que se conoce de antemano sin
+ * recorrer el archivo dos veces. Los errores de registros concretos se guardan hasta
+ * {@link #MAX_ERRORES}; el resto solo se cuenta.</p>
+ *
+ * <p>Es thread-safe: un único hilo escribe y cualquier hilo puede leer.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.ImportadorArticulos
+ */
+public class ProgresoImportacion {
+
+    /** Número máximo de mensajes de error guardados */
+    public static final int MAX_ERRORES = 50;
+
+    /**
+     * Estado de la importación
+     */
+    public enum Estado {
+        EN_CURSO,
+        COMPLETADA,
+        FALLIDA,
+        CANCELADA
+    }
+
+    private final String archivo;
+    private final FormatoImportacion formato;
+    private final long bytesTotales;
+    private final Instant inicio = Instant.now();
+    private final AtomicLong bytesLeidos = new AtomicLong();
+    private final List<String> errores = new ArrayList<>();
+
+    private volatile long leidos;
+    private volatile long importados;
+    private volatile long omitidos;
+    private volatile long sinAutor;
+    private volatile Estado estado = Estado.EN_CURSO;
+    private volatile String mensaje;
+    private volatile Instant fin;
+
+    /**
+     * @param archivo Nombre del archivo subido
+     * @param formato Formato del archivo
+     * @param bytesTotales Tamaño del archivo en bytes
+     */
+    public ProgresoImportacion(String archivo, FormatoImportacion formato, long bytesTotales) {
+        this.archivo = archivo;
+        this.formato = formato;
+        this.bytesTotales = bytesTotales;
+    }
+
+    /**
+     * Envuelve el contenido del archivo para contar los bytes leídos.
+     *
+     * @param entrada Contenido del archivo
+     * @return Flujo que actualiza el porcentaje de este progreso al leerse
+     */
+    public InputStream contar(InputStream entrada) {
+        return new FilterInputStream(entrada) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesLeidos.incrementAndGet();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    bytesLeidos.addAndGet(n);
+                }
+                return n;
+            }
+        };
+    }
+
+    void registroLeido() {
+        leidos++;
+    }
+
+    void registrosImportados(int filas) {
+        importados += filas;
+    }
+
+    void autorNoEncontrado() {
+        sinAutor++;
+    }
+
+    void registroOmitido(long posicion, String motivo) {
+        omitidos++;
+        synchronized (errores) {
+            if (errores.size() < MAX_ERRORES) {
+                errores.add("Registro " + posicion + ": " + motivo);
+            }
+        }
+    }
+
+    void terminar(Estado estadoFinal, String mensajeFinal) {
+        this.mensaje = mensajeFinal;
+        this.fin = Instant.now();
+        this.estado = estadoFinal;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public FormatoImportacion getFormato() {
+        return formato;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public boolean isEnCurso() {
+        return estado == Estado.EN_CURSO;
+    }
+
+    /**
+     * @return Porcentaje del archivo ya leído (100 al terminar)
+     */
+    public int getPorcentaje() {
+        if (!isEnCurso() || bytesTotales <= 0) {
+            return isEnCurso() ? 0 : 100;
+        }
+        return (int) Math.min(99, bytesLeidos.get() * 100 / bytesTotales);
+    }
+
+    /**
+     * @return Registros encontrados en el archivo, válidos o no
+     */
+    public long getLeidos() {
+        return leidos;
+    }
+
+    /**
+     * @return Artículos ya guardados en la base de datos
+     */
+    public long getImportados() {
+        return importados;
+    }
+
+    /**
+     * @return Registros descartados por no ser válidos
+     */
+    public long getOmitidos() {
+        return omitidos;
+    }
+
+    /**
+     * @return Artículos guardados a nombre del administrador que importa porque su
+     *         autor no existe en {@code usuarios}
+     */
+    public long getSinAutor() {
+        return sinAutor;
+    }
+
+    /**
+     * @return Los primeros {@link #MAX_ERRORES} motivos de registros omitidos
+     */
+    public List<String> getErrores() {
+        synchronized (errores) {
+            return new ArrayList<>(errores);
+        }
+    }
+
+    /**
+     * @return Registros omitidos cuyo motivo no se guardó
+     */
+    public long getErroresNoMostrados() {
+        return Math.max(0, omitidos - MAX_ERRORES);
+    }
+
+    /**
+     * @return Mensaje final (error que detuvo la importación), o null
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * @return Segundos transcurridos desde el inicio (hasta el final, si terminó)
+     */
+    public long getSegundos() {
+        Instant hasta = fin != null ? fin : Instant.now();
+        return Duration.between(inicio, hasta).getSeconds();
+    }
+
+    /**
+     * @return Artículos guardados por segundo
+     */
+    public long getArticulosPorSegundo() {
+        Instant hasta = fin != null ? fin : Instant.now();
+        long ms = Math.max(1, Duration.between(inicio, hasta).toMillis());
+        return importados * 1000 / ms;
+    }
+}
@@ -0,0 +1,70 @@
+package com.blog.importacion;
+
+import java.time.LocalDateTime;
+
+/**
+ * Artículo leído de un archivo de importación, antes de validarlo y de asignarle autor.
+ *
+ * <p>Los tres formatos ({@link FormatoImportacion}) se traducen a este mismo registro,
+ * de modo que {@link ImportadorArticulos} no depende del formato del archivo. Los campos
+ * se guardan tal como vienen: la validación (título y contenido obligatorios, longitud
+ * del título) la hace el importador.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.LectorImportacion
+ */
+public final class RegistroImportado {
+
+    private final long posicion;
+    private final String titulo;
+    private final String contenido;
+    private final LocalDateTime fechaPublicacion;
+    private final String autor;
+
+    /**
+     * @param posicion Línea (NDJSON, CSV) o número de entrada (WXR) del registro en el
+     *        archivo, para los mensajes de error
+     * @param titulo Título del artículo
+     * @param contenido Contenido del artículo
+     * @param fechaPublicacion Fecha de publicación, o null si el archivo no la trae
+     * @param autor Username del autor, o null si el archivo no lo trae
+     */
+    public RegistroImportado(long posicion, String titulo, String contenido, LocalDateTime fechaPublicacion,
+            String autor) {
+        this.posicion = posicion;
+        this.titulo = titulo;
+        this.contenido = contenido;
+        this.fechaPublicacion = fechaPublicacion;
+        this.autor = autor;
+    }
+
+    public long getPosicion() {
+        return posicion;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getContenido() {
+        return contenido;
+    }
+
+    public LocalDateTime getFechaPublicacion() {
+        return fechaPublicacion;
+    }
+
+    public String getAutor() {
+        return autor;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroImportado{" +
+                "posicion=" + posicion +
+                ", titulo='" + titulo + '\'' +
+                ", autor='" + autor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package com.blog.importacion;
+
+/**
+ * Indica que un registro del archivo de importación no se pudo interpretar, pero que el
+ * lector puede continuar con el siguiente.
+ *
+ * <p>Los errores que impiden seguir leyendo (XML mal formado, comillas sin cerrar al
+ * final de un CSV, fallo de E/S) se lanzan como {@link java.io.IOException} y detienen
+ * la importación.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.importacion.LectorImportacion#siguiente()
+ */
+public class RegistroInvalidoException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long posicion;
+
+    /**
+     * @param posicion Línea o número de entrada del registro en el archivo
+     * @param mensaje Descripción del problema
+     */
+    public RegistroInvalidoException(long posicion, String mensaje) {
+        super(mensaje);
+        this.posicion = posicion;
+    }
+
+    public long getPosicion() {
+        return posicion;
+    }
+}
@@ -0,0 +1,70 @@
+package com.blog.listener;
+
+import com.blog.dao.ConexionBD;
+import com.blog.dao.DAOFactory;
+import com.blog.dao.MySQLArticuloDAO;
+import com.blog.dao.MySQLUsuarioDAO;
+import com.blog.util.Log;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+
+/**
+ * Listener que acompaña el pool de conexiones durante el ciclo de vida de la aplicación.
+ *
+ * <p>Sin este listener el pool se crea con la primera petición, que paga la apertura
+ * de todas las conexiones iniciales y la preparación de cada consulta; y al replegar
+ * la aplicación las conexiones quedan abiertas hasta que MySQL las descarta.</p>
+ *
+ * <h3>Funcionamiento:</h3>
+ * <ol>
+ *   <li>Al desplegar: crea {@link ConexionBD}, que abre en paralelo las conexiones
+ *   iniciales de cada pool</li>
+ *   <li>Prepara en esas conexiones las consultas frecuentes de los DAOs, dejándolas en
+ *   la caché de statements</li>
+ *   <li>Al replegar: vacía el pool de forma ordenada, esperando hasta
+ *   {@code pool.drainTimeoutSeconds} a que terminen las peticiones en curso, y detiene
+ *   el hilo que reconstruye la portada y el hilo escritor de {@link Log}</li>
+ * </ol>
+ *
+ * <p>Si la base de datos no está disponible al desplegar, el error solo se registra:
+ * la aplicación arranca igualmente y {@link com.blog.filter.DatabaseCheckFilter}
+ * lleva al usuario a {@code /setup}.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Este listener solo decide
+ *   cuándo se crea y se cierra el pool; cómo se hace lo resuelve {@link ConexionBD}.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.1
+ * @since 2026-10-18
+ * @see com.blog.dao.ConexionBD#cerrarInstancia()
+ * @see com.blog.dao.ConexionBD#precalentarStatements(java.util.Collection)
+ */
+public class PoolLifecycleListener implements ServletContextListener {
+
+    private static final Log LOG = Log.get(PoolLifecycleListener.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        long start = System.nanoTime();
+        try {
+            ConexionBD.getInstancia();
+            new MySQLArticuloDAO().precalentar();
+            new MySQLUsuarioDAO().precalentar();
+            LOG.info("Pool listo en " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudo preparar el pool al desplegar: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        LOG.info("Replegando aplicación, vaciando el pool...");
+        DAOFactory.cerrar();
+        ConexionBD.cerrarInstancia();
+        // Último paso: escribir lo pendiente y detener el hilo del log
+        Log.shutdown();
+    }
+}
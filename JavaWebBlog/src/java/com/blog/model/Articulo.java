@@ -34,7 +34,7 @@ import java.time.format.DateTimeFormatter;
  * 
  * @author Dylan David Silva Orrego
  * @author Maria Alejandra Munevar Barrera
- * @version 1.0
+ * @version 1.1
  * @since 2025-12-09
  * @see com.blog.dao.IArticuloDAO
  * @see com.blog.dao.MySQLArticuloDAO
@@ -48,6 +48,7 @@ public class Articulo implements Serializable {
     private LocalDateTime fechaPublicacion;
     private int autorId;
     private String autorNombre; // Campo auxiliar para mostrar el nombre del autor
+    private String autorUsername; // Campo auxiliar para exportar el autor
 
     /**
      * Constructor sin argumentos requerido para la compatibilidad con JavaBeans.
@@ -181,6 +182,26 @@ public class Articulo implements Serializable {
         this.autorNombre = autorNombre;
     }
 
+    /**
+     * Obtiene el username del autor del artículo.
+     * Este campo es auxiliar y solo lo rellena el recorrido completo de la tabla, para
+     * que una exportación pueda volver a importarse con el mismo autor.
+     * 
+     * @return Username del autor o null si no se ha cargado o el autor ya no existe
+     */
+    public String getAutorUsername() {
+        return autorUsername;
+    }
+
+    /**
+     * Establece el username del autor del artículo.
+     * 
+     * @param autorUsername Username del autor
+     */
+    public void setAutorUsername(String autorUsername) {
+        this.autorUsername = autorUsername;
+    }
+
     /**
      * Obtiene la fecha de publicación formateada para su visualización.
      * 
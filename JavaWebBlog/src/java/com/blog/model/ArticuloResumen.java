@@ -0,0 +1,158 @@
+package com.blog.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Vista resumida de un artículo para los listados (portada y panel de administración).
+ *
+ * <p>Lleva todo lo que muestran las tarjetas y las filas del listado salvo el
+ * contenido completo: en su lugar trae un extracto de como mucho
+ * {@link #LONGITUD_EXTRACTO} caracteres que se calcula una sola vez, al guardar el
+ * artículo, y se almacena en la columna {@code articulos.extracto}. Así los listados no
+ * leen de MySQL ni envían al navegador el cuerpo de cada artículo para luego recortarlo
+ * con CSS.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Solo representa los datos que
+ *   necesita un listado; el artículo completo sigue siendo {@link Articulo}.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ *   <li><b>I - Interface Segregation Principle (ISP):</b> Las vistas de listado dependen
+ *   de un modelo sin el contenido que no usan. Ver Sección 2.1.4 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>MVC (Model):</b> Modelo de lectura de {@code index.jsp} y
+ *   {@code admin/listar.jsp}. Ver Sección 2.4.3 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.model.Articulo
+ * @see com.blog.dao.IArticuloDAO#listarPagina(com.blog.dao.CursorArticulo, int)
+ */
+public class ArticuloResumen implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Longitud máxima del extracto, sin contar los puntos suspensivos */
+    public static final int LONGITUD_EXTRACTO = 300;
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd 'de' MMMM 'de' yyyy, HH:mm");
+
+    private int id;
+    private String titulo;
+    private String extracto;
+    private LocalDateTime fechaPublicacion;
+    private int autorId;
+    private String autorNombre;
+
+    /**
+     * Constructor sin argumentos requerido para la compatibilidad con JavaBeans.
+     */
+    public ArticuloResumen() {
+    }
+
+    /**
+     * Calcula el extracto que se guarda junto al contenido de un artículo.
+     *
+     * <p>Une los saltos de línea y espacios repetidos en un solo espacio y, si el texto
+     * supera {@link #LONGITUD_EXTRACTO} caracteres, lo corta en el último espacio antes
+     * del límite y añade "…".</p>
+     *
+     * @param contenido Contenido completo del artículo
+     * @return Extracto (cadena vacía si el contenido es null)
+     */
+    public static String extraer(String contenido) {
+        if (contenido == null) {
+            return "";
+        }
+        String texto = contenido.replaceAll("\\s+", " ").trim();
+        if (texto.length() <= LONGITUD_EXTRACTO) {
+            return texto;
+        }
+        int corte = texto.lastIndexOf(' ', LONGITUD_EXTRACTO);
+        if (corte < LONGITUD_EXTRACTO / 2) {
+            corte = LONGITUD_EXTRACTO; // una palabra muy larga: se corta sin más
+        }
+        if (Character.isHighSurrogate(texto.charAt(corte - 1))) {
+            corte--; // no partir un emoji u otro carácter de dos unidades
+        }
+        return texto.substring(0, corte).trim() + "…";
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    /**
+     * @return Extracto del contenido calculado con {@link #extraer(String)}
+     */
+    public String getExtracto() {
+        return extracto;
+    }
+
+    public void setExtracto(String extracto) {
+        this.extracto = extracto;
+    }
+
+    public LocalDateTime getFechaPublicacion() {
+        return fechaPublicacion;
+    }
+
+    public void setFechaPublicacion(LocalDateTime fechaPublicacion) {
+        this.fechaPublicacion = fechaPublicacion;
+    }
+
+    public int getAutorId() {
+        return autorId;
+    }
+
+    public void setAutorId(int autorId) {
+        this.autorId = autorId;
+    }
+
+    public String getAutorNombre() {
+        return autorNombre;
+    }
+
+    public void setAutorNombre(String autorNombre) {
+        this.autorNombre = autorNombre;
+    }
+
+    /**
+     * Obtiene la fecha de publicación formateada igual que
+     * {@link Articulo#getFechaPublicacionFormateada()}.
+     *
+     * @return Fecha formateada o cadena vacía si la fecha es null
+     */
+    public String getFechaPublicacionFormateada() {
+        if (fechaPublicacion == null)
+            return "";
+        return fechaPublicacion.format(FORMATO_FECHA);
+    }
+
+    @Override
+    public String toString() {
+        return "ArticuloResumen{" +
+                "id=" + id +
+                ", titulo='" + titulo + '\'' +
+                ", fechaPublicacion=" + fechaPublicacion +
+                ", autorId=" + autorId +
+                '}';
+    }
+}
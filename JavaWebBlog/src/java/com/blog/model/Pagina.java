@@ -0,0 +1,92 @@
+package com.blog.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Una página de un listado paginado por cursor.
+ *
+ * <p>Contiene los elementos de la página y los tokens que las vistas ponen en los
+ * enlaces "anterior" y "siguiente". Un token null significa que no hay más elementos
+ * en esa dirección, y la vista no muestra el enlace.</p>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>S - Single Responsibility Principle (SRP):</b> Solo transporta los datos de
+ *   una página hasta la vista; cómo se calculan los cursores es asunto del DAO.
+ *   Ver Sección 2.1.1 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>MVC (Model):</b> Representa el Modelo que consumen {@code index.jsp} y
+ *   {@code admin/listar.jsp}. Ver Sección 2.4.3 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * @param <T> Tipo de los elementos
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.dao.IArticuloDAO#listarPagina(com.blog.dao.CursorArticulo, int)
+ * @see com.blog.dao.CursorArticulo
+ */
+public class Pagina<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> elementos;
+    private final String cursorAnterior;
+    private final String cursorSiguiente;
+
+    /**
+     * @param elementos Elementos de la página, en el orden en que se muestran
+     * @param cursorAnterior Token para la página anterior, o null si esta es la primera
+     * @param cursorSiguiente Token para la página siguiente, o null si esta es la última
+     */
+    public Pagina(List<T> elementos, String cursorAnterior, String cursorSiguiente) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.cursorAnterior = cursorAnterior;
+        this.cursorSiguiente = cursorSiguiente;
+    }
+
+    /**
+     * @return Elementos de la página (no modificable)
+     */
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * @return Token para el enlace a la página anterior, o null
+     */
+    public String getCursorAnterior() {
+        return cursorAnterior;
+    }
+
+    /**
+     * @return Token para el enlace a la página siguiente, o null
+     */
+    public String getCursorSiguiente() {
+        return cursorSiguiente;
+    }
+
+    public boolean isHayAnterior() {
+        return cursorAnterior != null;
+    }
+
+    public boolean isHaySiguiente() {
+        return cursorSiguiente != null;
+    }
+
+    public boolean isVacia() {
+        return elementos.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "elementos=" + elementos.size() +
+                ", cursorAnterior='" + cursorAnterior + '\'' +
+                ", cursorSiguiente='" + cursorSiguiente + '\'' +
+                '}';
+    }
+}
@@ -1,11 +1,15 @@
 package com.blog.test;
 
 import com.blog.dao.ConexionBD;
+import com.blog.util.Log;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
 
 public class CheckEncoding {
+
+    private static final Log LOG = Log.get(CheckEncoding.class);
+
     public static void main(String[] args) {
         try (Connection conn = ConexionBD.getInstancia().getConexion();
                 Statement stmt = conn.createStatement();
@@ -25,7 +29,9 @@ public class CheckEncoding {
             System.out.println("------------------------");
 
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.error("DB content check failed", e);
+        } finally {
+            Log.shutdown();
         }
     }
 }
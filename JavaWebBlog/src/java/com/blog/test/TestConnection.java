@@ -1,9 +1,13 @@
 package com.blog.test;
 
 import com.blog.dao.ConexionBD;
+import com.blog.util.Log;
 import java.sql.Connection;
 
 public class TestConnection {
+
+    private static final Log LOG = Log.get(TestConnection.class);
+
     public static void main(String[] args) {
         System.out.println("Testing DB Connection...");
         try {
@@ -16,7 +20,9 @@ public class TestConnection {
             }
         } catch (Exception e) {
             System.out.println("FAILURE: Exception occurred.");
-            e.printStackTrace();
+            LOG.error("Connection test failed", e);
+        } finally {
+            Log.shutdown();
         }
     }
 }
@@ -0,0 +1,417 @@
+package com.blog.util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritor asíncrono detrás de {@link Log}.
+ *
+ * <p>Los hilos que registran un mensaje solo crean un {@link Record} y lo dejan en un
+ * {@link LogRingBuffer}; un único hilo daemon ({@code blog-log-writer}) les da formato y
+ * los escribe en consola y en un {@link RollingFileSink}. Así las peticiones nunca
+ * esperan por el monitor de {@code System.out} ni por el disco. Si el buffer se llena
+ * (el disco no da abasto) los mensajes se descartan y se informa cuántos.</p>
+ *
+ * <h3>Mensajes repetidos:</h3>
+ * <p>Los mensajes que solo se diferencian en sus números (por ejemplo "Nueva conexión
+ * creada. Pool size: 7") se consideran el mismo. De cada uno se escriben como mucho
+ * {@code log.repeat.maxPerSecond} por segundo; el resto se cuenta y, al terminar el
+ * segundo, se escribe una sola línea con el número de repeticiones suprimidas.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.util.Log
+ */
+final class AsyncLogWriter {
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    /** Claves distintas de mensajes repetidos que se vigilan como máximo */
+    private static final int MAX_REPEAT_KEYS = 4096;
+    /** Mensajes que el escritor procesa antes de volcar los archivos */
+    private static final int BATCH_SIZE = 512;
+
+    /**
+     * Un mensaje pendiente de escribir.
+     */
+    static final class Record {
+        final long timestamp;
+        final Log.Level level;
+        final String logger;
+        final String thread;
+        final String message;
+        final Throwable error;
+
+        Record(long timestamp, Log.Level level, String logger, String thread, String message, Throwable error) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.message = message;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Ventana de un segundo de un mensaje repetido. El segundo y el número de mensajes
+     * escritos en él van juntos en un solo {@code long} para actualizarlos con un CAS.
+     */
+    private static final class RepeatWindow {
+        final String logger;
+        final Log.Level level;
+        final AtomicLong state = new AtomicLong();
+        final LongAdder suppressed = new LongAdder();
+        volatile String lastMessage;
+        volatile long lastSecond;
+
+        RepeatWindow(String logger, Log.Level level) {
+            this.logger = logger;
+            this.level = level;
+        }
+    }
+
+    private final LogRingBuffer<Record> buffer;
+    private final Log.Level defaultLevel;
+    private final Properties config;
+    private final boolean console;
+    private final RollingFileSink file;
+    private final int repeatLimit;
+    private final long idleParkNanos;
+    private final Map<String, RepeatWindow> repeats = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final PrintStream out;
+    private final PrintStream err;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    /** Mensajes extraídos del buffer ya escritos y volcados */
+    private volatile long flushed;
+    private long lastHousekeepingSecond;
+
+    /**
+     * Crea el escritor e inicia su hilo.
+     *
+     * @param config Configuración ({@code log.*})
+     * @param out Salida de consola para DEBUG e INFO
+     * @param err Salida de consola para WARN y ERROR
+     */
+    AsyncLogWriter(Properties config, PrintStream out, PrintStream err) {
+        this.config = config;
+        this.out = out;
+        this.err = err;
+        this.defaultLevel = parseLevel(config.getProperty("log.level"), Log.Level.INFO);
+        this.console = Boolean.parseBoolean(config.getProperty("log.console", "true"));
+        this.repeatLimit = Integer.parseInt(config.getProperty("log.repeat.maxPerSecond", "5"));
+        this.idleParkNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.parseLong(config.getProperty("log.flushIntervalMs", "200")));
+        this.buffer = new LogRingBuffer<>(Integer.parseInt(config.getProperty("log.bufferSize", "8192")));
+        this.file = openFile(config);
+        this.thread = new Thread(this::run, "blog-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private RollingFileSink openFile(Properties config) {
+        String dir = config.getProperty("log.dir", "").trim();
+        if (dir.isEmpty()) {
+            String catalinaBase = System.getProperty("catalina.base");
+            if (catalinaBase == null) {
+                return null;
+            }
+            dir = Path.of(catalinaBase, "logs").toString();
+        }
+        Path path = Path.of(dir, config.getProperty("log.file", "blog.log"));
+        try {
+            return new RollingFileSink(path,
+                    Long.parseLong(config.getProperty("log.maxFileSizeKb", "10240")) * 1024,
+                    Integer.parseInt(config.getProperty("log.maxFiles", "5")));
+        } catch (IOException e) {
+            err.println("[Log] No se pudo abrir " + path + ", se escribirá solo en consola: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene el nivel mínimo de un logger: {@code log.level.<nombre>}, después
+     * {@code log.level.<nombre hasta ':'>} y por último {@code log.level}.
+     *
+     * @param logger Nombre del logger
+     * @return Nivel mínimo
+     */
+    Log.Level levelFor(String logger) {
+        String value = config.getProperty("log.level." + logger);
+        int colon = logger.indexOf(':');
+        if (value == null && colon > 0) {
+            value = config.getProperty("log.level." + logger.substring(0, colon));
+        }
+        return parseLevel(value, defaultLevel);
+    }
+
+    private static Log.Level parseLevel(String value, Log.Level fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Log.Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Encola un mensaje. No bloquea: si el mensaje se repite demasiado o el buffer
+     * está lleno, se descarta y se cuenta.
+     *
+     * @param record Mensaje
+     */
+    void publish(Record record) {
+        if (repeatLimit > 0 && !allowRepeat(record)) {
+            return;
+        }
+        if (!running) {
+            // Tras shutdown(): escribir directamente para no perder los últimos mensajes
+            writeConsole(record, format(record));
+            return;
+        }
+        if (!buffer.offer(record)) {
+            dropped.increment();
+            return;
+        }
+        if (record.level.compareTo(Log.Level.WARN) >= 0) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private boolean allowRepeat(Record record) {
+        String key = repeatKey(record);
+        RepeatWindow window = repeats.get(key);
+        if (window == null) {
+            if (repeats.size() >= MAX_REPEAT_KEYS) {
+                return true;
+            }
+            window = repeats.computeIfAbsent(key, k -> new RepeatWindow(record.logger, record.level));
+        }
+        long second = record.timestamp / 1000;
+        while (true) {
+            long state = window.state.get();
+            long windowSecond = state >>> 20;
+            long count = state & 0xFFFFF;
+            if (windowSecond != second) {
+                if (window.state.compareAndSet(state, (second << 20) | 1)) {
+                    return true;
+                }
+            } else if (count < repeatLimit) {
+                if (window.state.compareAndSet(state, state + 1)) {
+                    return true;
+                }
+            } else {
+                window.lastMessage = record.message;
+                window.lastSecond = second;
+                window.suppressed.increment();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Clave de un mensaje para detectar repeticiones: logger, nivel y texto con los
+     * dígitos eliminados.
+     */
+    private static String repeatKey(Record record) {
+        String message = record.message;
+        StringBuilder key = new StringBuilder(record.logger.length() + message.length() + 8);
+        key.append(record.logger).append('|').append(record.level.ordinal()).append('|');
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    private void run() {
+        while (running) {
+            int written = drain();
+            housekeeping(System.currentTimeMillis() / 1000);
+            if (written == 0) {
+                LockSupport.parkNanos(this, idleParkNanos);
+            }
+        }
+        drain();
+        housekeeping(Long.MAX_VALUE);
+        try {
+            if (file != null) {
+                file.close();
+            }
+        } catch (IOException e) {
+            err.println("[Log] Error al cerrar el archivo de log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe todo lo pendiente en el buffer.
+     *
+     * @return Mensajes escritos
+     */
+    private int drain() {
+        int written = 0;
+        Record record;
+        while ((record = buffer.poll()) != null) {
+            write(record);
+            written++;
+            if (written % BATCH_SIZE == 0) {
+                flushSinks();
+            }
+        }
+        if (written > 0) {
+            flushSinks();
+            flushed = buffer.getConsumed();
+        }
+        return written;
+    }
+
+    /**
+     * Una vez por segundo: informa de las repeticiones suprimidas y de los mensajes
+     * descartados, y olvida los mensajes que ya no se repiten.
+     */
+    private void housekeeping(long nowSecond) {
+        if (nowSecond == lastHousekeepingSecond) {
+            return;
+        }
+        lastHousekeepingSecond = nowSecond;
+        boolean wroteSummary = false;
+        Iterator<RepeatWindow> it = repeats.values().iterator();
+        while (it.hasNext()) {
+            RepeatWindow window = it.next();
+            if (window.lastSecond < nowSecond) {
+                long suppressed = window.suppressed.sumThenReset();
+                if (suppressed > 0) {
+                    write(new Record(System.currentTimeMillis(), window.level, window.logger,
+                            thread.getName(), "Mensaje repetido " + suppressed + " veces más (suprimido): "
+                            + window.lastMessage, null));
+                    wroteSummary = true;
+                }
+                if ((window.state.get() >>> 20) < nowSecond - 60) {
+                    it.remove();
+                }
+            }
+        }
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            write(new Record(System.currentTimeMillis(), Log.Level.WARN, "Log", thread.getName(),
+                    lost + " mensajes descartados: buffer de log lleno (log.bufferSize=" + buffer.getCapacity() + ")",
+                    null));
+            wroteSummary = true;
+        }
+        if (wroteSummary) {
+            flushSinks();
+        }
+    }
+
+    private void write(Record record) {
+        String line = format(record);
+        if (console) {
+            writeConsole(record, line);
+        }
+        if (file != null) {
+            try {
+                file.write(line);
+            } catch (IOException e) {
+                err.println("[Log] Error al escribir en " + file.getFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeConsole(Record record, String line) {
+        (record.level.compareTo(Log.Level.WARN) >= 0 ? err : out).print(line);
+    }
+
+    private void flushSinks() {
+        if (console) {
+            out.flush();
+            err.flush();
+        }
+        if (file != null) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                err.println("[Log] Error al volcar " + file.getFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    static String format(Record record) {
+        StringBuilder line = new StringBuilder(96 + record.message.length());
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(record.timestamp), line);
+        line.append(' ').append(record.level.name());
+        for (int i = record.level.name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(record.logger).append("] ").append(record.message)
+                .append(" (").append(record.thread).append(")\n");
+        if (record.error != null) {
+            StringWriter trace = new StringWriter();
+            record.error.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Espera a que se escriba todo lo encolado hasta ahora.
+     *
+     * @param timeoutMs Tiempo máximo de espera
+     * @return true si se escribió todo a tiempo
+     */
+    boolean flush(long timeoutMs) {
+        long target = buffer.getProduced();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (flushed < target && thread.isAlive()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return flushed >= target;
+    }
+
+    /**
+     * Escribe lo pendiente, detiene el hilo y cierra el archivo.
+     *
+     * @param timeoutMs Tiempo máximo de espera
+     */
+    void shutdown(long timeoutMs) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+}
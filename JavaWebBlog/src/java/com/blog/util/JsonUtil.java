@@ -0,0 +1,88 @@
+package com.blog.util;
+
+import java.io.IOException;
+
+/**
+ * Clase de utilidad para escribir cadenas como literales JSON.
+ *
+ * <p>Los servlets de administración y la exportación generan JSON a mano, sin una
+ * biblioteca externa. Todos escapan las cadenas con esta clase, de modo que un valor
+ * de texto libre (un nombre de pool, el motivo de una decisión de dimensionado, el
+ * cuerpo de un artículo) nunca produce un documento inválido.</p>
+ *
+ * <p>Se escapan las comillas, la barra invertida y todos los caracteres de control
+ * (U+0000 a U+001F). También U+2028 y U+2029: son válidos en JSON, pero rompen a los
+ * lectores que procesan la salida línea a línea, como los de NDJSON.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>{@code
+ * out.print("{\"name\":" + JsonUtil.cadena(m.getPoolName()) + "}");
+ * JsonUtil.escribirCadena(writer, articulo.getContenido());
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.controller.MetricsServlet
+ * @see com.blog.exportacion.FormatoExportacion
+ */
+public final class JsonUtil {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonUtil() {
+    }
+
+    /**
+     * Devuelve el valor como literal JSON, entre comillas y escapado.
+     *
+     * @param valor Texto a convertir; puede ser {@code null}
+     * @return El literal entre comillas, o {@code null} (sin comillas) si el valor es nulo
+     */
+    public static String cadena(String valor) {
+        if (valor == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(valor.length() + 2);
+        try {
+            escribirCadena(sb, valor);
+        } catch (IOException e) {
+            // StringBuilder no lanza IOException
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe el valor como literal JSON, entre comillas y escapado.
+     *
+     * @param out Destino de la escritura
+     * @param valor Texto a escribir; {@code null} se escribe como {@code null}
+     * @throws IOException si falla la escritura en {@code out}
+     */
+    public static void escribirCadena(Appendable out, String valor) throws IOException {
+        if (valor == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.append("\\u")
+                                .append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF])
+                                .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
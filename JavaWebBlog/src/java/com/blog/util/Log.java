@@ -0,0 +1,198 @@
+package com.blog.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Fachada de logging de la aplicación, con niveles y escritura asíncrona.
+ *
+ * <p>Sustituye a {@code System.out.println}, {@code System.err.println} y
+ * {@code e.printStackTrace()}: esas llamadas escriben de forma síncrona en un
+ * {@code PrintStream} protegido por un monitor, de modo que bajo carga los hilos de las
+ * peticiones se serializan esperando a la consola. Con esta clase un mensaje solo se
+ * encola sin bloqueos y lo escribe un hilo en segundo plano (ver {@link AsyncLogWriter}).</p>
+ *
+ * <h3>Configuración (log.properties, o {@code -Dblog.log.*} para sobrescribirla):</h3>
+ * <ul>
+ *   <li>{@code log.level}: nivel mínimo ({@code DEBUG}, {@code INFO}, {@code WARN},
+ *   {@code ERROR} u {@code OFF}); {@code log.level.<Logger>} lo cambia para un logger</li>
+ *   <li>{@code log.console}: escribir también en la consola (stdout/stderr)</li>
+ *   <li>{@code log.dir}, {@code log.file}, {@code log.maxFileSizeKb}, {@code log.maxFiles}:
+ *   archivo rotativo; sin {@code log.dir} se usa {@code ${catalina.base}/logs} y, fuera de
+ *   Tomcat, solo la consola</li>
+ *   <li>{@code log.bufferSize}, {@code log.flushIntervalMs}, {@code log.repeat.maxPerSecond}</li>
+ * </ul>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>{@code
+ * private static final Log LOG = Log.get(MySQLArticuloDAO.class);
+ * ...
+ * LOG.warn("Error en " + operationName + ", reintentando...");
+ * LOG.error("No se pudo guardar el artículo", e);
+ * }</pre>
+ *
+ * <h3>Principios SOLID aplicados:</h3>
+ * <ul>
+ *   <li><b>D - Dependency Inversion Principle (DIP):</b> las clases de la aplicación
+ *   dependen de esta fachada y no de dónde ni cómo se escriben los mensajes. Ver
+ *   Sección 2.1.5 en PRINCIPIOS_Y_PATRONES.tex</li>
+ * </ul>
+ *
+ * <h3>Patrón de diseño:</h3>
+ * <ul>
+ *   <li><b>Facade:</b> oculta el buffer circular, el hilo escritor, la rotación de
+ *   archivos y la limitación de repeticiones detrás de cuatro métodos.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.util.AsyncLogWriter
+ */
+public final class Log {
+
+    /**
+     * Nivel de un mensaje, de menor a mayor gravedad.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    /**
+     * El escritor se crea al registrar el primer mensaje (idiom "holder").
+     */
+    private static final class Holder {
+        static final AsyncLogWriter WRITER = new AsyncLogWriter(loadConfig(), System.out, System.err);
+        static final Thread SHUTDOWN_HOOK = new Thread(() -> WRITER.shutdown(2000), "blog-log-shutdown");
+
+        static {
+            try {
+                Runtime.getRuntime().addShutdownHook(SHUTDOWN_HOOK);
+            } catch (IllegalStateException e) {
+                // La JVM ya se está cerrando
+            }
+        }
+    }
+
+    private final String name;
+    private final Level level;
+    private final AsyncLogWriter writer;
+
+    private Log(String name, AsyncLogWriter writer) {
+        this.name = name;
+        this.writer = writer;
+        this.level = writer.levelFor(name);
+    }
+
+    /**
+     * Obtiene un logger con el nombre simple de la clase.
+     *
+     * @param type Clase que registra los mensajes
+     * @return Logger
+     */
+    public static Log get(Class<?> type) {
+        return get(type.getSimpleName());
+    }
+
+    /**
+     * Obtiene un logger con el nombre indicado. Un nombre {@code "Clase:instancia"}
+     * (por ejemplo {@code "ConnectionPool:primary"}) toma el nivel de
+     * {@code log.level.Clase} si no tiene uno propio.
+     *
+     * @param name Nombre del logger, que aparece entre corchetes en cada línea
+     * @return Logger
+     */
+    public static Log get(String name) {
+        return new Log(name, Holder.WRITER);
+    }
+
+    /**
+     * Crea un logger sobre un escritor concreto (para pruebas).
+     */
+    static Log create(String name, AsyncLogWriter writer) {
+        return new Log(name, writer);
+    }
+
+    private static Properties loadConfig() {
+        Properties config = new Properties();
+        try (InputStream in = Log.class.getResourceAsStream("log.properties")) {
+            if (in != null) {
+                config.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("[Log] No se pudo leer log.properties, se usan los valores por defecto: "
+                    + e.getMessage());
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("blog.log.")) {
+                config.setProperty(key.substring("blog.".length()), System.getProperty(key));
+            }
+        }
+        return config;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != Level.OFF;
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        log(Level.WARN, message, error);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level messageLevel, String message, Throwable error) {
+        if (!isEnabled(messageLevel)) {
+            return;
+        }
+        writer.publish(new AsyncLogWriter.Record(System.currentTimeMillis(), messageLevel, name,
+                Thread.currentThread().getName(), message, error));
+    }
+
+    /**
+     * Espera a que se escriban los mensajes registrados hasta ahora.
+     *
+     * @param timeoutMs Tiempo máximo de espera
+     * @return true si se escribieron todos a tiempo
+     */
+    public static boolean flush(long timeoutMs) {
+        return Holder.WRITER.flush(timeoutMs);
+    }
+
+    /**
+     * Escribe los mensajes pendientes y detiene el hilo escritor. Lo invoca
+     * {@link com.blog.listener.PoolLifecycleListener} al replegar la aplicación, para no
+     * dejar el hilo vivo con el classloader de la aplicación. Los mensajes posteriores
+     * se escriben directamente en la consola.
+     */
+    public static void shutdown() {
+        Holder.WRITER.shutdown(2000);
+        try {
+            Runtime.getRuntime().removeShutdownHook(Holder.SHUTDOWN_HOOK);
+        } catch (IllegalStateException e) {
+            // La JVM ya se está cerrando
+        }
+    }
+}
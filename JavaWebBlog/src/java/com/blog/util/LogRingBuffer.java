@@ -0,0 +1,108 @@
+package com.blog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada sin bloqueos, con varios productores y un único consumidor.
+ *
+ * <p>Cada hueco lleva un número de secuencia que indica si está libre para el
+ * productor de una vuelta dada o publicado para el consumidor. Un productor reserva su
+ * posición con un único CAS sobre {@code tail}, escribe el elemento y publica la
+ * secuencia; el consumidor nunca compite con los productores. Si la cola está llena
+ * {@link #offer(Object)} devuelve false de inmediato en lugar de esperar: quien
+ * registra un mensaje nunca se bloquea por culpa del log.</p>
+ *
+ * @param <E> Tipo de los elementos
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.util.AsyncLogWriter
+ */
+final class LogRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    /** Siguiente posición a reservar por los productores */
+    private final AtomicLong tail = new AtomicLong();
+    /** Siguiente posición a leer; solo la avanza el consumidor */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity Capacidad mínima; se redondea a la siguiente potencia de dos
+     */
+    LogRingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Agrega un elemento si hay hueco. Puede invocarse desde cualquier hilo.
+     *
+     * @param element Elemento a agregar
+     * @return true si se agregó; false si la cola está llena
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Extrae el elemento más antiguo. Solo debe invocarlo el hilo consumidor.
+     *
+     * @return Elemento, o null si no hay ninguno publicado
+     */
+    E poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        head.set(position + 1);
+        return element;
+    }
+
+    /**
+     * @return Número de elementos agregados desde la creación
+     */
+    long getProduced() {
+        return tail.get();
+    }
+
+    /**
+     * @return Número de elementos extraídos desde la creación
+     */
+    long getConsumed() {
+        return head.get();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+}
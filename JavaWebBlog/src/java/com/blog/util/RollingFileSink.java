@@ -0,0 +1,100 @@
+package com.blog.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de log que rota por tamaño: al superar {@code maxBytes} se renombra
+ * {@code blog.log} a {@code blog.log.1}, el anterior {@code .1} a {@code .2}, etc., y se
+ * descarta el que pase de {@code maxFiles}.
+ *
+ * <p>Solo lo usa el hilo escritor de {@link AsyncLogWriter}, por lo que no necesita
+ * sincronización.</p>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.util.AsyncLogWriter
+ */
+final class RollingFileSink {
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private Writer writer;
+    private long size;
+
+    /**
+     * @param file Archivo activo
+     * @param maxBytes Tamaño a partir del cual se rota
+     * @param maxFiles Archivos rotados que se conservan
+     * @throws IOException Si no se puede crear el directorio o abrir el archivo
+     */
+    RollingFileSink(Path file, long maxBytes, int maxFiles) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    private void open() throws IOException {
+        size = Files.exists(file) ? Files.size(file) : 0;
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    /**
+     * Escribe una línea ya formateada, rotando antes si no cabe en el archivo actual.
+     *
+     * @param line Línea con su salto de línea final
+     * @throws IOException Error de escritura
+     */
+    void write(String line) throws IOException {
+        // Se cuentan caracteres en lugar de bytes: el log es casi todo ASCII
+        long bytes = line.length();
+        if (size > 0 && size + bytes > maxBytes) {
+            rotate();
+        }
+        writer.write(line);
+        size += bytes;
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = rotated(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    void close() throws IOException {
+        writer.close();
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
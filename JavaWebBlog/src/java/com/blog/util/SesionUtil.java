@@ -0,0 +1,45 @@
+package com.blog.util;
+
+import com.blog.model.Usuario;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Clase de utilidad para consultar el usuario de la sesión HTTP.
+ *
+ * <p>Los servlets de administración comprueban el rol con {@link #esAdmin}, de modo
+ * que la regla de quién es administrador está en un solo lugar.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>{@code
+ * if (!SesionUtil.esAdmin(request)) {
+ *     response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+ *     return;
+ * }
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ * @see com.blog.filter.AuthFilter
+ * @see com.blog.controller.AdminUsuariosServlet
+ */
+public final class SesionUtil {
+
+    private SesionUtil() {
+    }
+
+    /**
+     * Indica si la petición pertenece a un usuario autenticado con rol {@code admin}.
+     * No crea una sesión si no existe.
+     *
+     * @param request Petición HTTP
+     * @return true si el usuario de la sesión es administrador
+     */
+    public static boolean esAdmin(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null)
+            return false;
+        Usuario u = (Usuario) session.getAttribute("usuario");
+        return u != null && "admin".equals(u.getRol());
+    }
+}
@@ -0,0 +1,156 @@
+package com.blog.dao;
+
+import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * DAO de artículos en memoria para las pruebas de los decoradores, el importador y el
+ * exportador.
+ *
+ * <p>Guarda las filas en orden de inserción, cuenta las lecturas por ID, las consultas
+ * de páginas, los artículos entregados al recorrer y el tamaño de cada lote, y permite
+ * simular caídas de la base de datos ({@link #fallar}) y lotes interrumpidos
+ * ({@link #fallarEnLote}).</p>
+ */
+public class ArticulosEnMemoria implements IArticuloDAO {
+
+    /** Filas por ID, en orden de inserción */
+    public final Map<Integer, Articulo> filas = new LinkedHashMap<>();
+    /** Tamaño de cada llamada a {@link #crearLote(List)} */
+    public final List<Integer> lotes = new ArrayList<>();
+    private final Map<Integer, Integer> lecturas = new HashMap<>();
+    /** Llamadas a {@link #listarPagina(CursorArticulo, int)} */
+    public int consultas;
+    /** Artículos entregados por {@link #recorrerTodos(Consumer)} */
+    public int entregados;
+    /** Si es true, todas las operaciones fallan como si se perdiera la conexión */
+    public boolean fallar;
+    /** Se ejecuta en cada consulta de páginas, antes de responder */
+    public Runnable alConsultar;
+    /** Número (desde 1) del lote que se interrumpe, o -1 */
+    public int fallarEnLote = -1;
+    /** Filas del lote interrumpido que llegan a guardarse */
+    public int confirmadasAlFallar;
+    /** Si el lote interrumpido falla en el commit */
+    public boolean commitIncierto;
+
+    public ArticulosEnMemoria(Articulo... filas) {
+        for (Articulo articulo : filas) {
+            this.filas.put(articulo.getId(), articulo);
+        }
+    }
+
+    /**
+     * @return Artículos guardados, en orden de inserción
+     */
+    public List<Articulo> guardados() {
+        return new ArrayList<>(filas.values());
+    }
+
+    /**
+     * @param id ID del artículo
+     * @return Veces que se leyó por ID
+     */
+    public int lecturas(int id) {
+        return lecturas.getOrDefault(id, 0);
+    }
+
+    private void comprobar() throws SQLException {
+        if (fallar) {
+            throw new SQLException("Communications link failure", "08S01");
+        }
+    }
+
+    private int siguienteId() {
+        return filas.isEmpty() ? 1 : Collections.max(filas.keySet()) + 1;
+    }
+
+    @Override
+    public List<Articulo> listarTodos() throws SQLException {
+        comprobar();
+        return guardados();
+    }
+
+    /**
+     * Devuelve siempre una página nueva y vacía, para distinguir cada consulta.
+     */
+    @Override
+    public Pagina<ArticuloResumen> listarPagina(CursorArticulo cursor, int tamano) throws SQLException {
+        consultas++;
+        if (alConsultar != null) {
+            alConsultar.run();
+        }
+        comprobar();
+        return new Pagina<>(new ArrayList<>(), null, null);
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<? super Articulo> accion) throws SQLException {
+        comprobar();
+        for (Articulo articulo : guardados()) {
+            entregados++;
+            accion.accept(articulo);
+        }
+        return filas.size();
+    }
+
+    @Override
+    public Articulo obtenerPorId(int id) throws SQLException {
+        lecturas.merge(id, 1, Integer::sum);
+        comprobar();
+        return filas.get(id);
+    }
+
+    @Override
+    public boolean crear(Articulo articulo) throws SQLException {
+        comprobar();
+        articulo.setId(siguienteId());
+        filas.put(articulo.getId(), articulo);
+        return true;
+    }
+
+    @Override
+    public List<Integer> crearLote(List<Articulo> articulos) throws SQLException {
+        comprobar();
+        lotes.add(articulos.size());
+        int guardar = lotes.size() == fallarEnLote ? confirmadasAlFallar : articulos.size();
+        List<Integer> ids = new ArrayList<>();
+        for (Articulo articulo : articulos.subList(0, guardar)) {
+            crear(articulo);
+            ids.add(articulo.getId());
+        }
+        if (guardar < articulos.size()) {
+            throw new LoteInterrumpidoException(ids, new SQLException("Duplicate entry", "23000", 1062),
+                    commitIncierto);
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean actualizar(Articulo articulo) throws SQLException {
+        comprobar();
+        return filas.replace(articulo.getId(), articulo) != null;
+    }
+
+    @Override
+    public boolean eliminar(int id) throws SQLException {
+        comprobar();
+        return filas.remove(id) != null;
+    }
+
+    @Override
+    public int contarTotal() throws SQLException {
+        comprobar();
+        return filas.size();
+    }
+}
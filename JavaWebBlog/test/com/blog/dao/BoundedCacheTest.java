@@ -0,0 +1,210 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para {@link BoundedCache}, con un reloj simulado
+ */
+@DisplayName("Tests para BoundedCache")
+class BoundedCacheTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000_000_000L);
+    private final Map<Integer, Integer> cargas = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        cargas.clear();
+    }
+
+    /** Caché de 10 entradas de 100 bytes */
+    private BoundedCache<Integer, String> cache(long ttlMs, long ventanaMs) {
+        return new BoundedCache<>("prueba", 1000, v -> 100, ttlMs, ventanaMs, reloj::get);
+    }
+
+    private String leer(BoundedCache<Integer, String> cache, int clave) throws Exception {
+        return cache.get(clave, k -> {
+            cargas.merge(k, 1, Integer::sum);
+            return k < 0 ? null : "valor-" + k;
+        });
+    }
+
+    private int cargas(int clave) {
+        return cargas.getOrDefault(clave, 0);
+    }
+
+    private void avanzar(long ms) {
+        reloj.addAndGet(ms * 1_000_000);
+    }
+
+    @Test
+    @DisplayName("La segunda lectura debe servirse desde la caché; null no se guarda")
+    void testAciertos() throws Exception {
+        BoundedCache<Integer, String> cache = cache(0, 0);
+
+        assertEquals("valor-1", leer(cache, 1));
+        assertEquals("valor-1", leer(cache, 1));
+        assertNull(leer(cache, -1));
+        assertNull(leer(cache, -1));
+
+        assertEquals(1, cargas(1));
+        assertEquals(2, cargas(-1));
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+        assertEquals(100, stats.getWeightBytes());
+    }
+
+    @Test
+    @DisplayName("El tamaño nunca debe superar el máximo")
+    void testTamanoAcotado() throws Exception {
+        BoundedCache<Integer, String> cache = cache(0, 0);
+        for (int ronda = 0; ronda < 5; ronda++) {
+            for (int i = 0; i < 50; i++) {
+                leer(cache, i);
+                assertTrue(cache.stats().getWeightBytes() <= 1000);
+            }
+        }
+        assertEquals(10, cache.stats().getEntries());
+    }
+
+    @Test
+    @DisplayName("Un recorrido de claves leídas una vez no debe expulsar a las populares")
+    void testAdmisionPorFrecuencia() throws Exception {
+        BoundedCache<Integer, String> cache = cache(0, 0);
+        for (int vez = 0; vez < 5; vez++) {
+            for (int i = 1; i <= 10; i++) {
+                leer(cache, i);
+            }
+        }
+        for (int i = 100; i < 200; i++) {
+            leer(cache, i);
+        }
+        for (int i = 1; i <= 10; i++) {
+            leer(cache, i);
+            assertEquals(1, cargas(i), "El artículo popular " + i + " debía seguir en caché");
+        }
+        assertEquals(0, cache.stats().getEvicted());
+        assertEquals(100, cache.stats().getRejected());
+
+        // Una clave que se vuelve más frecuente que las guardadas sí entra
+        for (int vez = 0; vez < 10; vez++) {
+            leer(cache, 500);
+        }
+        assertTrue(cargas(500) < 10, "La clave frecuente debía admitirse");
+        assertEquals(1, cache.stats().getEvicted());
+    }
+
+    @Test
+    @DisplayName("Un valor rechazado no debe expulsar a ninguna víctima")
+    void testRechazoSinExpulsion() throws Exception {
+        // El peso de cada valor es el propio valor
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("prueba", 1000, v -> v, 0, 0, reloj::get);
+        Map<Integer, Integer> pesos = new HashMap<>();
+        BoundedCache.Loader<Integer, Integer> cargar = k -> {
+            cargas.merge(k, 1, Integer::sum);
+            return pesos.get(k);
+        };
+        for (int i = 1; i <= 10; i++) {
+            pesos.put(i, 100);
+            for (int vez = 0; vez < (i == 1 ? 1 : 5); vez++) {
+                cache.get(i, cargar);
+            }
+        }
+        assertEquals(1000, cache.stats().getWeightBytes());
+
+        // Hacen falta dos víctimas: la 1 es menos frecuente, la 2 no
+        pesos.put(20, 120);
+        cache.get(20, cargar);
+        cache.get(20, cargar);
+        assertEquals(10, cache.stats().getEntries());
+        assertEquals(1000, cache.stats().getWeightBytes());
+        assertEquals(0, cache.stats().getEvicted());
+        assertEquals(2, cache.stats().getRejected());
+
+        // Más frecuente que ambas víctimas: entra y las dos salen
+        pesos.put(30, 120);
+        for (int vez = 0; vez < 6; vez++) {
+            cache.get(30, cargar);
+        }
+        cache.get(30, cargar);
+        assertEquals(6, cargas(30), "Debe admitirse en la sexta lectura");
+        assertEquals(2, cache.stats().getEvicted());
+        assertEquals(9, cache.stats().getEntries());
+        assertEquals(920, cache.stats().getWeightBytes());
+        cache.get(1, cargar);
+        assertEquals(2, cargas(1), "La primera víctima salió al admitir la clave 30");
+    }
+
+    @Test
+    @DisplayName("Invalidar debe quitar la entrada y descartar las cargas en curso")
+    void testInvalidacion() throws Exception {
+        BoundedCache<Integer, String> cache = cache(0, 0);
+        leer(cache, 1);
+        cache.invalidate(1);
+        assertEquals(0, cache.stats().getEntries());
+        leer(cache, 1);
+        assertEquals(2, cargas(1));
+
+        // Una escritura termina mientras otra petición lee la fila anterior
+        String leido = cache.get(2, k -> {
+            cache.invalidate(2);
+            return "anterior";
+        });
+        assertEquals("anterior", leido);
+        assertEquals("valor-2", leer(cache, 2), "La versión anterior no debía guardarse");
+    }
+
+    @Test
+    @DisplayName("Con réplicas no debe guardarse una clave recién invalidada")
+    void testVentanaReplicas() throws Exception {
+        BoundedCache<Integer, String> cache = cache(0, 5000);
+        cache.invalidate(1);
+        leer(cache, 1);
+        leer(cache, 1);
+        assertEquals(2, cargas(1), "Una réplica con retraso podía devolver la versión anterior");
+
+        avanzar(5001);
+        leer(cache, 1);
+        leer(cache, 1);
+        assertEquals(3, cargas(1));
+
+        cache.invalidateAll();
+        leer(cache, 2);
+        leer(cache, 2);
+        assertEquals(2, cargas(2));
+    }
+
+    @Test
+    @DisplayName("Las entradas deben caducar tras el TTL")
+    void testCaducidad() throws Exception {
+        BoundedCache<Integer, String> cache = cache(1000, 0);
+        leer(cache, 1);
+        avanzar(999);
+        leer(cache, 1);
+        assertEquals(1, cargas(1));
+        avanzar(2);
+        leer(cache, 1);
+        assertEquals(2, cargas(1));
+        assertEquals(1, cache.stats().getEntries());
+        assertEquals(100, cache.stats().getWeightBytes());
+    }
+
+    @Test
+    @DisplayName("No debe guardarse un valor de más de un octavo de la caché")
+    void testValorDemasiadoGrande() throws Exception {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("prueba", 1000, String::length, 0, 0, reloj::get);
+        cache.get(1, k -> "x".repeat(200));
+        cache.get(1, k -> "x".repeat(200));
+        assertEquals(0, cache.stats().getEntries());
+        assertEquals(2, cache.stats().getRejected());
+    }
+}
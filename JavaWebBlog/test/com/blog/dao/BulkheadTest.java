@@ -0,0 +1,215 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las cuotas por tipo de tráfico ({@link Bulkhead}) de
+ * {@link ConexionBD}, usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para las cuotas por tipo de tráfico")
+class BulkheadTest {
+
+    private ConexionBD conexionBD;
+    private final List<Connection> prestadas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        StubDriver.database("cuotas");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Connection conn : prestadas) {
+            conn.close();
+        }
+        if (conexionBD != null) {
+            conexionBD.shutdown();
+        }
+    }
+
+    private Properties configuracion() {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("cuotas"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "0");
+        props.setProperty("pool.maxConnections", "10");
+        props.setProperty("pool.borrowTimeoutMs", "200");
+        props.setProperty("pool.bulkhead.public-read.percent", "70");
+        props.setProperty("pool.bulkhead.auth.percent", "20");
+        props.setProperty("pool.bulkhead.admin-write.percent", "30");
+        return props;
+    }
+
+    private Bulkhead cuota(Workload workload) {
+        for (Bulkhead bulkhead : conexionBD.getBulkheads()) {
+            if (bulkhead.getWorkload() == workload) {
+                return bulkhead;
+            }
+        }
+        throw new AssertionError("Sin cuota para " + workload);
+    }
+
+    private void saturarPortada() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            prestadas.add(conexionBD.getConexionLectura(Workload.PUBLIC_READ));
+        }
+    }
+
+    @Test
+    @DisplayName("Las cuotas deben calcularse sobre el límite del pool")
+    void testLimites() {
+        conexionBD = new ConexionBD(configuracion(), false);
+
+        assertEquals(4, conexionBD.getBulkheads().size());
+        assertEquals(7, cuota(Workload.PUBLIC_READ).getLimit());
+        assertEquals(2, cuota(Workload.AUTH).getLimit());
+        assertEquals(3, cuota(Workload.ADMIN_WRITE).getLimit());
+        assertEquals(2, cuota(Workload.SCAN).getLimit());
+    }
+
+    @Test
+    @DisplayName("Con la portada saturada, login y panel deben seguir obteniendo conexión")
+    void testPortadaSaturada() throws Exception {
+        conexionBD = new ConexionBD(configuracion(), false);
+        saturarPortada();
+
+        assertThrows(PoolExhaustedException.class,
+                () -> conexionBD.getConexionLectura(Workload.PUBLIC_READ));
+        assertEquals(1, cuota(Workload.PUBLIC_READ).getRejected());
+
+        long inicio = System.nanoTime();
+        try (Connection login = conexionBD.getConexion(Workload.AUTH);
+                Connection editor = conexionBD.getConexionEscritura(Workload.ADMIN_WRITE)) {
+            assertNotNull(login);
+            assertNotNull(editor);
+        }
+        assertTrue(System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(100),
+                "Login y panel no deben esperar a la portada");
+        assertEquals(0, cuota(Workload.AUTH).getRejected());
+        assertEquals(7, cuota(Workload.PUBLIC_READ).getInUse());
+        assertEquals(0, cuota(Workload.AUTH).getInUse(), "Cerrar la conexión debe liberar la plaza");
+    }
+
+    @Test
+    @DisplayName("Un hilo esperando plaza debe recibirla cuando otro del mismo tipo devuelve la suya")
+    void testEsperaPorPlaza() throws Exception {
+        Properties props = configuracion();
+        props.setProperty("pool.borrowTimeoutMs", "2000");
+        conexionBD = new ConexionBD(props, false);
+        saturarPortada();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Connection> espera = executor.submit(() -> conexionBD.getConexionLectura(Workload.PUBLIC_READ));
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (cuota(Workload.PUBLIC_READ).getWaiting() == 0 && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, cuota(Workload.PUBLIC_READ).getWaiting());
+
+            prestadas.remove(0).close();
+            Connection recibida = espera.get(1, TimeUnit.SECONDS);
+            prestadas.add(recibida);
+            assertNotNull(recibida);
+            assertEquals(7, cuota(Workload.PUBLIC_READ).getInUse());
+            assertEquals(1, cuota(Workload.PUBLIC_READ).getWaited());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("El tipo fijado para la petición debe sustituir al declarado por el DAO")
+    void testTipoDeLaPeticion() throws Exception {
+        conexionBD = new ConexionBD(configuracion(), false);
+        saturarPortada();
+
+        Workload anterior = Workload.enter(Workload.ADMIN_WRITE);
+        try (Connection conn = conexionBD.getConexionLectura(Workload.PUBLIC_READ)) {
+            assertNotNull(conn, "Los listados del panel no deben competir con la portada");
+            assertEquals(1, cuota(Workload.ADMIN_WRITE).getInUse());
+        } finally {
+            Workload.restore(anterior);
+        }
+        assertThrows(PoolExhaustedException.class,
+                () -> conexionBD.getConexionLectura(Workload.PUBLIC_READ));
+    }
+
+    @Test
+    @DisplayName("Con el pool entero prestado debe fallar como pool agotado, no reintentarse")
+    void testPoolAgotado() throws Exception {
+        conexionBD = new ConexionBD(configuracion(), false);
+        saturarPortada();
+        for (int i = 0; i < 3; i++) {
+            prestadas.add(conexionBD.getConexionEscritura(Workload.ADMIN_WRITE));
+        }
+
+        long inicio = System.nanoTime();
+        PoolExhaustedException agotado = assertThrows(PoolExhaustedException.class,
+                () -> conexionBD.getConexion(Workload.AUTH));
+        assertTrue(agotado.getMessage().contains("Pool de conexiones lleno"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 1000,
+                "Solo debe esperarse pool.borrowTimeoutMs una vez");
+        assertEquals(0, cuota(Workload.AUTH).getInUse(), "La plaza de la cuota debe devolverse");
+    }
+
+    @Test
+    @DisplayName("Los recorridos deben ocupar su propia cuota aunque se pidan desde el panel")
+    void testRecorridos() throws Exception {
+        conexionBD = new ConexionBD(configuracion(), false);
+
+        Workload anterior = Workload.enter(Workload.ADMIN_WRITE);
+        try {
+            prestadas.add(conexionBD.getConexionRecorrido(Workload.SCAN));
+            prestadas.add(conexionBD.getConexionRecorrido(Workload.SCAN));
+            assertEquals(2, cuota(Workload.SCAN).getInUse());
+            assertEquals(0, cuota(Workload.ADMIN_WRITE).getInUse(), "Las exportaciones no deben quitar plazas a los editores");
+            assertThrows(PoolExhaustedException.class,
+                    () -> conexionBD.getConexionRecorrido(Workload.SCAN));
+            prestadas.add(conexionBD.getConexionEscritura(Workload.ADMIN_WRITE));
+        } finally {
+            Workload.restore(anterior);
+        }
+        assertEquals(BorrowPriority.LOW, Workload.SCAN.getPriority());
+    }
+
+    @Test
+    @DisplayName("Las conexiones sin tipo de tráfico y las cuotas desactivadas no deben limitarse")
+    void testSinCuota() throws Exception {
+        conexionBD = new ConexionBD(configuracion(), false);
+        saturarPortada();
+        prestadas.add(conexionBD.getConexion());
+        prestadas.add(conexionBD.getConexion());
+        prestadas.add(conexionBD.getConexion());
+        assertEquals(10, conexionBD.getMetrics().getActiveConnections());
+        for (Connection conn : prestadas) {
+            conn.close();
+        }
+        prestadas.clear();
+        conexionBD.shutdown();
+
+        Properties props = configuracion();
+        props.setProperty("pool.bulkhead.enabled", "false");
+        conexionBD = new ConexionBD(props, false);
+        assertTrue(conexionBD.getBulkheads().isEmpty());
+        for (int i = 0; i < 10; i++) {
+            prestadas.add(conexionBD.getConexionLectura(Workload.PUBLIC_READ));
+        }
+    }
+}
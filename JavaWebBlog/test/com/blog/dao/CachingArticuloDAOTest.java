@@ -0,0 +1,88 @@
+package com.blog.dao;
+
+import com.blog.model.Articulo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para {@link CachingArticuloDAO}, sobre un DAO en memoria
+ */
+@DisplayName("Tests para CachingArticuloDAO")
+class CachingArticuloDAOTest {
+
+    private ArticulosEnMemoria bd;
+    private CachingArticuloDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        bd = new ArticulosEnMemoria();
+        bd.filas.put(1, new Articulo(1, "Uno", "Contenido uno", LocalDateTime.of(2026, 1, 1, 0, 0), 5));
+        bd.filas.put(2, new Articulo(2, "Dos", "Contenido dos", LocalDateTime.of(2026, 1, 2, 0, 0), 5));
+        dao = new CachingArticuloDAO(bd, CachingArticuloDAO.crearCache(1024 * 1024, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Las lecturas repetidas deben servirse desde memoria")
+    void testLecturaDesdeCache() throws Exception {
+        assertEquals("Uno", dao.obtenerPorId(1).getTitulo());
+        assertEquals("Uno", dao.obtenerPorId(1).getTitulo());
+        assertNull(dao.obtenerPorId(99));
+        assertNull(dao.obtenerPorId(99));
+
+        assertEquals(1, bd.lecturas(1));
+        assertEquals(2, bd.lecturas(99), "Los artículos inexistentes no se guardan");
+        assertEquals(1, dao.getEstadisticas().getHits());
+    }
+
+    @Test
+    @DisplayName("Modificar el artículo devuelto no debe alterar la caché")
+    void testCopias() throws Exception {
+        dao.obtenerPorId(1).setTitulo("cambiado");
+        assertEquals("Uno", dao.obtenerPorId(1).getTitulo());
+    }
+
+    @Test
+    @DisplayName("Actualizar y eliminar deben invalidar solo ese artículo")
+    void testInvalidacionPrecisa() throws Exception {
+        dao.obtenerPorId(1);
+        dao.obtenerPorId(2);
+
+        Articulo editado = new Articulo(1, "Uno editado", "Nuevo", LocalDateTime.of(2026, 1, 1, 0, 0), 5);
+        assertTrue(dao.actualizar(editado));
+        assertEquals("Uno editado", dao.obtenerPorId(1).getTitulo());
+        dao.obtenerPorId(2);
+        assertEquals(2, bd.lecturas(1));
+        assertEquals(1, bd.lecturas(2));
+
+        assertTrue(dao.eliminar(2));
+        assertNull(dao.obtenerPorId(2));
+    }
+
+    @Test
+    @DisplayName("Una escritura fallida también debe invalidar, por si llegó a confirmarse")
+    void testInvalidacionTrasError() throws Exception {
+        dao.obtenerPorId(1);
+        bd.fallar = true;
+        assertThrows(SQLException.class, () -> dao.eliminar(1));
+        bd.fallar = false;
+        dao.obtenerPorId(1);
+        assertEquals(2, bd.lecturas(1));
+    }
+
+    @Test
+    @DisplayName("invalidarTodo debe vaciar la caché")
+    void testInvalidarTodo() throws Exception {
+        dao.obtenerPorId(1);
+        dao.obtenerPorId(2);
+        dao.invalidarTodo();
+        assertEquals(0, dao.getEstadisticas().getEntries());
+        dao.obtenerPorId(1);
+        assertEquals(2, bd.lecturas(1));
+    }
+}
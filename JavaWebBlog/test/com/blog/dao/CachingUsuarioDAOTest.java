@@ -0,0 +1,118 @@
+package com.blog.dao;
+
+import com.blog.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para {@link CachingUsuarioDAO}, sobre un DAO en memoria
+ */
+@DisplayName("Tests para CachingUsuarioDAO")
+class CachingUsuarioDAOTest {
+
+    private UsuariosEnMemoria bd;
+    private CachingUsuarioDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        bd = new UsuariosEnMemoria(new Usuario(1, "Admin", "admin@blog.com", "admin", "hash-admin", "admin"),
+                new Usuario(2, "Ana", "ana@blog.com", "ana", "hash-ana", "autor"));
+        dao = new CachingUsuarioDAO(bd, CachingUsuarioDAO.crearCachePorId(1024 * 1024, 0, 0),
+                CachingUsuarioDAO.crearCachePorUsername(1024 * 1024, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Los logins repetidos deben servirse desde memoria")
+    void testLecturaDesdeCache() throws Exception {
+        assertEquals("hash-ana", dao.buscarPorUsername("ana").getPassword());
+        assertEquals("hash-ana", dao.buscarPorUsername("ana").getPassword());
+        assertEquals("Ana", dao.obtenerPorId(2).getNombre());
+        assertEquals("Ana", dao.obtenerPorId(2).getNombre());
+
+        assertEquals(1, bd.lecturas("ana"));
+        assertEquals(1, bd.lecturas("#2"));
+        dao.buscarPorUsername("ana").setRol("admin");
+        assertEquals("autor", dao.buscarPorUsername("ana").getRol(), "La caché no debe alterarse");
+    }
+
+    @Test
+    @DisplayName("Los usernames inexistentes deben guardarse hasta que se crean")
+    void testCacheNegativa() throws Exception {
+        assertNull(dao.buscarPorUsername("nuevo"));
+        assertNull(dao.buscarPorUsername("nuevo"));
+        assertEquals(1, bd.lecturas("nuevo"));
+
+        assertTrue(dao.crear(new Usuario(0, "Nuevo", "nuevo@blog.com", "nuevo", "hash-nuevo", "autor")));
+        assertNotNull(dao.buscarPorUsername("nuevo"), "Recién registrado debe poder entrar");
+
+        assertNull(dao.buscarPorUsername("lote"));
+        dao.crearLote(List.of(new Usuario(0, "Lote", "lote@blog.com", "lote", "hash-lote", "autor")));
+        assertNotNull(dao.buscarPorUsername("lote"));
+    }
+
+    @Test
+    @DisplayName("Cambiar el rol debe invalidar al usuario por ID y por username")
+    void testActualizarRol() throws Exception {
+        dao.obtenerPorId(2);
+        dao.buscarPorUsername("ana");
+        dao.obtenerPorId(1);
+
+        assertTrue(dao.actualizarRol(2, "admin"));
+        assertEquals("admin", dao.obtenerPorId(2).getRol());
+        assertEquals("admin", dao.buscarPorUsername("ana").getRol());
+        dao.obtenerPorId(1);
+        assertEquals(1, bd.lecturas("#1"), "Los demás usuarios deben seguir en la caché por ID");
+    }
+
+    @Test
+    @DisplayName("Invalidar un usuario debe invalidar todas las variantes de su username")
+    void testVariantes() throws Exception {
+        assertEquals("autor", dao.buscarPorUsername("ANA").getRol());
+        assertEquals("autor", dao.buscarPorUsername("Ana").getRol());
+        assertEquals(1, bd.lecturas("ANA"), "Las variantes de mayúsculas comparten entrada");
+        assertEquals("autor", dao.buscarPorUsername("ana  ").getRol());
+        assertEquals("autor", dao.buscarPorUsername("Ána").getRol());
+
+        assertTrue(dao.actualizarRol(2, "admin"));
+        assertEquals("admin", dao.buscarPorUsername("ANA").getRol());
+        assertEquals("admin", dao.buscarPorUsername("ana  ").getRol());
+        assertEquals("admin", dao.buscarPorUsername("Ána").getRol());
+        assertTrue(dao.eliminar(2));
+        assertNull(dao.buscarPorUsername("Ana"));
+        assertNull(dao.buscarPorUsername("ana  "), "Un usuario eliminado no debe poder entrar");
+        assertNull(dao.buscarPorUsername("Ána"));
+    }
+
+    @Test
+    @DisplayName("Eliminar debe invalidar, también si la escritura falla")
+    void testEliminar() throws Exception {
+        dao.buscarPorUsername("ana");
+        bd.fallar = true;
+        assertThrows(SQLException.class, () -> dao.eliminar(2));
+        bd.fallar = false;
+        dao.buscarPorUsername("ana");
+        assertEquals(2, bd.lecturas("ana"));
+
+        assertTrue(dao.eliminar(2));
+        assertNull(dao.buscarPorUsername("ana"));
+        assertNull(dao.obtenerPorId(2));
+    }
+
+    @Test
+    @DisplayName("Eliminar todos los autores debe vaciar ambas cachés")
+    void testEliminarTodosExceptoAdmins() throws Exception {
+        dao.buscarPorUsername("ana");
+        dao.obtenerPorId(2);
+        assertEquals(1, dao.eliminarTodosExceptoAdmins());
+        assertEquals(0, dao.getEstadisticas().get(0).getEntries());
+        assertEquals(0, dao.getEstadisticas().get(1).getEntries());
+        assertNull(dao.buscarPorUsername("ana"));
+        assertNull(dao.obtenerPorId(2));
+    }
+}
@@ -0,0 +1,198 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para {@link CircuitBreaker} y su uso desde {@link ConexionBD},
+ * usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para el interruptor de circuito")
+class CircuitBreakerTest {
+
+    private static final CircuitBreaker.Permission LLAMADA = CircuitBreaker.Permission.CALL;
+    private static final CircuitBreaker.Permission PRUEBA = CircuitBreaker.Permission.PROBE;
+    private static final CircuitBreaker.Permission RECHAZADO = CircuitBreaker.Permission.DENIED;
+
+    private StubDriver.Database db;
+    private ConexionBD conexionBD;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("circuito");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (conexionBD != null) {
+            conexionBD.shutdown();
+        }
+    }
+
+    private Properties configuracion(long openMs) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("circuito"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "0");
+        props.setProperty("pool.maxConnections", "2");
+        props.setProperty("pool.borrowTimeoutMs", "500");
+        props.setProperty("retry.maxAttempts", "5");
+        props.setProperty("retry.initialDelayMs", "20");
+        props.setProperty("circuit.windowSize", "4");
+        props.setProperty("circuit.minimumCalls", "2");
+        props.setProperty("circuit.failureRatePercent", "50");
+        props.setProperty("circuit.openMs", String.valueOf(openMs));
+        return props;
+    }
+
+    @Test
+    @DisplayName("No debe abrirse antes del mínimo de intentos ni por debajo del umbral")
+    void testUmbralYMinimo() {
+        CircuitBreaker breaker = new CircuitBreaker(configuracion(60000));
+
+        assertFalse(breaker.onFailure(LLAMADA), "Un único intento no alcanza el mínimo");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onSuccess(LLAMADA);
+        breaker.onSuccess(LLAMADA);
+        breaker.onSuccess(LLAMADA);
+        assertFalse(breaker.onFailure(LLAMADA), "El fallo más antiguo sale de la ventana: 1 de 4");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.onFailure(LLAMADA), "2 fallos de 4 alcanzan el umbral del 50%");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("El circuito abierto debe rechazar intentos sin llegar a la base de datos")
+    void testAbiertoRechaza() {
+        CircuitBreaker breaker = new CircuitBreaker(configuracion(60000));
+
+        assertFalse(breaker.onFailure(LLAMADA));
+        assertTrue(breaker.onFailure(LLAMADA), "El segundo fallo debe abrir el circuito");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getTimesOpened());
+
+        assertEquals(RECHAZADO, breaker.tryAcquirePermission());
+        assertEquals(RECHAZADO, breaker.tryAcquirePermission());
+        assertEquals(2, breaker.getRejectedCalls());
+        assertTrue(breaker.getRetryInMillis() > 0);
+    }
+
+    @Test
+    @DisplayName("Semiabierto debe dejar pasar un único intento de prueba")
+    void testUnicaPrueba() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(configuracion(50));
+        breaker.onFailure(LLAMADA);
+        breaker.onFailure(LLAMADA);
+        Thread.sleep(80);
+
+        assertEquals(PRUEBA, breaker.tryAcquirePermission(), "La primera petición debe ser la prueba");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(RECHAZADO, breaker.tryAcquirePermission(), "Solo puede haber una prueba a la vez");
+
+        breaker.onSuccess(PRUEBA);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate(), "La ventana debe empezar vacía");
+        assertEquals(LLAMADA, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Una prueba fallida debe volver a abrir el circuito")
+    void testPruebaFallida() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(configuracion(50));
+        breaker.onFailure(LLAMADA);
+        breaker.onFailure(LLAMADA);
+        Thread.sleep(80);
+
+        assertEquals(PRUEBA, breaker.tryAcquirePermission());
+        assertTrue(breaker.onFailure(PRUEBA));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTimesOpened());
+        assertEquals(RECHAZADO, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Un intento neutro debe liberar el permiso de prueba")
+    void testIntentoNeutro() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(configuracion(50));
+        breaker.onFailure(LLAMADA);
+        breaker.onFailure(LLAMADA);
+        Thread.sleep(80);
+
+        assertEquals(PRUEBA, breaker.tryAcquirePermission());
+        breaker.onIgnored(PRUEBA);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(PRUEBA, breaker.tryAcquirePermission(), "Otra petición debe poder hacer la prueba");
+    }
+
+    @Test
+    @DisplayName("Un intento lento admitido con el circuito cerrado no debe decidir la prueba")
+    void testIntentoLentoAnterior() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(configuracion(50));
+        CircuitBreaker.Permission lento = breaker.tryAcquirePermission();
+        assertEquals(LLAMADA, lento);
+        breaker.onFailure(LLAMADA);
+        breaker.onFailure(LLAMADA);
+        Thread.sleep(80);
+        assertEquals(PRUEBA, breaker.tryAcquirePermission());
+
+        // El intento lento termina mientras la prueba sigue en curso
+        breaker.onSuccess(lento);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "Solo la prueba puede cerrar el circuito");
+        assertEquals(RECHAZADO, breaker.tryAcquirePermission(), "No debe dejar pasar una segunda prueba");
+        assertFalse(breaker.onFailure(lento));
+        breaker.onIgnored(lento);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(RECHAZADO, breaker.tryAcquirePermission());
+
+        breaker.onSuccess(PRUEBA);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Desactivado no debe rechazar nunca")
+    void testDesactivado() {
+        Properties props = configuracion(60000);
+        props.setProperty("circuit.enabled", "false");
+        CircuitBreaker breaker = new CircuitBreaker(props);
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(breaker.onFailure(LLAMADA));
+        }
+        assertEquals(LLAMADA, breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("ConexionBD debe fallar de inmediato con el circuito abierto y recuperarse")
+    void testConexionBDFallaRapidoYSeRecupera() throws Exception {
+        db.down = true;
+        conexionBD = new ConexionBD(configuracion(300), false);
+
+        CircuitOpenException abierta = assertThrows(CircuitOpenException.class, conexionBD::getConexion,
+                "El fallo que abre el circuito debe cortar los reintentos");
+        assertInstanceOf(SQLException.class, abierta.getCause());
+        assertEquals(CircuitBreaker.State.OPEN, conexionBD.getCircuitBreaker().getState());
+
+        long inicio = System.nanoTime();
+        assertThrows(CircuitOpenException.class, conexionBD::getConexion);
+        assertTrue(System.nanoTime() - inicio < 50_000_000L, "Con el circuito abierto no debe esperar");
+        assertTrue(conexionBD.getCircuitBreaker().getRejectedCalls() >= 1);
+
+        db.down = false;
+        Thread.sleep(350);
+        try (Connection conn = conexionBD.getConexion()) {
+            assertNotNull(conn);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, conexionBD.getCircuitBreaker().getState());
+    }
+}
@@ -0,0 +1,310 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ConcurrentBag
+ */
+@DisplayName("Tests para ConcurrentBag")
+class ConcurrentBagTest {
+
+    private ConcurrentBag bag;
+
+    @BeforeEach
+    void setUp() {
+        bag = new ConcurrentBag();
+    }
+
+    @Test
+    @DisplayName("borrow debe retornar null si el contenedor está vacío")
+    void testBorrowVacio() throws InterruptedException {
+        assertNull(bag.borrow(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("borrow debe marcar la entrada como en uso y requite como libre")
+    void testBorrowYRequite() throws InterruptedException {
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+
+        PoolEntry prestada = bag.borrow(0, TimeUnit.MILLISECONDS);
+        assertSame(entry, prestada);
+        assertEquals(PoolEntry.STATE_IN_USE, prestada.getState());
+        assertNull(bag.borrow(0, TimeUnit.MILLISECONDS), "No debe prestar una entrada ya en uso");
+
+        bag.requite(prestada);
+        assertEquals(PoolEntry.STATE_NOT_IN_USE, entry.getState());
+        assertEquals(1, bag.getCount(PoolEntry.STATE_NOT_IN_USE));
+    }
+
+    @Test
+    @DisplayName("Un hilo debe recuperar la última entrada que devolvió")
+    void testAfinidadPorHilo() throws InterruptedException {
+        PoolEntry primera = new PoolEntry(null);
+        PoolEntry segunda = new PoolEntry(null);
+        bag.add(primera);
+        bag.add(segunda);
+
+        PoolEntry a = bag.borrow(0, TimeUnit.MILLISECONDS);
+        PoolEntry b = bag.borrow(0, TimeUnit.MILLISECONDS);
+        bag.requite(a);
+        bag.requite(b);
+
+        assertSame(b, bag.borrow(0, TimeUnit.MILLISECONDS), "Debe reutilizar la última entrada devuelta");
+    }
+
+    @Test
+    @DisplayName("requite debe entregar la entrada directamente a un hilo en espera")
+    void testEntregaDirecta() throws Exception {
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+        PoolEntry prestada = bag.borrow(0, TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<PoolEntry> espera = executor.submit(() -> bag.borrow(5, TimeUnit.SECONDS));
+            while (bag.getWaitingThreadCount() == 0) {
+                Thread.yield();
+            }
+            bag.requite(prestada);
+
+            assertSame(entry, espera.get(5, TimeUnit.SECONDS));
+            assertEquals(PoolEntry.STATE_IN_USE, entry.getState());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lanza un hilo que espera una entrada con la prioridad indicada y aguarda a que
+     * quede en espera.
+     */
+    private Future<PoolEntry> esperar(ExecutorService executor, BorrowPriority prioridad) {
+        int antes = bag.getWaitingThreadCount();
+        Future<PoolEntry> espera = executor.submit(() -> bag.borrow(5, TimeUnit.SECONDS, prioridad));
+        while (bag.getWaitingThreadCount() == antes) {
+            Thread.yield();
+        }
+        return espera;
+    }
+
+    @Test
+    @DisplayName("requite debe entregar primero al hilo en espera de mayor prioridad")
+    void testEntregaPorPrioridad() throws Exception {
+        bag = new ConcurrentBag(60_000);
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+        PoolEntry prestada = bag.borrow(0, TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PoolEntry> anonima = esperar(executor, BorrowPriority.LOW);
+            Thread.sleep(20);
+            Future<PoolEntry> login = esperar(executor, BorrowPriority.HIGH);
+
+            bag.requite(prestada);
+            assertSame(entry, login.get(5, TimeUnit.SECONDS), "El login llegó después pero tiene prioridad");
+            assertFalse(anonima.isDone());
+
+            bag.requite(entry);
+            assertSame(entry, anonima.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Una espera larga debe compensar la prioridad baja (envejecimiento)")
+    void testEnvejecimiento() throws Exception {
+        bag = new ConcurrentBag(20);
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+        PoolEntry prestada = bag.borrow(0, TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PoolEntry> anonima = esperar(executor, BorrowPriority.LOW);
+            Thread.sleep(100); // más de dos niveles de envejecimiento
+            Future<PoolEntry> login = esperar(executor, BorrowPriority.HIGH);
+
+            bag.requite(prestada);
+            assertSame(entry, anonima.get(5, TimeUnit.SECONDS), "No debe esperar indefinidamente");
+            assertFalse(login.isDone());
+
+            bag.requite(entry);
+            assertSame(entry, login.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Sin envejecimiento configurado debe atender por orden de llegada")
+    void testOrdenDeLlegada() throws Exception {
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+        PoolEntry prestada = bag.borrow(0, TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PoolEntry> primera = esperar(executor, BorrowPriority.LOW);
+            Future<PoolEntry> segunda = esperar(executor, BorrowPriority.HIGH);
+
+            bag.requite(prestada);
+            assertSame(entry, primera.get(5, TimeUnit.SECONDS));
+            assertFalse(segunda.isDone());
+            bag.requite(entry);
+            assertSame(entry, segunda.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("close debe despertar a los hilos en espera")
+    void testCloseDespiertaEsperas() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<PoolEntry> espera = esperar(executor, BorrowPriority.NORMAL);
+            bag.close();
+            assertNull(espera.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("reserve debe impedir que una entrada sea prestada")
+    void testReserve() throws InterruptedException {
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+
+        assertTrue(bag.reserve(entry));
+        assertNull(bag.borrow(0, TimeUnit.MILLISECONDS));
+
+        bag.unreserve(entry);
+        assertSame(entry, bag.borrow(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("remove solo debe retirar entradas prestadas o reservadas")
+    void testRemove() throws InterruptedException {
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+
+        assertFalse(bag.remove(entry), "Una entrada libre no debe poder retirarse");
+
+        bag.borrow(0, TimeUnit.MILLISECONDS);
+        assertTrue(bag.remove(entry));
+        assertEquals(0, bag.size());
+        assertEquals(PoolEntry.STATE_REMOVED, entry.getState());
+    }
+
+    @Test
+    @DisplayName("Una entrada nunca debe estar prestada a dos hilos a la vez")
+    void testExclusionConcurrente() throws Exception {
+        int entradas = 4;
+        int hilos = 16;
+        for (int i = 0; i < entradas; i++) {
+            bag.add(new PoolEntry(null));
+        }
+
+        Set<PoolEntry> enUso = ConcurrentHashMap.newKeySet();
+        AtomicInteger violaciones = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            for (int t = 0; t < hilos; t++) {
+                executor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < 2000; i++) {
+                        PoolEntry entry = bag.borrow(1, TimeUnit.SECONDS);
+                        if (entry == null) {
+                            continue;
+                        }
+                        if (!enUso.add(entry)) {
+                            violaciones.incrementAndGet();
+                        }
+                        enUso.remove(entry);
+                        bag.requite(entry);
+                    }
+                    return null;
+                });
+            }
+            inicio.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, violaciones.get());
+        assertEquals(entradas, bag.getCount(PoolEntry.STATE_NOT_IN_USE));
+    }
+
+    @Test
+    @DisplayName("requite debe entregar al hilo en cola aunque otro hilo llegue a la vez")
+    void testEnColaAntesQueRecienLlegado() throws Exception {
+        PoolEntry entry = new PoolEntry(null);
+        bag.add(entry);
+
+        for (int ronda = 0; ronda < 1000; ronda++) {
+            PoolEntry prestada = bag.borrow(0, TimeUnit.MILLISECONDS);
+            assertSame(entry, prestada);
+
+            PoolEntry[] recibida = new PoolEntry[1];
+            Thread enCola = new Thread(() -> {
+                try {
+                    recibida[0] = bag.borrow(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            enCola.start();
+            while (enCola.getState() != Thread.State.TIMED_WAITING) {
+                Thread.yield();
+            }
+
+            AtomicInteger robadas = new AtomicInteger();
+            CountDownLatch intentando = new CountDownLatch(1);
+            Thread recienLlegado = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        PoolEntry tomada = bag.borrow(0, TimeUnit.MILLISECONDS);
+                        if (tomada != null) {
+                            robadas.incrementAndGet();
+                            bag.requite(tomada);
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    intentando.countDown();
+                }
+            });
+            recienLlegado.start();
+            assertTrue(intentando.await(5, TimeUnit.SECONDS));
+
+            bag.requite(prestada);
+            enCola.join(5000);
+            recienLlegado.interrupt();
+            recienLlegado.join(5000);
+
+            assertEquals(0, robadas.get(), "Ronda " + ronda + ": el recién llegado se adelantó al hilo en cola");
+            assertSame(entry, recibida[0]);
+            bag.requite(entry);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.dao;
+
+import java.lang.reflect.Field;
+import java.util.Properties;
+
+/**
+ * Instala como instancia única de {@link ConexionBD} una conectada al driver simulado
+ * {@link StubDriver}, para las pruebas de filtros y servlets que la obtienen con
+ * {@link ConexionBD#getInstancia()}.
+ *
+ * <p>La instancia se coloca por reflexión en el campo del singleton, de modo que el
+ * código de producción no necesita ningún método exclusivo para pruebas. Se retira
+ * con {@link ConexionBD#cerrarInstancia()}.</p>
+ */
+public final class ConexionBDDePrueba {
+
+    private ConexionBDDePrueba() {
+    }
+
+    /**
+     * Crea la instancia única sobre la base de datos simulada indicada.
+     *
+     * @param nombre Nombre de la base de datos simulada (se reinicia su estado)
+     * @param extra Configuración adicional (mismas claves que db.properties)
+     * @return Instancia instalada
+     */
+    public static ConexionBD instalar(String nombre, Properties extra) {
+        StubDriver.reset();
+        StubDriver.database(nombre);
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url(nombre));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "0");
+        props.setProperty("pool.borrowTimeoutMs", "200");
+        props.putAll(extra);
+        ConexionBD.cerrarInstancia();
+        ConexionBD conexionBD = new ConexionBD(props, false);
+        try {
+            Field instancia = ConexionBD.class.getDeclaredField("instancia");
+            instancia.setAccessible(true);
+            instancia.set(null, conexionBD);
+        } catch (ReflectiveOperationException e) {
+            conexionBD.shutdown();
+            throw new IllegalStateException(e);
+        }
+        return conexionBD;
+    }
+
+    /**
+     * Simula una caída (o la recuperación) de la base de datos simulada.
+     */
+    public static void caida(String nombre, boolean caida) {
+        StubDriver.database(nombre).down = caida;
+    }
+
+    /**
+     * @return Conexiones físicas abiertas hasta ahora en la base de datos simulada
+     */
+    public static int conexionesCreadas(String nombre) {
+        return StubDriver.database(nombre).connectionsCreated.get();
+    }
+}
@@ -0,0 +1,162 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la recarga en caliente de la configuración de
+ * {@link ConexionBD} y para {@link ConfigWatcher}, usando el driver simulado
+ * {@link StubDriver}
+ */
+@DisplayName("Tests para la recarga de configuración")
+class ConfigReloadTest {
+
+    private StubDriver.Database antigua;
+    private StubDriver.Database nueva;
+    private ConexionBD conexionBD;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        antigua = StubDriver.database("antigua");
+        nueva = StubDriver.database("nueva");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (conexionBD != null) {
+            conexionBD.shutdown();
+        }
+    }
+
+    private Properties configuracion(String database, int max) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url(database));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "1");
+        props.setProperty("pool.maxConnections", String.valueOf(max));
+        props.setProperty("pool.borrowTimeoutMs", "2000");
+        props.setProperty("pool.drainTimeoutSeconds", "5");
+        props.setProperty("retry.maxAttempts", "0");
+        return props;
+    }
+
+    private void consultar(Connection conn) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeQuery("SELECT 1").close();
+        }
+    }
+
+    private static void esperarHasta(java.util.function.BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 2000;
+        while (!condicion.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Recargar debe pasar los préstamos nuevos al pool nuevo y vaciar el anterior")
+    void testReemplazoSinCorte() throws Exception {
+        conexionBD = new ConexionBD(configuracion("antigua", 5), false);
+        Connection enCurso = conexionBD.getConexion();
+
+        assertTrue(conexionBD.recargar(configuracion("nueva", 8)));
+
+        try (Connection conn = conexionBD.getConexion()) {
+            consultar(conn);
+        }
+        assertEquals(1, nueva.queriesExecuted.get());
+        assertEquals(8, conexionBD.getMetrics().getMaxConnections());
+
+        consultar(enCurso);
+        assertEquals(1, antigua.queriesExecuted.get(), "La conexión prestada sigue funcionando");
+        assertTrue(antigua.openConnections() > 0);
+
+        enCurso.close();
+        esperarHasta(() -> antigua.openConnections() == 0);
+        assertEquals(0, antigua.openConnections(), "El pool anterior debe cerrarse al devolverse sus conexiones");
+    }
+
+    @Test
+    @DisplayName("Una configuración idéntica no debe reemplazar el pool")
+    void testSinCambios() throws Exception {
+        conexionBD = new ConexionBD(configuracion("antigua", 5), false);
+        assertFalse(conexionBD.recargar(configuracion("antigua", 5)));
+        assertEquals(1, antigua.connectionsCreated.get());
+    }
+
+    @Test
+    @DisplayName("Una configuración que no logra conectar no debe reemplazar un pool que funciona")
+    void testConfiguracionInalcanzable() throws Exception {
+        conexionBD = new ConexionBD(configuracion("antigua", 5), false);
+        nueva.down = true;
+
+        assertFalse(conexionBD.recargar(configuracion("nueva", 5)));
+
+        try (Connection conn = conexionBD.getConexion()) {
+            consultar(conn);
+        }
+        assertEquals(1, antigua.queriesExecuted.get());
+    }
+
+    @Test
+    @DisplayName("Un hilo esperando en el pool anterior debe recibir una conexión del pool nuevo")
+    void testEsperaDuranteElReemplazo() throws Exception {
+        conexionBD = new ConexionBD(configuracion("antigua", 1), false);
+        Connection unica = conexionBD.getConexion();
+
+        CompletableFuture<Connection> espera = CompletableFuture.supplyAsync(() -> {
+            try {
+                return conexionBD.getConexion();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(espera.isDone(), "El pool anterior está lleno");
+
+        assertTrue(conexionBD.recargar(configuracion("nueva", 4)));
+
+        try (Connection conn = espera.get(1, TimeUnit.SECONDS)) {
+            consultar(conn);
+        }
+        assertEquals(1, nueva.queriesExecuted.get(), "No debe esperar a que el pool anterior libere la conexión");
+        unica.close();
+    }
+
+    @Test
+    @DisplayName("El vigilante debe avisar una sola vez por cada guardado del archivo")
+    void testVigilante(@TempDir Path dir) throws Exception {
+        Path archivo = dir.resolve("db.properties");
+        Files.writeString(archivo, "db.url=a\n");
+        AtomicInteger avisos = new AtomicInteger();
+        ConfigWatcher watcher = new ConfigWatcher(archivo, 200, avisos::incrementAndGet);
+        watcher.start();
+        try {
+            Files.writeString(archivo, "db.url=b\n");
+            Files.writeString(archivo, "db.url=b\npool.maxConnections=20\n");
+            Files.writeString(dir.resolve("otro.txt"), "ignorado");
+
+            esperarHasta(() -> avisos.get() > 0);
+            Thread.sleep(400);
+            assertEquals(1, avisos.get());
+        } finally {
+            watcher.close();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ConnectionPool usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para ConnectionPool")
+class ConnectionPoolTest {
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+    /** Reloj del pool en milisegundos, avanzado a mano por las pruebas del mantenimiento */
+    private final AtomicLong reloj = new AtomicLong(1_000_000);
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("pooltest");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool crearPool(int min, int max, long borrowTimeoutMs) {
+        return crearPool(min, max, borrowTimeoutMs, new Properties());
+    }
+
+    private ConnectionPool crearPool(int min, int max, long borrowTimeoutMs, Properties props) {
+        props.setProperty("db.url", StubDriver.url("pooltest"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", String.valueOf(min));
+        props.setProperty("pool.maxConnections", String.valueOf(max));
+        props.setProperty("pool.borrowTimeoutMs", String.valueOf(borrowTimeoutMs));
+        ConnectionPool nuevo = new ConnectionPool("test", props, reloj::get);
+        nuevo.initialize();
+        return nuevo;
+    }
+
+    @Test
+    @DisplayName("initialize debe abrir el mínimo de conexiones")
+    void testInitialize() {
+        pool = crearPool(2, 5, 100);
+        assertEquals(2, pool.getTotalConnections());
+        assertEquals(2, db.connectionsCreated.get());
+    }
+
+    @Test
+    @DisplayName("getConnection debe reutilizar conexiones devueltas")
+    void testReutilizacion() throws Exception {
+        pool = crearPool(1, 5, 100);
+
+        Connection conn = pool.getConnection(100);
+        assertNotNull(conn);
+        Connection fisica = conn.unwrap(Connection.class);
+        conn.close();
+
+        Connection otra = pool.getConnection(100);
+        assertSame(fisica, otra.unwrap(Connection.class), "Debe reutilizar la misma conexión física");
+        assertEquals(1, db.connectionsCreated.get());
+        otra.close();
+    }
+
+    @Test
+    @DisplayName("El pool no debe superar el máximo de conexiones")
+    void testMaximo() throws Exception {
+        pool = crearPool(0, 2, 50);
+
+        Connection c1 = pool.getConnection(50);
+        Connection c2 = pool.getConnection(50);
+        assertNotNull(c1);
+        assertNotNull(c2);
+        assertNull(pool.getConnection(50), "Con el pool lleno debe agotarse el tiempo de espera");
+        assertEquals(2, pool.getTotalConnections());
+
+        c1.close();
+        c2.close();
+    }
+
+    @Test
+    @DisplayName("Una conexión devuelta debe entregarse de inmediato al hilo en espera")
+    void testEsperaAcotadaConEntrega() throws Exception {
+        pool = crearPool(1, 1, 5000);
+        Connection conn = pool.getConnection(0);
+        Connection fisica = conn.unwrap(Connection.class);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            long inicio = System.nanoTime();
+            Future<Connection> espera = executor.submit(() -> pool.getConnection(5000));
+            while (pool.getWaitingThreads() == 0) {
+                Thread.yield();
+            }
+            conn.close();
+
+            Connection recibida = espera.get(5, TimeUnit.SECONDS);
+            long esperaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+            assertSame(fisica, recibida.unwrap(Connection.class));
+            assertTrue(esperaMs < 2000, "La entrega no debe esperar el timeout completo: " + esperaMs + "ms");
+            recibida.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Cerrar dos veces la misma conexión no debe devolverla dos veces al pool")
+    void testDobleDevolucion() throws Exception {
+        pool = crearPool(1, 1, 50);
+        Connection conn = pool.getConnection(50);
+        conn.close();
+        conn.close();
+
+        Connection c1 = pool.getConnection(50);
+        assertNotNull(c1);
+        assertNull(pool.getConnection(50), "La única conexión no debe prestarse a dos hilos");
+        c1.close();
+    }
+
+    @Test
+    @DisplayName("shutdown debe cerrar todas las conexiones físicas")
+    void testShutdown() throws Exception {
+        pool = crearPool(3, 3, 50);
+        pool.shutdown();
+        assertEquals(0, db.openConnections());
+        assertEquals(0, pool.getTotalConnections());
+        pool = null;
+    }
+
+    @Test
+    @DisplayName("getConnection no debe ejecutar consultas de validación")
+    void testPrestamoSinValidacion() throws Exception {
+        pool = crearPool(1, 2, 50);
+        int consultasAntes = db.queriesExecuted.get();
+
+        Connection conn = pool.getConnection(50);
+        conn.close();
+
+        assertEquals(consultasAntes, db.queriesExecuted.get());
+    }
+
+    @Test
+    @DisplayName("El mantenimiento debe cerrar conexiones inactivas respetando el mínimo")
+    void testMantenimientoInactivas() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("connection.maxIdleMinutes", "1");
+        pool = crearPool(1, 3, 50, props);
+
+        Connection c1 = pool.getConnection(0);
+        Connection c2 = pool.getConnection(0);
+        Connection c3 = pool.getConnection(0);
+        c1.close();
+        c2.close();
+        c3.close();
+        assertEquals(3, pool.getTotalConnections());
+
+        reloj.addAndGet(TimeUnit.SECONDS.toMillis(59));
+        pool.housekeep();
+        assertEquals(3, pool.getTotalConnections(), "Antes de maxIdle no debe cerrarse ninguna");
+
+        reloj.addAndGet(TimeUnit.SECONDS.toMillis(2));
+        pool.housekeep();
+
+        assertEquals(1, pool.getTotalConnections());
+        assertEquals(1, db.openConnections());
+        assertEquals(2, pool.getMetrics().getConnectionsEvicted());
+    }
+
+    @Test
+    @DisplayName("El keepalive debe descartar conexiones inválidas y el pool debe reponerse")
+    void testMantenimientoKeepalive() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("connection.keepaliveMinutes", "1");
+        pool = crearPool(2, 4, 50, props);
+        int consultasAntes = db.queriesExecuted.get();
+
+        pool.housekeep();
+        assertEquals(consultasAntes, db.queriesExecuted.get(), "Antes del keepalive no debe validarse");
+
+        reloj.addAndGet(TimeUnit.SECONDS.toMillis(61));
+        db.down = true;
+        pool.housekeep();
+        assertEquals(0, pool.getTotalConnections(), "Las conexiones inválidas deben descartarse");
+
+        db.down = false;
+        // Una reposición asíncrona solicitada mientras la base de datos estaba caída puede
+        // fallar después de que el mantenimiento haya contado su cupo; el siguiente ciclo
+        // de mantenimiento la corrige
+        long limite = System.currentTimeMillis() + 2000;
+        do {
+            pool.housekeep();
+            Thread.sleep(10);
+        } while (pool.getTotalConnections() < 2 && System.currentTimeMillis() < limite);
+        assertEquals(2, pool.getTotalConnections(), "El pool debe reponerse hasta el mínimo");
+    }
+
+    @Test
+    @DisplayName("El keepalive no debe impedir cerrar las conexiones inactivas")
+    void testKeepaliveNoEvitaInactividad() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("connection.keepaliveMinutes", "0");
+        props.setProperty("connection.maxIdleMinutes", "1");
+        pool = crearPool(1, 3, 50, props);
+
+        Connection c1 = pool.getConnection(0);
+        Connection c2 = pool.getConnection(0);
+        Connection c3 = pool.getConnection(0);
+        c1.close();
+        c2.close();
+        c3.close();
+
+        // Ciclos de mantenimiento cada 30 s: el keepalive valida las conexiones en cada uno
+        int consultasAntes = db.queriesExecuted.get();
+        for (int ciclo = 0; ciclo < 4; ciclo++) {
+            reloj.addAndGet(TimeUnit.SECONDS.toMillis(30));
+            pool.housekeep();
+        }
+
+        assertTrue(db.queriesExecuted.get() > consultasAntes, "El keepalive debía validar las conexiones");
+        assertEquals(1, pool.getTotalConnections(), "Las conexiones inactivas debían cerrarse hasta el mínimo");
+    }
+
+    @Test
+    @DisplayName("El tiempo de vida máximo debe retirar las conexiones libres y, al devolverse, las prestadas")
+    void testMantenimientoTiempoDeVida() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("connection.maxLifetimeMinutes", "1");
+        pool = crearPool(2, 2, 50, props);
+        Connection prestada = pool.getConnection(0);
+
+        reloj.addAndGet(TimeUnit.SECONDS.toMillis(61));
+        pool.housekeep();
+
+        assertEquals(1, pool.getMetrics().getConnectionsEvicted(), "Solo la conexión libre se retira de inmediato");
+        assertEquals(2, pool.getTotalConnections(), "El mantenimiento repone la conexión retirada");
+        assertFalse(prestada.isClosed(), "La conexión prestada no debe cerrarse mientras se usa");
+
+        prestada.close();
+        assertEquals(2, pool.getMetrics().getConnectionsEvicted(), "Al devolverse, la conexión vencida se retira");
+        assertEquals(2, db.connectionsClosed.get());
+    }
+}
@@ -0,0 +1,128 @@
+package com.blog.dao;
+
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el cursor de paginación {@link CursorArticulo} y el armado de
+ * páginas de {@link MySQLArticuloDAO}
+ */
+@DisplayName("Tests para la paginación por cursor")
+class CursorArticuloTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    /** Artículos con ids desde {@code desde} hasta {@code hasta}, uno por hora */
+    private List<ArticuloResumen> articulos(int desde, int hasta) {
+        List<ArticuloResumen> filas = new ArrayList<>();
+        int paso = desde <= hasta ? 1 : -1;
+        for (int id = desde; id != hasta + paso; id += paso) {
+            ArticuloResumen resumen = new ArticuloResumen();
+            resumen.setId(id);
+            resumen.setTitulo("Artículo " + id);
+            resumen.setFechaPublicacion(BASE.plusHours(id));
+            filas.add(resumen);
+        }
+        return filas;
+    }
+
+    @Test
+    @DisplayName("El token debe reconstruir el mismo cursor")
+    void testTokenIdaYVuelta() {
+        CursorArticulo cursor = CursorArticulo.despues(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 600_000_000), 42);
+        assertEquals(cursor, CursorArticulo.parse(cursor.toToken(), false));
+
+        CursorArticulo enPunto = CursorArticulo.antes(BASE, 7);
+        CursorArticulo leido = CursorArticulo.parse(enPunto.toToken(), true);
+        assertEquals(enPunto, leido);
+        assertTrue(leido.isAnterior());
+        assertNotEquals(enPunto, CursorArticulo.parse(enPunto.toToken(), false));
+    }
+
+    @Test
+    @DisplayName("Un token ausente o manipulado debe llevar a la primera página")
+    void testTokenInvalido() {
+        assertNull(CursorArticulo.parse(null, false));
+        assertNull(CursorArticulo.parse("", false));
+        assertNull(CursorArticulo.parse("2026-10-18T12:00", false));
+        assertNull(CursorArticulo.parse("2026-10-18T12:00_", false));
+        assertNull(CursorArticulo.parse("_5", false));
+        assertNull(CursorArticulo.parse("ayer_5", false));
+        assertNull(CursorArticulo.parse("2026-10-18T12:00_5 OR 1=1", false));
+    }
+
+    @Test
+    @DisplayName("Los parámetros antes y despues deben dar el cursor de su dirección")
+    void testDesdeParametros() {
+        CursorArticulo cursor = CursorArticulo.despues(LocalDateTime.of(2026, 10, 18, 12, 0), 5);
+        String token = cursor.toToken();
+
+        assertNull(CursorArticulo.desdeParametros(null, null));
+        assertEquals(cursor, CursorArticulo.desdeParametros(null, token));
+        assertTrue(CursorArticulo.desdeParametros(token, null).isAnterior());
+        assertTrue(CursorArticulo.desdeParametros(token, token).isAnterior(), "antes tiene preferencia");
+        assertNull(CursorArticulo.desdeParametros("ayer_5", token));
+    }
+
+    @Test
+    @DisplayName("La primera página solo debe enlazar a la siguiente si hay más filas")
+    void testPrimeraPagina() {
+        Pagina<ArticuloResumen> pagina = MySQLArticuloDAO.armarPagina(articulos(10, 7), null, 3);
+
+        assertEquals(List.of(10, 9, 8), pagina.getElementos().stream().map(ArticuloResumen::getId).toList());
+        assertFalse(pagina.isHayAnterior());
+        assertEquals(CursorArticulo.despues(BASE.plusHours(8), 8).toToken(), pagina.getCursorSiguiente());
+
+        Pagina<ArticuloResumen> unica = MySQLArticuloDAO.armarPagina(articulos(2, 1), null, 3);
+        assertFalse(unica.isHayAnterior());
+        assertFalse(unica.isHaySiguiente());
+    }
+
+    @Test
+    @DisplayName("Avanzando, la página debe enlazar hacia atrás y hacia delante solo si hay más")
+    void testPaginaSiguiente() {
+        CursorArticulo cursor = CursorArticulo.despues(BASE.plusHours(8), 8);
+
+        Pagina<ArticuloResumen> intermedia = MySQLArticuloDAO.armarPagina(articulos(7, 4), cursor, 3);
+        assertEquals(List.of(7, 6, 5), intermedia.getElementos().stream().map(ArticuloResumen::getId).toList());
+        assertEquals(CursorArticulo.antes(BASE.plusHours(7), 7).toToken(), intermedia.getCursorAnterior());
+        assertEquals(CursorArticulo.despues(BASE.plusHours(5), 5).toToken(), intermedia.getCursorSiguiente());
+
+        Pagina<ArticuloResumen> ultima = MySQLArticuloDAO.armarPagina(articulos(2, 1), cursor, 3);
+        assertTrue(ultima.isHayAnterior());
+        assertFalse(ultima.isHaySiguiente());
+    }
+
+    @Test
+    @DisplayName("Retrocediendo, las filas ascendentes deben mostrarse en orden descendente")
+    void testPaginaAnterior() {
+        CursorArticulo cursor = CursorArticulo.antes(BASE.plusHours(5), 5);
+
+        Pagina<ArticuloResumen> pagina = MySQLArticuloDAO.armarPagina(articulos(6, 9), cursor, 3);
+        assertEquals(List.of(8, 7, 6), pagina.getElementos().stream().map(ArticuloResumen::getId).toList());
+        assertEquals(CursorArticulo.antes(BASE.plusHours(8), 8).toToken(), pagina.getCursorAnterior());
+        assertEquals(CursorArticulo.despues(BASE.plusHours(6), 6).toToken(), pagina.getCursorSiguiente());
+
+        Pagina<ArticuloResumen> primera = MySQLArticuloDAO.armarPagina(articulos(6, 8), cursor, 3);
+        assertFalse(primera.isHayAnterior(), "Sin fila extra no quedan artículos más recientes");
+        assertTrue(primera.isHaySiguiente());
+    }
+
+    @Test
+    @DisplayName("Una página vacía no debe tener enlaces")
+    void testPaginaVacia() {
+        Pagina<ArticuloResumen> pagina = MySQLArticuloDAO.armarPagina(new ArrayList<>(),
+                CursorArticulo.despues(BASE, 1), 3);
+        assertTrue(pagina.isVacia());
+        assertFalse(pagina.isHayAnterior());
+        assertFalse(pagina.isHaySiguiente());
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la detección de fugas de conexiones del pool usando el
+ * driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para la detección de fugas de conexiones")
+class LeakDetectionTest {
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        StubDriver.database("leaks");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool crearPool(long leakDetectionThresholdMs) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("leaks"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "1");
+        props.setProperty("pool.maxConnections", "3");
+        props.setProperty("pool.borrowTimeoutMs", "50");
+        props.setProperty("pool.leakDetectionThresholdMs", String.valueOf(leakDetectionThresholdMs));
+        ConnectionPool nuevo = new ConnectionPool("leaks", props);
+        nuevo.initialize();
+        return nuevo;
+    }
+
+    @Test
+    @DisplayName("El volcado debe mostrar el hilo y el punto de préstamo de cada conexión en uso")
+    void testVolcadoConexionesEnUso() throws Exception {
+        pool = crearPool(60000);
+
+        try (Connection conn = pool.getConnection(50)) {
+            assertNotNull(conn);
+            List<PooledConnectionInfo> enUso = pool.getInUseConnections();
+
+            assertEquals(1, enUso.size());
+            PooledConnectionInfo info = enUso.get(0);
+            assertEquals(Thread.currentThread().getName(), info.getHolderThread());
+            assertFalse(info.isLeakSuspected());
+            assertFalse(info.getBorrowSite().isEmpty());
+            StackTraceElement llamador = info.getBorrowSite().get(0);
+            assertEquals(LeakDetectionTest.class.getName(), llamador.getClassName(),
+                    "El primer marco debe ser quien pidió la conexión, no el pool");
+        }
+
+        assertTrue(pool.getInUseConnections().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Una conexión retenida más del umbral debe reportarse una sola vez")
+    void testDeteccionDeFuga() throws Exception {
+        pool = crearPool(1);
+
+        Connection retenida = pool.getConnection(50);
+        Thread.sleep(10);
+
+        pool.detectLeaks();
+        pool.detectLeaks();
+
+        assertEquals(1, pool.getMetrics().getLeaksDetected());
+        assertTrue(pool.getInUseConnections().get(0).isLeakSuspected());
+
+        retenida.close();
+        assertEquals(0, pool.getActiveConnections());
+    }
+
+    @Test
+    @DisplayName("Un préstamo declarado largo no debe reportarse, y la marca no debe pasar al siguiente")
+    void testPrestamoLargo() throws Exception {
+        pool = crearPool(1);
+
+        Connection recorrido = pool.getConnection(50);
+        ((ProxyConnection) recorrido).markLongRunning();
+        Thread.sleep(10);
+        pool.detectLeaks();
+
+        assertEquals(0, pool.getMetrics().getLeaksDetected());
+        assertFalse(pool.getInUseConnections().get(0).isLeakSuspected());
+        recorrido.close();
+
+        Connection siguiente = pool.getConnection(50);
+        Thread.sleep(10);
+        pool.detectLeaks();
+        assertEquals(1, pool.getMetrics().getLeaksDetected());
+        siguiente.close();
+    }
+
+    @Test
+    @DisplayName("Sin detección de fugas no debe capturarse el punto de préstamo")
+    void testDeteccionDesactivada() throws Exception {
+        pool = crearPool(0);
+
+        try (Connection conn = pool.getConnection(50)) {
+            assertNotNull(conn);
+            PooledConnectionInfo info = pool.getInUseConnections().get(0);
+            assertTrue(info.getBorrowSite().isEmpty());
+            assertFalse(info.isLeakSuspected());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las escrituras por lotes de {@link ConexionBD}, usando el
+ * driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para las escrituras por lotes")
+class LoteTest {
+
+    private static final String SQL = "INSERT INTO articulos (titulo) VALUES (?)";
+
+    private ConexionBD conexionBD;
+    private StubDriver.Database db;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("lotes");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (conexionBD != null) {
+            conexionBD.shutdown();
+        }
+    }
+
+    private List<Integer> insertar(List<String> titulos) throws SQLException {
+        return conexionBD.insertarPorTramos(SQL, titulos, (stmt, titulo) -> stmt.setString(1, titulo));
+    }
+
+    private ConexionBD crear(String chunkSize) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("lotes"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "0");
+        props.setProperty("pool.maxConnections", "2");
+        if (chunkSize != null) {
+            props.setProperty("batch.chunkSize", chunkSize);
+        }
+        conexionBD = new ConexionBD(props, false);
+        return conexionBD;
+    }
+
+    @Test
+    @DisplayName("El tamaño de tramo debe leerse de batch.chunkSize y ser al menos 1")
+    void testTamanoLote() {
+        assertEquals(1000, crear(null).getTamanoLote());
+        conexionBD.shutdown();
+        assertEquals(250, crear("250").getTamanoLote());
+        conexionBD.shutdown();
+        assertEquals(1, crear("0").getTamanoLote());
+    }
+
+    @Test
+    @DisplayName("Un lote debe enviarse de una vez y devolver un ID por fila, en orden")
+    void testEjecutarLote() throws Exception {
+        crear(null);
+        db.lastInsertId.set(40);
+
+        try (Connection conn = conexionBD.getConexion();
+                PreparedStatement stmt = conn.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < 3; i++) {
+                stmt.setString(1, "Artículo " + i);
+                stmt.addBatch();
+            }
+            assertEquals(List.of(41, 42, 43), ConexionBD.ejecutarLote(stmt, 3));
+        }
+        assertEquals(1, db.batchesExecuted.get());
+    }
+
+    @Test
+    @DisplayName("Un lote sin los IDs generados debe fallar para poder deshacer la transacción")
+    void testLoteSinClaves() throws Exception {
+        crear(null);
+        db.noGeneratedKeys = true;
+
+        try (Connection conn = conexionBD.getConexion();
+                PreparedStatement stmt = conn.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.addBatch();
+            stmt.addBatch();
+            assertThrows(SQLException.class, () -> ConexionBD.ejecutarLote(stmt, 2));
+        }
+    }
+
+    @Test
+    @DisplayName("La excepción de lote interrumpido debe conservar los IDs confirmados y la causa")
+    void testLoteInterrumpido() {
+        SQLException causa = new SQLException("Duplicate entry 'ana' for key 'username'", "23000", 1062);
+        LoteInterrumpidoException e = new LoteInterrumpidoException(List.of(7, 8), causa);
+
+        assertEquals(2, e.getConfirmadas());
+        assertEquals(List.of(7, 8), e.getIdsConfirmados());
+        assertEquals("23000", e.getSQLState());
+        assertEquals(1062, e.getErrorCode());
+        assertSame(causa, e.getCause());
+        assertFalse(e.isTramoIncierto());
+
+        CommitInciertoException commit = new CommitInciertoException(new SQLException("Communications link failure"));
+        LoteInterrumpidoException incierto = new LoteInterrumpidoException(List.of(7), commit, true);
+        assertTrue(incierto.isTramoIncierto());
+        assertTrue(incierto.getMessage().contains("pudo confirmarse"));
+    }
+
+    @Test
+    @DisplayName("Cada tramo debe enviarse en su propio lote y transacción")
+    void testInsertarPorTramos() throws Exception {
+        crear("2");
+
+        assertEquals(List.of(1, 2, 3, 4, 5), insertar(List.of("a", "b", "c", "d", "e")));
+        assertEquals(3, db.batchesExecuted.get());
+        assertEquals(3, db.commits.get());
+    }
+
+    @Test
+    @DisplayName("Un tramo que falla por un error transitorio debe deshacerse y reintentarse")
+    void testTramoTransitorio() throws Exception {
+        crear("2");
+        db.batchError = new SQLException("Communications link failure (simulado)", "08S01");
+        db.batchFailures.set(1);
+
+        assertEquals(List.of(1, 2, 3), insertar(List.of("a", "b", "c")));
+        assertEquals(0, db.batchFailures.get());
+        assertEquals(2, db.batchesExecuted.get());
+        assertEquals(2, db.commits.get());
+    }
+
+    @Test
+    @DisplayName("Una restricción violada no debe reintentarse y debe conservar los tramos anteriores")
+    void testTramoDuplicado() throws Exception {
+        crear("2");
+        db.batchError = new SQLIntegrityConstraintViolationException(
+                "Duplicate entry 'c' for key 'titulo'", "23000", 1062);
+
+        LoteInterrumpidoException e = assertThrows(LoteInterrumpidoException.class, () ->
+                conexionBD.insertarPorTramos(SQL, List.of("a", "b", "c", "d"), (stmt, titulo) -> {
+                    if (titulo.equals("c")) {
+                        db.batchFailures.set(1); // El segundo tramo falla
+                    }
+                    stmt.setString(1, titulo);
+                }));
+
+        assertEquals(List.of(1, 2), e.getIdsConfirmados());
+        assertEquals("23000", e.getSQLState());
+        assertFalse(e.isTramoIncierto());
+        assertEquals(1, db.batchesExecuted.get());
+        assertEquals(1, db.commits.get());
+    }
+
+    @Test
+    @DisplayName("Si falla el commit, el tramo no debe reintentarse y debe marcarse como incierto")
+    void testCommitIncierto() throws Exception {
+        crear("2");
+        db.commitFails = true;
+
+        LoteInterrumpidoException e = assertThrows(LoteInterrumpidoException.class,
+                () -> insertar(List.of("a", "b", "c")));
+
+        assertTrue(e.isTramoIncierto());
+        assertEquals(0, e.getConfirmadas());
+        assertEquals(1, db.batchesExecuted.get());
+    }
+}
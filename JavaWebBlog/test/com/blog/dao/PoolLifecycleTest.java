@@ -0,0 +1,121 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el arranque en paralelo, el precalentamiento de statements
+ * y el vaciado ordenado del pool usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para el ciclo de vida del pool")
+class PoolLifecycleTest {
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("lifecycle");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool crearPool(int min, int max) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("lifecycle"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", String.valueOf(min));
+        props.setProperty("pool.maxConnections", String.valueOf(max));
+        props.setProperty("pool.borrowTimeoutMs", "50");
+        ConnectionPool nuevo = new ConnectionPool("lifecycle", props);
+        nuevo.initialize();
+        return nuevo;
+    }
+
+    @Test
+    @DisplayName("Las conexiones iniciales deben abrirse en paralelo")
+    void testArranqueEnParalelo() {
+        db.connectDelayMs = 200;
+
+        long start = System.nanoTime();
+        pool = crearPool(5, 10);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(5, pool.getTotalConnections());
+        assertTrue(elapsedMs < 800, "Cinco conexiones de 200ms en serie tardarían 1s; tardó " + elapsedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("Un fallo al abrir las conexiones iniciales no debe impedir el arranque")
+    void testArranqueConBaseDeDatosCaida() {
+        db.down = true;
+        pool = crearPool(3, 5);
+        assertEquals(0, pool.getTotalConnections());
+    }
+
+    @Test
+    @DisplayName("Precalentar debe dejar los statements en la caché de cada conexión libre")
+    void testPrecalentarStatements() throws Exception {
+        pool = crearPool(3, 5);
+        List<String> sqls = List.of("SELECT 1", "SELECT 2");
+
+        assertEquals(3, pool.primeStatements(sqls));
+        assertEquals(6, db.statementsPrepared.get());
+        assertEquals(3, pool.getTotalConnections(), "Precalentar no debe hacer crecer el pool");
+        assertEquals(0, pool.getActiveConnections());
+
+        long hitsAntes = pool.getStatementCacheHits();
+        try (Connection conn = pool.getConnection(50)) {
+            conn.prepareStatement("SELECT 1").close();
+        }
+        assertEquals(hitsAntes + 1, pool.getStatementCacheHits());
+        assertEquals(6, db.statementsPrepared.get());
+    }
+
+    @Test
+    @DisplayName("El vaciado debe esperar a las conexiones prestadas y rechazar préstamos nuevos")
+    void testVaciadoOrdenado() throws Exception {
+        pool = crearPool(2, 5);
+        Connection prestada = pool.getConnection(50);
+
+        CompletableFuture<Boolean> vaciado = CompletableFuture.supplyAsync(() -> pool.drain(5000));
+        Thread.sleep(100);
+
+        assertFalse(vaciado.isDone(), "Debe esperar a la conexión prestada");
+        assertEquals(1, db.openConnections(), "Las conexiones libres se cierran de inmediato");
+        assertThrows(SQLException.class, () -> pool.getConnection(50));
+
+        prestada.close();
+        assertTrue(vaciado.get(1, TimeUnit.SECONDS));
+        assertEquals(0, db.openConnections());
+    }
+
+    @Test
+    @DisplayName("El vaciado debe cerrar el pool aunque una conexión no se devuelva a tiempo")
+    void testVaciadoConTimeout() throws Exception {
+        pool = crearPool(1, 5);
+        Connection retenida = pool.getConnection(50);
+
+        assertFalse(pool.drain(100));
+        assertEquals(0, db.openConnections());
+        retenida.close();
+    }
+}
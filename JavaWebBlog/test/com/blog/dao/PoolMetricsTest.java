@@ -0,0 +1,160 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PoolMetrics y LatencyHistogram usando el driver simulado
+ * {@link StubDriver}
+ */
+@DisplayName("Tests para PoolMetrics")
+class PoolMetricsTest {
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("metrics");
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("metrics"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "1");
+        props.setProperty("pool.maxConnections", "2");
+        props.setProperty("pool.borrowTimeoutMs", "20");
+        pool = new ConnectionPool("metrics", props);
+        pool.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("El histograma debe acumular las muestras en la cubeta correcta")
+    void testHistograma() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(TimeUnit.MICROSECONDS.toNanos(50));   // <= 0.1ms
+        h.record(TimeUnit.MILLISECONDS.toNanos(3));    // <= 5ms
+        h.record(TimeUnit.MILLISECONDS.toNanos(3));    // <= 5ms
+        h.record(TimeUnit.SECONDS.toNanos(20));        // +Inf
+
+        long[] acumulados = h.getCumulativeCounts();
+        assertEquals(h.getBoundsMillis().length + 1, acumulados.length);
+        assertEquals(1, acumulados[0]);
+        assertEquals(3, acumulados[4]);
+        assertEquals(3, acumulados[acumulados.length - 2]);
+        assertEquals(4, acumulados[acumulados.length - 1]);
+        assertEquals(4, h.getCount());
+        assertEquals(5.0, h.getPercentileMillis(0.5));
+        assertEquals(Double.POSITIVE_INFINITY, h.getPercentileMillis(0.99));
+    }
+
+    @Test
+    @DisplayName("Los préstamos deben registrar espera, tiempo de uso y conexiones creadas")
+    void testPrestamosRegistrados() throws Exception {
+        PoolMetrics metrics = pool.getMetrics();
+
+        try (Connection c1 = pool.getConnection(20); Connection c2 = pool.getConnection(20)) {
+            assertNotSame(c1, c2);
+            assertEquals(2, metrics.getActiveConnections());
+            assertEquals(1.0, metrics.getUtilization());
+        }
+
+        assertEquals(2, metrics.getBorrowWait().getCount());
+        assertEquals(2, metrics.getHoldTime().getCount());
+        assertEquals(2, metrics.getConnectionsCreated());
+        assertEquals(0, metrics.getBorrowTimeouts());
+    }
+
+    @Test
+    @DisplayName("Los préstamos largos declarados no deben contar en el tiempo de uso")
+    void testPrestamoLargo() throws Exception {
+        PoolMetrics metrics = pool.getMetrics();
+
+        try (Connection conn = pool.getConnection(20)) {
+            ((ProxyConnection) conn).markLongRunning();
+        }
+        try (Connection conn = pool.getConnection(20)) {
+            assertNotNull(conn);
+        }
+
+        assertEquals(2, metrics.getBorrowWait().getCount());
+        assertEquals(1, metrics.getHoldTime().getCount(), "Un recorrido no es latencia de consulta");
+    }
+
+    @Test
+    @DisplayName("Una espera agotada debe contarse como timeout")
+    void testTimeouts() throws Exception {
+        try (Connection c1 = pool.getConnection(20); Connection c2 = pool.getConnection(20)) {
+            assertNotSame(c1, c2);
+            assertNull(pool.getConnection(20));
+        }
+        assertEquals(1, pool.getMetrics().getBorrowTimeouts());
+    }
+
+    @Test
+    @DisplayName("Los fallos de creación y las conexiones retiradas deben contarse")
+    void testFallosYRetiros() throws Exception {
+        PoolMetrics metrics = pool.getMetrics();
+        Connection conn = pool.getConnection(20);
+        conn.unwrap(Connection.class).close();
+        conn.close();
+
+        db.down = true;
+        // La conexión cerrada se descarta y la creación de una nueva falla
+        assertThrows(SQLException.class, () -> pool.getConnection(20));
+
+        assertEquals(1, metrics.getConnectionsEvicted());
+        // La reposición asíncrona del cupo liberado también puede fallar
+        assertTrue(metrics.getConnectionCreationFailures() >= 1);
+    }
+
+    @Test
+    @DisplayName("La serie temporal debe registrar los préstamos de cada intervalo")
+    void testSerieTemporal() throws Exception {
+        PoolMetrics metrics = pool.getMetrics();
+        pool.getConnection(20).close();
+        pool.getConnection(20).close();
+        metrics.sample();
+        pool.getConnection(20).close();
+        metrics.sample();
+
+        List<PoolMetrics.Sample> serie = metrics.getTimeSeries();
+        assertEquals(2, serie.size());
+        assertEquals(2, serie.get(0).getBorrows());
+        assertEquals(1, serie.get(1).getBorrows());
+        assertEquals(1, serie.get(1).getTotal());
+    }
+
+    @Test
+    @DisplayName("La espera y las esperas agotadas deben registrarse por prioridad")
+    void testEsperaPorPrioridad() throws Exception {
+        PoolMetrics metrics = pool.getMetrics();
+
+        try (Connection c1 = pool.getConnection(20, BorrowPriority.HIGH);
+                Connection c2 = pool.getConnection(20, BorrowPriority.HIGH)) {
+            assertNotSame(c1, c2);
+            assertNull(pool.getConnection(20, BorrowPriority.LOW));
+        }
+
+        assertEquals(2, metrics.getBorrowWait(BorrowPriority.HIGH).getCount());
+        assertEquals(0, metrics.getBorrowWait(BorrowPriority.LOW).getCount());
+        assertEquals(1, metrics.getBorrowTimeouts(BorrowPriority.LOW));
+        assertEquals(0, metrics.getBorrowTimeouts(BorrowPriority.HIGH));
+        assertEquals(1, metrics.getBorrowTimeouts());
+    }
+}
@@ -0,0 +1,190 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el dimensionamiento adaptativo del pool ({@link PoolSizer}),
+ * usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para el tamaño adaptativo del pool")
+class PoolSizerTest {
+
+    /** Duración de los intervalos simulados */
+    private static final long INTERVALO_MS = 10_000;
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+    private PoolSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("adaptativo");
+        pool = new ConnectionPool("adaptativo", configuracion());
+        sizer = new PoolSizer(pool, configuracion());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private Properties configuracion() {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("adaptativo"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "2");
+        props.setProperty("pool.maxConnections", "20");
+        props.setProperty("pool.borrowTimeoutMs", "50");
+        props.setProperty("pool.adaptive.enabled", "true");
+        props.setProperty("pool.adaptive.cooldownSeconds", "60");
+        props.setProperty("pool.adaptive.shrinkAfterIntervals", "3");
+        return props;
+    }
+
+    /**
+     * Intervalo con la concurrencia media indicada: préstamos de 10ms sin esperas.
+     */
+    private static PoolSizer.Interval concurrencia(double enVuelo) {
+        double retencion = enVuelo * INTERVALO_MS;
+        long prestamos = (long) (retencion / 10);
+        return new PoolSizer.Interval(INTERVALO_MS, prestamos, 0, 0, prestamos, retencion);
+    }
+
+    @Test
+    @DisplayName("Debe arrancar en el punto medio de los límites duros")
+    void testTamanoInicial() {
+        assertEquals(11, sizer.initialSize());
+        assertEquals(11, pool.getSizeLimit());
+        assertTrue(pool.isAdaptive());
+    }
+
+    @Test
+    @DisplayName("Debe crecer según la ley de Little cuando la utilización es alta")
+    void testCreceSegunLittle() {
+        SizingDecision decision = sizer.evaluate(concurrencia(8), 8, 1_000_000);
+
+        assertNotNull(decision);
+        assertEquals(SizingDecision.Action.GROW, decision.getAction());
+        assertEquals(8.0, decision.getInFlight(), 1e-9);
+        assertEquals(100.0 * 8, decision.getThroughputPerSecond(), 1e-9);
+        assertEquals(10.0, decision.getAvgHoldMillis(), 1e-9);
+        assertEquals(12, decision.getNewSize(), "ceil(8 / 0.7) = 12");
+    }
+
+    @Test
+    @DisplayName("Las esperas agotadas deben hacer crecer el pool al menos un 25%")
+    void testCrecePorEsperasAgotadas() {
+        PoolSizer.Interval conEsperas = new PoolSizer.Interval(INTERVALO_MS, 10, 5, 3, 10, 100);
+
+        SizingDecision decision = sizer.evaluate(conEsperas, 4, 1_000_000);
+
+        assertEquals(SizingDecision.Action.GROW, decision.getAction());
+        assertEquals(5, decision.getNewSize());
+        assertEquals(3, decision.getTimeouts());
+        assertTrue(decision.getReason().contains("esperas agotadas"));
+    }
+
+    @Test
+    @DisplayName("Nunca debe superar pool.maxConnections")
+    void testLimiteDuroMaximo() {
+        assertEquals(20, sizer.evaluate(concurrencia(50), 16, 1_000_000).getNewSize());
+        assertNull(sizer.evaluate(concurrencia(50), 20, 1_010_000), "Saturado: no hay decisión que tomar");
+    }
+
+    @Test
+    @DisplayName("Solo debe reducirse tras varios intervalos seguidos de baja utilización")
+    void testHisteresisAlReducir() {
+        long ahora = 1_000_000;
+        assertNull(sizer.evaluate(concurrencia(1), 12, ahora));
+        assertNull(sizer.evaluate(concurrencia(1), 12, ahora + 10_000));
+        // Un intervalo dentro de la banda reinicia la racha
+        assertNull(sizer.evaluate(concurrencia(6), 12, ahora + 20_000));
+        assertNull(sizer.evaluate(concurrencia(1), 12, ahora + 30_000));
+        assertNull(sizer.evaluate(concurrencia(1), 12, ahora + 40_000));
+
+        SizingDecision decision = sizer.evaluate(concurrencia(1), 12, ahora + 50_000);
+
+        assertNotNull(decision);
+        assertEquals(SizingDecision.Action.SHRINK, decision.getAction());
+        assertEquals(9, decision.getNewSize(), "Como mucho un 25% menos por paso");
+    }
+
+    @Test
+    @DisplayName("No debe reducirse antes del enfriamiento tras un cambio")
+    void testEnfriamiento() {
+        long ahora = 1_000_000;
+        assertNotNull(sizer.evaluate(concurrencia(8), 8, ahora));
+        for (int i = 1; i <= 5; i++) {
+            assertNull(sizer.evaluate(concurrencia(0), 12, ahora + i * 10_000L));
+        }
+        assertNotNull(sizer.evaluate(concurrencia(0), 12, ahora + 60_000));
+    }
+
+    @Test
+    @DisplayName("Nunca debe bajar de pool.minConnections")
+    void testLimiteDuroMinimo() {
+        long ahora = 1_000_000;
+        int limite = 3;
+        for (int i = 0; i < 20; i++) {
+            SizingDecision decision = sizer.evaluate(concurrencia(0), limite, ahora + i * 60_000L);
+            if (decision != null) {
+                limite = decision.getNewSize();
+            }
+        }
+        assertEquals(2, limite);
+    }
+
+    @Test
+    @DisplayName("Las decisiones deben quedar registradas en orden")
+    void testRegistroDeDecisiones() {
+        sizer.evaluate(concurrencia(8), 8, 1_000_000);
+        sizer.evaluate(concurrencia(12), 12, 1_010_000);
+
+        List<SizingDecision> decisiones = sizer.getDecisions();
+        assertEquals(2, decisiones.size());
+        assertEquals(8, decisiones.get(0).getPreviousSize());
+        assertEquals(12, decisiones.get(1).getPreviousSize());
+        assertEquals("adaptativo", decisiones.get(1).getPoolName());
+    }
+
+    @Test
+    @DisplayName("Reducir el límite debe cerrar las conexiones libres y las devueltas que sobran")
+    void testResizeCierraSobrantes() throws Exception {
+        pool.initialize();
+        Connection c1 = pool.getConnection(50);
+        Connection c2 = pool.getConnection(50);
+        Connection c3 = pool.getConnection(50);
+        Connection c4 = pool.getConnection(50);
+        c4.close();
+        assertEquals(4, pool.getTotalConnections());
+
+        pool.resize(2);
+        assertEquals(3, pool.getTotalConnections(), "La conexión libre sobrante se cierra de inmediato");
+        assertNull(pool.getConnection(50), "No se abren conexiones por encima del límite");
+
+        c3.close();
+        assertEquals(2, pool.getTotalConnections(), "La conexión devuelta por encima del límite se cierra");
+        c1.close();
+        c2.close();
+        assertEquals(2, pool.getTotalConnections());
+
+        pool.resize(4);
+        try (Connection a = pool.getConnection(50); Connection b = pool.getConnection(50);
+                Connection c = pool.getConnection(50); Connection d = pool.getConnection(50)) {
+            assertEquals(4, List.of(a, b, c, d).stream().distinct().count());
+            assertEquals(4, pool.getActiveConnections());
+        }
+        assertEquals(4, db.openConnections());
+    }
+}
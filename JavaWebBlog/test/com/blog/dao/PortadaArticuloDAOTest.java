@@ -0,0 +1,234 @@
+package com.blog.dao;
+
+import com.blog.model.Articulo;
+import com.blog.model.ArticuloResumen;
+import com.blog.model.Pagina;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para {@link PortadaArticuloDAO}, con un reloj simulado: las
+ * reconstrucciones programadas se ejecutan al avanzarlo
+ */
+@DisplayName("Tests para PortadaArticuloDAO")
+class PortadaArticuloDAOTest {
+
+    /** Tarea programada y momento del reloj simulado en que vence */
+    private static final class Programada {
+        final long vence;
+        final Runnable tarea;
+
+        Programada(long vence, Runnable tarea) {
+            this.vence = vence;
+            this.tarea = tarea;
+        }
+    }
+
+    private final AtomicLong reloj = new AtomicLong(5_000_000_000L);
+    private final List<Programada> programadas = new ArrayList<>();
+    private ArticulosEnMemoria bd;
+    private PortadaArticuloDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        bd = new ArticulosEnMemoria();
+        dao = nuevaPortada(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SessionConsistency.end();
+    }
+
+    private PortadaArticuloDAO nuevaPortada(long retrasoReplicasMs) {
+        return new PortadaArticuloDAO(bd, 250, 2000, retrasoReplicasMs, reloj::get,
+                (tarea, retrasoNanos) -> programadas.add(new Programada(reloj.get() + retrasoNanos, tarea)));
+    }
+
+    /**
+     * Avanza el reloj y ejecuta, como haría el hilo de reconstrucción, las tareas que
+     * vencen por el camino (también las que estas vuelven a programar).
+     */
+    private void avanzar(long ms) {
+        reloj.addAndGet(ms * 1_000_000);
+        for (int i = 0; i < programadas.size(); i++) {
+            Programada programada = programadas.get(i);
+            if (programada.vence - reloj.get() <= 0) {
+                programadas.remove(i);
+                programada.tarea.run();
+                i = -1;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("La portada debe servirse siempre desde la misma instantánea")
+    void testInstantanea() throws Exception {
+        Pagina<ArticuloResumen> primera = dao.listarPagina(null, 10);
+        for (int i = 0; i < 100; i++) {
+            assertSame(primera, dao.listarPagina(null, 10));
+        }
+        assertEquals(1, bd.consultas);
+
+        dao.listarPagina(CursorArticulo.despues(LocalDateTime.of(2026, 1, 1, 0, 0), 7), 10);
+        assertEquals(2, bd.consultas, "Las demás páginas van a la base de datos");
+    }
+
+    @Test
+    @DisplayName("Cada tamaño de página debe tener su propia instantánea")
+    void testTamanos() throws Exception {
+        Pagina<ArticuloResumen> publica = dao.listarPagina(null, 10);
+        Pagina<ArticuloResumen> panel = dao.listarPagina(null, 25);
+        for (int i = 0; i < 10; i++) {
+            assertSame(publica, dao.listarPagina(null, 10));
+            assertSame(panel, dao.listarPagina(null, 25));
+        }
+        assertEquals(2, bd.consultas);
+
+        dao.listarPagina(null, 1);
+        dao.listarPagina(null, 2);
+        assertEquals(4, bd.consultas);
+        dao.listarPagina(null, 3);
+        dao.listarPagina(null, 3);
+        assertEquals(6, bd.consultas, "Por encima de cuatro tamaños se consulta siempre");
+    }
+
+    @Test
+    @DisplayName("Con réplicas no debe fijarse una portada leída antes de su retraso")
+    void testRetrasoReplicas() throws Exception {
+        PortadaArticuloDAO conReplicas = nuevaPortada(1000);
+        conReplicas.listarPagina(null, 10);
+        conReplicas.crear(new Articulo());
+
+        avanzar(300);
+        conReplicas.listarPagina(null, 10);
+        assertEquals(1, bd.consultas, "El debounce pasó, pero la réplica podía no tener la escritura");
+        avanzar(700);
+        Pagina<ArticuloResumen> nueva = conReplicas.listarPagina(null, 10);
+        assertEquals(2, bd.consultas);
+        assertSame(nueva, conReplicas.listarPagina(null, 10));
+
+        // Una ráfaga obliga a reconstruir por maxDelayMs: esa portada es provisional
+        for (int i = 0; i < 21; i++) {
+            conReplicas.crear(new Articulo());
+            avanzar(100);
+            conReplicas.listarPagina(null, 10);
+        }
+        assertEquals(3, bd.consultas);
+        avanzar(1000);
+        conReplicas.listarPagina(null, 10);
+        assertEquals(4, bd.consultas, "La provisional debe reconstruirse pasado el retraso");
+        conReplicas.listarPagina(null, 10);
+        assertEquals(4, bd.consultas);
+    }
+
+    @Test
+    @DisplayName("Quien acaba de escribir debe ver la primera página actualizada")
+    void testLeerLoEscrito() throws Exception {
+        Pagina<ArticuloResumen> anterior = dao.listarPagina(null, 10);
+
+        // Otra sesión, sin escrituras, sigue viendo la instantánea
+        SessionConsistency.begin(0);
+        dao.crear(new Articulo());
+        assertSame(anterior, dao.listarPagina(null, 10));
+        assertEquals(1, bd.consultas);
+
+        // La sesión que escribió lee de la base de datos en la misma petición y en la siguiente
+        SessionConsistency.recordWrite();
+        assertNotSame(anterior, dao.listarPagina(null, 10));
+        SessionConsistency.begin(SessionConsistency.end());
+        dao.listarPagina(null, 10);
+        assertEquals(3, bd.consultas);
+        SessionConsistency.begin(0);
+        assertSame(anterior, dao.listarPagina(null, 10), "Las demás sesiones esperan al debounce");
+
+        // El panel de administración nunca usa la instantánea
+        Workload previo = Workload.enter(Workload.ADMIN_WRITE);
+        try {
+            dao.listarPagina(null, 25);
+            dao.listarPagina(null, 25);
+        } finally {
+            Workload.restore(previo);
+        }
+        assertEquals(5, bd.consultas);
+    }
+
+    @Test
+    @DisplayName("Tras una escritura debe reconstruirse cuando pasa el debounce")
+    void testReconstruccionTrasEscritura() throws Exception {
+        Pagina<ArticuloResumen> anterior = dao.listarPagina(null, 10);
+        dao.crear(new Articulo());
+
+        avanzar(100);
+        assertSame(anterior, dao.listarPagina(null, 10), "Dentro del debounce se sirve la anterior");
+        avanzar(200);
+        assertEquals(2, bd.consultas, "La reconstrucción no espera a ningún lector");
+        Pagina<ArticuloResumen> nueva = dao.listarPagina(null, 10);
+        assertNotSame(anterior, nueva);
+        assertSame(nueva, dao.listarPagina(null, 10));
+        assertEquals(2, bd.consultas);
+        assertEquals(2, dao.getReconstrucciones());
+    }
+
+    @Test
+    @DisplayName("Una ráfaga de escrituras debe reconstruir como mucho cada maxDelayMs")
+    void testRafaga() throws Exception {
+        dao.listarPagina(null, 10);
+        for (int i = 0; i < 19; i++) {
+            dao.crearLote(List.of(new Articulo()));
+            avanzar(100);
+            dao.listarPagina(null, 10);
+        }
+        assertEquals(1, bd.consultas, "Durante la ráfaga aún no se alcanzó maxDelayMs");
+
+        dao.actualizar(new Articulo());
+        avanzar(100);
+        dao.listarPagina(null, 10);
+        assertEquals(2, bd.consultas);
+    }
+
+    @Test
+    @DisplayName("Una escritura durante la reconstrucción debe quedar pendiente")
+    void testEscrituraDuranteReconstruccion() throws Exception {
+        dao.listarPagina(null, 10);
+        dao.eliminar(1);
+        bd.alConsultar = dao::invalidar;
+        avanzar(300);
+        bd.alConsultar = null;
+        assertEquals(2, bd.consultas);
+
+        avanzar(300);
+        dao.listarPagina(null, 10);
+        assertEquals(3, bd.consultas);
+    }
+
+    @Test
+    @DisplayName("Si la reconstrucción falla debe servirse la instantánea anterior")
+    void testFalloAlReconstruir() throws Exception {
+        Pagina<ArticuloResumen> anterior = dao.listarPagina(null, 10);
+        dao.crear(new Articulo());
+        bd.fallar = true;
+        avanzar(300);
+        assertSame(anterior, dao.listarPagina(null, 10));
+        assertSame(anterior, dao.listarPagina(null, 10));
+        assertEquals(2, bd.consultas, "No debe reintentarse hasta pasado un segundo");
+
+        bd.fallar = false;
+        avanzar(1000);
+        assertNotSame(anterior, dao.listarPagina(null, 10));
+
+        PortadaArticuloDAO sinInstantanea = nuevaPortada(0);
+        bd.fallar = true;
+        assertThrows(SQLException.class, () -> sinInstantanea.listarPagina(null, 10));
+    }
+}
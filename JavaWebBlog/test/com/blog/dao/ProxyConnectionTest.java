@@ -0,0 +1,112 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ProxyConnection usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para ProxyConnection")
+class ProxyConnectionTest {
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("proxytest");
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("proxytest"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "1");
+        props.setProperty("pool.maxConnections", "1");
+        props.setProperty("pool.borrowTimeoutMs", "50");
+        pool = new ConnectionPool("proxy", props);
+        pool.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("close debe devolver la conexión al pool sin cerrar la conexión física")
+    void testCloseDevuelveAlPool() throws Exception {
+        Connection conn = pool.getConnection(50);
+        assertEquals(1, pool.getActiveConnections());
+
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, db.openConnections());
+    }
+
+    @Test
+    @DisplayName("Usar la conexión después de devolverla debe lanzar SQLException")
+    void testUsoDespuesDeDevolver() throws Exception {
+        Connection conn = pool.getConnection(50);
+        conn.close();
+
+        assertThrows(SQLException.class, () -> conn.prepareStatement("SELECT 1"));
+        assertThrows(SQLException.class, () -> conn.setAutoCommit(false));
+        assertThrows(SQLException.class, conn::commit);
+        assertFalse(conn.isValid(1));
+    }
+
+    @Test
+    @DisplayName("close debe restaurar autocommit, readOnly y nivel de aislamiento")
+    void testRestauraEstadoDeSesion() throws Exception {
+        Connection conn = pool.getConnection(50);
+        int aislamientoOriginal = conn.getTransactionIsolation();
+        conn.setAutoCommit(false);
+        conn.setReadOnly(true);
+        conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        conn.close();
+
+        Connection siguiente = pool.getConnection(50);
+        assertTrue(siguiente.getAutoCommit());
+        assertFalse(siguiente.isReadOnly());
+        assertEquals(aislamientoOriginal, siguiente.getTransactionIsolation());
+        siguiente.close();
+    }
+
+    @Test
+    @DisplayName("close debe cerrar los statements que quedaron abiertos")
+    void testCierraStatementsAbiertos() throws Exception {
+        Connection conn = pool.getConnection(50);
+        PreparedStatement ps = conn.prepareStatement("SELECT 1");
+        assertFalse(ps.isClosed());
+
+        conn.close();
+
+        assertTrue(ps.isClosed());
+    }
+
+    @Test
+    @DisplayName("Debe poder usarse con try-with-resources")
+    void testTryWithResources() throws Exception {
+        Connection fisica;
+        try (Connection conn = pool.getConnection(50)) {
+            fisica = conn.unwrap(Connection.class);
+        }
+
+        try (Connection conn = pool.getConnection(50)) {
+            assertNotNull(conn, "La conexión debe haber vuelto al pool");
+            assertSame(fisica, conn.unwrap(Connection.class));
+        }
+        assertEquals(1, db.connectionsCreated.get());
+    }
+}
@@ -0,0 +1,102 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las conexiones de recorrido en streaming de {@link ConexionBD},
+ * usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para los recorridos en streaming")
+class RecorridoTest {
+
+    private ConexionBD conexionBD;
+    private StubDriver.Database db;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("recorrido");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (conexionBD != null) {
+            conexionBD.shutdown();
+        }
+    }
+
+    private ConexionBD crear(String netWriteTimeoutSeconds) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("recorrido"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "0");
+        props.setProperty("pool.maxConnections", "4");
+        props.setProperty("pool.borrowTimeoutMs", "200");
+        props.setProperty("scan.netWriteTimeoutSeconds", netWriteTimeoutSeconds);
+        conexionBD = new ConexionBD(props, false);
+        return conexionBD;
+    }
+
+    @Test
+    @DisplayName("La conexión de recorrido debe declararse larga y ampliar net_write_timeout")
+    void testConexionDeRecorrido() throws Exception {
+        crear("600");
+
+        Connection conn = conexionBD.getConexionRecorrido(Workload.ADMIN_WRITE);
+        assertTrue(((ProxyConnection) conn).getPoolEntry().isLongRunning());
+        assertEquals(1, db.queriesExecuted.get(), "Debe ejecutar SET SESSION net_write_timeout");
+
+        try (PreparedStatement stmt = ConexionBD.prepararRecorrido(conn, "SELECT id FROM articulos");
+                ResultSet rs = stmt.executeQuery()) {
+            assertEquals(Integer.MIN_VALUE, db.lastFetchSize, "El driver de MySQL solo hace streaming con MIN_VALUE");
+            assertTrue(rs.next());
+        }
+        conexionBD.cerrarConexion(conn);
+
+        assertEquals(0, db.connectionsClosed.get(), "Un recorrido completo devuelve la conexión al pool");
+        assertEquals(1, conexionBD.getMetrics().getIdleConnections());
+    }
+
+    @Test
+    @DisplayName("Con scan.netWriteTimeoutSeconds=0 no debe tocarse la sesión")
+    void testSinAjusteDeTimeout() throws Exception {
+        crear("0");
+
+        try (Connection conn = conexionBD.getConexionRecorrido(Workload.ADMIN_WRITE)) {
+            assertNotNull(conn);
+            assertEquals(0, db.queriesExecuted.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Abortar un recorrido a medias debe descartar la conexión física")
+    void testAbortarRecorrido() throws Exception {
+        crear("600");
+
+        Connection conn = conexionBD.getConexionRecorrido(Workload.ADMIN_WRITE);
+        ConexionBD.prepararRecorrido(conn, "SELECT id FROM articulos").executeQuery();
+        conexionBD.abortarConexion(conn);
+
+        assertTrue(conn.isClosed());
+        assertEquals(1, db.connectionsAborted.get());
+        assertEquals(0, conexionBD.getMetrics().getTotalConnections(), "La conexión no debe volver al pool");
+        assertEquals(0, conexionBD.getBulkheads().get(Workload.ADMIN_WRITE.ordinal()).getInUse(),
+                "La cuota debe quedar libre");
+
+        try (Connection nueva = conexionBD.getConexion()) {
+            assertFalse(((ProxyConnection) nueva).getPoolEntry().isLongRunning());
+        }
+        assertEquals(2, db.connectionsCreated.get());
+    }
+}
@@ -0,0 +1,155 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ReplicaSet y SessionConsistency usando dos bases de datos
+ * simuladas con {@link StubDriver} como réplicas
+ */
+@DisplayName("Tests para ReplicaSet")
+class ReplicaSetTest {
+
+    private StubDriver.Database replica1;
+    private StubDriver.Database replica2;
+    private ReplicaSet replicas;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        replica1 = StubDriver.database("replica1");
+        replica2 = StubDriver.database("replica2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (replicas != null) {
+            replicas.shutdown();
+        }
+        SessionConsistency.end();
+    }
+
+    private ReplicaSet crearReplicas(long retryMs) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("primary"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "1");
+        props.setProperty("pool.maxConnections", "4");
+        props.setProperty("db.replica.1.url", StubDriver.url("replica1"));
+        props.setProperty("db.replica.2.url", StubDriver.url("replica2"));
+        props.setProperty("db.replica.borrowTimeoutMs", "50");
+        props.setProperty("db.replica.retryMs", String.valueOf(retryMs));
+        ReplicaSet nuevo = ReplicaSet.fromProperties(props);
+        nuevo.initialize();
+        return nuevo;
+    }
+
+    private void consultar(Connection conn) throws Exception {
+        try (Connection c = conn; Statement stmt = c.createStatement()) {
+            stmt.executeQuery("SELECT 1").close();
+        }
+    }
+
+    @Test
+    @DisplayName("Sin db.replica.N.url no debe crearse ningún conjunto de réplicas")
+    void testSinReplicas() {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("primary"));
+        assertNull(ReplicaSet.fromProperties(props));
+    }
+
+    @Test
+    @DisplayName("Las lecturas deben repartirse entre las réplicas sanas")
+    void testReparto() throws Exception {
+        replicas = crearReplicas(10000);
+
+        for (int i = 0; i < 200; i++) {
+            consultar(replicas.getConnection());
+        }
+
+        assertTrue(replica1.queriesExecuted.get() > 0, "La réplica 1 debe recibir lecturas");
+        assertTrue(replica2.queriesExecuted.get() > 0, "La réplica 2 debe recibir lecturas");
+        assertEquals(200, replica1.queriesExecuted.get() + replica2.queriesExecuted.get());
+    }
+
+    @Test
+    @DisplayName("Las conexiones de réplicas deben ser de solo lectura")
+    void testSoloLectura() throws Exception {
+        replicas = crearReplicas(10000);
+        try (Connection conn = replicas.getConnection()) {
+            assertTrue(conn.isReadOnly());
+        }
+    }
+
+    @Test
+    @DisplayName("Una réplica caída debe quedar fuera de rotación")
+    void testReplicaCaida() throws Exception {
+        replica1.down = true;
+        replicas = crearReplicas(10000);
+
+        for (int i = 0; i < 50; i++) {
+            consultar(replicas.getConnection());
+        }
+
+        assertEquals(0, replica1.queriesExecuted.get());
+        assertEquals(50, replica2.queriesExecuted.get());
+        ReplicaSet.Replica caida = replicas.getReplicas().get(0);
+        assertTrue(caida.health < 1.0);
+        assertTrue(caida.downUntil > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Si ninguna réplica responde debe devolver null para recurrir a la principal")
+    void testTodasCaidas() {
+        replica1.down = true;
+        replica2.down = true;
+        replicas = crearReplicas(10000);
+
+        assertNull(replicas.getConnection());
+    }
+
+    @Test
+    @DisplayName("Una réplica recuperada debe volver a rotación y recuperar su salud")
+    void testRecuperacion() throws Exception {
+        replica1.down = true;
+        replica2.down = true;
+        replicas = crearReplicas(20);
+        assertNull(replicas.getConnection());
+        double saludTrasFallo = replicas.getReplicas().get(0).health;
+
+        replica1.down = false;
+        replica2.down = false;
+        Thread.sleep(30);
+        for (int i = 0; i < 20; i++) {
+            consultar(replicas.getConnection());
+        }
+
+        assertTrue(replicas.getReplicas().get(0).health > saludTrasFallo);
+        assertEquals(20, replica1.queriesExecuted.get() + replica2.queriesExecuted.get());
+    }
+
+    @Test
+    @DisplayName("Una sesión que acaba de escribir debe leer de la principal")
+    void testLeerLoPropioEscrito() {
+        SessionConsistency.begin(0);
+        assertFalse(SessionConsistency.requiresPrimary(5000));
+
+        SessionConsistency.recordWrite();
+        assertTrue(SessionConsistency.requiresPrimary(5000));
+
+        long ultimaEscritura = SessionConsistency.end();
+        assertTrue(ultimaEscritura > 0, "end() debe devolver la escritura para guardarla en la sesión");
+
+        SessionConsistency.begin(System.currentTimeMillis() - 10000);
+        assertFalse(SessionConsistency.requiresPrimary(5000), "La afinidad expira tras stickyMs");
+    }
+}
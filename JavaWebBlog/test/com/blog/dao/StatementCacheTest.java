@@ -0,0 +1,164 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la caché de PreparedStatement del pool usando el driver
+ * simulado {@link StubDriver}
+ */
+@DisplayName("Tests para StatementCache")
+class StatementCacheTest {
+
+    private static final String SQL_LISTAR = "SELECT * FROM articulos ORDER BY fecha_publicacion DESC";
+    private static final String SQL_OBTENER = "SELECT * FROM articulos WHERE id = ?";
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("stmtcache");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool crearPool(int statementCacheSize) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("stmtcache"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "1");
+        props.setProperty("pool.maxConnections", "1");
+        props.setProperty("pool.borrowTimeoutMs", "50");
+        props.setProperty("pool.statementCacheSize", String.valueOf(statementCacheSize));
+        ConnectionPool nuevo = new ConnectionPool("cache", props);
+        nuevo.initialize();
+        return nuevo;
+    }
+
+    private void ejecutar(String sql) throws SQLException {
+        try (Connection conn = pool.getConnection(50);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, 1);
+            stmt.executeQuery().close();
+        }
+    }
+
+    @Test
+    @DisplayName("La misma sentencia en préstamos sucesivos debe prepararse una sola vez")
+    void testReutilizaStatement() throws Exception {
+        pool = crearPool(10);
+
+        ejecutar(SQL_OBTENER);
+        ejecutar(SQL_OBTENER);
+        ejecutar(SQL_OBTENER);
+
+        assertEquals(1, db.statementsPrepared.get());
+        assertEquals(1, pool.getStatementCacheMisses());
+        assertEquals(2, pool.getStatementCacheHits());
+        assertEquals(3, db.queriesExecuted.get());
+    }
+
+    @Test
+    @DisplayName("La caché debe desalojar el statement usado menos recientemente")
+    void testDesalojoLRU() throws Exception {
+        pool = crearPool(1);
+
+        ejecutar(SQL_LISTAR);
+        ejecutar(SQL_OBTENER);
+        ejecutar(SQL_LISTAR);
+
+        assertEquals(3, db.statementsPrepared.get());
+        assertEquals(0, pool.getStatementCacheHits());
+    }
+
+    @Test
+    @DisplayName("Con tamaño 0 la caché debe estar desactivada")
+    void testCacheDesactivada() throws Exception {
+        pool = crearPool(0);
+
+        ejecutar(SQL_OBTENER);
+        ejecutar(SQL_OBTENER);
+
+        assertEquals(2, db.statementsPrepared.get());
+        assertEquals(0, pool.getStatementCacheHits());
+        assertEquals(0, pool.getStatementCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Dos usos simultáneos de la misma sentencia deben recibir statements distintos")
+    void testUsoSimultaneo() throws Exception {
+        pool = crearPool(10);
+
+        try (Connection conn = pool.getConnection(50);
+             PreparedStatement ps1 = conn.prepareStatement(SQL_OBTENER);
+             PreparedStatement ps2 = conn.prepareStatement(SQL_OBTENER)) {
+            assertNotSame(ps1, ps2);
+            assertEquals(2, db.statementsPrepared.get());
+        }
+    }
+
+    @Test
+    @DisplayName("El statement cerrado debe rechazar su uso y exponer la conexión del pool")
+    void testStatementCerrado() throws Exception {
+        pool = crearPool(10);
+
+        try (Connection conn = pool.getConnection(50)) {
+            PreparedStatement ps = conn.prepareStatement(SQL_OBTENER);
+            assertSame(conn, ps.getConnection());
+            ps.close();
+
+            assertTrue(ps.isClosed());
+            assertThrows(SQLException.class, ps::executeQuery);
+        }
+    }
+
+    @Test
+    @DisplayName("Un statement con configuración modificada no debe volver a la caché")
+    void testConfiguracionModificada() throws Exception {
+        pool = crearPool(10);
+
+        try (Connection conn = pool.getConnection(50);
+             PreparedStatement ps = conn.prepareStatement(SQL_LISTAR)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+        }
+        ejecutar(SQL_LISTAR);
+
+        assertEquals(2, db.statementsPrepared.get());
+    }
+
+    @Test
+    @DisplayName("Al volver a la caché, el statement debe cerrar el resultado que dejó abierto")
+    void testCierraResultadoAlDevolver() throws Exception {
+        pool = crearPool(10);
+        ResultSet abierto;
+
+        try (Connection conn = pool.getConnection(50);
+             PreparedStatement ps = conn.prepareStatement(SQL_OBTENER)) {
+            ps.setInt(1, 1);
+            abierto = ps.executeQuery();
+            assertFalse(abierto.isClosed());
+        }
+
+        assertTrue(abierto.isClosed(), "Un statement en caché no debe retener el cursor del servidor");
+        ejecutar(SQL_OBTENER);
+        assertEquals(1, db.statementsPrepared.get(), "El statement debe seguir en la caché");
+    }
+}
@@ -0,0 +1,352 @@
+package com.blog.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Driver JDBC de pruebas que simula bases de datos en memoria.
+ *
+ * <p>Acepta URLs con el formato {@code jdbc:stub:<nombre>} y devuelve conexiones
+ * simuladas (proxies dinámicos) que registran cuántas veces se crean y cierran.
+ * Permite probar el pool sin un servidor MySQL real. Cada nombre representa una
+ * base de datos independiente cuyo comportamiento se controla con {@link #database(String)}.</p>
+ */
+final class StubDriver implements Driver {
+
+    private static final String PREFIX = "jdbc:stub:";
+    private static final StubDriver INSTANCE = new StubDriver();
+    private static final Map<String, Database> DATABASES = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            DriverManager.registerDriver(INSTANCE);
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Estado de una base de datos simulada.
+     */
+    static final class Database {
+        final AtomicInteger connectionsCreated = new AtomicInteger();
+        final AtomicInteger connectionsClosed = new AtomicInteger();
+        final AtomicInteger connectionsAborted = new AtomicInteger();
+        final AtomicInteger statementsPrepared = new AtomicInteger();
+        final AtomicInteger queriesExecuted = new AtomicInteger();
+        final AtomicInteger batchesExecuted = new AtomicInteger();
+        final AtomicInteger commits = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+        /** Último ID autoincremental entregado por getGeneratedKeys() */
+        final AtomicInteger lastInsertId = new AtomicInteger();
+        /** Si es true, getGeneratedKeys() no devuelve filas */
+        volatile boolean noGeneratedKeys;
+        volatile boolean down;
+        /** Número de próximas llamadas a executeBatch() que lanzarán {@link #batchError} */
+        final AtomicInteger batchFailures = new AtomicInteger();
+        volatile SQLException batchError;
+        /** Si es true, commit() falla como si se perdiera la conexión */
+        volatile boolean commitFails;
+        volatile long queryDelayMs;
+        volatile long connectDelayMs;
+        volatile int lastFetchSize;
+
+        int openConnections() {
+            return connectionsCreated.get() - connectionsClosed.get();
+        }
+    }
+
+    private StubDriver() {
+    }
+
+    /**
+     * Obtiene (o crea) la base de datos simulada con el nombre indicado y asegura
+     * que el driver esté registrado.
+     *
+     * @param name Nombre de la base de datos simulada
+     * @return Estado de la base de datos
+     */
+    static Database database(String name) {
+        return DATABASES.computeIfAbsent(name, n -> new Database());
+    }
+
+    /**
+     * Elimina el estado de todas las bases de datos simuladas.
+     */
+    static void reset() {
+        DATABASES.clear();
+    }
+
+    static String url(String name) {
+        return PREFIX + name;
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        Database db = database(url.substring(PREFIX.length()));
+        if (db.down) {
+            throw new SQLException("Communications link failure (simulado)", "08S01");
+        }
+        if (db.connectDelayMs > 0) {
+            try {
+                Thread.sleep(db.connectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Conexión interrumpida (simulado)", "08001");
+            }
+        }
+        db.connectionsCreated.incrementAndGet();
+        return newConnection(db);
+    }
+
+    private static Connection newConnection(Database db) {
+        boolean[] closed = {false};
+        boolean[] autoCommit = {true};
+        boolean[] readOnly = {false};
+        int[] isolation = {Connection.TRANSACTION_REPEATABLE_READ};
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed[0]) {
+                        closed[0] = true;
+                        db.connectionsClosed.incrementAndGet();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "abort":
+                    if (!closed[0]) {
+                        closed[0] = true;
+                        db.connectionsAborted.incrementAndGet();
+                        db.connectionsClosed.incrementAndGet();
+                    }
+                    return null;
+                case "isValid":
+                    return !closed[0] && !db.down;
+                case "setAutoCommit":
+                    autoCommit[0] = (Boolean) args[0];
+                    return null;
+                case "getAutoCommit":
+                    return autoCommit[0];
+                case "setReadOnly":
+                    readOnly[0] = (Boolean) args[0];
+                    return null;
+                case "isReadOnly":
+                    return readOnly[0];
+                case "setTransactionIsolation":
+                    isolation[0] = (Integer) args[0];
+                    return null;
+                case "getTransactionIsolation":
+                    return isolation[0];
+                case "createStatement":
+                    return newStatement(db, Statement.class);
+                case "prepareStatement":
+                    db.statementsPrepared.incrementAndGet();
+                    return newStatement(db, PreparedStatement.class);
+                case "commit":
+                    if (db.commitFails) {
+                        throw new SQLException("Communications link failure (simulado)", "08S01");
+                    }
+                    db.commits.incrementAndGet();
+                    return null;
+                case "rollback":
+                    db.rollbacks.incrementAndGet();
+                    return null;
+                case "clearWarnings":
+                case "setCatalog":
+                case "setSchema":
+                case "setNetworkTimeout":
+                    return null;
+                case "getWarnings":
+                case "getCatalog":
+                case "getSchema":
+                    return null;
+                case "unwrap":
+                    return null;
+                case "isWrapperFor":
+                    return false;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "StubConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    throw new SQLFeatureNotSupportedException(method.getName());
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static <T extends Statement> T newStatement(Database db, Class<T> type) {
+        boolean[] closed = {false};
+        int[] batch = {0};
+        int[] generated = {0, 0};
+        ResultSet[] current = {null};
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "addBatch":
+                    batch[0]++;
+                    return null;
+                case "clearBatch":
+                    batch[0] = 0;
+                    return null;
+                case "executeBatch":
+                    if (db.down) {
+                        throw new SQLException("Communications link failure (simulado)", "08S01");
+                    }
+                    if (db.batchFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                        batch[0] = 0;
+                        throw db.batchError;
+                    }
+                    db.batchesExecuted.incrementAndGet();
+                    int[] counts = new int[batch[0]];
+                    Arrays.fill(counts, 1);
+                    generated[0] = db.lastInsertId.addAndGet(batch[0]) - batch[0] + 1;
+                    generated[1] = db.noGeneratedKeys ? 0 : batch[0];
+                    batch[0] = 0;
+                    return counts;
+                case "getGeneratedKeys":
+                    return newKeys(generated[0], generated[1]);
+                case "executeQuery":
+                    if (db.down) {
+                        throw new SQLException("Communications link failure (simulado)", "08S01");
+                    }
+                    db.queriesExecuted.incrementAndGet();
+                    if (db.queryDelayMs > 0) {
+                        Thread.sleep(db.queryDelayMs);
+                    }
+                    current[0] = newResultSet();
+                    return current[0];
+                case "getResultSet":
+                    return current[0];
+                case "executeUpdate":
+                    if (db.down) {
+                        throw new SQLException("Communications link failure (simulado)", "08S01");
+                    }
+                    db.queriesExecuted.incrementAndGet();
+                    return 1;
+                case "setFetchSize":
+                    db.lastFetchSize = (Integer) args[0];
+                    return null;
+                case "close":
+                    closed[0] = true;
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "StubStatement@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    // setXxx, clearParameters, setQueryTimeout, setFetchSize, ...
+                    return null;
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static ResultSet newResultSet() {
+        int[] row = {0};
+        boolean[] closed = {false};
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] == 1;
+                case "getInt":
+                    return 1;
+                case "getString":
+                    return "stub";
+                case "close":
+                    closed[0] = true;
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, handler);
+    }
+
+    /** Resultado de getGeneratedKeys(): {@code filas} IDs consecutivos desde {@code primero} */
+    private static ResultSet newKeys(int primero, int filas) {
+        int[] row = {0};
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] <= filas;
+                case "getInt":
+                    return primero + row[0] - 1;
+                case "getLong":
+                    return (long) (primero + row[0] - 1);
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, handler);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
@@ -0,0 +1,144 @@
+package com.blog.dao;
+
+import com.blog.model.Usuario;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * DAO de usuarios en memoria para las pruebas de los decoradores, el importador y el
+ * exportador.
+ *
+ * <p>Busca los usernames como la collation {@code utf8mb4_unicode_ci} de la tabla
+ * (sin distinguir mayúsculas, acentos ni espacios finales), rechaza los duplicados,
+ * devuelve copias de las filas y cuenta las lecturas por username y por ID. Con
+ * {@link #fallar} todas las operaciones fallan como si se perdiera la conexión.</p>
+ */
+public class UsuariosEnMemoria implements IUsuarioDAO {
+
+    /** Filas por ID, en orden de inserción */
+    public final Map<Integer, Usuario> filas = new LinkedHashMap<>();
+    private final Map<String, Integer> lecturas = new HashMap<>();
+    /** Si es true, todas las operaciones fallan como si se perdiera la conexión */
+    public boolean fallar;
+
+    public UsuariosEnMemoria(Usuario... filas) {
+        for (Usuario usuario : filas) {
+            this.filas.put(usuario.getId(), usuario);
+        }
+    }
+
+    /**
+     * @param clave Username tal como se buscó, o {@code "#<id>"} para las lecturas por ID
+     * @return Veces que se leyó
+     */
+    public int lecturas(String clave) {
+        return lecturas.getOrDefault(clave, 0);
+    }
+
+    /** Comparación de {@code utf8mb4_unicode_ci}: sin mayúsculas, acentos ni espacios finales */
+    private static String comoMySQL(String username) {
+        return Normalizer.normalize(username.stripTrailing(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Usuario copia(Usuario u) {
+        return u == null ? null
+                : new Usuario(u.getId(), u.getNombre(), u.getEmail(), u.getUsername(), u.getPassword(), u.getRol());
+    }
+
+    private Usuario buscar(String username) {
+        String clave = comoMySQL(username);
+        return filas.values().stream().filter(u -> comoMySQL(u.getUsername()).equals(clave)).findFirst()
+                .orElse(null);
+    }
+
+    private void comprobar() throws SQLException {
+        if (fallar) {
+            throw new SQLException("Communications link failure", "08S01");
+        }
+    }
+
+    @Override
+    public Usuario buscarPorUsername(String username) throws SQLException {
+        lecturas.merge(username, 1, Integer::sum);
+        comprobar();
+        return copia(buscar(username));
+    }
+
+    @Override
+    public Usuario obtenerPorId(int id) throws SQLException {
+        lecturas.merge("#" + id, 1, Integer::sum);
+        comprobar();
+        return copia(filas.get(id));
+    }
+
+    @Override
+    public boolean crear(Usuario usuario) throws SQLException {
+        comprobar();
+        if (buscar(usuario.getUsername()) != null) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Duplicate entry '" + usuario.getUsername() + "' for key 'username'", "23000", 1062);
+        }
+        usuario.setId(filas.isEmpty() ? 1 : Collections.max(filas.keySet()) + 1);
+        filas.put(usuario.getId(), usuario);
+        return true;
+    }
+
+    @Override
+    public List<Integer> crearLote(List<Usuario> usuarios) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        for (Usuario usuario : usuarios) {
+            crear(usuario);
+            ids.add(usuario.getId());
+        }
+        return ids;
+    }
+
+    @Override
+    public List<Usuario> listarTodos() throws SQLException {
+        comprobar();
+        return new ArrayList<>(filas.values());
+    }
+
+    @Override
+    public int recorrerTodos(Consumer<? super Usuario> accion) throws SQLException {
+        comprobar();
+        filas.values().forEach(accion);
+        return filas.size();
+    }
+
+    @Override
+    public boolean actualizarRol(int id, String nuevoRol) throws SQLException {
+        comprobar();
+        Usuario u = filas.get(id);
+        if (u == null) {
+            return false;
+        }
+        u.setRol(nuevoRol);
+        return true;
+    }
+
+    @Override
+    public boolean eliminar(int id) throws SQLException {
+        comprobar();
+        return filas.remove(id) != null;
+    }
+
+    @Override
+    public int eliminarTodosExceptoAdmins() throws SQLException {
+        comprobar();
+        int antes = filas.size();
+        filas.values().removeIf(u -> !"admin".equals(u.getRol()));
+        return antes - filas.size();
+    }
+}
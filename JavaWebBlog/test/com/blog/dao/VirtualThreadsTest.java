@@ -0,0 +1,126 @@
+package com.blog.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del pool con hilos virtuales y de las pausas de {@link Backoff},
+ * usando el driver simulado {@link StubDriver}
+ */
+@DisplayName("Tests para el pool con hilos virtuales")
+class VirtualThreadsTest {
+
+    private StubDriver.Database db;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        StubDriver.reset();
+        db = StubDriver.database("virtual");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool crearPool(int max, boolean virtualThreads) {
+        Properties props = new Properties();
+        props.setProperty("db.url", StubDriver.url("virtual"));
+        props.setProperty("db.user", "test");
+        props.setProperty("db.password", "");
+        props.setProperty("pool.minConnections", "2");
+        props.setProperty("pool.maxConnections", String.valueOf(max));
+        props.setProperty("pool.virtualThreads", String.valueOf(virtualThreads));
+        ConnectionPool nuevo = new ConnectionPool("virtual", props);
+        nuevo.initialize();
+        return nuevo;
+    }
+
+    @Test
+    @DisplayName("Miles de lectores lentos en hilos virtuales deben compartir un pool pequeño")
+    void testMilesDeLectoresVirtuales() throws Exception {
+        pool = crearPool(10, true);
+        db.queryDelayMs = 5;
+
+        List<Future<?>> lecturas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2000; i++) {
+                lecturas.add(executor.submit(() -> {
+                    try (Connection conn = pool.getConnection(30000);
+                            Statement stmt = conn.createStatement()) {
+                        stmt.executeQuery("SELECT 1").close();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> lectura : lecturas) {
+                lectura.get(60, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(2000, db.queriesExecuted.get());
+        assertTrue(db.connectionsCreated.get() <= 10);
+        assertEquals(0, pool.getActiveConnections());
+    }
+
+    @Test
+    @DisplayName("Con pool.virtualThreads las tareas internas deben usar hilos virtuales")
+    void testTareasInternasVirtuales() {
+        pool = crearPool(4, true);
+        assertTrue(pool.newThread("prueba").unstarted(() -> { }).isVirtual());
+
+        ConnectionPool plataforma = crearPool(4, false);
+        try {
+            Thread hilo = plataforma.newThread("prueba").unstarted(() -> { });
+            assertFalse(hilo.isVirtual());
+            assertTrue(hilo.isDaemon());
+        } finally {
+            plataforma.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("wakeAll debe terminar las pausas de reintento en curso")
+    void testBackoffDespertado() throws Exception {
+        CompletableFuture<Long> pausa = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                Backoff.pause(10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        });
+        Thread.sleep(100);
+
+        Backoff.wakeAll();
+
+        assertTrue(pausa.get(2, TimeUnit.SECONDS) < 2000);
+    }
+
+    @Test
+    @DisplayName("Una pausa sin wakeAll debe durar el tiempo indicado")
+    void testBackoffCompleto() throws Exception {
+        long start = System.nanoTime();
+        Backoff.pause(50);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 49);
+    }
+}
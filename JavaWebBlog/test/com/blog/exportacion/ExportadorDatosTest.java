@@ -0,0 +1,164 @@
+package com.blog.exportacion;
+
+import com.blog.dao.ArticulosEnMemoria;
+import com.blog.dao.UsuariosEnMemoria;
+import com.blog.importacion.FormatoImportacion;
+import com.blog.importacion.LectorImportacion;
+import com.blog.importacion.RegistroImportado;
+import com.blog.model.Articulo;
+import com.blog.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ExportadorDatos y los formatos de exportación
+ */
+@DisplayName("Tests para ExportadorDatos")
+class ExportadorDatosTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    @Test
+    @DisplayName("NDJSON: debe escribir un objeto por línea escapando el texto")
+    void testArticulosNdjson() throws Exception {
+        ExportadorDatos exportador = new ExportadorDatos(new ArticulosEnMemoria(
+                articulo(1, "Hola \"mundo\"", "Línea 1\nLínea 2\t\\"), articulo(2, "Otro", "x")), null);
+        StringWriter salida = new StringWriter();
+
+        assertEquals(2, exportador.exportarArticulos(FormatoExportacion.NDJSON, salida));
+
+        String[] lineas = salida.toString().split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("{\"id\":1,\"titulo\":\"Hola \\\"mundo\\\"\",\"contenido\":\"Línea 1\\nLínea 2\\t\\\\\","
+                + "\"fecha\":\"2026-01-02T03:04:05\",\"autor\":\"ana\",\"autor_id\":9,\"autor_nombre\":\"Ana\"}",
+                lineas[0]);
+    }
+
+    @Test
+    @DisplayName("CSV: la exportación de artículos debe poder importarse de nuevo")
+    void testArticulosCsvIdaYVuelta() throws Exception {
+        String contenido = "Párrafo, con coma\r\n\r\nY \"comillas\"";
+        ExportadorDatos exportador = new ExportadorDatos(new ArticulosEnMemoria(articulo(1, "Título", contenido)), null);
+        StringWriter salida = new StringWriter();
+
+        exportador.exportarArticulos(FormatoExportacion.CSV, salida);
+
+        assertTrue(salida.toString().startsWith("id,titulo,contenido,fecha,autor,autor_id,autor_nombre\r\n"));
+        try (LectorImportacion lector = FormatoImportacion.CSV.abrir(
+                new ByteArrayInputStream(salida.toString().getBytes(StandardCharsets.UTF_8)))) {
+            RegistroImportado registro = lector.siguiente();
+            assertEquals("Título", registro.getTitulo());
+            assertEquals(contenido, registro.getContenido());
+            assertEquals(FECHA, registro.getFechaPublicacion());
+            assertEquals("ana", registro.getAutor(), "El autor debe volver a importarse por su username");
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("La exportación de usuarios no debe incluir contraseñas")
+    void testUsuariosSinPassword() throws Exception {
+        Usuario usuario = new Usuario(3, "Ana Pérez", "ana@blog.com", "ana", "$2a$12$hash", "admin");
+        ExportadorDatos exportador = new ExportadorDatos(null, new UsuariosEnMemoria(usuario));
+
+        StringWriter csv = new StringWriter();
+        exportador.exportarUsuarios(FormatoExportacion.CSV, csv);
+        assertEquals("id,username,nombre,email,rol\r\n3,ana,Ana Pérez,ana@blog.com,admin\r\n", csv.toString());
+
+        StringWriter ndjson = new StringWriter();
+        exportador.exportarUsuarios(FormatoExportacion.NDJSON, ndjson);
+        assertFalse(ndjson.toString().contains("hash"));
+        assertFalse(ndjson.toString().contains("password"));
+    }
+
+    @Test
+    @DisplayName("Un error al escribir debe detener el recorrido y propagarse como IOException")
+    void testErrorDeEscritura() {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria(articulo(1, "a", "x"), articulo(2, "b", "y"), articulo(3, "c", "z"));
+        ExportadorDatos exportador = new ExportadorDatos(articulos, null);
+        // Accepts the CSV header, then fails as if the client had disconnected
+        Writer cerrado = new Writer() {
+            private final StringBuilder escrito = new StringBuilder();
+
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                if (escrito.toString().endsWith("\r\n")) {
+                    throw new IOException("Broken pipe");
+                }
+                escrito.append(cbuf, off, len);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        IOException e = assertThrows(IOException.class,
+                () -> exportador.exportarArticulos(FormatoExportacion.CSV, cerrado));
+        assertEquals("Broken pipe", e.getMessage());
+        assertEquals(1, articulos.entregados, "El recorrido no debe continuar tras el error");
+    }
+
+    @Test
+    @DisplayName("Los valores vacíos y nulos deben distinguirse en CSV")
+    void testCsvVacioYNulo() throws Exception {
+        StringWriter salida = new StringWriter();
+        EscritorFilas escritor = FormatoExportacion.CSV.abrir(salida, List.of("a", "b", "c"));
+        escritor.fila("", null, "x");
+        assertEquals("a,b,c\r\n\"\",,x\r\n", salida.toString());
+    }
+
+    @Test
+    @DisplayName("CSV: los textos que parecen fórmulas deben escribirse como texto y recuperarse al importar")
+    void testCsvFormulas() throws Exception {
+        List<String> titulos = List.of("=HYPERLINK(\"http://x\")", "+1", "-lista", "@SUMA(A1)", "'=ya protegido",
+                "'normal", "a=b");
+        StringWriter salida = new StringWriter();
+        EscritorFilas escritor = FormatoExportacion.CSV.abrir(salida, List.of("titulo", "contenido", "autor_id"));
+        for (String titulo : titulos) {
+            escritor.fila(titulo, "x", -1);
+        }
+
+        String csv = salida.toString();
+        assertTrue(csv.contains("\r\n\"'=HYPERLINK(\"\"http://x\"\")\",x,-1\r\n'+1,x,-1\r\n'-lista,"));
+        assertTrue(csv.contains("\r\n'@SUMA(A1),x,-1\r\n''=ya protegido,x,-1\r\n'normal,x,-1\r\na=b,x,-1\r\n"),
+                "Los números no se protegen");
+        try (LectorImportacion lector = FormatoImportacion.CSV.abrir(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            for (String titulo : titulos) {
+                assertEquals(titulo, lector.siguiente().getTitulo());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("El formato debe obtenerse del parámetro, con NDJSON por defecto")
+    void testDeducirFormato() {
+        assertEquals(FormatoExportacion.NDJSON, FormatoExportacion.deducir(null));
+        assertEquals(FormatoExportacion.CSV, FormatoExportacion.deducir("CSV"));
+        assertNull(FormatoExportacion.deducir("xlsx"));
+    }
+
+    // ========== Utilidades ==========
+
+    private static Articulo articulo(int id, String titulo, String contenido) {
+        Articulo articulo = new Articulo(id, titulo, contenido, FECHA, 9);
+        articulo.setAutorNombre("Ana");
+        articulo.setAutorUsername("ana");
+        return articulo;
+    }
+}
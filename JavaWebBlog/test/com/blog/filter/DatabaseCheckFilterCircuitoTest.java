@@ -0,0 +1,118 @@
+package com.blog.filter;
+
+import com.blog.dao.CircuitBreaker;
+import com.blog.dao.ConexionBD;
+import com.blog.dao.ConexionBDDePrueba;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de DatabaseCheckFilter con el interruptor de circuito de una {@link ConexionBD}
+ * real sobre el driver simulado (sin Mockito: la petición y la respuesta son proxies)
+ */
+@DisplayName("Tests para DatabaseCheckFilter con el circuito abierto")
+class DatabaseCheckFilterCircuitoTest {
+
+    private static final String BD = "filtro-circuito";
+    private static final long OPEN_MS = 100;
+
+    private DatabaseCheckFilter filter;
+    private ConexionBD conexionBD;
+    private final List<String> redirecciones = new ArrayList<>();
+    private int atendidas;
+
+    @BeforeEach
+    void setUp() {
+        Properties props = new Properties();
+        props.setProperty("pool.maxConnections", "2");
+        props.setProperty("retry.maxAttempts", "1");
+        props.setProperty("retry.initialDelayMs", "10");
+        props.setProperty("circuit.windowSize", "4");
+        props.setProperty("circuit.minimumCalls", "2");
+        props.setProperty("circuit.failureRatePercent", "50");
+        props.setProperty("circuit.openMs", String.valueOf(OPEN_MS));
+        conexionBD = ConexionBDDePrueba.instalar(BD, props);
+        filter = new DatabaseCheckFilter();
+        DatabaseCheckFilter.invalidateCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConexionBD.cerrarInstancia();
+        DatabaseCheckFilter.invalidateCache();
+    }
+
+    private void pedir(String uri) throws Exception {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getRequestURI": return uri;
+                        case "getContextPath": return "/blog";
+                        default: return null;
+                    }
+                });
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("sendRedirect")) {
+                        redirecciones.add((String) args[0]);
+                    }
+                    return null;
+                });
+        FilterChain chain = (req, res) -> atendidas++;
+        filter.doFilter(request, response, chain);
+    }
+
+    private void abrirCircuito() {
+        ConexionBDDePrueba.caida(BD, true);
+        CircuitBreaker breaker = conexionBD.getCircuitBreaker();
+        for (int i = 0; i < 4 && breaker.getState() != CircuitBreaker.State.OPEN; i++) {
+            assertThrows(SQLException.class, conexionBD::getConexion);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Con el circuito abierto debe redirigir a setup sin intentar conectar")
+    void testCircuitoAbiertoRedirige() throws Exception {
+        abrirCircuito();
+        ConexionBDDePrueba.caida(BD, false);
+
+        pedir("/blog/articulos");
+
+        assertEquals(List.of("/blog/setup"), redirecciones);
+        assertEquals(0, atendidas);
+        assertEquals(0, ConexionBDDePrueba.conexionesCreadas(BD));
+    }
+
+    @Test
+    @DisplayName("Pasado circuit.openMs, la siguiente petición debe enviar la prueba y cerrar el circuito")
+    void testPruebaCierraCircuito() throws Exception {
+        abrirCircuito();
+        pedir("/blog/articulos");
+        assertEquals(1, redirecciones.size());
+
+        ConexionBDDePrueba.caida(BD, false);
+        Thread.sleep(OPEN_MS + 50);
+        pedir("/blog/articulos");
+
+        assertEquals(1, atendidas, "La petición debe llegar al servlet");
+        assertEquals(1, redirecciones.size());
+        assertEquals(1, ConexionBDDePrueba.conexionesCreadas(BD), "La prueba debe conectar con la base de datos");
+        assertEquals(CircuitBreaker.State.CLOSED, conexionBD.getCircuitBreaker().getState());
+    }
+}
@@ -0,0 +1,197 @@
+package com.blog.importacion;
+
+import com.blog.dao.ArticulosEnMemoria;
+import com.blog.dao.UsuariosEnMemoria;
+import com.blog.model.Articulo;
+import com.blog.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ImportadorArticulos, con DAOs en memoria
+ */
+@DisplayName("Tests para ImportadorArticulos")
+class ImportadorArticulosTest {
+
+    private static final int ADMIN = 1;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("Debe guardar los artículos en lotes del tamaño configurado")
+    void testLotes() throws Exception {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, new UsuariosEnMemoria(), 2, ADMIN);
+        ProgresoImportacion progreso = progreso(FormatoImportacion.NDJSON);
+
+        importador.importar(lector(FormatoImportacion.NDJSON, lineas(5)), progreso);
+
+        assertEquals(List.of(2, 2, 1), articulos.lotes);
+        assertEquals(5, articulos.filas.size());
+        assertEquals(ProgresoImportacion.Estado.COMPLETADA, progreso.getEstado());
+        assertEquals(5, progreso.getLeidos());
+        assertEquals(5, progreso.getImportados());
+        assertEquals(100, progreso.getPorcentaje());
+        assertNull(progreso.getMensaje());
+    }
+
+    @Test
+    @DisplayName("Debe asignar el autor por username y usar el administrador si no existe")
+    void testAutores() throws Exception {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        UsuariosEnMemoria usuarios = new UsuariosEnMemoria(
+                new Usuario(7, "Ana", "ana@blog.com", "ana", "x", "autor"));
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, usuarios, 10, ADMIN);
+        ProgresoImportacion progreso = progreso(FormatoImportacion.CSV);
+
+        String csv = "titulo,contenido,autor\n"
+                + "A,x,ana\nB,x,ana\nC,x,nadie\nD,x,nadie\nE,x,\n";
+        importador.importar(lector(FormatoImportacion.CSV, csv), progreso);
+
+        List<Integer> autores = new ArrayList<>();
+        for (Articulo a : articulos.guardados()) {
+            autores.add(a.getAutorId());
+        }
+        assertEquals(List.of(7, 7, ADMIN, ADMIN, ADMIN), autores);
+        assertEquals(3, progreso.getSinAutor());
+        assertEquals(1, usuarios.lecturas("ana"), "Cada autor debe buscarse una sola vez");
+        assertEquals(1, usuarios.lecturas("nadie"));
+        assertNotNull(articulos.guardados().get(4).getFechaPublicacion());
+    }
+
+    @Test
+    @DisplayName("Debe omitir los registros no válidos e informar su posición")
+    void testOmitidos() throws Exception {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, new UsuariosEnMemoria(), 10, ADMIN);
+        ProgresoImportacion progreso = progreso(FormatoImportacion.NDJSON);
+
+        String archivo = "{\"titulo\": \"ok\", \"contenido\": \"x\"}\n"
+                + "{\"titulo\": \"  \", \"contenido\": \"x\"}\n"
+                + "{\"titulo\": \"" + "t".repeat(ImportadorArticulos.MAX_TITULO + 1) + "\", \"contenido\": \"x\"}\n"
+                + "no es json\n"
+                + "{\"titulo\": \"  bien  \", \"contenido\": \"y\"}\n";
+        importador.importar(lector(FormatoImportacion.NDJSON, archivo), progreso);
+
+        assertEquals(ProgresoImportacion.Estado.COMPLETADA, progreso.getEstado());
+        assertEquals(5, progreso.getLeidos());
+        assertEquals(2, progreso.getImportados());
+        assertEquals(3, progreso.getOmitidos());
+        assertEquals(3, progreso.getErrores().size());
+        assertTrue(progreso.getErrores().get(0).startsWith("Registro 2:"));
+        assertTrue(progreso.getErrores().get(2).startsWith("Registro 4:"));
+        assertEquals("bien", articulos.guardados().get(1).getTitulo());
+    }
+
+    @Test
+    @DisplayName("El contenido se limita en bytes UTF-8, no en caracteres")
+    void testValidarContenido() {
+        String justo = "a".repeat(ImportadorArticulos.MAX_BYTES_CONTENIDO);
+        String multibyte = "é".repeat(ImportadorArticulos.MAX_BYTES_CONTENIDO / 2 + 1);
+        assertNull(ImportadorArticulos.validar(new RegistroImportado(1, "t", justo, null, null)));
+        assertNotNull(ImportadorArticulos.validar(new RegistroImportado(1, "t", multibyte, null, null)));
+        assertNotNull(ImportadorArticulos.validar(new RegistroImportado(1, "t", null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Un lote interrumpido debe detener la importación e indicar dónde continuar")
+    void testLoteInterrumpido() throws Exception {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        articulos.fallarEnLote = 2;
+        articulos.confirmadasAlFallar = 1;
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, new UsuariosEnMemoria(), 3, ADMIN);
+        ProgresoImportacion progreso = progreso(FormatoImportacion.NDJSON);
+
+        importador.importar(lector(FormatoImportacion.NDJSON, lineas(8)), progreso);
+
+        assertEquals(ProgresoImportacion.Estado.FALLIDA, progreso.getEstado());
+        assertEquals(4, progreso.getImportados());
+        assertEquals(6, progreso.getLeidos(), "No debe seguir leyendo tras el error");
+        assertTrue(progreso.getMensaje().contains("registro 5"), progreso.getMensaje());
+        assertFalse(progreso.getMensaje().contains("compruébalo"));
+    }
+
+    @Test
+    @DisplayName("Si se perdió la confirmación de un bloque debe avisar de posibles duplicados")
+    void testCommitIncierto() throws Exception {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        articulos.fallarEnLote = 2;
+        articulos.commitIncierto = true;
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, new UsuariosEnMemoria(), 3, ADMIN);
+        ProgresoImportacion progreso = progreso(FormatoImportacion.NDJSON);
+
+        importador.importar(lector(FormatoImportacion.NDJSON, lineas(8)), progreso);
+
+        assertEquals(ProgresoImportacion.Estado.FALLIDA, progreso.getEstado());
+        assertTrue(progreso.getMensaje().contains("registro 4"), progreso.getMensaje());
+        assertTrue(progreso.getMensaje().contains("compruébalo"), progreso.getMensaje());
+    }
+
+    @Test
+    @DisplayName("Debe importar desde un archivo y marcar como fallida una importación ilegible")
+    void testArchivo() throws Exception {
+        Path archivo = directorio.resolve("posts.ndjson");
+        Files.writeString(archivo, lineas(3), StandardCharsets.UTF_8);
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, new UsuariosEnMemoria(), 10, ADMIN);
+
+        ProgresoImportacion progreso = new ProgresoImportacion("posts.ndjson", FormatoImportacion.NDJSON,
+                Files.size(archivo));
+        importador.importar(FormatoImportacion.NDJSON, archivo, progreso);
+        assertEquals(ProgresoImportacion.Estado.COMPLETADA, progreso.getEstado());
+        assertEquals(3, progreso.getImportados());
+
+        ProgresoImportacion ausente = new ProgresoImportacion("x.csv", FormatoImportacion.CSV, 10);
+        importador.importar(FormatoImportacion.CSV, directorio.resolve("no-existe.csv"), ausente);
+        assertEquals(ProgresoImportacion.Estado.FALLIDA, ausente.getEstado());
+        assertNotNull(ausente.getMensaje());
+    }
+
+    @Test
+    @DisplayName("Debe detenerse como cancelada si se interrumpe el hilo")
+    void testCancelacion() throws Exception {
+        ArticulosEnMemoria articulos = new ArticulosEnMemoria();
+        ImportadorArticulos importador = new ImportadorArticulos(articulos, new UsuariosEnMemoria(), 10, ADMIN);
+        ProgresoImportacion progreso = progreso(FormatoImportacion.NDJSON);
+
+        Thread.currentThread().interrupt();
+        try {
+            importador.importar(lector(FormatoImportacion.NDJSON, lineas(3)), progreso);
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(ProgresoImportacion.Estado.CANCELADA, progreso.getEstado());
+        assertTrue(articulos.filas.isEmpty());
+    }
+
+    // ========== Utilidades ==========
+
+    private static ProgresoImportacion progreso(FormatoImportacion formato) {
+        return new ProgresoImportacion("prueba", formato, 0);
+    }
+
+    private static LectorImportacion lector(FormatoImportacion formato, String contenido) throws IOException {
+        return formato.abrir(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String lineas(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= n; i++) {
+            sb.append("{\"titulo\": \"Artículo ").append(i).append("\", \"contenido\": \"Texto ")
+                    .append(i).append("\"}\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package com.blog.importacion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para los lectores de archivos de importación (NDJSON, CSV y WXR)
+ */
+@DisplayName("Tests para los lectores de importación")
+class LectoresImportacionTest {
+
+    private static LectorImportacion abrir(FormatoImportacion formato, String contenido) throws IOException {
+        return formato.abrir(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("NDJSON: cada línea debe dar un registro, con escapes y campos en inglés")
+    void testNdjson() throws Exception {
+        String archivo = "{\"titulo\": \"Hola\", \"contenido\": \"Línea 1\\nLínea 2 \\u00e9\", "
+                + "\"fecha\": \"2024-05-01T10:30:00\", \"autor\": \"ana\", \"tags\": [\"a\", {\"b\": 1}]}\n"
+                + "\n"
+                + "{\"title\": \"Segundo\", \"content\": \"Texto con \\\"comillas\\\"\", \"date\": \"2024-05-02\", \"id\": 7}\r\n";
+        try (LectorImportacion lector = abrir(FormatoImportacion.NDJSON, archivo)) {
+            RegistroImportado primero = lector.siguiente();
+            assertEquals("Hola", primero.getTitulo());
+            assertEquals("Línea 1\nLínea 2 é", primero.getContenido());
+            assertEquals(LocalDateTime.of(2024, 5, 1, 10, 30), primero.getFechaPublicacion());
+            assertEquals("ana", primero.getAutor());
+            assertEquals(1, primero.getPosicion());
+
+            RegistroImportado segundo = lector.siguiente();
+            assertEquals("Segundo", segundo.getTitulo());
+            assertEquals("Texto con \"comillas\"", segundo.getContenido());
+            assertEquals(LocalDateTime.of(2024, 5, 2, 0, 0), segundo.getFechaPublicacion());
+            assertNull(segundo.getAutor());
+            assertEquals(3, segundo.getPosicion());
+
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("NDJSON: una línea inválida debe informarse sin detener la lectura")
+    void testNdjsonLineaInvalida() throws Exception {
+        String archivo = "{\"titulo\": \"roto\"\n"
+                + "{\"titulo\": \"bien\", \"contenido\": \"x\", \"fecha\": \"ayer\"}\n"
+                + "{\"titulo\": \"ok\", \"contenido\": \"y\"}\n";
+        try (LectorImportacion lector = abrir(FormatoImportacion.NDJSON, archivo)) {
+            RegistroInvalidoException e = assertThrows(RegistroInvalidoException.class, lector::siguiente);
+            assertEquals(1, e.getPosicion());
+            RegistroInvalidoException fecha = assertThrows(RegistroInvalidoException.class, lector::siguiente);
+            assertEquals(2, fecha.getPosicion());
+            assertEquals("ok", lector.siguiente().getTitulo());
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("CSV: los campos entre comillas pueden tener comas, comillas y saltos de línea")
+    void testCsv() throws Exception {
+        String archivo = "\uFEFFtitulo,contenido,autor,fecha\r\n"
+                + "Uno,\"Párrafo 1, con coma\n\nPárrafo \"\"2\"\"\",ana,2024-01-02 03:04:05\r\n"
+                + "\r\n"
+                + "Dos,Simple,,\r\n";
+        try (LectorImportacion lector = abrir(FormatoImportacion.CSV, archivo)) {
+            RegistroImportado uno = lector.siguiente();
+            assertEquals("Uno", uno.getTitulo());
+            assertEquals("Párrafo 1, con coma\n\nPárrafo \"2\"", uno.getContenido());
+            assertEquals("ana", uno.getAutor());
+            assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5), uno.getFechaPublicacion());
+            assertEquals(2, uno.getPosicion());
+
+            RegistroImportado dos = lector.siguiente();
+            assertEquals("Dos", dos.getTitulo());
+            assertNull(dos.getAutor());
+            assertNull(dos.getFechaPublicacion());
+            assertEquals(6, dos.getPosicion());
+
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("CSV: debe aceptar punto y coma e informar filas con columnas de menos")
+    void testCsvPuntoYComa() throws Exception {
+        String archivo = "Title;Content\nA;texto A\nsolo una columna\nB;texto B\n";
+        try (LectorImportacion lector = abrir(FormatoImportacion.CSV, archivo)) {
+            assertEquals("texto A", lector.siguiente().getContenido());
+            RegistroInvalidoException e = assertThrows(RegistroInvalidoException.class, lector::siguiente);
+            assertEquals(3, e.getPosicion());
+            assertEquals("B", lector.siguiente().getTitulo());
+        }
+    }
+
+    @Test
+    @DisplayName("CSV: una cabecera sin título ni contenido o comillas sin cerrar deben detener la lectura")
+    void testCsvErroresFatales() throws Exception {
+        try (LectorImportacion lector = abrir(FormatoImportacion.CSV, "nombre,apellido\na,b\n")) {
+            assertThrows(IOException.class, lector::siguiente);
+        }
+        try (LectorImportacion lector = abrir(FormatoImportacion.CSV, "titulo,contenido\nA,\"sin cerrar\n")) {
+            assertThrows(IOException.class, lector::siguiente);
+        }
+    }
+
+    @Test
+    @DisplayName("WXR: solo deben leerse las entradas publicadas, ignorando metadatos y comentarios")
+    void testWxr() throws Exception {
+        String archivo = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<rss version=\"2.0\" xmlns:content=\"http://purl.org/rss/1.0/modules/content/\""
+                + " xmlns:excerpt=\"http://wordpress.org/export/1.2/excerpt/\""
+                + " xmlns:dc=\"http://purl.org/dc/elements/1.1/\" xmlns:wp=\"http://wordpress.org/export/1.2/\">"
+                + "<channel><title>Mi blog</title>"
+                + "<item><title>Publicada</title><dc:creator><![CDATA[ana]]></dc:creator>"
+                + "<content:encoded><![CDATA[<p>Hola & adiós</p>]]></content:encoded>"
+                + "<excerpt:encoded><![CDATA[resumen]]></excerpt:encoded>"
+                + "<wp:post_date>2023-07-08 09:10:11</wp:post_date>"
+                + "<wp:status>publish</wp:status><wp:post_type>post</wp:post_type>"
+                + "<wp:postmeta><wp:meta_key>_edit_last</wp:meta_key><wp:meta_value>1</wp:meta_value></wp:postmeta>"
+                + "<wp:comment><wp:comment_content>Un comentario</wp:comment_content></wp:comment>"
+                + "</item>"
+                + "<item><title>Borrador</title><content:encoded>x</content:encoded>"
+                + "<wp:status>draft</wp:status><wp:post_type>post</wp:post_type></item>"
+                + "<item><title>Logo</title><wp:status>inherit</wp:status><wp:post_type>attachment</wp:post_type></item>"
+                + "<item><title>Otra &amp; más</title><content:encoded>Texto</content:encoded>"
+                + "<wp:post_date>0000-00-00 00:00:00</wp:post_date>"
+                + "<wp:status>publish</wp:status><wp:post_type>post</wp:post_type></item>"
+                + "</channel></rss>";
+        try (LectorImportacion lector = abrir(FormatoImportacion.WXR, archivo)) {
+            RegistroImportado primera = lector.siguiente();
+            assertEquals("Publicada", primera.getTitulo());
+            assertEquals("<p>Hola & adiós</p>", primera.getContenido());
+            assertEquals("ana", primera.getAutor());
+            assertEquals(LocalDateTime.of(2023, 7, 8, 9, 10, 11), primera.getFechaPublicacion());
+            assertEquals(1, primera.getPosicion());
+
+            RegistroImportado otra = lector.siguiente();
+            assertEquals("Otra & más", otra.getTitulo());
+            assertNull(otra.getFechaPublicacion());
+            assertEquals(4, otra.getPosicion());
+
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("WXR: no debe resolver entidades externas")
+    void testWxrSinEntidadesExternas() throws Exception {
+        String archivo = "<?xml version=\"1.0\"?>\n"
+                + "<!DOCTYPE rss [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                + "<rss xmlns:content=\"http://purl.org/rss/1.0/modules/content/\"><channel>"
+                + "<item><title>t</title><content:encoded>&xxe;</content:encoded></item>"
+                + "</channel></rss>";
+        try (LectorImportacion lector = abrir(FormatoImportacion.WXR, archivo)) {
+            try {
+                RegistroImportado registro = lector.siguiente();
+                assertFalse(registro.getContenido().contains("root:"));
+            } catch (IOException e) {
+                // rechazar el documento también es correcto
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("El formato debe deducirse del formulario o de la extensión")
+    void testDeducirFormato() {
+        assertEquals(FormatoImportacion.CSV, FormatoImportacion.deducir("csv", "export.xml"));
+        assertEquals(FormatoImportacion.WXR, FormatoImportacion.deducir("auto", "blog.WordPress.2024.xml"));
+        assertEquals(FormatoImportacion.NDJSON, FormatoImportacion.deducir(null, "posts.jsonl"));
+        assertNull(FormatoImportacion.deducir(null, "posts.txt"));
+        assertNull(FormatoImportacion.deducir("yaml", "posts.yaml"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.blog.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la clase ArticuloResumen y el cálculo del extracto
+ */
+@DisplayName("Tests para ArticuloResumen")
+class ArticuloResumenTest {
+
+    @Test
+    @DisplayName("Un contenido corto debe quedar entero, con los espacios normalizados")
+    void testContenidoCorto() {
+        assertEquals("Primer párrafo. Segundo párrafo.",
+                ArticuloResumen.extraer("  Primer párrafo.\n\n\tSegundo   párrafo.  "));
+        assertEquals("", ArticuloResumen.extraer(null));
+    }
+
+    @Test
+    @DisplayName("Un contenido largo debe cortarse en un espacio y terminar en puntos suspensivos")
+    void testContenidoLargo() {
+        String contenido = "palabra ".repeat(100);
+        String extracto = ArticuloResumen.extraer(contenido);
+
+        assertTrue(extracto.length() <= ArticuloResumen.LONGITUD_EXTRACTO + 1);
+        assertTrue(extracto.endsWith("palabra…"), extracto);
+        assertFalse(extracto.contains("  "));
+    }
+
+    @Test
+    @DisplayName("Una palabra sin espacios más larga que el límite debe cortarse en el límite")
+    void testPalabraLarga() {
+        String extracto = ArticuloResumen.extraer("x".repeat(1000));
+        assertEquals("x".repeat(ArticuloResumen.LONGITUD_EXTRACTO) + "…", extracto);
+    }
+
+    @Test
+    @DisplayName("El corte no debe partir un carácter de dos unidades")
+    void testNoPartirEmoji() {
+        String contenido = "x".repeat(ArticuloResumen.LONGITUD_EXTRACTO - 1) + "😀" + "y".repeat(50);
+        String extracto = ArticuloResumen.extraer(contenido);
+        assertEquals("x".repeat(ArticuloResumen.LONGITUD_EXTRACTO - 1) + "…", extracto);
+    }
+
+    @Test
+    @DisplayName("La fecha formateada debe coincidir con la de Articulo")
+    void testFechaFormateada() {
+        LocalDateTime fecha = LocalDateTime.of(2025, 12, 9, 14, 30);
+        ArticuloResumen resumen = new ArticuloResumen();
+        resumen.setFechaPublicacion(fecha);
+        Articulo articulo = new Articulo(1, "t", "c", fecha, 1);
+
+        assertEquals(articulo.getFechaPublicacionFormateada(), resumen.getFechaPublicacionFormateada());
+        assertEquals("", new ArticuloResumen().getFechaPublicacionFormateada());
+    }
+}
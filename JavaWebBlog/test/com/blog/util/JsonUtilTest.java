@@ -0,0 +1,60 @@
+package com.blog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para JsonUtil
+ */
+@DisplayName("Tests para JsonUtil")
+class JsonUtilTest {
+
+    @Test
+    @DisplayName("cadena debe escapar comillas y barra invertida")
+    void testComillasYBarra() {
+        assertEquals("\"a\\\"b\\\\c\"", JsonUtil.cadena("a\"b\\c"));
+    }
+
+    @Test
+    @DisplayName("cadena debe escapar todos los caracteres de control")
+    void testCaracteresControl() {
+        assertEquals("\"\\n\\r\\t\"", JsonUtil.cadena("\n\r\t"));
+        assertEquals("\"\\u0000\\u001f\\u0008\"", JsonUtil.cadena("\u0000\u001f\b"));
+        for (char c = 0; c < 0x20; c++) {
+            String json = JsonUtil.cadena("x" + c + "y");
+            for (int i = 0; i < json.length(); i++) {
+                assertTrue(json.charAt(i) >= 0x20, "Carácter de control sin escapar: " + (int) c);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("cadena debe escapar los separadores de línea U+2028 y U+2029")
+    void testSeparadoresLinea() {
+        assertEquals("\"\\u2028\\u2029\"", JsonUtil.cadena("\u2028\u2029"));
+    }
+
+    @Test
+    @DisplayName("cadena debe dejar intactos los caracteres no ASCII")
+    void testNoAscii() {
+        assertEquals("\"Configuración ñ €\"", JsonUtil.cadena("Configuración ñ €"));
+    }
+
+    @Test
+    @DisplayName("cadena nula debe producir el literal null")
+    void testNula() {
+        assertEquals("null", JsonUtil.cadena(null));
+    }
+
+    @Test
+    @DisplayName("escribirCadena debe escribir lo mismo que cadena")
+    void testEscribirCadena() throws Exception {
+        StringWriter out = new StringWriter();
+        JsonUtil.escribirCadena(out, "línea\nnueva \"citada\"");
+        assertEquals(JsonUtil.cadena("línea\nnueva \"citada\""), out.toString());
+    }
+}
@@ -0,0 +1,234 @@
+package com.blog.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la fachada de logging {@link Log}, su escritor asíncrono y el
+ * buffer circular
+ */
+@DisplayName("Tests para Log")
+class LogTest {
+
+    @TempDir
+    Path dir;
+
+    private AsyncLogWriter writer;
+    private final ByteArrayOutputStream consola = new ByteArrayOutputStream();
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown(2000);
+        }
+    }
+
+    private Properties configuracion() {
+        Properties props = new Properties();
+        props.setProperty("log.dir", dir.toString());
+        props.setProperty("log.console", "false");
+        props.setProperty("log.level", "INFO");
+        return props;
+    }
+
+    private AsyncLogWriter crearWriter(Properties props) {
+        PrintStream out = new PrintStream(consola, true, StandardCharsets.UTF_8);
+        writer = new AsyncLogWriter(props, out, out);
+        return writer;
+    }
+
+    private List<String> lineas() throws Exception {
+        assertTrue(writer.flush(5000), "El escritor debe vaciar el buffer a tiempo");
+        return Files.readAllLines(dir.resolve("blog.log"), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("El buffer circular debe entregar en orden y rechazar cuando está lleno")
+    void testBufferCircular() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(5);
+        assertEquals(8, buffer.getCapacity(), "La capacidad se redondea a potencia de dos");
+
+        for (int vuelta = 0; vuelta < 3; vuelta++) {
+            for (int i = 0; i < 8; i++) {
+                assertTrue(buffer.offer(vuelta * 10 + i));
+            }
+            assertFalse(buffer.offer(99), "Lleno: no debe bloquear ni sobrescribir");
+            for (int i = 0; i < 8; i++) {
+                assertEquals(vuelta * 10 + i, buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+        assertEquals(24, buffer.getConsumed());
+    }
+
+    @Test
+    @DisplayName("Varios productores concurrentes no deben perder ni duplicar elementos")
+    void testProductoresConcurrentes() throws Exception {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(1024);
+        int hilos = 4;
+        int porHilo = 20_000;
+        List<Future<?>> productores = new ArrayList<>();
+        Set<Integer> recibidos = new HashSet<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            for (int h = 0; h < hilos; h++) {
+                int base = h * porHilo;
+                productores.add(executor.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (recibidos.size() < hilos * porHilo && System.nanoTime() < limite) {
+                Integer elemento = buffer.poll();
+                if (elemento != null) {
+                    assertTrue(recibidos.add(elemento), "Elemento duplicado: " + elemento);
+                }
+            }
+            for (Future<?> productor : productores) {
+                productor.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(hilos * porHilo, recibidos.size());
+    }
+
+    @Test
+    @DisplayName("Debe escribir en el archivo respetando el nivel de cada logger")
+    void testNiveles() throws Exception {
+        Properties props = configuracion();
+        props.setProperty("log.level.ConnectionPool", "DEBUG");
+        crearWriter(props);
+        Log dao = Log.create("MySQLArticuloDAO", writer);
+        Log pool = Log.create("ConnectionPool:primary", writer);
+
+        dao.debug("no debe aparecer");
+        dao.info("artículo guardado");
+        pool.debug("Nueva conexión creada");
+
+        List<String> lineas = lineas();
+        assertEquals(2, lineas.size(), String.join("\n", lineas));
+        assertTrue(lineas.get(0).contains("INFO  [MySQLArticuloDAO] artículo guardado"));
+        assertTrue(lineas.get(1).contains("DEBUG [ConnectionPool:primary] Nueva conexión creada"));
+        assertFalse(dao.isDebugEnabled());
+        assertTrue(pool.isDebugEnabled());
+    }
+
+    @Test
+    @DisplayName("Los errores deben incluir la traza de la excepción")
+    void testTrazaDeExcepcion() throws Exception {
+        crearWriter(configuracion());
+        Log.create("LoginServlet", writer).error("Error during login", new IllegalStateException("sin conexión"));
+
+        String contenido = String.join("\n", lineas());
+        assertTrue(contenido.contains("ERROR [LoginServlet] Error during login"));
+        assertTrue(contenido.contains("java.lang.IllegalStateException: sin conexión"));
+        assertTrue(contenido.contains("at com.blog.util.LogTest"));
+    }
+
+    @Test
+    @DisplayName("Los mensajes repetidos deben limitarse y resumirse")
+    void testMensajesRepetidos() throws Exception {
+        Properties props = configuracion();
+        props.setProperty("log.repeat.maxPerSecond", "3");
+        crearWriter(props);
+        Log log = Log.create("ConnectionPool:primary", writer);
+
+        long segundo = System.currentTimeMillis() / 1000;
+        for (int i = 0; i < 50; i++) {
+            log.info("Nueva conexión creada. Pool size: " + i);
+        }
+        log.info("Otro mensaje");
+        if (System.currentTimeMillis() / 1000 != segundo) {
+            return; // el bucle cruzó un cambio de segundo: la cuenta no es determinista
+        }
+        Thread.sleep(1100);
+
+        List<String> lineas = lineas();
+        long escritas = lineas.stream().filter(l -> l.contains("Pool size:") && !l.contains("repetido")).count();
+        assertEquals(3, escritas, String.join("\n", lineas));
+        assertTrue(lineas.stream().anyMatch(l -> l.contains("Otro mensaje")));
+        assertTrue(lineas.stream().anyMatch(l -> l.contains("Mensaje repetido 47 veces más (suprimido)")),
+                String.join("\n", lineas));
+    }
+
+    @Test
+    @DisplayName("El archivo debe rotar al superar el tamaño máximo")
+    void testRotacion() throws Exception {
+        Properties props = configuracion();
+        props.setProperty("log.maxFileSizeKb", "1");
+        props.setProperty("log.maxFiles", "2");
+        props.setProperty("log.repeat.maxPerSecond", "0");
+        crearWriter(props);
+        Log log = Log.create("Rotacion", writer);
+
+        for (int i = 0; i < 100; i++) {
+            log.info("línea " + i + " " + "x".repeat(80));
+        }
+        List<String> actual = lineas();
+
+        assertTrue(Files.exists(dir.resolve("blog.log.1")));
+        assertTrue(Files.exists(dir.resolve("blog.log.2")));
+        assertFalse(Files.exists(dir.resolve("blog.log.3")), "Solo se conservan log.maxFiles archivos");
+        assertTrue(Files.size(dir.resolve("blog.log.1")) <= 1024 + 200);
+        assertTrue(actual.get(actual.size() - 1).contains("línea 99"));
+    }
+
+    @Test
+    @DisplayName("Con el buffer lleno debe descartar sin bloquear y contar los descartes")
+    void testBufferLleno() throws Exception {
+        Properties props = configuracion();
+        props.setProperty("log.bufferSize", "8");
+        props.setProperty("log.flushIntervalMs", "10000");
+        props.setProperty("log.repeat.maxPerSecond", "0");
+        crearWriter(props);
+        Log log = Log.create("Lleno", writer);
+        Thread.sleep(100); // el escritor queda dormido
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            log.info("mensaje " + i);
+        }
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(92, writer.getDropped());
+        assertEquals(8, lineas().stream().filter(l -> l.contains("mensaje")).count());
+    }
+
+    @Test
+    @DisplayName("Tras detener el escritor los mensajes deben ir directo a la consola")
+    void testDespuesDeShutdown() {
+        Properties props = configuracion();
+        props.setProperty("log.console", "true");
+        crearWriter(props);
+        writer.shutdown(2000);
+
+        Log.create("PoolLifecycleListener", writer).warn("mensaje tardío");
+
+        assertFalse(writer.isRunning());
+        assertTrue(consola.toString(StandardCharsets.UTF_8).contains("[PoolLifecycleListener] mensaje tardío"));
+    }
+}
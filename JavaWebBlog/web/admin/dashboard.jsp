@@ -107,6 +107,19 @@
                                         class="btn btn-outline-success">
                                         Crear Nuevo Artículo
                                     </a>
+                                    <c:if test="${sessionScope.usuario.rol eq 'admin'}">
+                                        <a href="<c:url value='/admin/importar'/>" class="btn btn-outline-dark">
+                                            Importar Artículos
+                                        </a>
+                                        <a href="<c:url value='/admin/exportar?tabla=articulos&formato=ndjson&gzip=true'/>"
+                                            class="btn btn-outline-dark">
+                                            Exportar Artículos
+                                        </a>
+                                        <a href="<c:url value='/admin/exportar?tabla=usuarios&formato=csv'/>"
+                                            class="btn btn-outline-dark">
+                                            Exportar Usuarios
+                                        </a>
+                                    </c:if>
                                     <a href="<c:url value='/articulos'/>" class="btn btn-outline-secondary">
                                         Ver Blog Público
                                     </a>
@@ -0,0 +1,182 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+    <%@ taglib prefix="c" uri="jakarta.tags.core" %>
+        <!DOCTYPE html>
+        <html lang="es">
+
+        <head>
+            <meta charset="UTF-8">
+            <meta name="viewport" content="width=device-width, initial-scale=1.0">
+            <c:if test="${progreso.enCurso}">
+                <meta http-equiv="refresh" content="2">
+            </c:if>
+            <title>Odally | Blog - Importar Artículos</title>
+            <link rel="preconnect" href="https://fonts.googleapis.com">
+            <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
+            <link href="https://fonts.googleapis.com/css2?family=Inter:wght@300;400;500;600;700&family=Literata:opsz,wght@7..72,300;7..72,400;7..72,600;7..72,700&display=swap" rel="stylesheet">
+            <link href="https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/css/bootstrap.min.css" rel="stylesheet">
+            <link href="<c:url value='/css/styles.css'/>" rel="stylesheet">
+        </head>
+
+        <body>
+            <!-- Navbar -->
+            <nav class="navbar navbar-expand-lg navbar-dark bg-dark">
+                <div class="container">
+                    <a class="navbar-brand" href="<c:url value='/articulos'/>">Odally</a>
+                    <button class="navbar-toggler" type="button" data-bs-toggle="collapse" data-bs-target="#navbarNav">
+                        <span class="navbar-toggler-icon"></span>
+                    </button>
+                    <div class="collapse navbar-collapse" id="navbarNav">
+                        <ul class="navbar-nav ms-auto">
+                            <li class="nav-item">
+                                <a class="nav-link" href="<c:url value='/articulos'/>">Ver Blog</a>
+                            </li>
+                            <li class="nav-item">
+                                <a class="nav-link"
+                                    href="<c:url value='/admin/articulos?action=dashboard'/>">Dashboard</a>
+                            </li>
+                            <li class="nav-item">
+                                <a class="nav-link" href="<c:url value='/admin/articulos?action=listar'/>">Artículos</a>
+                            </li>
+                            <li class="nav-item">
+                                <a class="nav-link" href="<c:url value='/admin/usuarios'/>">Usuarios</a>
+                            </li>
+                            <li class="nav-item">
+                                <span class="nav-link">Hola, ${sessionScope.usuarioNombre}</span>
+                            </li>
+                            <li class="nav-item">
+                                <a class="nav-link" href="<c:url value='/logout'/>">Cerrar Sesión</a>
+                            </li>
+                        </ul>
+                    </div>
+                </div>
+            </nav>
+
+            <div class="container mt-5">
+                <div class="row">
+                    <div class="col-lg-8 mx-auto">
+                        <h1 class="mb-4">Importar Artículos</h1>
+
+                        <c:if test="${not empty error}">
+                            <div class="error-message">
+                                ${error}
+                            </div>
+                        </c:if>
+
+                        <!-- Progreso de la última importación -->
+                        <c:if test="${not empty progreso}">
+                            <div class="card mb-4 shadow-sm">
+                                <div class="card-body">
+                                    <h5 class="card-title">
+                                        <c:out value="${progreso.archivo}" />
+                                        <small class="text-muted">(${progreso.formato})</small>
+                                    </h5>
+
+                                    <c:choose>
+                                        <c:when test="${progreso.enCurso}">
+                                            <span class="badge bg-primary">Importando…</span>
+                                        </c:when>
+                                        <c:when test="${progreso.estado eq 'COMPLETADA'}">
+                                            <span class="badge bg-success">Completada</span>
+                                        </c:when>
+                                        <c:when test="${progreso.estado eq 'CANCELADA'}">
+                                            <span class="badge bg-secondary">Cancelada</span>
+                                        </c:when>
+                                        <c:otherwise>
+                                            <span class="badge bg-danger">Detenida por un error</span>
+                                        </c:otherwise>
+                                    </c:choose>
+
+                                    <div class="progress my-3" role="progressbar" aria-valuenow="${progreso.porcentaje}"
+                                        aria-valuemin="0" aria-valuemax="100">
+                                        <div class="progress-bar" style="width: ${progreso.porcentaje}%">
+                                            ${progreso.porcentaje}%
+                                        </div>
+                                    </div>
+
+                                    <p class="card-text mb-1">
+                                        <strong>${progreso.importados}</strong> artículos guardados de
+                                        ${progreso.leidos} registros leídos
+                                        (${progreso.articulosPorSegundo} por segundo, ${progreso.segundos} s).
+                                    </p>
+                                    <c:if test="${progreso.omitidos > 0}">
+                                        <p class="card-text mb-1">${progreso.omitidos} registros omitidos por no ser válidos.</p>
+                                    </c:if>
+                                    <c:if test="${progreso.sinAutor > 0}">
+                                        <p class="card-text mb-1">
+                                            ${progreso.sinAutor} artículos sin un autor registrado quedaron a tu nombre.
+                                        </p>
+                                    </c:if>
+                                    <c:if test="${not empty progreso.mensaje}">
+                                        <div class="error-message mt-3">
+                                            <c:out value="${progreso.mensaje}" />
+                                        </div>
+                                    </c:if>
+
+                                    <c:if test="${not empty progreso.errores}">
+                                        <details class="mt-3">
+                                            <summary>Registros omitidos</summary>
+                                            <ul class="small mt-2">
+                                                <c:forEach var="e" items="${progreso.errores}">
+                                                    <li><c:out value="${e}" /></li>
+                                                </c:forEach>
+                                            </ul>
+                                            <c:if test="${progreso.erroresNoMostrados > 0}">
+                                                <p class="small text-muted">…y ${progreso.erroresNoMostrados} más.</p>
+                                            </c:if>
+                                        </details>
+                                    </c:if>
+                                </div>
+                            </div>
+                        </c:if>
+
+                        <div class="card">
+                            <div class="card-body">
+                                <form method="post" action="<c:url value='/admin/importar'/>"
+                                    enctype="multipart/form-data">
+
+                                    <div class="mb-3">
+                                        <label for="archivo" class="form-label">Archivo *</label>
+                                        <input type="file" class="form-control" id="archivo" name="archivo" required
+                                            accept=".ndjson,.jsonl,.json,.csv,.xml">
+                                    </div>
+
+                                    <div class="mb-3">
+                                        <label for="formato" class="form-label">Formato</label>
+                                        <select class="form-select" id="formato" name="formato">
+                                            <option value="auto">Según la extensión del archivo</option>
+                                            <option value="ndjson">NDJSON (un objeto JSON por línea)</option>
+                                            <option value="csv">CSV con cabecera</option>
+                                            <option value="wxr">Exportación de WordPress (WXR)</option>
+                                        </select>
+                                        <small class="form-text text-muted">
+                                            NDJSON y CSV usan los campos <code>titulo</code>, <code>contenido</code>,
+                                            <code>fecha</code> (ISO-8601, opcional) y <code>autor</code> (nombre de
+                                            usuario, opcional). De WordPress se importan las entradas publicadas.
+                                            Los artículos de autores que no existen quedan a tu nombre.
+                                        </small>
+                                    </div>
+
+                                    <div class="d-flex gap-2">
+                                        <button type="submit" class="btn btn-success"
+                                            ${progreso.enCurso ? 'disabled' : ''}>Importar</button>
+                                        <a href="<c:url value='/admin/articulos?action=dashboard'/>"
+                                            class="btn btn-secondary">Volver</a>
+                                    </div>
+                                </form>
+                            </div>
+                        </div>
+                    </div>
+                </div>
+            </div>
+
+            <!-- Footer -->
+            <footer class="footer mt-5">
+                <div class="container text-center">
+                    <p class="mb-0">&copy; 2025 Odally - Panel de Administración</p>
+                </div>
+            </footer>
+
+            <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/js/bootstrap.bundle.min.js"></script>
+        </body>
+
+        </html>
@@ -72,12 +72,38 @@
                                                 Por ${articulo.autorNombre} |
                                                 ${articulo.fechaPublicacionFormateada}
                                             </p>
-                                            <p class="card-text article-excerpt">${articulo.contenido}</p>
+                                            <p class="card-text article-excerpt">${articulo.extracto}</p>
                                             <a href="<c:url value='/articulos?action=ver&id=${articulo.id}'/>"
                                                 class="btn btn-primary">Leer más</a>
                                         </div>
                                     </div>
                                 </c:forEach>
+
+                                <!-- Paginación -->
+                                <c:if test="${pagina.hayAnterior or pagina.haySiguiente}">
+                                    <nav aria-label="Paginación de artículos">
+                                        <ul class="pagination justify-content-between">
+                                            <li class="page-item ${pagina.hayAnterior ? '' : 'disabled'}">
+                                                <c:url var="urlAnterior" value="/articulos">
+                                                    <c:param name="antes" value="${pagina.cursorAnterior}"/>
+                                                </c:url>
+                                                <a class="page-link" href="${pagina.hayAnterior ? urlAnterior : '#'}">&larr; Más recientes</a>
+                                            </li>
+                                            <li class="page-item ${pagina.haySiguiente ? '' : 'disabled'}">
+                                                <c:url var="urlSiguiente" value="/articulos">
+                                                    <c:param name="despues" value="${pagina.cursorSiguiente}"/>
+                                                </c:url>
+                                                <a class="page-link" href="${pagina.haySiguiente ? urlSiguiente : '#'}">Más antiguos &rarr;</a>
+                                            </li>
+                                        </ul>
+                                    </nav>
+                                </c:if>
+                            </c:when>
+                            <c:when test="${not empty param.despues or not empty param.antes}">
+                                <div class="alert alert-info">
+                                    No hay más artículos.
+                                    <a href="<c:url value='/articulos'/>">Volver a los más recientes</a>
+                                </div>
                             </c:when>
                             <c:otherwise>
                                 <div class="alert alert-info">